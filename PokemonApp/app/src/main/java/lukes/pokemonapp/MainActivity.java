@@ -53,7 +53,7 @@ public class MainActivity extends AppCompatActivity {
                 fragment = new PokemonFragment();
                 bund = new Bundle();
                 poke = new Pokemon(pokeName);
-                bund.putParcelable("key", poke);
+                bund.putParcelable("key", new PokemonParcel(poke));
                 fragment.setArguments(bund);
                 break;
             case 2:
@@ -63,7 +63,7 @@ public class MainActivity extends AppCompatActivity {
                 fragment = new BattleFragment();
                 bund = new Bundle();
                 poke = new Pokemon(pokeName);
-                bund.putParcelable("key", poke);
+                bund.putParcelable("key", new PokemonParcel(poke));
                 fragment.setArguments(bund);
                 break;
             default:
@@ -75,7 +75,10 @@ public class PokemonFragment extends Fragment { //Fragment code 1
 
         Bundle bundle = getArguments();
         if(bundle != null) {
-            poke = bundle.getParcelable("key", Pokemon.class);
+            PokemonParcel parcel = bundle.getParcelable("key", PokemonParcel.class);
+            if(parcel != null) {
+                poke = parcel.getPokemon();
+            }
         }
 
         atEndOfTeam = false;
@@ -136,9 +139,9 @@ public class PokemonFragment extends Fragment { //Fragment code 1
                                   "LEVEL:         " + poke.getLevel(), "HP:              " + poke.getInitStats()[0],
                                   "ATTACK:     " + poke.getInitStats()[1], "DEFENSE:   " + poke.getInitStats()[2],
                                   "SP. ATK:      " + poke.getInitStats()[3], "SP. DEF:      " + poke.getInitStats()[4],
-                                  "SPEED:       " + poke.getInitStats()[5],  "MOVES:", poke.getMoves().get(0).toString(),
-                                  poke.getMoves().get(1).toString(), poke.getMoves().get(2).toString(),
-                                  poke.getMoves().get(3).toString()};
+                                  "SPEED:       " + poke.getInitStats()[5],  "MOVES:", poke.getMove(0).toString(),
+                                  poke.getMove(1).toString(), poke.getMove(2).toString(),
+                                  poke.getMove(3).toString()};
 
         // Creates the adapter for putting the list array into the list view
         ArrayAdapter<String> adapter = new ArrayAdapter<>(myView.getContext(), R.layout.text_for_stats_listview, listPokeStats);
@@ -187,22 +190,8 @@ public class PokemonFragment extends Fragment { //Fragment code 1
                         }
                         break;
                     case 10: case 11: case 12: case 13: //all the move slots act the same
-                        Move move = new StatusMove(text);
-                        if(!move.getName().isEmpty()) {
-                            makeBoxWithOk(text, getMoveDescription(move));
-                            break;
-                        }
-                        move = new PhysicalMove(text);
-                        if(!move.getName().isEmpty()) {
-                            makeBoxWithOk(text, getMoveDescription(move));
-                            break;
-                        }
-                        move = new SpecialMove(text);
-                        if(!move.getName().isEmpty()) {
-                            makeBoxWithOk(text, getMoveDescription(move));
-                            break;
-                        }
-                    break;
+                        makeBoxWithOk(text, getMoveDescription(MoveRegistry.get(text)));
+                        break;
                 }
         });
         //sets the back button to change screens correctly.
@@ -0,0 +1,121 @@
+package lukes.pokemonapp;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * A Parcelable wrapper around a Pokémon, which is used to pass Pokémon between fragments in a Bundle.
+ * Pokémon live in the engine module, which cannot depend on Android, so the Parcel logic lives here instead.
+ * Only the species id, the move ids, and the state that changes in battle are written as primitives, and
+ * everything shared by the species and moves (types, abilities, base stats, and descriptions) is looked up
+ * again in the registries, which keeps the Binder transaction to a few dozen bytes.
+ * @author Luke Schoeberle
+ */
+public class PokemonParcel implements Parcelable {
+
+    /**
+     * The wrapped Pokémon.
+     */
+    private final Pokemon poke;
+
+    /**
+     * Wraps the given Pokémon so that it can be put into a Bundle.
+     * @param p The Pokémon to be wrapped.
+     */
+    public PokemonParcel(Pokemon p) {
+        poke = p;
+    }
+
+    /**
+     * Handles Parcel creation, which sets the variables from the parcel in the same order
+     * As writeToParcel(). For reference, it is important to match parcel I/O order,
+     * So this is a critical detail that may need to be updated when Pokemon is changed.
+     * The Pokémon is first preset from its species id, and then its current state is restored.
+     * @param in The incoming Pokémon parcel.
+     */
+    protected PokemonParcel(Parcel in) {
+        // Set the variables to the inputs
+        poke = new Pokemon(SpeciesRegistry.get(in.readInt()));
+        String nickname = in.readString();
+        if(nickname != null)
+            poke.setName(nickname);
+        poke.setLevel(in.readInt());
+        poke.setStat(in.readInt(), 0);
+        int statuses = in.readInt();
+        poke.setVolStatuses(statuses & 0xFF);
+        poke.setNonVolStatus(NonVolatileStatus.fromOrdinal((statuses >>> 8) & 0xF));
+        poke.setInvulnCode((statuses >>> 12) & 0xF);
+        poke.setCritState(statuses >>> 16);
+        for(int i = 0; i < VolatileStatus.COUNT; i++)
+            poke.setVolStatusTurns(VolatileStatus.fromOrdinal(i), in.readInt());
+        poke.setNonVolStatusTurns(in.readInt());
+        poke.setStatStages(in.createByteArray());
+
+        MoveSlot[] slots = new MoveSlot[in.readInt()];
+        for(int i = 0; i < slots.length; i++) {
+            slots[i] = new MoveSlot(MoveRegistry.get(in.readInt()));
+            int state = in.readInt();
+            slots[i].changePP((state >>> 1) - slots[i].getPP());
+            slots[i].setCharging((state & 1) != 0);
+        }
+        poke.setMoveSlots(slots);
+    }
+
+    /**
+     * Handles Parcel output, which sends the data from the Pokémon to the parcel in the same order
+     * As the parcel constructor. For reference, it is important to match parcel I/O order,
+     * So this is a critical detail that may need to be updated when Pokemon is changed.
+     * The species and moves are written by id, the name only if it is a nickname, and only the HP of the stats,
+     * since the rest never change from the species. The statuses are packed into one int, as are the PP and the
+     * charging flag of each move slot.
+     * @param out The outgoing Pokémon parcel.
+     * @param flags Extra options for customization, which is currently unused.
+     */
+    @Override
+    public void writeToParcel(Parcel out, int flags) {
+        // Set the outputs based on the Pokémon's variables
+        out.writeInt(poke.getSpecies().getId());
+        out.writeString(poke.getName().equals(poke.getSpecies().getName()) ? null : poke.getName());
+        out.writeInt(poke.getLevel());
+        out.writeInt(poke.getInitStats()[0]);
+        out.writeInt(poke.getVolStatuses() | poke.getNonVolStatus().ordinal() << 8 | poke.getInvulnCode() << 12
+                | poke.getCritState() << 16);
+        for(int i = 0; i < VolatileStatus.COUNT; i++)
+            out.writeInt(poke.getVolStatusTurns(VolatileStatus.fromOrdinal(i)));
+        out.writeInt(poke.getNonVolStatusTurns());
+        out.writeByteArray(poke.getStatStages());
+
+        out.writeInt(poke.getMoveCount());
+        for(int i = 0; i < poke.getMoveCount(); i++) {
+            MoveSlot slot = poke.getMoveSlot(i);
+            out.writeInt(slot.getMove().getId());
+            out.writeInt(slot.getPP() << 1 | (slot.isCharging() ? 1 : 0));
+        }
+    }
+
+    /**
+     * Indicates if there are special file contents, such as file descriptors.
+     */
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    public static final Parcelable.Creator<PokemonParcel> CREATOR = new Creator<>() {
+        public PokemonParcel createFromParcel(Parcel in) {
+            return new PokemonParcel(in);
+        }
+
+        public PokemonParcel[] newArray(int size) {
+            return new PokemonParcel[size];
+        }
+    };
+
+    /**
+     * Returns the wrapped Pokémon.
+     * @return The wrapped Pokémon.
+     */
+    public Pokemon getPokemon() {
+        return poke;
+    }
+}
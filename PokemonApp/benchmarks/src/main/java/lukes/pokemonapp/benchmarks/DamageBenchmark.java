@@ -0,0 +1,75 @@
+package lukes.pokemonapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.engine.BattleEngine;
+import lukes.pokemonapp.engine.DamageCalculator;
+import lukes.pokemonapp.engine.DamageDistribution;
+
+/**
+ * Measures the damage formula and the calculations it is made of: the BP, the type matchups, the damage
+ * before the roll, the whole distribution of a move, and the speed comparison that orders each turn.
+ * @author Luke Schoeberle
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DamageBenchmark {
+
+    private BattleEngine engine;
+    private Pokemon attacker, defender;
+    private AttackingMove move;
+
+    /**
+     * Sets up the opening position of a starter team against Angel, with the player's first attacking move.
+     */
+    @Setup
+    public void setUp() {
+        engine = Fixtures.openingBattle(1);
+        attacker = engine.getLead(BattleEngine.PLAYER);
+        defender = engine.getLead(BattleEngine.ENEMY);
+        move = Fixtures.firstAttackingMove(attacker);
+    }
+
+    @Benchmark
+    public int calculateBP() {
+        return engine.calculateBP(move, attacker, defender, true);
+    }
+
+    @Benchmark
+    public double checkTypeMatchups() {
+        return BattleEngine.checkTypeMatchups(defender, move, 100, attacker);
+    }
+
+    @Benchmark
+    public int damageBeforeRoll() {
+        return DamageCalculator.damageBeforeRoll(move, attacker, defender, engine.getWeather(), true, false);
+    }
+
+    @Benchmark
+    public DamageDistribution distribution() {
+        return DamageCalculator.distribution(attacker, defender, move, engine.getWeather(),
+                engine.hasScreenAgainst(BattleEngine.ENEMY, move), true);
+    }
+
+    @Benchmark
+    public boolean speedOrder() {
+        return engine.getEffectiveSpeed(BattleEngine.PLAYER) > engine.getEffectiveSpeed(BattleEngine.ENEMY);
+    }
+}
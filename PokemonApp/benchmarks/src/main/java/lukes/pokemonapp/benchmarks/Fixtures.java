@@ -0,0 +1,47 @@
+package lukes.pokemonapp.benchmarks;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.engine.BattleEngine;
+import lukes.pokemonapp.engine.Rosters;
+
+/**
+ * The battles that the benchmarks are measured on, so that every benchmark starts from the same positions.
+ * @author Luke Schoeberle
+ */
+final class Fixtures {
+
+    /**
+     * The lead of the player's starter team in every benchmark battle.
+     */
+    static final String PLAYER_LEAD = "Totodile";
+
+    /**
+     * This class only has static methods.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Creates a battle of a starter team against Angel that has not played a turn yet.
+     * @param seed The battle seed.
+     * @return The battle.
+     */
+    static BattleEngine openingBattle(long seed) {
+        return new BattleEngine(Rosters.starterTeam("Luke", PLAYER_LEAD), Rosters.angel(), seed);
+    }
+
+    /**
+     * Returns the first attacking move of a Pokémon.
+     * @param p The Pokémon in question.
+     * @return The first of its moves that is an AttackingMove.
+     * @throws IllegalArgumentException When the Pokémon has no attacking moves.
+     */
+    static AttackingMove firstAttackingMove(Pokemon p) {
+        for(int i = 0; i < p.getMoveCount(); i++) {
+            if(p.getMove(i) instanceof AttackingMove)
+                return (AttackingMove) p.getMove(i);
+        }
+        throw new IllegalArgumentException(p.getName() + " has no attacking moves!");
+    }
+}
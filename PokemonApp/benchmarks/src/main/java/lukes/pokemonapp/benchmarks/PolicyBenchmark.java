@@ -0,0 +1,57 @@
+package lukes.pokemonapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import lukes.pokemonapp.engine.BattleEngine;
+import lukes.pokemonapp.engine.ExpectiminimaxPolicy;
+import lukes.pokemonapp.engine.GreedyPolicy;
+
+/**
+ * Measures how quickly the AI policies choose a move in the opening position. The expectiminimax search is
+ * limited by depth rather than time, so each operation is a whole search of the same size.
+ * @author Luke Schoeberle
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PolicyBenchmark {
+
+    private BattleEngine engine;
+    private GreedyPolicy greedy;
+    private ExpectiminimaxPolicy expectiminimax;
+
+    /**
+     * Sets up the opening position and the policies, where the search has no transposition table so that every
+     * operation does the same work, and a budget that a depth 2 search never reaches.
+     */
+    @Setup
+    public void setUp() {
+        engine = Fixtures.openingBattle(1);
+        greedy = new GreedyPolicy();
+        expectiminimax = new ExpectiminimaxPolicy(60_000, 2, ExpectiminimaxPolicy.DEFAULT_ROLL_BUCKETS, null);
+    }
+
+    @Benchmark
+    public int greedy() {
+        return greedy.chooseMove(engine, BattleEngine.ENEMY);
+    }
+
+    @Benchmark
+    public int expectiminimaxDepth2() {
+        return expectiminimax.chooseMove(engine, BattleEngine.ENEMY);
+    }
+}
@@ -0,0 +1,72 @@
+package lukes.pokemonapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import lukes.pokemonapp.engine.BattleEngine;
+import lukes.pokemonapp.engine.BattleRng;
+import lukes.pokemonapp.engine.SplittableBattleRng;
+import lukes.pokemonapp.engine.UndoLog;
+
+/**
+ * Measures the ways a search can visit one node, which is one turn played from a position and then left:
+ * copying the whole battle for the node, reusing one copy by overwriting its state, or playing on one copy
+ * and rolling it back with the undo log. The same turn is played every time, so the only difference is
+ * the cost of getting a fresh position.
+ * @author Luke Schoeberle
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchNodeBenchmark {
+
+    private BattleEngine root, copy, logged;
+    private BattleRng rng;
+
+    /**
+     * Sets up the opening position, a reusable copy of it, and a copy that records its changes.
+     */
+    @Setup
+    public void setUp() {
+        root = Fixtures.openingBattle(1);
+        rng = new SplittableBattleRng(2);
+        copy = new BattleEngine(root, rng);
+        logged = new BattleEngine(root, rng);
+        logged.setUndoLog(new UndoLog());
+    }
+
+    @Benchmark
+    public BattleEngine cloneNode() {
+        BattleEngine node = new BattleEngine(root, rng);
+        node.simulateTurn(0, 0);
+        return node;
+    }
+
+    @Benchmark
+    public BattleEngine copyStateNode() {
+        copy.copyStateFrom(root);
+        copy.simulateTurn(0, 0);
+        return copy;
+    }
+
+    @Benchmark
+    public BattleEngine undoNode() {
+        int mark = logged.getUndoLog().mark();
+        logged.simulateTurn(0, 0);
+        logged.undo(mark);
+        return logged;
+    }
+}
@@ -0,0 +1,95 @@
+package lukes.pokemonapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.Species;
+import lukes.pokemonapp.SpeciesRegistry;
+import lukes.pokemonapp.engine.BattleEngine;
+import lukes.pokemonapp.engine.BattleState;
+import lukes.pokemonapp.engine.GreedyPolicy;
+import lukes.pokemonapp.engine.ReplayRecorder;
+import lukes.pokemonapp.engine.Replayer;
+
+/**
+ * Measures creating Pokémon and saving and restoring battles. The Parcel that the app passes between
+ * fragments only exists on Android, so the round trips here are the engine's own formats: the packed
+ * BattleState and a whole replay.
+ * @author Luke Schoeberle
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateBenchmark {
+
+    private Species species;
+    private Pokemon pokemon;
+    private BattleEngine engine;
+    private BattleState state;
+    private byte[] replay;
+
+    /**
+     * Sets up a Pokémon, the opening position with its packed state, and the replay of a whole battle.
+     */
+    @Setup
+    public void setUp() {
+        species = SpeciesRegistry.get(Fixtures.PLAYER_LEAD);
+        pokemon = new Pokemon(species);
+        engine = Fixtures.openingBattle(1);
+        state = new BattleState(engine);
+        BattleEngine recorded = Fixtures.openingBattle(1);
+        ReplayRecorder recorder = new ReplayRecorder(recorded);
+        recorded.playBattle(new GreedyPolicy(), new GreedyPolicy(), 500);
+        replay = recorder.finish();
+    }
+
+    @Benchmark
+    public Pokemon newPokemon() {
+        return new Pokemon(species);
+    }
+
+    @Benchmark
+    public Pokemon copyPokemon() {
+        return new Pokemon(pokemon);
+    }
+
+    @Benchmark
+    public BattleState packState() {
+        state.update(engine);
+        return state;
+    }
+
+    @Benchmark
+    public BattleEngine restoreState() {
+        state.restore(engine);
+        return engine;
+    }
+
+    @Benchmark
+    public byte[] recordBattle() {
+        BattleEngine battle = Fixtures.openingBattle(1);
+        ReplayRecorder recorder = new ReplayRecorder(battle);
+        while(battle.getTurnCount() < 3 && !battle.isOver())
+            battle.simulateTurn(0, 0);
+        return recorder.finish();
+    }
+
+    @Benchmark
+    public BattleEngine replayBattle() {
+        return new Replayer(replay).playToEnd();
+    }
+}
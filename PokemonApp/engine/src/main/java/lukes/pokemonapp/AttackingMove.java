@@ -0,0 +1,363 @@
+package lukes.pokemonapp;
+
+/**
+ * The representation of an attacking move, which is a type of Move. Each AttackingMove (in addition to
+ * the characteristics of a Move) has BP, accuracy, a bpCode, additional effects and their percentage chance, and a makesContact boolean.
+ * More characteristics may be added as necessary.
+ * @author Luke Schoeberle 7/11/2016.
+ */
+@SuppressWarnings("unused")
+public abstract class AttackingMove extends Move {
+
+    /**
+     * The effect flag for moves with an increased critical hit ratio.
+     */
+    public static final int EFFECT_HIGH_CRIT = 1;
+
+    /**
+     * The effect flag for moves that make the user suffer a percentage of the damage dealt as recoil.
+     */
+    public static final int EFFECT_RECOIL = 1 << 1;
+
+    /**
+     * The effect flag for moves that let the user recover a percentage of the damage dealt.
+     */
+    public static final int EFFECT_DRAIN = 1 << 2;
+
+    /**
+     * The effect flag for moves that can make the target flinch.
+     */
+    public static final int EFFECT_FLINCH = 1 << 3;
+
+    /**
+     * The effect flag for moves that change stat stages.
+     */
+    public static final int EFFECT_STAT_STAGES = 1 << 4;
+
+    /**
+     * The effect flag for moves that can cause a non-volatile status.
+     */
+    public static final int EFFECT_NON_VOL_STATUS = 1 << 5;
+
+    /**
+     * The effect flag for moves that can cause volatile statuses.
+     */
+    public static final int EFFECT_VOL_STATUS = 1 << 6;
+
+    /**
+     * The base BP of the move. This can range from 10-250 (roughly).
+     */
+    private int BP;
+
+    /**
+     * The type of bp change that this move has. If it is zero, its BP cannot change; any other code
+     * indicates that its BP can change. The codes so far are specified below.
+     */
+    private int bpCode;
+
+    /**
+     * A description of additional effects that this move has, like flinches or stat changes.
+     * This is only used for display, since the effects themselves are compiled into effectFlags.
+     */
+    private String addEffects;
+
+    /**
+     * The structured form of this move's additional effects, which is a bit set of the EFFECT flags above.
+     * This is compiled once when the move is constructed, so the battle engine never needs to read addEffects.
+     */
+    private int effectFlags;
+
+    /**
+     * Determines if this move has an increased critical hit ratio.
+     */
+    private boolean highCritChance;
+
+    /**
+     * The percentage of the damage dealt that the user suffers as recoil, or zero for no recoil.
+     */
+    private int recoilPercent;
+
+    /**
+     * The percentage of the damage dealt that the user recovers, or zero for no draining.
+     */
+    private int drainPercent;
+
+    /**
+     * The percentage chance that this move makes the target flinch, or zero if it cannot.
+     */
+    private int flinchChance;
+
+    /**
+     * Determines if the move makes contact. This matters for certain abilities and moves.
+     */
+    private boolean makesContact;
+
+    /**
+     * Determines if the move uses the target's Attack instead of the user's (Foul Play).
+     */
+    private boolean usesTargetAttack;
+
+    /**
+     * Determines if the move is calculated against the target's Defense even though it is special
+     * (Psyshock, Psystrike, Secret Sword).
+     */
+    private boolean targetsDefense;
+
+    /**
+     * Determines the chance of additional effects from this move. This will be zero by default for moves
+     * with no additional effects, and it is also zero for effects that always happen.
+     * For other cases, it is represented by a number from 1-100 (just like accuracy).
+     */
+    private int addEffectChance;
+
+    /**
+     * Constructs an attacking move to its preset state based on its name. This is the only constructor.
+     * @param mName The name of the move.
+     */
+    public AttackingMove(String mName) {
+        super(mName);
+        compileEffects();
+    }
+
+    /**
+     * Compiles the move's preset state into its effect flags, recoil percentage, and drain percentage.
+     * The HP entry of the stat changes is a percentage of the damage dealt, where positive values drain
+     * and negative values cause recoil, and the other entries are stat stages.
+     */
+    private void compileEffects() {
+        int[] statChanges = getStatChanges();
+        if(statChanges != null) {
+            int hpChange = statChanges[0];
+            if(hpChange > 0 && hpChange <= 100)
+                drainPercent = hpChange;
+            else if(hpChange < 0 && hpChange >= -100)
+                recoilPercent = -hpChange;
+            for(int i = 1; i < statChanges.length; i++)
+                if(statChanges[i] != 0)
+                    effectFlags |= EFFECT_STAT_STAGES;
+        }
+        if(highCritChance)
+            effectFlags |= EFFECT_HIGH_CRIT;
+        if(recoilPercent != 0)
+            effectFlags |= EFFECT_RECOIL;
+        if(drainPercent != 0)
+            effectFlags |= EFFECT_DRAIN;
+        if(flinchChance != 0)
+            effectFlags |= EFFECT_FLINCH;
+        if(getNonVolChanges() != NonVolatileStatus.NONE)
+            effectFlags |= EFFECT_NON_VOL_STATUS;
+        if(getVolChanges() != 0)
+            effectFlags |= EFFECT_VOL_STATUS;
+    }
+
+    /**
+     * Sets the move to the preset state based on the name. This has no definition currently because
+     * its meaning depends on whether the move is an PhysicalMove or a SpecialMove.
+     * @param mName The name of the move.
+     */
+    protected abstract void setMove(String mName);
+
+    /**
+     * Determines if the move is physical. This is undefined in this superclass
+     * because this cannot be determined without knowing its subtype (PhysicalMove or SpecialMove).
+     * @return True if this move is physical, false otherwise.
+     */
+    public abstract boolean isPhysical();
+
+    /**
+     * Checks if the move is an attacking move, which is mainly used for polymorphism.
+     * For this class, it always returns true since we know the subtype at this point (AttackingMove).
+     * @return True if the move is an attacking move, which means that it always returns true.
+     */
+    @Override
+    public boolean isAttackingMove() {
+        return true;
+    }
+
+    /**
+     * Returns this move's BP.
+     * @return This move's BP.
+     */
+    public int getBP() {
+        return BP;
+    }
+
+    /**
+     * Returns this move's additional effects.
+     * @return This move's additional effects.
+     */
+    public String getAdditionalEffects() {
+        return addEffects;
+    }
+
+    /**
+     * Returns this move's compiled effect flags.
+     * @return The bit set of this move's EFFECT flags.
+     */
+    public int getEffectFlags() {
+        return effectFlags;
+    }
+
+    /**
+     * Determines if this move has the given effect.
+     * @param effect One of the EFFECT flags.
+     * @return True if this move has the effect, false otherwise.
+     */
+    public boolean hasEffect(int effect) {
+        return (effectFlags & effect) != 0;
+    }
+
+    /**
+     * Returns this move's recoil percentage.
+     * @return The percentage of the damage dealt that the user suffers as recoil.
+     */
+    public int getRecoilPercent() {
+        return recoilPercent;
+    }
+
+    /**
+     * Returns this move's drain percentage.
+     * @return The percentage of the damage dealt that the user recovers.
+     */
+    public int getDrainPercent() {
+        return drainPercent;
+    }
+
+    /**
+     * Returns this move's flinch chance.
+     * @return The percentage chance that this move makes the target flinch.
+     */
+    public int getFlinchChance() {
+        return flinchChance;
+    }
+
+    /**
+     * Returns this move's additional effect chance.
+     * @return This move's additional effect chance.
+     */
+    public int getAddEffectChance() {
+        return addEffectChance;
+    }
+
+    /**
+     * Returns if this move makes contact.
+     * @return True if this move makes contact, false otherwise.
+     */
+    public boolean makesContact() {
+        return makesContact;
+    }
+
+    /**
+     * Returns if this move uses the target's Attack instead of the user's.
+     * @return True if the damage is calculated with the target's Attack, false otherwise.
+     */
+    public boolean usesTargetAttack() {
+        return usesTargetAttack;
+    }
+
+    /**
+     * Returns if this move is calculated against the target's Defense, which is true for every physical
+     * move and for special moves like Psyshock.
+     * @return True if the damage is calculated against the target's Defense, false for its Sp. Def.
+     */
+    public boolean hitsDefense() {
+        return targetsDefense || isPhysical();
+    }
+
+    /**
+     * Sets if this move uses the target's Attack instead of the user's.
+     * @param uta The new value of usesTargetAttack.
+     */
+    protected void setUsesTargetAttack(boolean uta) {
+        usesTargetAttack = uta;
+    }
+
+    /**
+     * Sets if this move is calculated against the target's Defense even though it is special.
+     * @param td The new value of targetsDefense.
+     */
+    protected void setTargetsDefense(boolean td) {
+        targetsDefense = td;
+    }
+
+    /**
+     * Sets the BP code of this move to the specified value.
+     * @param code The new code.
+     */
+    protected void setBPCode(int code) {
+        bpCode = code;
+    }
+
+    /**
+     * Determines if this move's BP can change.
+     * @return True if this move's BP can change, false otherwise.
+     */
+    public boolean canBPChange() {
+        /*code:
+            1: Eruption, Water Spout (BP = 150 * currentHP / maxHP)
+            2: Earthquake (BP = 200 if the target is underground)
+            3: Payback (BP = 100 if the target moves first)
+            4: Solar Beam (BP is halved in weather other than sunlight)
+            5: Low Kick and Grass Knot (BP depends directly on weight)
+         */
+        return bpCode != 0;
+    } //watch out for BP codes //TODO
+
+    /**
+     * *Precondition: bpCode is not zero.
+     * Determines if this move has the specified BP code.
+     * @param bCode The BP code in question.
+     * @return True if this move has this BP code, false otherwise.
+     */
+    public boolean hasBPCode(int bCode) {
+        return bpCode == bCode;
+    }
+
+    /**
+     * Sets the boolean makesContact to the specified value.
+     * @param mC The new value of the makesContact boolean.
+     */
+    protected void setMakesContact(boolean mC) {
+        makesContact = mC;
+    }
+
+    /**
+     * Sets this move's BP to the specified value.
+     * @param bp The move's new BP.
+     */
+    protected void setBP(int bp) {
+        BP = bp;
+    }
+
+    /**
+     * Sets this move's additional effects to the specified String.
+     * @param aE This move's new additional effects.
+     */
+    protected void setAdditionalEffects(String aE) {
+        addEffects = aE;
+    }
+
+    /**
+     * Sets if this move has an increased critical hit ratio.
+     * @param hcc The new value of highCritChance.
+     */
+    protected void setHighCritChance(boolean hcc) {
+        highCritChance = hcc;
+    }
+
+    /**
+     * Sets this move's flinch chance to the specified value.
+     * @param fc The new flinch chance, which is a number from 0-100.
+     */
+    protected void setFlinchChance(int fc) {
+        flinchChance = fc;
+    }
+
+    /**
+     * Sets this move's additional effect chance to the specified. value.
+     * @param aec The new chance of additional effects for this move.
+     */
+    protected void setAddEffectChance(int aec) {
+        addEffectChance = aec;
+    }
+}
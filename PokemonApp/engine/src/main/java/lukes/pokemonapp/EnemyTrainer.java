@@ -14,4 +14,21 @@ public class EnemyTrainer extends Trainer {
     public EnemyTrainer(String pName) {
         super(pName);
     }
+
+    /**
+     * Constructs a copy of the enemy trainer with a copy of every Pokémon on its team.
+     * @param other The EnemyTrainer to be copied.
+     */
+    public EnemyTrainer(EnemyTrainer other) {
+        super(other);
+    }
+
+    /**
+     * Returns a copy of the enemy trainer whose Pokémon can battle without changing this one's Pokémon.
+     * @return A copy of the enemy trainer.
+     */
+    @Override
+    public EnemyTrainer copy() {
+        return new EnemyTrainer(this);
+    }
 }
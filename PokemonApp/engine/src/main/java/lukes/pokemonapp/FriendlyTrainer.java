@@ -15,4 +15,21 @@ public class FriendlyTrainer extends Trainer { //this class is irrelevant for no
     public FriendlyTrainer(String pName) {
         super(pName);
     }
+
+    /**
+     * Constructs a copy of the friendly trainer with a copy of every Pokémon on its team.
+     * @param other The FriendlyTrainer to be copied.
+     */
+    public FriendlyTrainer(FriendlyTrainer other) {
+        super(other);
+    }
+
+    /**
+     * Returns a copy of the friendly trainer whose Pokémon can battle without changing this one's Pokémon.
+     * @return A copy of the friendly trainer.
+     */
+    @Override
+    public FriendlyTrainer copy() {
+        return new FriendlyTrainer(this);
+    }
 }
@@ -1,33 +1,38 @@
 package lukes.pokemonapp;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
-import java.util.ArrayList;
-
-import androidx.annotation.NonNull;
-
 /**
  * The representation of a default Pokémon move. Each default move has a name, a type, PP, and a
- * two turn status (priority is missing). Each Move must be either a StatusMove or an AttackingMove (which
- * also includes PhysicalMove and SpecialMove) since Move is abstract.
+ * two turn status, and a priority. Each Move must be either a StatusMove or an AttackingMove (which
+ * also includes PhysicalMove and SpecialMove) since Move is abstract. Every move is built once by the
+ * MoveRegistry and shared by every Pokémon, so moves never change after setMove().
  * @author Luke Schoeberle 7/11/2016.
  */
 @SuppressWarnings("unused")
-public abstract class Move implements Parcelable {
+public abstract class Move {
 
     /**
      * The move's name. This is its primary identifier.
      */
     private String name;
 
+    /**
+     * The move's id in the MoveRegistry, or -1 if the move has not been registered.
+     */
+    private int id = -1;
+
     /**
      * The move's type. This can be any type or ??? (Curse). Each move has only one type.
      */
     private String type;
 
     /**
-     * The Move's PP, which indicates how many times it can be used in battle. PP ranges from 5-64.
+     * The move's type, parsed from the type String whenever it is set.
+     */
+    private PokemonType pokemonType;
+
+    /**
+     * The Move's max PP, which indicates how many times it can be used in battle. PP ranges from 5-64.
+     * The remaining PP is kept by each Pokémon's MoveSlot.
      */
     private int PP;
 
@@ -44,16 +49,23 @@ public abstract class Move implements Parcelable {
     private int accuracy;
 
     /**
-     * A list of the invulnerable codes that this move passes through. This is used to reduce the ugliness
-     * of breaking semi-invulnerability by name only. This depends on the invulnCodes in the Pokémon class.
+     * A code that indicates how the weather changes this move's accuracy. For most moves, the value is zero,
+     * and the other codes are listed in getAccuracyCode().
+     */
+    private int accuracyCode;
+
+    /**
+     * A bit set of the invulnerable codes that this move passes through, where bit n is set if the move
+     * breaks through code n. This is used to reduce the ugliness of breaking semi-invulnerability by name only.
+     * This depends on the invulnCodes in the Pokémon class.
      */
-    private final ArrayList<Integer> IBList = new ArrayList<>();
+    private int IBList;
 
     /**
      * A list of the stat changes caused by this move. The HP one indicates recoil or health gain (represented
      * by a percentage), and the others indicate the number of stat changes. For both kinds, zeroes indicate no change.
      */
-    private Integer[] statChanges;
+    private int[] statChanges;
 
     /**
      * Determines if the stat changes affect the user or the opponent.
@@ -63,22 +75,26 @@ public abstract class Move implements Parcelable {
     /**
      * A list of the non-volatile statuses that this move can cause. This usually contains only one status since only one
      * volatile status can occur at one time, but there are some exceptions for rare moves like Tri Attack. For reference
-     * the current non-volatile statuses are None, Burned, Poisoned, Badly Poisoned, Frozen, Sleeping, Resting, and Paralyzed.
+     * the current non-volatile statuses are listed in NonVolatileStatus. NONE means that the move causes no status.
      */
-    private String nonVolChanges;
+    private NonVolatileStatus nonVolChanges = NonVolatileStatus.NONE;
 
     /**
-     * A list of the volatile statuses that this move can cause. This can possibly contain multiple
+     * A mask of the volatile statuses that this move can cause. This can possibly contain multiple
      * statuses since volatile statuses can stack.
      */
-    private String volChanges;
+    private int volChanges;
 
     /**
      * Determines whether this move's status effects affect the user or the target.
      */
     private boolean statusesUser;
 
-    // Add priority tiers //TODO
+    /**
+     * The move's priority, which ranges from -7 to +5. Moves with higher priority are used before moves with lower
+     * priority regardless of speed, and most moves have a priority of 0.
+     */
+    private int priority;
 
     // Add sound-based moves, which break through substitutes //TODO
 
@@ -92,57 +108,12 @@ public abstract class Move implements Parcelable {
         setMove(mName);
     }
 
-    /**
-     * Handles Parcel creation, which sets the variables from the parcel in the same order
-     * As the other constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param in The incoming Move parcel.
-     */
-    protected Move(Parcel in){
-        // Initialize a variable for later
-        Class<Integer> integerClass = Integer.class;
-
-        // Set the variables to the inputs
-        setName(in.readString());
-        setType(in.readString());
-        setPP(in.readInt());
-        setTwoTurnCode(in.readInt());
-        setAccuracy(in.readInt());
-        setStatChanges(in.readArray(integerClass.getClassLoader(), integerClass));
-        setChangesUserStats(in.readBoolean());
-        setNonVolChanges(in.readString());
-        setVolChanges(in.readString());
-        setStatusesUser(in.readBoolean());
-    }
-
-    /**
-     * Handles Parcel output, which sends the data from the class to the parcel in the same order
-     * As the main constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param out The outgoing Move parcel.
-     * @param flags Extra options for customization, which is currently unused.
-     */
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        // Set the outputs based on the class variables
-        out.writeString(name);
-        out.writeString(type);
-        out.writeInt(PP);
-        out.writeInt(twoTurnCode);
-        out.writeInt(accuracy);
-        out.writeArray(statChanges);
-        out.writeBoolean(changesUserStats);
-        out.writeString(nonVolChanges);
-        out.writeString(volChanges);
-        out.writeBoolean(statusesUser);
-    }
-
     /**
      * Sets the move to the preset state based on the name. This is undefined in this superclass
      * because this cannot be defined without knowing its subtype (AttackingMove or StatusMove).
      * @param mName The name of the move.
      */
-    public abstract void setMove(String mName);
+    protected abstract void setMove(String mName);
 
     /**
      * Determines if not the move is an attacking move. This is undefined in this superclass
@@ -159,6 +130,30 @@ public abstract class Move implements Parcelable {
         return type;
     }
 
+    /**
+     * Returns the move's parsed type.
+     * @return The move's type.
+     */
+    public PokemonType getPokemonType() {
+        return pokemonType;
+    }
+
+    /**
+     * Returns the move's id in the MoveRegistry.
+     * @return The move's id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the move's id. This is only called by the MoveRegistry.
+     * @param mId The move's id.
+     */
+    void setId(int mId) {
+        id = mId;
+    }
+
     /**
      * Returns the move's name.
      * @return The move's name.
@@ -176,8 +171,8 @@ public abstract class Move implements Parcelable {
     }
 
     /**
-     * Returns the move's PP.
-     * @return The move's PP.
+     * Returns the move's max PP.
+     * @return The move's max PP.
      */
     public int getPP() {
         return PP;
@@ -207,7 +202,6 @@ public abstract class Move implements Parcelable {
                                             5: Bounce
                                             6: Dig
                                             7: Shadow Force, Phantom Force
-                                            100: currently charging
                                          */
     }
 
@@ -215,32 +209,19 @@ public abstract class Move implements Parcelable {
      * Sets this move's PP to the specified number.
      * @param pp The new PP.
      */
-    public void setPP(int pp) {
+    protected void setPP(int pp) {
         if(pp >= 5 && pp <= 64)
             PP = pp;
         else
             throw new IllegalArgumentException("PP values can only range between 5 and 64!");
     }
 
-    /**
-     * Changes the PP by the specified number. This number can be positive or negative, but the PP
-     * can never go below zero. This returns false if the PP began at zero.
-     * @param del The change in PP.
-     */
-    public boolean changePP(int del) {
-        if(PP == 0 && del < 0)
-            return false;
-        PP += del;
-        if(PP < 0)
-            PP = 0;
-        return true;
-    }
-
     /**
      * Sets this move's type to the specified type.
      * @param type The new type.
      */
-    public void setType(String type) {
+    protected void setType(String type) {
+        pokemonType = PokemonType.fromName(type);
         this.type = type;
     }
 
@@ -248,7 +229,7 @@ public abstract class Move implements Parcelable {
      * Sets this move's name to the specified name.
      * @param mName The new name.
      */
-    public void setName(String mName) {
+    protected void setName(String mName) {
         name = mName;
     }
 
@@ -256,31 +237,68 @@ public abstract class Move implements Parcelable {
      * Sets this move's two-turn code to the specified number.
      * @param ttCode The new two-turn code.
      */
-    public void setTwoTurnCode(int ttCode) {
+    protected void setTwoTurnCode(int ttCode) {
         twoTurnCode = ttCode;
     }
 
     /**
-     * Returns this move's invulnerable break list.
-     * @return This move's invulnerable break list.
+     * Returns the move's accuracy code.
+     * @return The move's accuracy code.
+     */
+    public int getAccuracyCode() {
+        return accuracyCode;    /* code:
+                                    0: accuracy does not depend on the weather
+                                    1: always hits in rain and heavy rain (Thunder, Hurricane)
+                                    2: more accurate in hail (Blizzard)
+                                 */
+    }
+
+    /**
+     * Sets this move's accuracy code to the specified number.
+     * @param accCode The new accuracy code.
      */
-    public ArrayList<Integer> getIBList() {
-        return IBList;
+    protected void setAccuracyCode(int accCode) {
+        accuracyCode = accCode;
+    }
+
+    /**
+     * Returns this move's priority.
+     * @return This move's priority.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets this move's priority to the specified number.
+     * @param p The new priority.
+     */
+    protected void setPriority(int p) {
+        priority = p;
+    }
+
+    /**
+     * Checks if this move breaks through the specified invulnerable code.
+     * @param code The invulnerable code in question.
+     * @return True if the code is in this move's invulnerable break list, false otherwise.
+     */
+    public boolean breaksInvulnerability(int code) {
+        return (IBList & (1 << code)) != 0;
     }
 
     /**
      * Adds the specified code to this move's invulnerable break list.
      * @param code The code to be added.
      */
-    public void addToIBList(int code) {
-        IBList.add(code);
+    protected void addToIBList(int code) {
+        IBList |= 1 << code;
     }
 
     /**
      * Sets this move's stat changes to the specified array.
      * @param sc The new value of the stat changes.
      */
-    public void setStatChanges(Integer[] sc) {
+    protected void setStatChanges(int[] sc) {
         statChanges = sc;
     }
 
@@ -288,7 +306,7 @@ public abstract class Move implements Parcelable {
      * Sets if this move changes the user's stats, as opposed to the opponent's stats.
      * @param cus The new value of the boolean variable.
      */
-    public void setChangesUserStats(boolean cus) {
+    protected void setChangesUserStats(boolean cus) {
         changesUserStats = cus;
     }
 
@@ -296,24 +314,26 @@ public abstract class Move implements Parcelable {
      * Sets statusesUser to the specified value.
      * @param su The new value of statusesUser.
      */
-    public void setStatusesUser(boolean su) {
+    protected void setStatusesUser(boolean su) {
         statusesUser = su;
     }
 
     /**
-     * Sets the non-volatile status changes to the specified String.
+     * Sets the non-volatile status changes to the specified status.
      * @param sc The non-volatile status changes of this move.
      */
-    public void setNonVolChanges(String sc) {
+    protected void setNonVolChanges(NonVolatileStatus sc) {
         nonVolChanges = sc;
     }
 
     /**
-     * Sets the volatile status changes to the specified String.
+     * Sets the volatile status changes to the specified statuses.
      * @param vc The volatile status changes of this move.
      */
-    public void setVolChanges(String vc) {
-        volChanges = vc;
+    protected void setVolChanges(VolatileStatus... vc) {
+        volChanges = 0;
+        for(VolatileStatus s : vc)
+            volChanges |= s.mask();
     }
 
     /**
@@ -322,7 +342,7 @@ public abstract class Move implements Parcelable {
      * @param acc The move's new accuracy value.
      * @throws IllegalArgumentException When the new accuracy number is invalid.
      */
-    public void setAccuracy(int acc) {
+    protected void setAccuracy(int acc) {
         if(acc >= 1 && acc <= 100 || acc == 1000)
             accuracy = acc;
         else
@@ -330,55 +350,51 @@ public abstract class Move implements Parcelable {
     }
 
     /**
-     * Determines if the Pokémon is immune to the provided non-volatile status from a move in
+     * Determines if the target is immune to the provided non-volatile status from a move in
      * The provided scenario, which is essentially a shortcut for checking a bunch of
      * status-related Types and abilities in one method.
      * @param moveStatus The move's non-volatile status that is in question.
-     * @param targetStatus The target's current non-volatile status, if it exists.
-     * @param targetType The target's type in question.
-     * @param moveUserAbility The move user's type in question.
-     * @param moveTargetAbility The move target's ability in question.
-     * @return True if this Pokémon is immune to the non-volatile status in this scenario, false otherwise.
-     */
-    public boolean avoidsNonVolStatus(String moveStatus, String targetStatus, String targetType, String moveUserAbility, String moveTargetAbility) {
-        if(!targetStatus.equals("None") || moveTargetAbility.equals("Comatose")) {
+     * @param target The Pokémon that would receive the status, whose current status, types, and ability matter.
+     * @param moveUser The user of the move, whose ability matters.
+     * @return True if the target is immune to the non-volatile status in this scenario, false otherwise.
+     */
+    public boolean avoidsNonVolStatus(NonVolatileStatus moveStatus, Pokemon target, Pokemon moveUser) {
+        if(target.getNonVolStatus() != NonVolatileStatus.NONE) {
             return true; // Expand on these later and check the details below //TODO
         }
         switch(moveStatus) {
-            case "Burned":
-                return targetType.contains("Fire") || moveTargetAbility.equals("Water Veil") || moveTargetAbility.equals("Water Bubble");
-            case "Poisoned": case "Badly Poisoned":
-                return moveUserAbility.equals("Corrosion") || targetType.contains("Poison") ||
-                        targetType.contains("Steel") || moveTargetAbility.equals("Immunity");
-            case "Frozen":
-                return targetType.contains("Ice") || moveTargetAbility.equals("Magma Armor");
-            case "Sleeping": case "Resting":
-                return moveTargetAbility.equals("Insomnia") || moveTargetAbility.equals("Vital Spirit");
-            case "Paralyzed":
-                return targetType.contains("Electric") || moveTargetAbility.equals("Limber");
+            case BURNED:
+                return target.hasType(PokemonType.FIRE) || target.abilityBlocks(moveStatus);
+            case POISONED: case BADLY_POISONED:
+                return moveUser.hasCorrosion() || target.hasType(PokemonType.POISON) ||
+                        target.hasType(PokemonType.STEEL) || target.abilityBlocks(moveStatus);
+            case FROZEN:
+                return target.hasType(PokemonType.ICE) || target.abilityBlocks(moveStatus);
+            case SLEEPING: case RESTING:
+                return target.abilityBlocks(moveStatus);
+            case PARALYZED:
+                return target.hasType(PokemonType.ELECTRIC) || target.abilityBlocks(moveStatus);
             default:
                 throw new IllegalArgumentException(moveStatus + " is not a valid non-volatile status!");
         }
     }
 
     /**
-     * Determines if this Pokémon is immune to the volatile status listed.
-     * @param moveStatus The move's non-volatile status that is in question.
-     * @param targetStatus The target's current non-volatile status, if it exists.
-     * @param targetType The target's type in question.
-     * @param moveUserAbility The move user's type in question.
-     * @param moveTargetAbility The move target's ability in question.
-     * @return True if this Pokémon is immune, false otherwise.
+     * Determines if the target is immune to the volatile status listed.
+     * @param moveStatus The move's volatile status that is in question.
+     * @param target The Pokémon that would receive the status, whose current status, types, and ability matter.
+     * @param moveUser The user of the move, whose ability matters.
+     * @return True if the target is immune, false otherwise.
      */
-    public boolean avoidsVolStatus(String moveStatus, String targetStatus, String targetType, String moveUserAbility, String moveTargetAbility) {
+    public boolean avoidsVolStatus(VolatileStatus moveStatus, Pokemon target, Pokemon moveUser) {
         switch(moveStatus) {
-            case "Seeded":
-                return targetType.contains("Grass") || moveTargetAbility.equals("Sap Sipper");
-            case "Confused":
-                return moveTargetAbility.equals("Own Tempo");
-            case "Yawning":
-                return avoidsNonVolStatus("Sleeping", targetStatus, targetType, moveUserAbility, moveTargetAbility)
-                        || moveTargetAbility.equals("Comatose");
+            case SEEDED:
+                return target.hasType(PokemonType.GRASS) || target.abilityBlocks(moveStatus);
+            case CONFUSED:
+                return target.abilityBlocks(moveStatus);
+            case YAWNING:
+                return avoidsNonVolStatus(NonVolatileStatus.SLEEPING, target, moveUser)
+                        || target.abilityBlocks(moveStatus);
             default:
                 throw new IllegalArgumentException(moveStatus + " is not a valid volatile status at this time!");
         }
@@ -389,7 +405,7 @@ public abstract class Move implements Parcelable {
      * Returns the list of stat changes caused by this move.
      * @return The stat changes caused by this move.
      */
-    public Integer[] getStatChanges() {
+    public int[] getStatChanges() {
         return statChanges;
     }
 
@@ -421,15 +437,15 @@ public abstract class Move implements Parcelable {
      * Returns the non-volatile status changes of this move.
      * @return The non-volatile status changes of this move.
      */
-    public String getNonVolChanges() {
+    public NonVolatileStatus getNonVolChanges() {
         return nonVolChanges;
     }
 
     /**
      * Returns the volatile status changes caused by this move.
-     * @return The volatile status changes caused by this move.
+     * @return The mask of the volatile statuses caused by this move.
      */
-    public String getVolChanges() {
+    public int getVolChanges() {
         return volChanges;
     }
 
@@ -438,7 +454,6 @@ public abstract class Move implements Parcelable {
      * @return A String representation of this object.
      */
     @Override
-    @NonNull
     public String toString() {
         return name;
     }
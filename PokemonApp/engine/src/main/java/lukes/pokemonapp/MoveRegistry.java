@@ -0,0 +1,109 @@
+package lukes.pokemonapp;
+
+import java.util.HashMap;
+
+/**
+ * The database of every move in the simulator. Each move is built only once when this class is loaded,
+ * and every Pokémon and battle shares it through a MoveSlot, so parallel simulations can read the same
+ * moves safely. Each move gets a dense id in the order that it is listed here.
+ * @author Luke Schoeberle
+ */
+public final class MoveRegistry {
+
+    /**
+     * Every move, indexed by its id.
+     */
+    private static final Move[] MOVES;
+
+    /**
+     * The id of every move, keyed by its name.
+     */
+    private static final HashMap<String, Integer> IDS = new HashMap<>();
+
+    /**
+     * Struggle, which no Pokémon learns, so it has no id. A Pokémon uses it once none of its moves has PP left.
+     */
+    private static final AttackingMove STRUGGLE = new PhysicalMove("Struggle");
+
+    static {
+        MOVES = new Move[] {
+            new PhysicalMove("Aqua Tail"), new PhysicalMove("Dig"), new PhysicalMove("Dragon Claw"),
+            new PhysicalMove("Earthquake"), new PhysicalMove("Ice Punch"), new PhysicalMove("Payback"),
+            new PhysicalMove("Play Rough"), new PhysicalMove("Superpower"), new PhysicalMove("Seed Bomb"),
+            new PhysicalMove("Drain Punch"), new PhysicalMove("Crunch"), new PhysicalMove("Flare Blitz"),
+            new PhysicalMove("Aerial Ace"), new PhysicalMove("Low Kick"), new PhysicalMove("Liquidation"),
+            new PhysicalMove("Rock Slide"),
+            new SpecialMove("Discharge"), new SpecialMove("Energy Ball"), new SpecialMove("Eruption"),
+            new SpecialMove("Flamethrower"), new SpecialMove("Giga Drain"), new SpecialMove("Ice Beam"),
+            new SpecialMove("Lava Plume"), new SpecialMove("Scald"), new SpecialMove("Sludge Bomb"),
+            new SpecialMove("Solar Beam"), new SpecialMove("Volt Switch"), new SpecialMove("Earth Power"),
+            new StatusMove("Amnesia"), new StatusMove("Leech Seed"), new StatusMove("Light Screen"),
+            new StatusMove("Magic Coat"), new StatusMove("Magnet Rise"), new StatusMove("Reflect"),
+            new StatusMove("Rest"), new StatusMove("Roar"), new StatusMove("Screech"), new StatusMove("Substitute"),
+            new StatusMove("Sunny Day"), new StatusMove("Synthesis"), new StatusMove("Thunder Wave"),
+            new StatusMove("Toxic"), new StatusMove("Will-O-Wisp"), new StatusMove("Yawn"),
+            new StatusMove("Swords Dance"), new StatusMove("Protect"), new StatusMove("Rain Dance")
+        };
+        for(int id = 0; id < MOVES.length; id++) {
+            MOVES[id].setId(id);
+            IDS.put(MOVES[id].getName(), id);
+        }
+    }
+
+    /**
+     * The registry only has static methods, so it should never be constructed.
+     */
+    private MoveRegistry() {
+    }
+
+    /**
+     * Returns the move with the given id.
+     * @param id The move's id.
+     * @return The move.
+     * @throws IllegalArgumentException When no move has this id.
+     */
+    public static Move get(int id) {
+        if(id < 0 || id >= MOVES.length)
+            throw new IllegalArgumentException(id + " is not a valid move id!");
+        return MOVES[id];
+    }
+
+    /**
+     * Returns the move with the given name.
+     * @param name The move's name.
+     * @return The move.
+     * @throws IllegalArgumentException When no move has this name.
+     */
+    public static Move get(String name) {
+        return get(idOf(name));
+    }
+
+    /**
+     * Returns the id of the move with the given name.
+     * @param name The move's name.
+     * @return The move's id.
+     * @throws IllegalArgumentException When no move has this name.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS.get(name);
+        if(id == null)
+            throw new IllegalArgumentException(name + " is currently not a valid move in this simulator!");
+        return id;
+    }
+
+    /**
+     * Returns Struggle, which is not in the registry since no Pokémon learns it.
+     * @return Struggle.
+     */
+    public static AttackingMove getStruggle() {
+        return STRUGGLE;
+    }
+
+    /**
+     * Returns the number of moves in the registry.
+     * @return The number of moves, which is also one more than the largest id.
+     */
+    public static int size() {
+        return MOVES.length;
+    }
+}
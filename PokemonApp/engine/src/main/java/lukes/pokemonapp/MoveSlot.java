@@ -0,0 +1,110 @@
+package lukes.pokemonapp;
+
+/**
+ * One of a Pokémon's move slots. The move itself comes from the MoveRegistry and is shared by every
+ * Pokémon and battle, so the slot only keeps the state that changes during battle: the remaining PP and
+ * whether a two-turn move is charging.
+ * @author Luke Schoeberle
+ */
+public class MoveSlot {
+
+    /**
+     * The move in this slot, which must never be changed because it is shared.
+     */
+    private final Move move;
+
+    /**
+     * The remaining PP of the move.
+     */
+    private int PP;
+
+    /**
+     * Whether the move in this slot is in its charging turn (only for two-turn moves).
+     */
+    private boolean charging;
+
+    /**
+     * Constructs a slot for the move with full PP.
+     * @param sMove The move in this slot.
+     */
+    public MoveSlot(Move sMove) {
+        move = sMove;
+        PP = sMove.getPP();
+        charging = false;
+    }
+
+    /**
+     * Constructs a copy of the slot with the same PP and charging state.
+     * @param other The slot to be copied.
+     */
+    public MoveSlot(MoveSlot other) {
+        move = other.move;
+        PP = other.PP;
+        charging = other.charging;
+    }
+
+    /**
+     * Overwrites the PP and charging state of this slot with those of the other slot.
+     * @param other The slot whose state is copied, which should hold the same move.
+     */
+    public void copyStateFrom(MoveSlot other) {
+        PP = other.PP;
+        charging = other.charging;
+    }
+
+    /**
+     * Returns the move in this slot.
+     * @return The move in this slot.
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Returns the remaining PP of the move.
+     * @return The remaining PP.
+     */
+    public int getPP() {
+        return PP;
+    }
+
+    /**
+     * Changes the PP by the specified number. This number can be positive or negative, but the PP
+     * can never go below zero. This returns false if the PP began at zero.
+     * @param del The change in PP.
+     * @return False if the PP began at zero and was meant to decrease, true otherwise.
+     */
+    public boolean changePP(int del) {
+        if(PP == 0 && del < 0)
+            return false;
+        PP += del;
+        if(PP < 0)
+            PP = 0;
+        return true;
+    }
+
+    /**
+     * Determines if the move in this slot is in its charging turn.
+     * @return True if the move is charging, false otherwise.
+     */
+    public boolean isCharging() {
+        return charging;
+    }
+
+    /**
+     * Sets whether the move in this slot is in its charging turn.
+     * @param c True if the move is starting to charge, false once it has been released.
+     */
+    public void setCharging(boolean c) {
+        charging = c;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        return move + " (" + PP + "/" + move.getPP() + " PP)";
+    }
+}
@@ -0,0 +1,62 @@
+package lukes.pokemonapp;
+
+/**
+ * The non-volatile statuses, which remain upon switching out. A Pokémon can only have one non-volatile status
+ * at a time, and these conditions generally cannot be overridden by other non-volatile statuses except by Rest.
+ * The display names are only used at the edges, such as in commentary and on the battle screen.
+ * @author Luke Schoeberle
+ */
+public enum NonVolatileStatus {
+    NONE("None"),
+    BURNED("Burned"),
+    POISONED("Poisoned"),
+    BADLY_POISONED("Badly Poisoned"),
+    FROZEN("Frozen"),
+    SLEEPING("Sleeping"),
+    RESTING("Resting"),
+    PARALYZED("Paralyzed");
+
+    /**
+     * Every status indexed by its ordinal, for decoding without copying values().
+     */
+    private static final NonVolatileStatus[] STATUSES = values();
+
+    /**
+     * The status' name as it is displayed in the app.
+     */
+    private final String displayName;
+
+    /**
+     * Constructs a status with its display name.
+     * @param name The status' display name.
+     */
+    NonVolatileStatus(String name) {
+        displayName = name;
+    }
+
+    /**
+     * Returns the status' name as it is displayed in the app.
+     * @return The status' display name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the status with the given ordinal.
+     * @param ordinal The status' ordinal.
+     * @return The matching status.
+     */
+    public static NonVolatileStatus fromOrdinal(int ordinal) {
+        return STATUSES[ordinal];
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return The status' display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
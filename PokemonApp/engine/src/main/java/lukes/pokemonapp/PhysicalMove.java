@@ -1,8 +1,5 @@
 package lukes.pokemonapp;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * The representation of a physical move. Essentially, a PhysicalMove is an AttackingMove
  * That typically uses the Attack and Defense stats and often makes contact with the opponent in battle.
@@ -18,46 +15,6 @@ public class PhysicalMove extends AttackingMove {
         super(mName);
     }
 
-    /**
-     * Handles Parcel creation, which sets the variables from the parcel in the same order
-     * As the other constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param in The incoming PhysicalMove parcel.
-     */
-    protected PhysicalMove(Parcel in) {
-        super(in);
-    }
-
-    /**
-     * Handles Parcel output, which sends the data from the class to the parcel in the same order
-     * As the main constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param out The outgoing PhysicalMove parcel.
-     * @param flags Extra options for customization, which is currently unused.
-     */
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        super.writeToParcel(out, flags);
-    }
-
-    /**
-     * Indicates if there are special file contents, such as file descriptors.
-     */
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-
-    public static final Parcelable.Creator<PhysicalMove> CREATOR = new Creator<>() {
-        public PhysicalMove createFromParcel(Parcel in) {
-            return new PhysicalMove(in);
-        }
-
-        public PhysicalMove[] newArray(int size) {
-            return new PhysicalMove[size];
-        }
-    };
-
     /**
      * Determines if the move is physical.
      * For this class, it always returns true since we know the subtype at this point (PhysicalMove).
@@ -73,7 +30,7 @@ public class PhysicalMove extends AttackingMove {
      * In the game at this point.
      * @param mName The name of the move.
      */
-    public void setMove(String mName) {
+    protected void setMove(String mName) {
         setName(mName);
         switch(mName) {
             case "Aqua Tail":
@@ -132,7 +89,7 @@ public class PhysicalMove extends AttackingMove {
                 setAdditionalEffects("This physical move deals damage and has a 10% chance to freeze the opponent, " +
                                      "assuming that the opposing Pokémon is not immune to the freeze condition.");
                 setAddEffectChance(10);
-                setNonVolChanges("Frozen");
+                setNonVolChanges(NonVolatileStatus.FROZEN);
                 break;
             case "Payback":
                 setType("Dark");
@@ -155,7 +112,7 @@ public class PhysicalMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This physical moved deals damage and has a 10% chance of " +
                                      "lowering the opponent's Attack by one stage.");
-                setStatChanges(new Integer[] {0, -1, 0, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {0, -1, 0, 0, 0, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(10);
                 break;
@@ -169,7 +126,7 @@ public class PhysicalMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This physical move deals damage and will lower the user's Attack and Defense " +
                                      "by one stage after the move is used.");
-                setStatChanges(new Integer[] {0, -1, -1, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {0, -1, -1, 0, 0, 0, 0, 0});
                 setChangesUserStats(true);
                 setAddEffectChance(100);
                 break;
@@ -196,7 +153,7 @@ public class PhysicalMove extends AttackingMove {
                                      "half of the damage in HP dealt by this move. For reference, this move is entirely " +
                                      "disabled by the Heal Block or the Psychic Noise effects, and it hurts the user " +
                                      "if this move is used against a Pokemon with the Liquid Ooze ability.");
-                setStatChanges(new Integer[] {50, 0, 0, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {50, 0, 0, 0, 0, 0, 0, 0});
                 setAddEffectChance(100);
                 setChangesUserStats(true);
                 break;
@@ -210,7 +167,7 @@ public class PhysicalMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This physical move deals damage and has a 20% chance of " +
                                      "lowering the opponent's Defense by one stage.");
-                setStatChanges(new Integer[] {0, 0, -1, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {0, 0, -1, 0, 0, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(20);
                 break;
@@ -225,7 +182,7 @@ public class PhysicalMove extends AttackingMove {
                 setAdditionalEffects("This physical move deals damage, has a 30% chance to burn the opponent, " +
                                      "and causes the user to suffer 30% of the target's damage as recoil. " +
                                      "Additionally, if necessary, the user is thawed out before the moved is performed.");
-                setStatChanges(new Integer[] {-30, 0, 0, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {-30, 0, 0, 0, 0, 0, 0, 0});
                 setChangesUserStats(true);
                 setAddEffectChance(100);
                 break;
@@ -261,7 +218,7 @@ public class PhysicalMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This physical move deals damage and has a 20% chance to " +
                                      "lower the opponent's Defense by one stage.");
-                setStatChanges(new Integer[] {0, 0, -1, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {0, 0, -1, 0, 0, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(20);
                 break;
@@ -275,10 +232,22 @@ public class PhysicalMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This physical move deals damage, has a 30% chance of causing the opponent " +
                                      "to flinch, and hits both targets in a double battle.");
-                setStatChanges(new Integer[] {0, 0, -1, 0, 0, 0, 0, 0});
+                setFlinchChance(30);
+                setStatChanges(new int[] {0, 0, -1, 0, 0, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(20);
                 break;
+            case "Struggle":
+                setType("???"); // Struggle has no PP of its own, since it is only used once every other move runs out
+                setTwoTurnCode(0);
+                setBP(50);
+                setAccuracy(1000);
+                setMakesContact(true);
+                setBPCode(0);
+                setAdditionalEffects("This physical move is used only when the user has no PP left in any of its " +
+                                     "moves. It deals typeless damage, never misses, and costs the user a quarter " +
+                                     "of its max HP.");
+                break;
             default:
                 setName("");
         }
@@ -14,4 +14,21 @@ public class Player extends Trainer {
     public Player(String pName) {
         super(pName);
     }
+
+    /**
+     * Constructs a copy of the player with a copy of every Pokémon on its team.
+     * @param other The Player to be copied.
+     */
+    public Player(Player other) {
+        super(other);
+    }
+
+    /**
+     * Returns a copy of the player whose Pokémon can battle without changing this one's Pokémon.
+     * @return A copy of the player.
+     */
+    @Override
+    public Player copy() {
+        return new Player(this);
+    }
 }
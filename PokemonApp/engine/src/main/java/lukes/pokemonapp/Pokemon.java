@@ -0,0 +1,803 @@
+package lukes.pokemonapp;
+
+import java.util.Arrays;
+
+/**
+ * The representation of a Pokémon. This contains the necessary information about the Pokémon,
+ * including its name, type, statuses, ability, level, current currStats, starting currStats, and moves.
+ * Its functionality is still being tweaked (including gender, accuracy, evasion, and others). The fixed
+ * data of each Pokémon comes from its Species in the SpeciesRegistry.
+ * @author Luke Schoeberle 7/11/2016.
+ */
+@SuppressWarnings("unused")
+public class Pokemon {
+    //add gender later //TODO
+    //add experience in due time //TODO
+
+    /**
+     * The numerators and denominators of the stat modifiers for the normal stats (Attack, Defense, Sp. Att.,
+     * Sp. Def., and Speed), from 2/8 at stage 0 to 8/2 at stage 12. These are used in conjunction with the
+     * statStages array to ease stat changes, and are kept as exact fractions so that every stat multiplied by
+     * them rounds the same way on every JVM.
+     */
+    public static final int[] NORMAL_STAGE_NUMERATORS = new int[] {2, 2, 2, 2, 2, 2, 2, 3, 4, 5, 6, 7, 8};
+    public static final int[] NORMAL_STAGE_DENOMINATORS = new int[] {8, 7, 6, 5, 4, 3, 2, 2, 2, 2, 2, 2, 2};
+
+    /**
+     * The numerators and denominators of the stat modifiers for the evasion stats (Accuracy and Evasion),
+     * from 3/9 at stage 0 to 9/3 at stage 12.
+     */
+    public static final int[] ACCURACY_STAGE_NUMERATORS = new int[] {3, 3, 3, 3, 3, 3, 3, 4, 5, 6, 7, 8, 9};
+    public static final int[] ACCURACY_STAGE_DENOMINATORS = new int[] {9, 8, 7, 6, 5, 4, 3, 3, 3, 3, 3, 3, 3};
+
+    /**
+     * The number of stats that have an effective stat, which are HP and the five normal stats.
+     */
+    private static final int EFFECTIVE_STAT_COUNT = 6;
+
+    /**
+     * The Pokémon's name. This will be used as the main identifier for the Pokémon.
+     */
+    private String name;
+
+    /**
+     * The Pokémon's species, which holds the fixed data that every Pokémon of the species shares.
+     */
+    private Species species;
+
+    /**
+     * The Pokémon's type. Types are separated by slashes for multi-typed Pokémon.
+     */
+    private String type;
+
+    /**
+     * The Pokémon's one or two types, parsed from the type String whenever it is set.
+     */
+    private PokemonType[] types;
+
+    /**
+     * The Pokémon's defensive profile, which combines its types into one index of the type chart.
+     */
+    private int typeProfile;
+
+    /**
+     * The volatile statuses of a Pokémon, which means that the conditions will disappear upon switching out.
+     * This includes all statuses other than the non-volatile ones. You can have more than one volatile
+     * status at a time, so each status in VolatileStatus owns one bit of this mask.
+     */
+    private int volStatuses;
+
+    /**
+     * The number of turns that each volatile status has lasted, indexed by the status' ordinal.
+     */
+    private byte[] volStatusTurns;
+
+    /**
+     * The non-volatile status of a Pokémon, which means that the condition will remain upon switching out.
+     * You can only have one non-volatile status at a time, and these conditions generally cannot be
+     * overridden by other non-volatile statuses except by Rest.
+     */
+    private NonVolatileStatus nonVolStatus;
+
+    /**
+     * The number of turns that the non-volatile status has lasted, which sets the damage of a bad poisoning.
+     */
+    private int nonVolStatusTurns;
+
+    /**
+     * A Pokémon's ability. This variable includes only the name for the ability.
+     */
+    private String ability;
+
+    /**
+     * The non-volatile statuses that the Pokémon's ability blocks, where bit n is set if it blocks the status with
+     * ordinal n. This is resolved from the ability String whenever it is set.
+     */
+    private int blockedNonVolStatuses;
+
+    /**
+     * The mask of the volatile statuses that the Pokémon's ability blocks, which is resolved along with
+     * blockedNonVolStatuses.
+     */
+    private int blockedVolStatuses;
+
+    /**
+     * Determines if the Pokémon's ability is Corrosion, which is resolved along with blockedNonVolStatuses.
+     */
+    private boolean corrosion;
+
+    /**
+     * The Pokémon's level. This can range from 1-100.
+     */
+    private int level;
+
+    /**
+     * The list of stat levels of each stat. Each level can range from 0 (equivalent of -6) to 12 (equivalent of +6),
+     * so they are stored as bytes.
+     */
+    private byte[] statStages;
+
+    /**
+     * The list of initial stats, which include the six base stats and accuracy and evasion.
+     * These cannot be influenced by stat changes.
+     */
+    private int[] initStats;
+
+    /**
+     * The HP and the five normal stats after their stat stages are applied. This is recomputed by every setter
+     * that changes a stat or a stat stage, so the battle can read the effective stats without multiplying.
+     */
+    private int[] effectiveStats;
+
+    /**
+     * The Pokémon's move slots, which pair each shared move with its remaining PP. A Pokémon can have from
+     * 1-4 moves, and each Pokémon must have at least one move.
+     */
+    private MoveSlot[] moveSlots;
+
+    /**
+     * This Pokémon's state of invulnerability. 0 indicates no invulnerability, and non-zero codes
+     * indicate a state of semi-invulnerability (like Protect or Fly).
+     */
+    private int invulnerableCode;
+
+    /**
+     * This Pokémon's state of critical chance. There are essentially four states: 0 (1/16), 1 (1/8), 2 (1/2), and
+     * 3 or more (1/1). Each state is caused by high-critical moves like Leaf Blade, Focus Energy,
+     * or items like the Stick, and the effects can stack.
+     */
+    private int criticalState;
+
+    /**
+     * The max HP of a Pokémon. This is used to calculate HP percentages and to ensure that the HP
+     * never goes above the max HP.
+     */
+    private int maxHP;
+
+    /**
+     * Sets the Pokémon to its preset configuration based on its name.
+     * @param pName The name of the Pokémon.
+     * @throws IllegalArgumentException When pName does not match a name in the SpeciesRegistry.
+     */
+    public Pokemon(String pName){
+        this(SpeciesRegistry.get(pName));
+    }
+
+    /**
+     * Sets the Pokémon to the preset configuration of its species.
+     * @param pSpecies The Pokémon's species.
+     */
+    public Pokemon(Species pSpecies) {
+        setPokemon(pSpecies);
+    }
+
+    /**
+     * Constructs a copy of the Pokémon, which has its own stats, stat stages, statuses, and move slots,
+     * so that the copy can battle without changing the original.
+     * @param other The Pokémon to be copied.
+     */
+    public Pokemon(Pokemon other) {
+        species = other.species;
+        name = other.name;
+        level = other.level;
+        volStatuses = other.volStatuses;
+        volStatusTurns = other.volStatusTurns.clone();
+        nonVolStatus = other.nonVolStatus;
+        nonVolStatusTurns = other.nonVolStatusTurns;
+        invulnerableCode = other.invulnerableCode;
+        statStages = other.statStages.clone();
+        criticalState = other.criticalState;
+        type = other.type;
+        types = other.types;
+        typeProfile = other.typeProfile;
+        ability = other.ability;
+        blockedNonVolStatuses = other.blockedNonVolStatuses;
+        blockedVolStatuses = other.blockedVolStatuses;
+        corrosion = other.corrosion;
+        initStats = other.initStats.clone();
+        effectiveStats = other.effectiveStats.clone();
+        maxHP = other.maxHP;
+        moveSlots = new MoveSlot[other.moveSlots.length];
+        for(int i = 0; i < moveSlots.length; i++)
+            moveSlots[i] = new MoveSlot(other.moveSlots[i]);
+    }
+
+    /**
+     * Overwrites the battle state of this Pokémon (HP, stats, stat stages, statuses, and move slots) with
+     * the battle state of the other Pokémon without allocating anything. Both must be the same species
+     * with the same moves, such as a Pokémon and a copy of it.
+     * @param other The Pokémon whose state is copied.
+     */
+    public void copyStateFrom(Pokemon other) {
+        volStatuses = other.volStatuses;
+        System.arraycopy(other.volStatusTurns, 0, volStatusTurns, 0, volStatusTurns.length);
+        nonVolStatus = other.nonVolStatus;
+        nonVolStatusTurns = other.nonVolStatusTurns;
+        invulnerableCode = other.invulnerableCode;
+        System.arraycopy(other.statStages, 0, statStages, 0, statStages.length);
+        criticalState = other.criticalState;
+        System.arraycopy(other.initStats, 0, initStats, 0, initStats.length);
+        System.arraycopy(other.effectiveStats, 0, effectiveStats, 0, effectiveStats.length);
+        maxHP = other.maxHP;
+        for(int i = 0; i < moveSlots.length; i++)
+            moveSlots[i].copyStateFrom(other.moveSlots[i]);
+    }
+
+    /**
+     * Presets this Pokémon to the stats of its species. This is private because it
+     * should never be accessed outside of this class.
+     * @param pSpecies The Pokémon's species.
+     */
+    private void setPokemon(Species pSpecies) {
+        species = pSpecies;
+        setName(pSpecies.getName());
+        setLevel(50); // Use a temporary level of 50 for the simulator
+        setVolStatuses(0);
+        volStatusTurns = new byte[VolatileStatus.COUNT];
+        setNonVolStatus(NonVolatileStatus.NONE);
+        setInvulnCode(0);
+        setStatStages(new byte[] {6, 6, 6, 6, 6, 6, 6, 6});
+        setCritState(0);
+        type = pSpecies.getType(); // The species already parsed its types
+        types = pSpecies.types;
+        typeProfile = pSpecies.getTypeProfile();
+        setAbility(pSpecies.getAbility());
+        setStats(pSpecies.copyBaseStats());
+        setMaxHP(pSpecies.getMaxHP());
+        setMoveSlots(pSpecies.createMoveSlots());
+    }
+
+    /**
+     * Increments the level of a Pokémon (to a maximum of 100).
+     * This would be used during a future Pokémon adventure game.
+     */
+    public void levelUp() {
+        if(level < 100) {
+            setLevel(level + 1);
+        }
+    }
+
+    /**
+     * Sets this Pokémon's level to the new level.
+     * @param nLevel The new level.
+     */
+    public void setLevel(int nLevel) {
+        level = nLevel;
+    }
+
+    /**
+     * Sets this Pokémon's name to the new name.
+     * @param nName The new name.
+     */
+    public void setName(String nName) {
+        name = nName;
+    }
+
+    /**
+     * Sets this Pokémon's ability to the new ability and resolves the statuses that it blocks, so that battles
+     * never compare the ability by name.
+     * @param nAbility The new ability.
+     */
+    public void setAbility(String nAbility) {
+        ability = nAbility;
+        blockedNonVolStatuses = 0;
+        blockedVolStatuses = 0;
+        corrosion = false;
+        switch(nAbility) {
+            case "Comatose":
+                blockedNonVolStatuses = -1;
+                blockedVolStatuses = VolatileStatus.YAWNING.mask();
+                break;
+            case "Water Veil": case "Water Bubble":
+                blockedNonVolStatuses = 1 << NonVolatileStatus.BURNED.ordinal();
+                break;
+            case "Immunity":
+                blockedNonVolStatuses = 1 << NonVolatileStatus.POISONED.ordinal() | 1 << NonVolatileStatus.BADLY_POISONED.ordinal();
+                break;
+            case "Magma Armor":
+                blockedNonVolStatuses = 1 << NonVolatileStatus.FROZEN.ordinal();
+                break;
+            case "Insomnia": case "Vital Spirit":
+                blockedNonVolStatuses = 1 << NonVolatileStatus.SLEEPING.ordinal() | 1 << NonVolatileStatus.RESTING.ordinal();
+                break;
+            case "Limber":
+                blockedNonVolStatuses = 1 << NonVolatileStatus.PARALYZED.ordinal();
+                break;
+            case "Sap Sipper":
+                blockedVolStatuses = VolatileStatus.SEEDED.mask();
+                break;
+            case "Own Tempo":
+                blockedVolStatuses = VolatileStatus.CONFUSED.mask();
+                break;
+            case "Corrosion":
+                corrosion = true;
+                break;
+            default:
+                break; // The other abilities do not affect statuses yet
+        }
+    }
+
+    /**
+     * Set this Pokémon's invulnerable code to the specified value.
+     * @param code This Pokémon's new invulnerable code.
+     */
+    public void setInvulnCode(int code) {
+        invulnerableCode = code;                    /*
+                                                     0: no invulnerability
+                                                     1: Protect, Detect
+                                                     2: Substitute
+                                                     3: Fly
+                                                     4: Sky Drop
+                                                     5: Bounce
+                                                     6: Dig
+                                                     7: Shadow Force, Phantom Force
+                                                     8: Crafty Shield
+                                                     9: Magic Coat //maybe others
+                                                    */
+    }
+
+    /**
+     * Checks to see if the Pokémon has the listed move and returns true if it has the move. It returns
+     * false otherwise.
+     * @param move The move to be checked.
+     * @return True if the Pokémon has this move, false otherwise.
+     */
+    public boolean hasMove(Move move) {
+        for(MoveSlot slot : moveSlots)
+            if(slot.getMove().equals(move))
+                return true;
+        return false;
+    }
+
+    /**
+     * Precondition: This Pokémon does not have the named move.
+     * Adds the named move to the Pokémon's move list and returns true if the move can be added without
+     * replacing any other moves. If the Pokémon is full on moves, it
+     * returns false and does not change any moves.
+     * @param move The move to be added, if possible.
+     * @return True if the Pokémon is not full on moves, false otherwise.
+     */
+    public boolean addMove(Move move) {
+        if(hasMove(move))  return false; //
+        if(moveSlots.length < 4) {
+            moveSlots = Arrays.copyOf(moveSlots, moveSlots.length + 1);
+            moveSlots[moveSlots.length - 1] = new MoveSlot(move);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets this Pokémon's move slots to the provided array, which is used mainly for initialization
+     * and potentially for changing the move list via rare moves like Transform.
+     * @param nSlots The new move slots.
+     */
+    public void setMoveSlots(MoveSlot[] nSlots) {
+        moveSlots = nSlots;
+    }
+
+    /**
+     * Transforms the Pokémon to the named Pokémon. This will be called when the ability Imposter
+     * takes effect or the move Transform is used.
+     * @param pName The Pokémon to be transformed into.
+     */
+    public void transform(String pName) {
+        setPokemon(SpeciesRegistry.get(pName));
+        // Add more detail later //TODO
+    }
+
+    /**
+     * Sets this Pokémon's volatile statuses to the given mask and resets their turn counters.
+     * @param mask The new mask of volatile statuses.
+     */
+    public void setVolStatuses(int mask) {
+        volStatuses = mask;
+        if(volStatusTurns != null)
+            Arrays.fill(volStatusTurns, (byte) 0);
+    }
+
+    /**
+     * Sets this Pokémon's volatile statuses to the given mask but keeps their turn counters, which is how an
+     * old mask is restored.
+     * @param mask The new mask of volatile statuses.
+     */
+    public void restoreVolStatuses(int mask) {
+        volStatuses = mask;
+    }
+
+    /**
+     * Gives this Pokémon the volatile status, which starts its turn counter from zero.
+     * @param s The volatile status to be added.
+     * @return True if the Pokémon did not already have the status, false otherwise.
+     */
+    public boolean addVolStatus(VolatileStatus s) {
+        if((volStatuses & s.mask()) != 0)
+            return false;
+        volStatuses |= s.mask();
+        volStatusTurns[s.ordinal()] = 0;
+        return true;
+    }
+
+    /**
+     * Removes the volatile status from this Pokémon, if it has the status.
+     * @param s The volatile status to be removed.
+     */
+    public void removeVolStatus(VolatileStatus s) {
+        volStatuses &= ~s.mask();
+    }
+
+    /**
+     * Determines if this Pokémon has the volatile status.
+     * @param s The volatile status in question.
+     * @return True if the Pokémon has the status, false otherwise.
+     */
+    public boolean hasVolStatus(VolatileStatus s) {
+        return (volStatuses & s.mask()) != 0;
+    }
+
+    /**
+     * Returns the number of turns that the volatile status has lasted.
+     * @param s The volatile status in question.
+     * @return The number of turns, which is only meaningful if the Pokémon has the status.
+     */
+    public int getVolStatusTurns(VolatileStatus s) {
+        return volStatusTurns[s.ordinal()];
+    }
+
+    /**
+     * Sets the number of turns that the volatile status has lasted.
+     * @param s The volatile status in question.
+     * @param turns The new number of turns.
+     */
+    public void setVolStatusTurns(VolatileStatus s, int turns) {
+        volStatusTurns[s.ordinal()] = (byte) turns;
+    }
+
+    /**
+     * Sets this Pokémon's type to t.
+     * @param t The new type.
+     */
+    public void setType(String t) {
+        types = PokemonType.parseAll(t);
+        typeProfile = PokemonType.profileOf(types[0], types.length > 1 ? types[1] : null);
+        type = t;
+    }
+
+    /**
+     * Sets this Pokémon's non-volatile status to nvs.
+     * @param nvs The new non-volatile status.
+     */
+    public void setNonVolStatus(NonVolatileStatus nvs) {
+        nonVolStatus = nvs;
+    } //this will require more detail later //TODO
+
+    /**
+     * Sets the number of turns that the non-volatile status has lasted. This is kept apart from
+     * setNonVolStatus() so that restoring an old status does not reset its turns.
+     * @param turns The new number of turns.
+     */
+    public void setNonVolStatusTurns(int turns) {
+        nonVolStatusTurns = turns;
+    }
+
+    /**
+     * Sets the stat stage at index to value. This changes one specific stat stage, and the indexes from 0-5
+     * are HP, Attack, Defense, Special Attack, Special Defense, Speed, Accuracy, and Evasion.
+     * @param index The specific stat to be changed, as per the indexes described above.
+     * @param value The new value of the stat.
+     */
+    public void setStatStage(int index, int value) {
+        statStages[index] = (byte) value; // Use this later //TODO
+        if(index < EFFECTIVE_STAT_COUNT)
+            updateEffectiveStat(index);
+    }
+
+    /**
+     * Copies the stat stages from the provided array to this Pokémon's stat stage array, which is used mainly
+     * for initialization and changing many different stat stages. For reference, the values in the array
+     * from index 0-7 are HP, Attack, Defense, Special Attack, Special Defense, Speed, Accuracy, and Evasion.
+     * @param newStatStages The new array that represents the new stat stages.
+     */
+    public void setStatStages(byte[] newStatStages) {
+        statStages = newStatStages;
+        updateEffectiveStats();
+    }
+
+    /**
+     * Sets the stat at index to value, which changes one specific stat value.
+     * This is the preferred external API to change a Pokémon's stats since these stats
+     * typically only change individually (or at most in small groups) during actual battles.
+     * @param value The new value of the stat.
+     * @param index The index of the stat.
+     */
+    public void setStat(int value, int index) {
+        initStats[index] = value;
+        if(index < EFFECTIVE_STAT_COUNT)
+            updateEffectiveStat(index);
+    }
+
+    /**
+     * Copies the stats from the provided array to this Pokémon's stats array, which is used mainly
+     * for initialization and changing the base stats for rare moves like Transform. For reference,
+     * the values in the array from index 0-7 are HP, Attack, Defense, Special Attack, Special Defense,
+     * Speed, Accuracy, and Evasion, respectively.
+     * @param newStats The new array that represents the new stats.
+     */
+    public void setStats(int[] newStats) {
+        initStats = newStats;
+        updateEffectiveStats();
+    }
+
+    /**
+     * Recomputes one effective stat from its stat and its stat stage.
+     * @param index The index of the stat (0-5).
+     */
+    private void updateEffectiveStat(int index) {
+        effectiveStats[index] = applyStage(initStats[index], statStages[index]);
+    }
+
+    /**
+     * Recomputes every effective stat, once both the stats and the stat stages have been set.
+     */
+    private void updateEffectiveStats() {
+        if(initStats == null || statStages == null)
+            return; // Still being preset
+        if(effectiveStats == null)
+            effectiveStats = new int[EFFECTIVE_STAT_COUNT];
+        for(int i = 0; i < EFFECTIVE_STAT_COUNT; i++)
+            updateEffectiveStat(i);
+    }
+
+    /**
+     * Multiplies a normal stat by the modifier of its stage and rounds it down.
+     * @param stat The stat before its stage is applied.
+     * @param stage The stat stage (0-12).
+     * @return The stat after its stage is applied.
+     */
+    public static int applyStage(int stat, int stage) {
+        return stat * NORMAL_STAGE_NUMERATORS[stage] / NORMAL_STAGE_DENOMINATORS[stage];
+    }
+
+    /**
+     * Adds the specified value to the critical state, as long as the critical state does not drop below zero.
+     * @param state The critical state to be added.
+     */
+    public void addToCritState(int state) {
+        if(criticalState + state < 0)
+            throw new IllegalArgumentException("A Pokémon's critical state can never be negative!");
+        criticalState += state;
+    }
+
+    /**
+     * Sets the critical state to the specified value, assuming that it is positive, as long as the critical state does not drop below zero.
+     * @param state The critical state to be added.
+     */
+    public void setCritState(int state) {
+        if(state < 0)
+            throw new IllegalArgumentException("A Pokémon's critical state can never be negative!");
+        criticalState = state;
+    }
+
+    /**
+     * Returns this Pokémon's max HP.
+     * @return This Pokémon's max HP.
+     */
+    public int getMaxHP() {
+        return maxHP;
+    }
+
+    /**
+     * Sets this Pokémon's maxHP to the specified value.
+     * @param mHP The new maxHP value.
+     */
+    public void setMaxHP(int mHP) {
+        maxHP = mHP;
+    }
+
+    /**
+     * Returns this Pokémon's invulnerability code.
+     * @return This Pokémon's invulnerability code.
+     */
+    public int getInvulnCode() {
+        return invulnerableCode;
+    }
+
+    /**
+     * Returns the Pokémon's name.
+     * @return The Pokémon's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the Pokémon's species.
+     * @return The Pokémon's species.
+     */
+    public Species getSpecies() {
+        return species;
+    }
+
+    /**
+     * Returns the Pokémon's type.
+     * @return The Pokémon's type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the Pokémon's parsed types.
+     * @return A copy of the Pokémon's one or two types.
+     */
+    public PokemonType[] getPokemonTypes() {
+        return types.clone();
+    }
+
+    /**
+     * Returns the Pokémon's defensive profile for looking up type effectiveness.
+     * @return The Pokémon's defensive profile.
+     */
+    public int getTypeProfile() {
+        return typeProfile;
+    }
+
+    /**
+     * Determines if the Pokémon has the given type, which is used for STAB.
+     * @param t The type in question.
+     * @return True if either of the Pokémon's types is t, false otherwise.
+     */
+    public boolean hasType(PokemonType t) {
+        for(PokemonType pt : types)
+            if(pt == t)
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns the Pokémon's volatile statuses.
+     * @return The mask of the Pokémon's volatile statuses.
+     */
+    public int getVolStatuses() {
+        return volStatuses;
+    }
+
+    /**
+     * Returns the Pokémon's level.
+     * @return The Pokémon's level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the number of moves that the Pokémon knows.
+     * @return The number of moves, from 1-4.
+     */
+    public int getMoveCount() {
+        return moveSlots.length;
+    }
+
+    /**
+     * Returns the move at the given index.
+     * @param index The index of the move.
+     * @return The shared move at that index.
+     */
+    public Move getMove(int index) {
+        return moveSlots[index].getMove();
+    }
+
+    /**
+     * Returns the move slot at the given index, which holds the move's remaining PP and charging state.
+     * @param index The index of the move.
+     * @return The move slot at that index.
+     */
+    public MoveSlot getMoveSlot(int index) {
+        return moveSlots[index];
+    }
+
+    /**
+     * Returns the Pokémon's current stat stages, which should only be changed through setStatStage() so that the
+     * effective stats stay up to date.
+     * @return The Pokémon's current stat stages.
+     */
+    public byte[] getStatStages() {
+        return statStages;
+    }
+
+    /**
+     * Returns the Pokémon's ability.
+     * @return The Pokémon's ability.
+     */
+    public String getAbility() {
+        return ability;
+    }
+
+    /**
+     * Determines if the Pokémon's ability blocks the given non-volatile status.
+     * @param status The status in question.
+     * @return True if the ability blocks the status, false otherwise.
+     */
+    public boolean abilityBlocks(NonVolatileStatus status) {
+        return (blockedNonVolStatuses & 1 << status.ordinal()) != 0;
+    }
+
+    /**
+     * Determines if the Pokémon's ability blocks the given volatile status.
+     * @param status The status in question.
+     * @return True if the ability blocks the status, false otherwise.
+     */
+    public boolean abilityBlocks(VolatileStatus status) {
+        return (blockedVolStatuses & status.mask()) != 0;
+    }
+
+    /**
+     * Determines if the Pokémon's ability is Corrosion.
+     * @return True if the ability is Corrosion, false otherwise.
+     */
+    public boolean hasCorrosion() {
+        return corrosion;
+    }
+
+    /**
+     * Returns the Pokémon's initial stats, which should only be changed through setStat() so that the effective
+     * stats stay up to date.
+     * @return The Pokémon's initial stats.
+     */
+    public int[] getInitStats() {
+        return initStats;
+    }
+
+    /**
+     * Returns one of the Pokémon's stats after its stat stage is applied, which is cached rather than computed.
+     * @param index The index of the stat (0-5), from HP to Speed.
+     * @return The effective stat.
+     */
+    public int getEffectiveStat(int index) {
+        return effectiveStats[index];
+    }
+
+    /**
+     * Returns the Pokémon's non-volatile status.
+     * @return The Pokémon's non-volatile status
+     */
+    public NonVolatileStatus getNonVolStatus() {
+        return nonVolStatus;
+    }
+
+    /**
+     * Returns the number of turns that the non-volatile status has lasted.
+     * @return The number of turns, which is only meaningful if the Pokémon has a status.
+     */
+    public int getNonVolStatusTurns() {
+        return nonVolStatusTurns;
+    }
+
+    /**
+     * Returns this Pokémon's critical state.
+     * @return This Pokémon's critical state.
+     */
+    public int getCritState() {
+        return criticalState;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(name + " " + level + " " + VolatileStatus.describe(volStatuses, "/") + " "
+                                                    + type + " " + ability + " ");
+        for(int i : initStats) {
+            result.append(i);
+            result.append(" ");
+        }
+
+        for (MoveSlot slot : moveSlots) {
+            result.append(slot.getMove());
+            result.append(" ");
+        }
+        return result.toString();
+    }
+}
\ No newline at end of file
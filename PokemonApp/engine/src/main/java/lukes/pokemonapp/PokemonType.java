@@ -0,0 +1,127 @@
+package lukes.pokemonapp;
+
+/**
+ * The types that Pokémon and moves can have. Types are parsed from their names once, when a Pokémon or
+ * move is set up, so that battles can compare them by ordinal instead of scanning Strings. A Pokémon's
+ * one or two types are also combined into a single defensive profile, which indexes the type chart directly.
+ * @author Luke Schoeberle
+ */
+public enum PokemonType {
+    NORMAL("Normal"),
+    FIRE("Fire"),
+    WATER("Water"),
+    ELECTRIC("Electric"),
+    GRASS("Grass"),
+    ICE("Ice"),
+    FIGHTING("Fighting"),
+    POISON("Poison"),
+    GROUND("Ground"),
+    FLYING("Flying"),
+    PSYCHIC("Psychic"),
+    BUG("Bug"),
+    ROCK("Rock"),
+    GHOST("Ghost"),
+    DRAGON("Dragon"),
+    DARK("Dark"),
+    STEEL("Steel"),
+    FAIRY("Fairy"),
+    /**
+     * The typeless ??? type, which only Curse has.
+     */
+    UNKNOWN("???");
+
+    /**
+     * The number of types, which is cached because values() copies its array on every call.
+     */
+    public static final int COUNT = values().length;
+
+    /**
+     * The number of defensive profiles. Each profile is a first type paired with either a second type or
+     * nothing at all.
+     */
+    public static final int PROFILE_COUNT = COUNT * (COUNT + 1);
+
+    /**
+     * Every type indexed by its ordinal, for parsing without copying values().
+     */
+    private static final PokemonType[] TYPES = values();
+
+    /**
+     * The type's name as it is displayed in the app.
+     */
+    private final String displayName;
+
+    /**
+     * Constructs a type with its display name.
+     * @param name The type's display name.
+     */
+    PokemonType(String name) {
+        displayName = name;
+    }
+
+    /**
+     * Returns the type's name as it is displayed in the app.
+     * @return The type's display name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the type with the given display name.
+     * @param name The display name, such as "Grass".
+     * @return The matching type.
+     * @throws IllegalArgumentException When the name does not match any type.
+     */
+    public static PokemonType fromName(String name) {
+        for(PokemonType t : TYPES)
+            if(t.displayName.equals(name))
+                return t;
+        throw new IllegalArgumentException(name + " is not a valid type!");
+    }
+
+    /**
+     * Parses a Pokémon's types, which are separated by a slash for dual-typed Pokémon (like "Grass/Poison").
+     * @param types The slash-separated type names.
+     * @return The one or two parsed types, in order.
+     * @throws IllegalArgumentException When there are more than two types or a name does not match any type.
+     */
+    public static PokemonType[] parseAll(String types) {
+        String[] names = types.split("/");
+        if(names.length > 2)
+            throw new IllegalArgumentException(types + " has more than two types!");
+        PokemonType[] parsed = new PokemonType[names.length];
+        for(int i = 0; i < names.length; i++)
+            parsed[i] = fromName(names[i]);
+        return parsed;
+    }
+
+    /**
+     * Returns the defensive profile of a Pokémon with the given types.
+     * @param first The first type.
+     * @param second The second type, or null for single-typed Pokémon.
+     * @return The profile, which is between 0 (inclusive) and PROFILE_COUNT (exclusive).
+     */
+    public static int profileOf(PokemonType first, PokemonType second) {
+        return first.ordinal() * (COUNT + 1) + (second == null ? COUNT : second.ordinal());
+    }
+
+    /**
+     * Returns the first type of the given defensive profile.
+     * @param profile The defensive profile.
+     * @return The first type.
+     */
+    public static PokemonType firstOf(int profile) {
+        return TYPES[profile / (COUNT + 1)];
+    }
+
+    /**
+     * Returns the second type of the given defensive profile.
+     * @param profile The defensive profile.
+     * @return The second type, or null if the profile only has one type.
+     */
+    public static PokemonType secondOf(int profile) {
+        int second = profile % (COUNT + 1);
+        return second == COUNT ? null : TYPES[second];
+    }
+}
@@ -1,8 +1,5 @@
 package lukes.pokemonapp;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * The representation of a special move. Essentially, a Special is an AttackingMove that typically
  * Uses the Special Attack and Special Defense stats and rarely makes contact with the opponent in battle.
@@ -18,46 +15,6 @@ public class SpecialMove extends AttackingMove {
         super(mName);
     }
 
-    /**
-     * Handles Parcel creation, which sets the variables from the parcel in the same order
-     * As the other constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param in The incoming SpecialMove parcel.
-     */
-    protected SpecialMove(Parcel in) {
-        super(in);
-    }
-
-    /**
-     * Handles Parcel output, which sends the data from the class to the parcel in the same order
-     * As the main constructor. For reference, it is important to match parcel I/O order,
-     * So this is a critical detail that may need to be updated when this class is changed.
-     * @param out The outgoing SpecialMove parcel.
-     * @param flags Extra options for customization, which is currently unused.
-     */
-    @Override
-    public void writeToParcel(Parcel out, int flags) {
-        super.writeToParcel(out, flags);
-    }
-
-    /**
-     * Indicates if there are special file contents, such as file descriptors.
-     */
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-
-    public static final Parcelable.Creator<SpecialMove> CREATOR = new Creator<>() {
-        public SpecialMove createFromParcel(Parcel in) {
-            return new SpecialMove(in);
-        }
-
-        public SpecialMove[] newArray(int size) {
-            return new SpecialMove[size];
-        }
-    };
-
     /**
      * Determines if the move is physical.
      * For this class, it always returns false since we know the subtype at this point (SpecialMove).
@@ -74,7 +31,7 @@ public class SpecialMove extends AttackingMove {
      * @param mName The name of the move.
      */
     @Override
-    public void setMove(String mName) {
+    protected void setMove(String mName) {
         setName(mName);
         switch(mName) {
             case "Discharge":
@@ -88,7 +45,7 @@ public class SpecialMove extends AttackingMove {
                 setAdditionalEffects("This special move deals damage and has a 30% chance to paralyze the opponent," +
                                      "assuming that the opposing Pokémon is not immune to the paralysis condition.");
                 setAddEffectChance(30);
-                setNonVolChanges("Paralyzed");
+                setNonVolChanges(NonVolatileStatus.PARALYZED);
                 break;
             case "Energy Ball":
                 setType("Grass");
@@ -100,7 +57,7 @@ public class SpecialMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This special move deals damage and has a 10% chance to " +
                                      "lower the opponent's Sp. Def. by one stage.");
-                setStatChanges(new Integer[] {0, 0, 0, 0, -1, 0, 0, 0});
+                setStatChanges(new int[] {0, 0, 0, 0, -1, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(10);
                 break;
@@ -126,7 +83,7 @@ public class SpecialMove extends AttackingMove {
                 setAdditionalEffects("This special move deals damage and has a 10% chance to burn the opponent, " +
                                      "assuming that the opposing Pokémon is not immune to the burn condition.");
                 setAddEffectChance(10);
-                setNonVolChanges("Burned");
+                setNonVolChanges(NonVolatileStatus.BURNED);
                 break;
             case "Giga Drain":
                 setType("Grass");
@@ -140,7 +97,7 @@ public class SpecialMove extends AttackingMove {
                                      "half of the damage in HP dealt by this move. For reference, this move is entirely " +
                                      "disabled by the Heal Block or the Psychic Noise effects, and it hurts the user " +
                                      "if this move is used against a Pokemon with the Liquid Ooze ability.");
-                setStatChanges(new Integer[] {50, 0, 0, 0, 0, 0, 0, 0});
+                setStatChanges(new int[] {50, 0, 0, 0, 0, 0, 0, 0});
                 setAddEffectChance(100);
                 setChangesUserStats(true);
                 break;
@@ -155,7 +112,7 @@ public class SpecialMove extends AttackingMove {
                 setAdditionalEffects("This special move deals damage and has a 10% chance to freeze the opponent," +
                                      "assuming that the opposing Pokémon is not immune to the freeze condition.");
                 setAddEffectChance(10);
-                setNonVolChanges("Frozen");
+                setNonVolChanges(NonVolatileStatus.FROZEN);
                 break;
             case "Lava Plume":
                 setType("Fire");
@@ -168,7 +125,7 @@ public class SpecialMove extends AttackingMove {
                 setAdditionalEffects("This special move deals damage, has a 30% chance to burn the opponent, " +
                                      "and also hits both targets in a double battle.");
                 setAddEffectChance(30);
-                setNonVolChanges("Burned");
+                setNonVolChanges(NonVolatileStatus.BURNED);
                 break;
             case "Scald":
                 setType("Water");
@@ -182,7 +139,7 @@ public class SpecialMove extends AttackingMove {
                                      "Additionally, if necessary, the user is thawed out before the moved is performed," +
                                      "It also unfreezes a frozen target hit by the attack.");
                 setAddEffectChance(30);
-                setNonVolChanges("Burned");
+                setNonVolChanges(NonVolatileStatus.BURNED);
                 break;
             case "Sludge Bomb":
                 setType("Poison");
@@ -195,7 +152,7 @@ public class SpecialMove extends AttackingMove {
                 setAdditionalEffects("This special move deals damage and has a 30% chance to poison the opponent, " +
                                      "assuming that the opposing Pokémon is not immune to the poison condition.");
                 setAddEffectChance(30);
-                setNonVolChanges("Poisoned");
+                setNonVolChanges(NonVolatileStatus.POISONED);
                 break;
             case "Solar Beam":
                 setType("Grass");
@@ -230,7 +187,7 @@ public class SpecialMove extends AttackingMove {
                 setBPCode(0);
                 setAdditionalEffects("This special move deals damage has a 20% chance to " +
                                      "lower the opponent's Sp. Def. by one stage.");
-                setStatChanges(new Integer[] {0, 0, 0, 0, -1, 0, 0, 0});
+                setStatChanges(new int[] {0, 0, 0, 0, -1, 0, 0, 0});
                 setChangesUserStats(false);
                 setAddEffectChance(20);
                 break;
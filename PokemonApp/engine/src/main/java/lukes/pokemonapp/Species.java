@@ -0,0 +1,157 @@
+package lukes.pokemonapp;
+
+/**
+ * The fixed data of a Pokémon species, which includes its name, types, ability, base stats, and default
+ * moves. Species are immutable and created only once by the SpeciesRegistry, so every Pokémon of the same
+ * species shares one Species object and only keeps its own per-battle state.
+ * @author Luke Schoeberle
+ */
+public final class Species {
+
+    /**
+     * The species' dense id, which is its index in the SpeciesRegistry.
+     */
+    private final int id;
+
+    /**
+     * The species' name.
+     */
+    private final String name;
+
+    /**
+     * The species' type, with types separated by slashes for multi-typed species.
+     */
+    private final String type;
+
+    /**
+     * The species' parsed types. This is shared with every Pokémon of the species, so it must never be changed.
+     */
+    final PokemonType[] types;
+
+    /**
+     * The species' defensive profile, which combines its types into one index of the type chart.
+     */
+    private final int typeProfile;
+
+    /**
+     * The species' ability.
+     */
+    private final String ability;
+
+    /**
+     * The species' stats at level 50, which include the six base stats and accuracy and evasion.
+     */
+    private final int[] baseStats;
+
+    /**
+     * The species' default moves, which are shared from the MoveRegistry.
+     */
+    private final Move[] defaultMoves;
+
+    /**
+     * Constructs a species. This is only called by the SpeciesRegistry.
+     * @param sId The species' id.
+     * @param sName The species' name.
+     * @param sType The species' slash-separated type.
+     * @param sAbility The species' ability.
+     * @param sStats The species' stats at level 50.
+     * @param sMoves The names of the species' default moves.
+     */
+    Species(int sId, String sName, String sType, String sAbility, int[] sStats, String... sMoves) {
+        id = sId;
+        name = sName;
+        type = sType;
+        types = PokemonType.parseAll(sType);
+        typeProfile = PokemonType.profileOf(types[0], types.length > 1 ? types[1] : null);
+        ability = sAbility;
+        baseStats = sStats.clone();
+        defaultMoves = new Move[sMoves.length];
+        for(int i = 0; i < sMoves.length; i++)
+            defaultMoves[i] = MoveRegistry.get(sMoves[i]);
+    }
+
+    /**
+     * Returns the species' id.
+     * @return The species' id in the SpeciesRegistry.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the species' name.
+     * @return The species' name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the species' type.
+     * @return The species' slash-separated type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the species' defensive profile.
+     * @return The species' defensive profile.
+     */
+    public int getTypeProfile() {
+        return typeProfile;
+    }
+
+    /**
+     * Returns the species' ability.
+     * @return The species' ability.
+     */
+    public String getAbility() {
+        return ability;
+    }
+
+    /**
+     * Returns one of the species' stats at level 50.
+     * @param statIndex The index of the stat, in the same order as a Pokémon's stat arrays.
+     * @return The stat.
+     */
+    public int getBaseStat(int statIndex) {
+        return baseStats[statIndex];
+    }
+
+    /**
+     * Returns the species' max HP at level 50.
+     * @return The species' max HP.
+     */
+    public int getMaxHP() {
+        return baseStats[0];
+    }
+
+    /**
+     * Returns a fresh copy of the species' stats, which a Pokémon can change during battle.
+     * @return A copy of the species' stats.
+     */
+    public int[] copyBaseStats() {
+        return baseStats.clone();
+    }
+
+    /**
+     * Returns fresh move slots for the species' default moves, which a Pokémon can use up during battle.
+     * @return New move slots with full PP.
+     */
+    public MoveSlot[] createMoveSlots() {
+        MoveSlot[] slots = new MoveSlot[defaultMoves.length];
+        for(int i = 0; i < slots.length; i++)
+            slots[i] = new MoveSlot(defaultMoves[i]);
+        return slots;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        return "#" + id + " " + name;
+    }
+}
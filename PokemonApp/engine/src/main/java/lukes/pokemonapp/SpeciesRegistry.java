@@ -0,0 +1,103 @@
+package lukes.pokemonapp;
+
+import java.util.HashMap;
+
+/**
+ * The database of every Pokémon species in the simulator (12 so far). The species are built once when this
+ * class is loaded, and each one gets a dense id in the order that it is listed here, so lookups by id are
+ * a single array access and lookups by name are a single hash lookup.
+ * @author Luke Schoeberle
+ */
+public final class SpeciesRegistry {
+
+    /**
+     * Every species, indexed by its id.
+     */
+    private static final Species[] SPECIES;
+
+    /**
+     * The id of every species, keyed by its name.
+     */
+    private static final HashMap<String, Integer> IDS = new HashMap<>();
+
+    static {
+        SPECIES = new Species[] {
+            new Species(0, "Bulbasaur", "Grass/Poison", "Overgrow", // Consider hidden abilities/other abilities later //TODO
+                        new int[] {105, 49, 49, 65, 55, 45, 100, 100},
+                        "Leech Seed", "Synthesis", "Sludge Bomb", "Giga Drain"),
+            new Species(1, "Charmander", "Fire", "Blaze", new int[] {99, 52, 43, 60, 50, 65, 100, 100},
+                        "Flamethrower", "Dig", "Dragon Claw", "Will-O-Wisp"),
+            new Species(2, "Squirtle", "Water", "Torrent", new int[] {104, 48, 65, 50, 64, 43, 100, 100},
+                        "Scald", "Ice Beam", "Substitute", "Toxic"),
+            new Species(3, "Voltorb", "Electric", "Static", new int[] {100, 30, 50, 55, 55, 100, 100, 100},
+                        "Discharge", "Magnet Rise", "Volt Switch", "Thunder Wave"),
+            new Species(4, "Chikorita", "Grass", "Overgrow", new int[] {105, 49, 65, 49, 65, 45, 100, 100},
+                        "Light Screen", "Reflect", "Energy Ball", "Magic Coat"),
+            new Species(5, "Cyndaquil", "Fire", "Blaze", new int[] {99, 52, 43, 60, 50, 65, 100, 100},
+                        "Eruption", "Lava Plume", "Sunny Day", "Solar Beam"),
+            new Species(6, "Totodile", "Water", "Torrent", new int[] {110, 65, 64, 44, 48, 43, 100, 100},
+                        "Aqua Tail", "Superpower", "Screech", "Ice Punch"),
+            new Species(7, "Wooper", "Water/Ground", "Water Absorb", new int[] {115, 45, 45, 25, 25, 15, 100, 100},
+                        "Amnesia", "Earthquake", "Yawn", "Rest"),
+            new Species(8, "Snubbull", "Fairy", "Intimidate", new int[] {120, 80, 50, 40, 40, 30, 100, 100},
+                        "Play Rough", "Roar", "Earthquake", "Payback"),
+            new Species(9, "Treecko", "Grass", "Overgrow", new int[] {100, 45, 35, 65, 55, 70, 100, 100},
+                        "Crunch", "Swords Dance", "Seed Bomb", "Drain Punch"),
+            new Species(10, "Torchic", "Fire", "Blaze", new int[] {105, 60, 40, 70, 50, 45, 100, 100},
+                        "Flare Blitz", "Protect", "Aerial Ace", "Low Kick"),
+            new Species(11, "Mudkip", "Water", "Torrent", new int[] {110, 70, 50, 50, 50, 40, 100, 100},
+                        "Liquidation", "Rain Dance", "Rock Slide", "Earth Power")
+        };
+        for(Species s : SPECIES)
+            IDS.put(s.getName(), s.getId());
+    }
+
+    /**
+     * The registry only has static methods, so it should never be constructed.
+     */
+    private SpeciesRegistry() {
+    }
+
+    /**
+     * Returns the species with the given id.
+     * @param id The species' id.
+     * @return The species.
+     * @throws IllegalArgumentException When no species has this id.
+     */
+    public static Species get(int id) {
+        if(id < 0 || id >= SPECIES.length)
+            throw new IllegalArgumentException(id + " is not a valid species id!");
+        return SPECIES[id];
+    }
+
+    /**
+     * Returns the species with the given name.
+     * @param name The species' name.
+     * @return The species.
+     * @throws IllegalArgumentException When no species has this name.
+     */
+    public static Species get(String name) {
+        return get(idOf(name));
+    }
+
+    /**
+     * Returns the id of the species with the given name.
+     * @param name The species' name.
+     * @return The species' id.
+     * @throws IllegalArgumentException When no species has this name.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS.get(name);
+        if(id == null)
+            throw new IllegalArgumentException(name + " is currently not a valid Pokémon in this simulator!");
+        return id;
+    }
+
+    /**
+     * Returns the number of species in the registry.
+     * @return The number of species, which is also one more than the largest id.
+     */
+    public static int size() {
+        return SPECIES.length;
+    }
+}
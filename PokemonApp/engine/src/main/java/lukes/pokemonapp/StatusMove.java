@@ -0,0 +1,541 @@
+package lukes.pokemonapp;
+
+import java.util.Arrays;
+
+/**
+ * The representation of a status move. Each StatusMove has (in addition to the characteristics of a
+ * Move) a description of its effects, which is stored in a String, and a program that the battle engine
+ * runs to apply those effects. More moves will be added to this database in the future.
+ * @author Luke Schoeberle 7/11/2016.
+ */
+public class StatusMove extends Move {
+
+    /**
+     * The opcode of an instruction that fails unless the move's type can hit the receiver (Thunder Wave).
+     */
+    public static final int OP_TYPE_IMMUNITY = 1;
+
+    /**
+     * The opcode of an instruction that restores the operand's percentage of the receiver's max HP.
+     */
+    public static final int OP_HEAL = 2;
+
+    /**
+     * The opcode of an instruction that restores HP like OP_HEAL, but more in sunlight and less in other weather.
+     */
+    public static final int OP_WEATHER_HEAL = 3;
+
+    /**
+     * The opcode of an instruction that changes the receiver's stat at the index by the operand's stages.
+     */
+    public static final int OP_STAT_STAGE = 4;
+
+    /**
+     * The opcode of an instruction that gives the receiver the non-volatile status whose ordinal is the operand.
+     */
+    public static final int OP_NON_VOL_STATUS = 5;
+
+    /**
+     * The opcode of an instruction that gives the receiver the volatile status whose ordinal is the operand.
+     */
+    public static final int OP_VOL_STATUS = 6;
+
+    /**
+     * The opcode of an instruction that puts the receiver to sleep for two turns and fully heals it (Rest).
+     */
+    public static final int OP_REST = 7;
+
+    /**
+     * The opcode of an instruction that changes the weather to the code in the operand.
+     */
+    public static final int OP_WEATHER = 8;
+
+    /**
+     * The opcode of an instruction that sets up the screen whose code is the operand on the receiver's side.
+     */
+    public static final int OP_SCREEN = 9;
+
+    /**
+     * The codes of the screens that a move can set up, which halve the damage of physical moves (Reflect) or
+     * special moves (Light Screen) against the side for five turns.
+     */
+    public static final int SCREEN_REFLECT = 1, SCREEN_LIGHT_SCREEN = 2;
+
+    /**
+     * The opcode of an instruction that protects the receiver from moves for the rest of the turn (Protect).
+     */
+    public static final int OP_PROTECT = 10;
+
+    /**
+     * The opcode of an instruction that drags the receiver out and replaces it with a random teammate (Roar).
+     */
+    public static final int OP_FORCE_SWITCH = 11;
+
+    /**
+     * The opcode of an instruction that spends the operand's percentage of the receiver's max HP to make a
+     * substitute with that much HP.
+     */
+    public static final int OP_SUBSTITUTE = 12;
+
+    /**
+     * The opcode of the only instruction of a move whose effects the battle engine cannot apply yet, which
+     * always fails so that the move is never mistaken for one that worked.
+     */
+    public static final int OP_UNSUPPORTED = 13;
+
+    /**
+     * The flag of an instruction whose receiver is the target rather than the user.
+     */
+    public static final int TARGETS_FOE = 1 << 8;
+
+    /**
+     * The shifts of an instruction's index (bits 9-15) and its signed operand (bits 16-31). The opcode is in
+     * the low 8 bits.
+     */
+    private static final int INDEX_SHIFT = 9, OPERAND_SHIFT = 16;
+
+    /**
+     * The effects of this status move, which are only used for display, since the effects themselves are
+     * compiled into the program.
+     */
+    private String effects;
+
+    /**
+     * The weather code that this move sets up, or 0 if it does not change the weather.
+     */
+    private int weatherCode;
+
+    /**
+     * The code of the screen that this move sets up, or 0 if it does not set up a screen.
+     */
+    private int screenCode;
+
+    /**
+     * Determines if this move heals more or less depending on the weather, like Synthesis.
+     */
+    private boolean healsByWeather;
+
+    /**
+     * Determines if this move protects the user for the rest of the turn, like Protect.
+     */
+    private boolean protects;
+
+    /**
+     * Determines if this move drags the target out, like Roar.
+     */
+    private boolean forcesSwitch;
+
+    /**
+     * Determines if this move fails against the types that are immune to its type, like Thunder Wave.
+     */
+    private boolean checksTypeImmunity;
+
+    /**
+     * The move's effects as a list of instructions, which is compiled once when the move is constructed from
+     * its preset state, so the battle engine never needs to look at the move's name.
+     */
+    private int[] program;
+
+    /**
+     * Determines if any instruction of the program acts on the target, which protection and substitutes block.
+     */
+    private boolean affectsTarget;
+
+    /**
+     * Sets the move to its preset state based on its name. This is the only constructor.
+     * @param mName The name of the move.
+     */
+    public StatusMove(String mName) {
+        super(mName);
+        compileProgram();
+    }
+
+    /**
+     * Compiles the move's preset state into its program. The checks come first, then protection, then the HP and
+     * stat changes, then the statuses, then the weather and the screens, and then switching, which is the order
+     * that the effects are applied in. A move with none of these effects compiles to OP_UNSUPPORTED.
+     */
+    private void compileProgram() {
+        int[] statChanges = getStatChanges();
+        int[] code = new int[3 + (statChanges == null ? 0 : statChanges.length) + 1 + VolatileStatus.COUNT + 3];
+        int length = 0;
+        if(checksTypeImmunity)
+            code[length++] = instruction(OP_TYPE_IMMUNITY, true, 0, 0);
+        if(protects)
+            code[length++] = instruction(OP_PROTECT, false, 0, 0);
+        if(statChanges != null) {
+            if(statChanges[0] > 0)
+                code[length++] = instruction(healsByWeather ? OP_WEATHER_HEAL : OP_HEAL, !changesUserStats(), 0, statChanges[0]);
+            else if(statChanges[0] < 0) // The only way for a status move to spend HP is a substitute
+                code[length++] = instruction(OP_SUBSTITUTE, !changesUserStats(), 0, -statChanges[0]);
+            for(int i = 1; i < statChanges.length; i++)
+                if(statChanges[i] != 0)
+                    code[length++] = instruction(OP_STAT_STAGE, !changesUserStats(), i, statChanges[i]);
+        }
+        NonVolatileStatus status = getNonVolChanges();
+        if(status == NonVolatileStatus.RESTING)
+            code[length++] = instruction(OP_REST, !statusesUser(), 0, 0);
+        else if(status != NonVolatileStatus.NONE)
+            code[length++] = instruction(OP_NON_VOL_STATUS, !statusesUser(), 0, status.ordinal());
+        for(int i = 0; i < VolatileStatus.COUNT; i++)
+            if((getVolChanges() & VolatileStatus.fromOrdinal(i).mask()) != 0)
+                code[length++] = instruction(OP_VOL_STATUS, !statusesUser(), 0, i);
+        if(weatherCode != 0)
+            code[length++] = instruction(OP_WEATHER, false, 0, weatherCode);
+        if(screenCode != 0)
+            code[length++] = instruction(OP_SCREEN, false, 0, screenCode);
+        if(forcesSwitch)
+            code[length++] = instruction(OP_FORCE_SWITCH, true, 0, 0);
+        if(length == 0)
+            code[length++] = instruction(OP_UNSUPPORTED, false, 0, 0);
+        program = Arrays.copyOf(code, length);
+        for(int instruction : program)
+            affectsTarget |= targetsFoe(instruction);
+    }
+
+    /**
+     * Packs one instruction of a program.
+     * @param opcode The instruction's opcode.
+     * @param targetsFoe True if the instruction acts on the target, false if it acts on the user.
+     * @param index The instruction's index, such as a stat index.
+     * @param operand The instruction's signed operand.
+     * @return The packed instruction.
+     */
+    private static int instruction(int opcode, boolean targetsFoe, int index, int operand) {
+        return opcode | (targetsFoe ? TARGETS_FOE : 0) | index << INDEX_SHIFT | operand << OPERAND_SHIFT;
+    }
+
+    /**
+     * Returns the opcode of an instruction.
+     * @param instruction The packed instruction.
+     * @return One of the OP constants.
+     */
+    public static int getOpcode(int instruction) {
+        return instruction & 0xFF;
+    }
+
+    /**
+     * Determines if an instruction acts on the target rather than the user.
+     * @param instruction The packed instruction.
+     * @return True if the receiver is the target, false if it is the user.
+     */
+    public static boolean targetsFoe(int instruction) {
+        return (instruction & TARGETS_FOE) != 0;
+    }
+
+    /**
+     * Returns the index of an instruction, such as the stat index of OP_STAT_STAGE.
+     * @param instruction The packed instruction.
+     * @return The instruction's index.
+     */
+    public static int getIndex(int instruction) {
+        return (instruction >>> INDEX_SHIFT) & 0x7F;
+    }
+
+    /**
+     * Returns the signed operand of an instruction.
+     * @param instruction The packed instruction.
+     * @return The instruction's operand.
+     */
+    public static int getOperand(int instruction) {
+        return instruction >> OPERAND_SHIFT;
+    }
+
+    /**
+     * Checks if the move is an attacking move, which is mainly used for polymorphism.
+     * For this class, it always returns false since we know the subtype at this point (StatusMove).
+     * @return True if the move is an attacking move, which means that it always returns false.
+     */
+    @Override
+    public boolean isAttackingMove() {
+        return false;
+    }
+
+    protected void setMove(String mName) {
+        setName(mName);
+        switch(mName) {
+            case "Amnesia":
+                setType("Psychic");
+                setPP(20);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setStatChanges(new int[] {0, 0, 0, 0, 2, 0, 0, 0});
+                setEffects("This status move raises the user's S. Defense by two stages. Keep in mind that " +
+                           "each stat can only be increased or decreased by six stages.");
+                setChangesUserStats(true);
+                break;
+            case "Leech Seed":
+                setType("Grass");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(90);
+                setVolChanges(VolatileStatus.SEEDED);
+                setEffects("This status move has a 90% chance to drain a small amount of the opponent's HP " +
+                           "each turn, which heals the user. This move fails against other Grass types and " +
+                           "its effects disappear if an opponent afflicted with Leech Seed switches out.");
+                break;
+            case "Light Screen":
+                setType("Psychic");
+                setPP(30);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setScreenCode(SCREEN_LIGHT_SCREEN);
+                setEffects("This status move uses psychic power to increase the S.Defense of the user's " +
+                           "team for five turns.");
+                break;
+            case "Magic Coat":
+                setType("Psychic");
+                setPP(30);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setEffects("This status move reflects the effects of most status moves that are used by the opponent. " +
+                           "However, the user will still be vulnerable to direct damage during this time.");
+                break;
+            case "Magnet Rise":
+                setType("Electric");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setEffects("This status move makes the user immune to Ground type moves for five turns.");
+                break;
+            case "Reflect":
+                setType("Psychic");
+                setPP(20);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setScreenCode(SCREEN_REFLECT);
+                setEffects("This status move uses psychic power to increase the Defense of the user's " +
+                           "team for five turns.");
+                break;
+            case "Rest":
+                setType("Psychic");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setNonVolChanges(NonVolatileStatus.RESTING);
+                setStatusesUser(true);
+                setEffects("This status move will put the user to sleep for two turns. As a result, the " +
+                           "user is fully healed and loses all of its status conditions.");
+                break;
+            case "Roar":
+                setType("Normal");
+                setPP(20);
+                setTwoTurnCode(0);
+                setPriority(-6);
+                setAccuracy(1000);
+                addToIBList(1);
+                addToIBList(2);
+                setForcesSwitch(true);
+                setEffects("This status move scares the opponent out and replaces it with a different random Pokémon " +
+                           "on their team. However, the user almost always moves last when using this move.");
+                break;
+            case "Screech":
+                setType("Normal");
+                setPP(40);
+                setTwoTurnCode(0);
+                setAccuracy(85);
+                setStatChanges(new int[] {0, 0, -2, 0, 0, 0, 0, 0});
+                setEffects("This status move has an 85% chance to reduce the opponent's Defense by two stages. Keep in mind that " +
+                           "each stat can only be increased or decreased by six stages.");
+                setChangesUserStats(false);
+                break;
+            case "Substitute":
+                setType("Normal");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setStatChanges(new int[] {-25, 0, 0, 0, 0, 0, 0, 0});
+                setEffects("This status move uses 25% of the user's HP to create a substitute for the user. " +
+                           "This substitute is immune to the effects of most status moves but is usually " +
+                           "destroyed when an attacking move takes at least 25% of the user's HP." +
+                           "For reference, sound-based moves and certain other effects bypass substitutes, so " +
+                           "this does not ensure that the user and their side of the field is fully protected.");
+                setChangesUserStats(true);
+                break;
+            case "Sunny Day":
+                setType("Fire");
+                setPP(5);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setWeatherCode(2);
+                setEffects("This status move brings out the sunlight for five turns, which strengthens Fire " +
+                           "type moves, weakens Water type moves, and has many other small effects.");
+                break;
+            case "Synthesis":
+                setType("Grass");
+                setPP(5);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setStatChanges(new int[] {50, 0, 0, 0, 0, 0, 0, 0});
+                setHealsByWeather(true);
+                setEffects("This status move restores HP to the user depending on the weather. If used while " +
+                           "no weather conditions are present, it heals 50% of the user's HP, but it heals more " +
+                           "in sunlight and less in other weather conditions.");
+                setChangesUserStats(true);
+                break;
+            case "Thunder Wave":
+                setType("Electric");
+                setPP(20);
+                setTwoTurnCode(0);
+                setAccuracy(90);
+                setNonVolChanges(NonVolatileStatus.PARALYZED);
+                setChecksTypeImmunity(true);
+                setEffects("This status move paralyzes the opponent. This makes the opponent have a 25% chance of being " +
+                           "unable to act due to paralysis and reduces the opponent's speed significantly. Electric types " +
+                           "and Ground types are immune to the effects of this move.");
+                break;
+            case "Toxic":
+                setType("Poison");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(90);
+                setNonVolChanges(NonVolatileStatus.BADLY_POISONED);
+                setEffects("This status move has an 90% chance to badly poison the target. Each turn, " +
+                           "the damage from this poison increases, but Steel and Poison type Pokémon are " +
+                           "immune to this status condition.");
+                break;
+            case "Will-O-Wisp":
+                setType("Fire");
+                setPP(15);
+                setTwoTurnCode(0);
+                setAccuracy(85);
+                setNonVolChanges(NonVolatileStatus.BURNED);
+                setEffects("This status move has an 85% chance to burn the opponent, which deals damage each turn " +
+                           "and reduces the opponent's Attack by two stages. Fire types are immune to this status condition.");
+                break;
+            case "Yawn":
+                setType("Normal");
+                setPP(10);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setVolChanges(VolatileStatus.YAWNING);
+                setEffects("This status move makes the opponent drowsy, which means that the opponent will fall asleep " +
+                           "for 1-3 turns after the opponent's next turn. If the opponent switches out before the opponent " +
+                           "falls asleep, the effects of Yawn on that Pokémon are nullified.");
+                break;
+            case "Swords Dance":
+                setType("Normal");
+                setPP(20);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setStatChanges(new int[] {0, 2, 0, 0, 0, 0, 0, 0});
+                setEffects("This status move increases the user's Attack by two stages. Keep in mind that " +
+                           "each stat can only be increased or decreased by six stages.");
+                setChangesUserStats(true);
+                break;
+            case "Protect":
+                setType("Normal");
+                setPP(10);
+                setTwoTurnCode(0);
+                setPriority(4);
+                setAccuracy(1000);
+                setProtects(true);
+                setEffects("This status move protects the user from most attacks and the majority of status moves " +
+                           "that only target the user. This has increased priority (+4) and has a large failure chance " +
+                           "after the initial usage when used consecutively with itself or other protection moves.");
+                setChangesUserStats(true);
+                break;
+            case "Rain Dance":
+                setType("Water");
+                setPP(5);
+                setTwoTurnCode(0);
+                setAccuracy(1000);
+                setWeatherCode(1);
+                setEffects("This status move brings out the rain for five turns, which strengthens Water " +
+                           "type moves, weakens Fire type moves, and has many other small effects.");
+                break;
+            default:
+                setName("");
+        }
+    }
+
+    /**
+     * Returns this move's effects.
+     * @return This move's effects.
+     */
+    public String getEffects() {
+        return effects;
+    }
+
+    /**
+     * Sets this move's effects to the specified String.
+     * @param sE This move's new effects.
+     */
+    protected void setEffects(String sE) {
+        effects = sE;
+   }
+
+    /**
+     * Sets the weather code that this move sets up.
+     * @param code The new weather code, or 0 if the move does not change the weather.
+     */
+    protected void setWeatherCode(int code) {
+        weatherCode = code;
+    }
+
+    /**
+     * Sets the code of the screen that this move sets up.
+     * @param code The new screen code, or 0 if the move does not set up a screen.
+     */
+    protected void setScreenCode(int code) {
+        screenCode = code;
+    }
+
+    /**
+     * Sets whether this move heals more or less depending on the weather.
+     * @param hbw True if the healing depends on the weather, false otherwise.
+     */
+    protected void setHealsByWeather(boolean hbw) {
+        healsByWeather = hbw;
+    }
+
+    /**
+     * Sets whether this move protects the user for the rest of the turn.
+     * @param p True if the move protects the user, false otherwise.
+     */
+    protected void setProtects(boolean p) {
+        protects = p;
+    }
+
+    /**
+     * Determines if this move protects the user for the rest of the turn, which keeps a streak of protection going.
+     * @return True if the move protects the user, false otherwise.
+     */
+    public boolean protects() {
+        return protects;
+    }
+
+    /**
+     * Sets whether this move drags the target out.
+     * @param fs True if the move drags the target out, false otherwise.
+     */
+    protected void setForcesSwitch(boolean fs) {
+        forcesSwitch = fs;
+    }
+
+    /**
+     * Sets whether this move fails against the types that are immune to its type.
+     * @param cti True if the move checks type immunities, false otherwise.
+     */
+    protected void setChecksTypeImmunity(boolean cti) {
+        checksTypeImmunity = cti;
+    }
+
+    /**
+     * Determines if any instruction of this move's program acts on the target, so protection or a substitute on
+     * the target's side blocks the move.
+     * @return True if the move acts on the target, false if it only acts on the user and its side.
+     */
+    public boolean affectsTarget() {
+        return affectsTarget;
+    }
+
+    /**
+     * Returns this move's compiled program, which is shared by every Pokémon with this move and must not be
+     * changed.
+     * @return The instructions of this move, in the order that they are run.
+     */
+    public int[] getProgram() {
+        return program;
+    }
+}
\ No newline at end of file
@@ -2,8 +2,6 @@ package lukes.pokemonapp;
 
 import java.util.ArrayList;
 
-import androidx.annotation.NonNull;
-
 /**
  * The representation of a general trainer. Each trainer has a name and a Pokémon team by default.
  * They must also be either a Player, an EnemyTrainer, or a FriendlyTrainer because this class is
@@ -41,6 +39,24 @@ public abstract class Trainer {
         team = pTeam;
     }
 
+    /**
+     * Constructs a copy of the Trainer with a copy of every Pokémon on its team. This can only be used
+     * through its subclasses.
+     * @param other The Trainer to be copied.
+     */
+    protected Trainer(Trainer other) {
+        name = other.name;
+        team = new ArrayList<>(other.team.size());
+        for(Pokemon p : other.team)
+            team.add(new Pokemon(p));
+    }
+
+    /**
+     * Returns a copy of the Trainer whose Pokémon can battle without changing this Trainer's Pokémon.
+     * @return A copy of the Trainer.
+     */
+    public abstract Trainer copy();
+
     /**
      * Adds the Pokémon with the given name to the team, as long as the team is already not full of six Pokémon.
      * @param pName The name of the Pokémon to be added to the team.
@@ -86,7 +102,6 @@ public abstract class Trainer {
      * @return A String representation of this object.
      */
     @Override
-    @NonNull
     public String toString() {
         StringBuilder s = new StringBuilder(name + " ");
         for(Pokemon p : team) {
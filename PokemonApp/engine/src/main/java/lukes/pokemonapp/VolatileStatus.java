@@ -0,0 +1,91 @@
+package lukes.pokemonapp;
+
+/**
+ * The volatile statuses, which disappear upon switching out. A Pokémon can have any number of volatile statuses
+ * at once, so a Pokémon stores them as a bit mask where each status owns the bit given by mask(), along with a
+ * turn counter for each status. The display names are only used at the edges, such as on the battle screen.
+ * @author Luke Schoeberle
+ */
+public enum VolatileStatus {
+    CONFUSED("Confused"),
+    SEEDED("Seeded"),
+    YAWNING("Yawning");
+    // Add more volatile statuses (like Taunted and Flinched) later //TODO
+
+    /**
+     * The number of volatile statuses, which is cached because values() copies its array on every call.
+     */
+    public static final int COUNT = values().length;
+
+    /**
+     * Every status indexed by its ordinal, for iterating without copying values().
+     */
+    private static final VolatileStatus[] STATUSES = values();
+
+    /**
+     * The status' name as it is displayed in the app.
+     */
+    private final String displayName;
+
+    /**
+     * Constructs a status with its display name.
+     * @param name The status' display name.
+     */
+    VolatileStatus(String name) {
+        displayName = name;
+    }
+
+    /**
+     * Returns the status' name as it is displayed in the app.
+     * @return The status' display name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the bit that this status owns in a volatile status mask.
+     * @return The status' bit.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the status with the given ordinal.
+     * @param ordinal The status' ordinal.
+     * @return The matching status.
+     */
+    public static VolatileStatus fromOrdinal(int ordinal) {
+        return STATUSES[ordinal];
+    }
+
+    /**
+     * Renders a volatile status mask for display, such as "Confused Seeded".
+     * @param statuses The volatile status mask.
+     * @param separator The text between two statuses.
+     * @return The display names of the statuses in the mask, or "None" if the mask is empty.
+     */
+    public static String describe(int statuses, String separator) {
+        if(statuses == 0)
+            return "None";
+        StringBuilder result = new StringBuilder();
+        for(VolatileStatus s : STATUSES) {
+            if((statuses & s.mask()) != 0) {
+                if(result.length() > 0)
+                    result.append(separator);
+                result.append(s.displayName);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return The status' display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
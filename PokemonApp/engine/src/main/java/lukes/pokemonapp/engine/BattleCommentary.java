@@ -0,0 +1,200 @@
+package lukes.pokemonapp.engine;
+
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.VolatileStatus;
+
+/**
+ * Renders the events of a turn as the commentary that the battle screen shows. This is the only place that
+ * builds battle text, so headless simulations that never read the commentary never pay for it.
+ * @author Luke Schoeberle
+ */
+public final class BattleCommentary {
+
+    /**
+     * The commentary for each weather code when a move starts that weather.
+     */
+    private static final String[] WEATHER_STARTS = new String[] {"The weather cleared up!", "It started to rain!",
+            "The sunlight turned harsh!", "A sandstorm kicked up!", "It started to hail!", "A heavy rain began to fall!",
+            "The sunlight turned extremely harsh!", "Mysterious strong winds are protecting Flying-type Pokémon!"};
+
+    /**
+     * The commentary for each weather code when that weather runs out of turns.
+     */
+    private static final String[] WEATHER_ENDS = new String[] {"", "The rain stopped.", "The harsh sunlight faded.",
+            "The sandstorm subsided.", "The hail stopped.", "The heavy rain has lifted!", "The extremely harsh sunlight faded!",
+            "The mysterious strong winds have dissipated!"};
+
+    /**
+     * The commentary for each screen code when a move sets it up, after the trainer's name.
+     */
+    private static final String[] SCREEN_STARTS = new String[] {"", "'s team is protected by Reflect!",
+            "'s team is protected by Light Screen!"};
+
+    /**
+     * This class only has static methods, so it should never be constructed.
+     */
+    private BattleCommentary() {
+    }
+
+    /**
+     * Renders every event in the buffer as one block of commentary.
+     * @param events The events of the turn.
+     * @param engine The battle that the events happened in, which is used to look up names.
+     * @return The commentary for the turn.
+     */
+    public static String render(BattleEventBuffer events, BattleEngine engine) {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < events.size(); i++) {
+            String name = getPokemon(engine, events.getSide(i), events.getTeamIndex(i)).getName();
+            int arg = events.getArg(i);
+            int arg2 = events.getArg2(i);
+            switch(events.getType(i)) {
+                case ACTION:
+                    sb.append(arg == 0 ? "First, " : "\nSecond, ");
+                    break;
+                case NOTHING:
+                    sb.append(name).append(" did nothing.");
+                    break;
+                case ASLEEP:
+                    sb.append(name).append(" is fast asleep.");
+                    break;
+                case WOKE_UP:
+                    sb.append(name).append(" woke up! ");
+                    break;
+                case NO_PP:
+                    sb.append(name).append(" has no PP left for ").append(getMoveName(engine, events, i)).append("!");
+                    break;
+                case CHARGING:
+                    sb.append(name).append(" began charging ").append(getMoveName(engine, events, i)).append("!");
+                    break;
+                case MOVE_USED:
+                    sb.append(name).append(" used ").append(getMoveName(engine, events, i));
+                    if(i + 1 < events.size() && (events.getType(i + 1) == BattleEventType.DAMAGE
+                            || events.getType(i + 1) == BattleEventType.SUBSTITUTE_DAMAGE))
+                        sb.append(", and "); // The damage finishes the sentence
+                    else
+                        sb.append("!");
+                    break;
+                case DAMAGE:
+                    sb.append(name).append(" took ").append(arg).append("% damage!");
+                    break;
+                case MISS:
+                    sb.append(name).append("'s attack missed!");
+                    break;
+                case FAIL:
+                    sb.append(" But it failed!");
+                    break;
+                case PROTECT:
+                case PROTECTED:
+                    sb.append(" ").append(name).append(" protected itself!");
+                    break;
+                case SUBSTITUTE:
+                    sb.append(" ").append(name).append(" put in a substitute!");
+                    break;
+                case SUBSTITUTE_DAMAGE:
+                    sb.append("the substitute took damage for ").append(name).append("!");
+                    break;
+                case SUBSTITUTE_BROKE:
+                    sb.append(" ").append(name).append("'s substitute faded!");
+                    break;
+                case DRAIN:
+                    sb.append(" ").append(name).append(" drained ").append(arg).append("% health from ")
+                      .append(getPokemon(engine, 1 - events.getSide(i), arg2).getName()).append("!");
+                    break;
+                case RECOIL:
+                    sb.append(" ").append(name).append(" took ").append(arg).append("% recoil damage!");
+                    break;
+                case HEAL:
+                    sb.append(" ").append(name).append(" restored ").append(arg).append("% health!");
+                    break;
+                case STAT_CHANGE:
+                    appendStatChange(sb, name, arg, (byte) arg2, arg2 >> 8);
+                    break;
+                case STATUS_APPLIED:
+                    sb.append(" ").append(name).append(" became ").append(arg2 == 0
+                            ? NonVolatileStatus.values()[arg].getDisplayName()
+                            : VolatileStatus.fromOrdinal(arg).getDisplayName()).append("!");
+                    break;
+                case RESIDUAL:
+                    sb.append("\n").append(name).append(" took ").append(arg).append("% damage from ")
+                      .append(ResidualEffect.fromOrdinal(arg2).getCause()).append("!");
+                    break;
+                case WEATHER:
+                    sb.append(" ").append(WEATHER_STARTS[arg]);
+                    break;
+                case WEATHER_ENDED:
+                    sb.append("\n").append(WEATHER_ENDS[arg]);
+                    break;
+                case SCREEN:
+                    sb.append(" ").append(engine.getTrainer(events.getSide(i)).getName()).append(SCREEN_STARTS[arg]);
+                    break;
+                case RESIDUAL_ENDED:
+                    sb.append("\n").append(engine.getTrainer(events.getSide(i)).getName()).append("'s ")
+                      .append(ResidualEffect.fromOrdinal(arg).getCause()).append(" wore off!");
+                    break;
+                case FAINT:
+                    sb.append("\n").append(name).append(" fainted!");
+                    break;
+                case DRAGGED_OUT:
+                    sb.append(" ").append(name).append(" was dragged out!");
+                    break;
+                case SEND_OUT:
+                    sb.append(" ").append(engine.getTrainer(events.getSide(i)).getName()).append(" sent out ")
+                      .append(name).append("!");
+                    break;
+                case WIN:
+                    sb.append("\n").append(engine.getTrainer(events.getSide(i)).getName()).append(" won the battle!");
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders a stat change, such as " Totodile's Att. fell by 2 stages."
+     * @param sb The commentary so far.
+     * @param name The name of the Pokémon whose stat changed.
+     * @param statIndex The index of the stat.
+     * @param change The change in stages, which is zero if the stat could not change.
+     * @param stage The stage after the change.
+     */
+    private static void appendStatChange(StringBuilder sb, String name, int statIndex, int change, int stage) {
+        sb.append(" ").append(name).append("'s ").append(BattleEngine.STAT_NAMES[statIndex]);
+        if(change < 0) {
+            int absChange = Math.abs(change);
+            sb.append(" fell by ").append(absChange).append(" stage").append(absChange > 1 ? "s" : "").append(".");
+        }
+        else if(change > 0) {
+            sb.append(" increased by ").append(change).append(" stage").append(change > 1 ? "s" : "").append(".");
+        }
+        else {
+            sb.append(" won't go any ").append(stage < 6 ? "lower" : "higher").append("!");
+        }
+    }
+
+    /**
+     * Returns a Pokémon of the battle.
+     * @param engine The battle in question.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @return The Pokémon.
+     */
+    private static Pokemon getPokemon(BattleEngine engine, int side, int teamIndex) {
+        return engine.getTrainer(side).getTeam().get(teamIndex);
+    }
+
+    /**
+     * Returns the name of the move that an event's subject used.
+     * @param engine The battle in question.
+     * @param events The events of the turn.
+     * @param index The index of the event, whose first argument is the index of the move.
+     * @return The name of the move.
+     */
+    private static String getMoveName(BattleEngine engine, BattleEventBuffer events, int index) {
+        if(events.getArg(index) == BattleEngine.STRUGGLE)
+            return MoveRegistry.getStruggle().getName();
+        return getPokemon(engine, events.getSide(index), events.getTeamIndex(index)).getMove(events.getArg(index)).getName();
+    }
+}
@@ -0,0 +1,1641 @@
+package lukes.pokemonapp.engine;
+
+import java.util.ArrayList;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Move;
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.MoveSlot;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.PokemonType;
+import lukes.pokemonapp.StatusMove;
+import lukes.pokemonapp.Trainer;
+import lukes.pokemonapp.VolatileStatus;
+
+/**
+ * The rules of a single battle between two trainers, without any dependence on Android. This contains the
+ * damage formula, type effectiveness, speed tiers, and the other crucial aspects of Pokémon battling that
+ * used to live in BattleFragment. Each call to playTurn() resolves one turn from a pair of chosen moves and
+ * returns its commentary, so the battle screen only needs to render the result and headless simulations
+ * can play as many turns as they like on a plain JVM. While it plays a turn, the engine only records typed
+ * events, and the commentary is rendered from them once at the end of playTurn().
+ * @author Luke Schoeberle
+ */
+@SuppressWarnings("unused")
+public class BattleEngine {
+
+    /**
+     * The side index of the player (the first trainer passed to the constructor).
+     */
+    public static final int PLAYER = 0;
+
+    /**
+     * The side index of the enemy (the second trainer passed to the constructor).
+     */
+    public static final int ENEMY = 1;
+
+    /**
+     * The number of turns that the weather from a move and a screen last, counting the turn they were set up.
+     */
+    public static final int WEATHER_MOVE_TURNS = 5, SCREEN_TURNS = 5;
+
+    /**
+     * The number of turns that a Pokémon sleeps after using Rest, before it wakes up and acts again.
+     */
+    public static final int REST_TURNS = 2;
+
+    /**
+     * The most turns in a row of protection that are counted, since every one after the first is three times
+     * less likely to work than the one before it.
+     */
+    public static final int MAX_PROTECT_STREAK = 3;
+
+    /**
+     * The move index that makes a side struggle, which is what its lead does once none of its moves has PP left.
+     */
+    public static final int STRUGGLE = 4;
+
+    /**
+     * The winner code used while the battle is still going or when both sides ran out of Pokémon together.
+     */
+    public static final int NO_WINNER = -1;
+
+    /**
+     * The short display names of each stat, indexed the same way as a Pokémon's stat arrays.
+     */
+    public static final String[] STAT_NAMES = new String[] {"HP", "Att.", "Def.", "Sp. Att.", "Sp. Def.", "Speed", "Acc.", "Evas."};
+
+    /**
+     * The two trainers in this battle, indexed by PLAYER and ENEMY.
+     */
+    private final Trainer[] trainers;
+
+    /**
+     * The team index of each side's current Pokémon.
+     */
+    private final int[] leadIndexes;
+
+    /**
+     * The index of the two-turn move that each side is currently charging, or -1 if that side is free to choose.
+     */
+    private final int[] lockedMoves;
+
+    /**
+     * The source of damage rolls, accuracy/evasion, speed ties, and other additional effects. Each of these
+     * draws from its own labeled stream.
+     */
+    private final BattleRng rng;
+
+    /**
+     * An integer that specifies the weather. This can deal residual damage and affects certain moves
+     * like Hurricane, Thunder, and Blizzard, along with several abilities. The meaning of each code
+     * is specified below.
+     */
+    private int weather; /* weather codes:
+                                0: none, 1: rain, 2: sun, 3: sand, 4: hail, 5: heavy rain, 6: harsh sunlight, 7: air current
+                                                                               POgre        PDon                MRay        */
+
+    /**
+     * The number of turns left before the weather clears up, or 0 if the weather lasts until it is replaced.
+     */
+    private int weatherTurns;
+
+    /**
+     * The number of turns left of each side's screens, indexed by side and then by screen code - 1.
+     */
+    private final int[][] screenTurns;
+
+    /**
+     * The number of turns in a row that each side has protected itself, up to MAX_PROTECT_STREAK.
+     */
+    private final int[] protectStreaks;
+
+    /**
+     * The sides that are protected for the rest of the current turn, as a mask of 1 << side. This is always
+     * empty between turns.
+     */
+    private int protectedSides;
+
+    /**
+     * The HP of each side's substitute, or 0 if that side's lead has no substitute.
+     */
+    private final int[] substituteHPs;
+
+    /**
+     * The number of turns that have been played so far.
+     */
+    private int turnCount;
+
+    /**
+     * The events of the turn that is currently being played. This is cleared at the start of every turn.
+     */
+    private final BattleEventBuffer events;
+
+    /**
+     * The queue that orders the actions of each turn, which is reused every turn.
+     */
+    private final TurnScheduler scheduler;
+
+    /**
+     * The residual effects of each side's lead at the end of the current turn, as masks of ResidualEffect bits.
+     * These are collected again at the end of every turn, so they always match the state of the battle.
+     */
+    private final int[] residuals;
+
+    /**
+     * The log that records the old value of every change, or null if changes are not being recorded.
+     */
+    private UndoLog undoLog;
+
+    /**
+     * The recorder that every turn's choices are sent to, or null if this battle is not being recorded.
+     */
+    private ReplayRecorder recorder;
+
+    /**
+     * Constructs a battle between the two trainers with an arbitrary seed.
+     * @param player The player's trainer, whose first Pokémon leads.
+     * @param enemy The enemy's trainer, whose first Pokémon leads.
+     */
+    public BattleEngine(Trainer player, Trainer enemy) {
+        this(player, enemy, new SplittableBattleRng());
+    }
+
+    /**
+     * Constructs a battle between the two trainers that can be reproduced exactly from its seed.
+     * @param player The player's trainer, whose first Pokémon leads.
+     * @param enemy The enemy's trainer, whose first Pokémon leads.
+     * @param seed The battle seed.
+     */
+    public BattleEngine(Trainer player, Trainer enemy, long seed) {
+        this(player, enemy, new SplittableBattleRng(seed));
+    }
+
+    /**
+     * Constructs a battle between the two trainers that draws every random event from the given generator.
+     * @param player The player's trainer, whose first Pokémon leads.
+     * @param enemy The enemy's trainer, whose first Pokémon leads.
+     * @param battleRng The source of damage rolls, accuracy checks, and other random events.
+     * @throws IllegalArgumentException When either trainer has no Pokémon.
+     */
+    public BattleEngine(Trainer player, Trainer enemy, BattleRng battleRng) {
+        if(player.getTeam().isEmpty() || enemy.getTeam().isEmpty())
+            throw new IllegalArgumentException("Both trainers need at least one Pokémon to battle!");
+        trainers = new Trainer[] {player, enemy};
+        leadIndexes = new int[] {0, 0};
+        lockedMoves = new int[] {-1, -1};
+        rng = battleRng;
+        weather = 0;
+        weatherTurns = 0;
+        screenTurns = new int[2][2];
+        protectStreaks = new int[2];
+        protectedSides = 0;
+        substituteHPs = new int[2];
+        turnCount = 0;
+        events = new BattleEventBuffer();
+        scheduler = new TurnScheduler(2);
+        residuals = new int[2];
+    }
+
+    /**
+     * Constructs a copy of the battle in its current state, with copies of both trainers' Pokémon. The copy
+     * draws its random events from the given generator, so lookahead searches can play out turns on it
+     * without changing the original battle.
+     * @param other The battle to be copied.
+     * @param battleRng The source of random events for the copy.
+     */
+    public BattleEngine(BattleEngine other, BattleRng battleRng) {
+        trainers = new Trainer[] {other.trainers[PLAYER].copy(), other.trainers[ENEMY].copy()};
+        leadIndexes = other.leadIndexes.clone();
+        lockedMoves = other.lockedMoves.clone();
+        rng = battleRng;
+        weather = other.weather;
+        weatherTurns = other.weatherTurns;
+        screenTurns = new int[][] {other.screenTurns[PLAYER].clone(), other.screenTurns[ENEMY].clone()};
+        protectStreaks = other.protectStreaks.clone();
+        protectedSides = other.protectedSides;
+        substituteHPs = other.substituteHPs.clone();
+        turnCount = other.turnCount;
+        events = new BattleEventBuffer();
+        scheduler = new TurnScheduler(2);
+        residuals = new int[2];
+    }
+
+    /**
+     * Overwrites the state of this battle with the state of the other battle without allocating anything,
+     * which lets a search reuse one copy of a battle for many playouts. Both battles must have the same
+     * trainers, such as a battle and a copy of it.
+     * @param other The battle whose state is copied.
+     */
+    public void copyStateFrom(BattleEngine other) {
+        for(int side = PLAYER; side <= ENEMY; side++) {
+            ArrayList<Pokemon> team = trainers[side].getTeam();
+            ArrayList<Pokemon> otherTeam = other.trainers[side].getTeam();
+            for(int i = 0; i < team.size(); i++)
+                team.get(i).copyStateFrom(otherTeam.get(i));
+            leadIndexes[side] = other.leadIndexes[side];
+            lockedMoves[side] = other.lockedMoves[side];
+            System.arraycopy(other.screenTurns[side], 0, screenTurns[side], 0, screenTurns[side].length);
+            protectStreaks[side] = other.protectStreaks[side];
+            substituteHPs[side] = other.substituteHPs[side];
+        }
+        protectedSides = other.protectedSides;
+        weather = other.weather;
+        weatherTurns = other.weatherTurns;
+        turnCount = other.turnCount;
+    }
+
+    /**
+     * Plays one turn with the chosen moves for each side. A side that is charging a two-turn move always
+     * uses that move, and a negative index means that the side does nothing this turn. Each move costs one PP,
+     * except for the turn that releases a two-turn move, and a move without PP left cannot be used. A side whose
+     * lead has no PP left in any move chooses STRUGGLE instead. After both
+     * moves, any fainted lead is replaced by the next healthy Pokémon on its team.
+     * @param playerMoveIndex The index of the player's chosen move.
+     * @param enemyMoveIndex The index of the enemy's chosen move.
+     * @return The result of the turn.
+     * @throws IllegalStateException When the battle is already over.
+     */
+    public TurnResult playTurn(int playerMoveIndex, int enemyMoveIndex) {
+        int firstSide = resolveTurn(playerMoveIndex, enemyMoveIndex);
+        boolean over = isOver();
+        int winner = getWinner();
+        if(over && winner != NO_WINNER)
+            events.add(BattleEventType.WIN, winner, leadIndexes[winner], 0, 0);
+        return new TurnResult(BattleCommentary.render(events, this), firstSide, winner, over);
+    }
+
+    /**
+     * Plays one turn like playTurn(), but without rendering the commentary or building a TurnResult. This is
+     * meant for searches and rollouts that play many turns and only look at the state of the battle (or the
+     * events of the turn) afterwards.
+     * @param playerMoveIndex The index of the player's chosen move.
+     * @param enemyMoveIndex The index of the enemy's chosen move.
+     * @throws IllegalStateException When the battle is already over.
+     */
+    public void simulateTurn(int playerMoveIndex, int enemyMoveIndex) {
+        resolveTurn(playerMoveIndex, enemyMoveIndex);
+    }
+
+    /**
+     * Resolves both moves of a turn, in the order of the turn scheduler, then the end-of-turn effects, and then
+     * replaces any fainted leads. A Pokémon that was dragged in during the turn does not act until the next turn.
+     * @param playerMoveIndex The index of the player's chosen move.
+     * @param enemyMoveIndex The index of the enemy's chosen move.
+     * @return The side that moved first.
+     * @throws IllegalStateException When the battle is already over.
+     */
+    private int resolveTurn(int playerMoveIndex, int enemyMoveIndex) {
+        if(isOver())
+            throw new IllegalStateException("The battle is already over!");
+        events.clear();
+        if(recorder != null)
+            recorder.recordTurn(playerMoveIndex, enemyMoveIndex);
+        if(lockedMoves[PLAYER] >= 0)
+            playerMoveIndex = lockedMoves[PLAYER]; // Finish the two-turn move
+        if(lockedMoves[ENEMY] >= 0)
+            enemyMoveIndex = lockedMoves[ENEMY];
+
+        scheduler.clear();
+        scheduleMove(PLAYER, playerMoveIndex);
+        scheduleMove(ENEMY, enemyMoveIndex);
+        int playerLead = leadIndexes[PLAYER];
+        int enemyLead = leadIndexes[ENEMY];
+        int firstSide = -1;
+        for(int order = 0; !scheduler.isEmpty(); order++) {
+            int side = scheduler.next(rng);
+            if(firstSide < 0)
+                firstSide = side;
+            if(getLead(side).getInitStats()[0] > 0 && leadIndexes[side] == (side == PLAYER ? playerLead : enemyLead)) {
+                emit(BattleEventType.ACTION, side, order, 0);
+                resolveMoveType(side, scheduler.getAction(), side == firstSide);
+            }
+        }
+        if(protectedSides != 0)
+            writeProtectedSides(0); // Protection only lasts for the turn
+        resolveResiduals(firstSide);
+        if(undoLog != null)
+            undoLog.record(UndoLog.TURN_COUNT, null, 0, turnCount);
+        turnCount++;
+        replaceFaintedLeads();
+        return firstSide;
+    }
+
+    /**
+     * Sets the log that records every change this battle makes from now on, so that the changes can be
+     * rolled back with undo() instead of copying the battle beforehand.
+     * @param log The log to record into, or null to stop recording.
+     */
+    public void setUndoLog(UndoLog log) {
+        undoLog = log;
+    }
+
+    /**
+     * Sets the recorder that every turn's choices are sent to, which a ReplayRecorder does for itself.
+     * @param replayRecorder The recorder, or null to stop recording.
+     */
+    void setRecorder(ReplayRecorder replayRecorder) {
+        recorder = replayRecorder;
+    }
+
+    /**
+     * Returns the log that records every change this battle makes.
+     * @return The undo log, or null if changes are not being recorded.
+     */
+    public UndoLog getUndoLog() {
+        return undoLog;
+    }
+
+    /**
+     * Rolls this battle back to the state it was in when the mark was taken, undoing every recorded change
+     * since then from the newest to the oldest. The random generator is not rolled back.
+     * @param mark A mark from the undo log, taken while it was recording this battle.
+     * @throws IllegalStateException When there is no undo log.
+     */
+    public void undo(int mark) {
+        if(undoLog == null)
+            throw new IllegalStateException("There is no undo log to roll back!");
+        while(undoLog.size() > mark) {
+            Pokemon p = undoLog.lastTarget();
+            int index = undoLog.lastIndex();
+            int oldValue = undoLog.lastOldValue();
+            switch(undoLog.lastKind()) {
+                case UndoLog.STAT:
+                    p.setStat(oldValue, index);
+                    break;
+                case UndoLog.STAT_STAGE:
+                    p.setStatStage(index, oldValue);
+                    break;
+                case UndoLog.NON_VOL_STATUS:
+                    p.setNonVolStatus(NonVolatileStatus.values()[oldValue]);
+                    break;
+                case UndoLog.VOL_STATUSES:
+                    p.restoreVolStatuses(oldValue);
+                    break;
+                case UndoLog.VOL_STATUS_TURNS:
+                    p.setVolStatusTurns(VolatileStatus.fromOrdinal(index), oldValue);
+                    break;
+                case UndoLog.INVULN_CODE:
+                    p.setInvulnCode(oldValue);
+                    break;
+                case UndoLog.CHARGING:
+                    p.getMoveSlot(index).setCharging(oldValue != 0);
+                    break;
+                case UndoLog.LOCKED_MOVE:
+                    lockedMoves[index] = oldValue;
+                    break;
+                case UndoLog.LEAD_INDEX:
+                    leadIndexes[index] = oldValue;
+                    break;
+                case UndoLog.WEATHER:
+                    weather = oldValue;
+                    break;
+                case UndoLog.TURN_COUNT:
+                    turnCount = oldValue;
+                    break;
+                case UndoLog.NON_VOL_STATUS_TURNS:
+                    p.setNonVolStatusTurns(oldValue);
+                    break;
+                case UndoLog.PP:
+                    MoveSlot slot = p.getMoveSlot(index);
+                    slot.changePP(oldValue - slot.getPP());
+                    break;
+                case UndoLog.WEATHER_TURNS:
+                    weatherTurns = oldValue;
+                    break;
+                case UndoLog.SCREEN_TURNS:
+                    screenTurns[index & 1][(index >> 1) - 1] = oldValue;
+                    break;
+                case UndoLog.PROTECT_STREAK:
+                    protectStreaks[index] = oldValue;
+                    break;
+                case UndoLog.PROTECTED_SIDES:
+                    protectedSides = oldValue;
+                    break;
+                case UndoLog.SUBSTITUTE_HP:
+                    substituteHPs[index] = oldValue;
+                    break;
+            }
+            undoLog.pop();
+        }
+    }
+
+    /**
+     * Plays turns with moves chosen by the two policies until the battle ends or the turn limit is reached.
+     * @param playerPolicy The policy that chooses the player's moves.
+     * @param enemyPolicy The policy that chooses the enemy's moves.
+     * @param maxTurns The maximum number of turns to play.
+     * @return The results of each turn that was played, in order.
+     */
+    public ArrayList<TurnResult> playBattle(BattlePolicy playerPolicy, BattlePolicy enemyPolicy, int maxTurns) {
+        ArrayList<TurnResult> results = new ArrayList<>();
+        while(!isOver() && turnCount < maxTurns) {
+            int playerMove = playerPolicy.chooseMove(this, PLAYER);
+            int enemyMove = enemyPolicy.chooseMove(this, ENEMY);
+            results.add(playTurn(playerMove, enemyMove));
+        }
+        return results;
+    }
+
+    /**
+     * Queues the chosen move of a side's lead Pokémon in the move bracket, by the move's priority and the
+     * lead's effective speed at the start of the turn. Doing nothing has a priority of 0.
+     * @param side The side that is choosing.
+     * @param index The index of the chosen move, or a negative number if the side does nothing.
+     */
+    private void scheduleMove(int side, int index) {
+        Move move = getChosenMove(side, index);
+        int priority = move != null ? move.getPriority() : 0;
+        scheduler.add(TurnScheduler.BRACKET_MOVE, priority, getEffectiveSpeed(side), side, index);
+    } // Queue switches in BRACKET_SWITCH once switching is implemented //TODO
+
+    /**
+     * Returns the move that a side chose.
+     * @param side The side that chose the move.
+     * @param index The index of the chosen move, STRUGGLE, or a negative number if the side does nothing.
+     * @return The chosen move, or null if the side does nothing.
+     */
+    private Move getChosenMove(int side, int index) {
+        if(index == STRUGGLE)
+            return MoveRegistry.getStruggle();
+        return index >= 0 ? getLead(side).getMove(index) : null;
+    }
+
+    /**
+     * A helper method that checks if the chosen move is valid, spends its PP, and passes it off to the appropriate
+     * resolveMove method based on if it is an AttackingMove. Releasing a two-turn move costs no PP, since its
+     * charging turn already paid for it. A Pokémon that used Rest sleeps through its next REST_TURNS actions and
+     * then wakes up and acts, and any action other than protecting ends the side's streak of protection.
+     * @param side The side that is using the move.
+     * @param index The index of the chosen move, or a negative number if the side does nothing.
+     * @param userMovesFirst True if the user moved first this round, and false otherwise,
+     *                       which is important for calculating BP and certain effects in some cases.
+     */
+    private void resolveMoveType(int side, int index, boolean userMovesFirst) {
+        Pokemon moveUser = getLead(side);
+        Move chosenMove = getChosenMove(side, index);
+        if(protectStreaks[side] > 0 && !(chosenMove instanceof StatusMove && ((StatusMove) chosenMove).protects()))
+            writeProtectStreak(side, 0);
+        if(moveUser.getNonVolStatus() == NonVolatileStatus.RESTING) {
+            int turns = moveUser.getNonVolStatusTurns();
+            if(turns < REST_TURNS) {
+                writeNonVolStatusTurns(moveUser, turns + 1);
+                emit(BattleEventType.ASLEEP, side, 0, 0);
+                return;
+            }
+            writeNonVolStatus(moveUser, NonVolatileStatus.NONE);
+            emit(BattleEventType.WOKE_UP, side, 0, 0);
+        }
+        if(index < 0) {
+            emit(BattleEventType.NOTHING, side, 0, 0); // Switch out once switching is implemented //TODO
+            return;
+        }
+        Move genericMove = chosenMove;
+        if(genericMove == null || genericMove.getName() == null)
+            throw new IllegalStateException("The move at index " + index + " is not valid!");
+        if(index == STRUGGLE) { // Struggle costs no PP
+            resolveMove((AttackingMove) genericMove, index, moveUser, getLead(1 - side), side, userMovesFirst);
+            return;
+        }
+        MoveSlot slot = moveUser.getMoveSlot(index);
+        if(!slot.isCharging()) {
+            if(slot.getPP() == 0) {
+                emit(BattleEventType.NO_PP, side, index, 0);
+                return;
+            }
+            writePP(moveUser, index, slot.getPP() - 1);
+        }
+        if (!genericMove.isAttackingMove())
+            resolveMove((StatusMove) genericMove, index, moveUser, getLead(1 - side), side, userMovesFirst);
+        else
+            resolveMove((AttackingMove) genericMove, index, moveUser, getLead(1 - side), side, userMovesFirst);
+    }
+
+    /**
+     * Resolves an attacking move used by the moveUser on the moveTarget. This contains the main logic for
+     * damage and additional effects, although its functions will be increasing as more abilities and
+     * additional effects come into play.
+     * @param move The attacking move to be used.
+     * @param index The index of the move in the user's move slots.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param side The side of the moveUser.
+     * @param userMovesFirst True if the moveUser moved first this round, and false otherwise,
+     *                       which is important for calculating BP and certain effects in some cases.
+     */
+    private void resolveMove(AttackingMove move, int index, Pokemon moveUser, Pokemon moveTarget, int side, boolean userMovesFirst) {
+        if (rng.nextChance(RngStream.ACCURACY, DamageCalculator.countHits(move, moveUser, moveTarget, weather), 100)) {
+
+            if(move.takesTwoTurns() && takesTwoTurns(move, moveUser.getMoveSlot(index), index, side)) { // Check for two-turn moves
+                emit(BattleEventType.CHARGING, side, index, 0);
+                return;
+            }
+            if(isProtected(1 - side)) {
+                emit(BattleEventType.MOVE_USED, side, index, 0);
+                emit(BattleEventType.PROTECTED, 1 - side, 0, 0);
+                return;
+            }
+            boolean isCrit = isCriticalHit(move, moveUser, moveTarget);
+            int damage = DamageCalculator.damageBeforeRoll(move, moveUser, moveTarget, weather, userMovesFirst, isCrit);
+
+            int modifier = DamageCalculator.chainModifiers(DamageCalculator.afterRollModifier(move, moveUser, moveTarget),
+                    DamageCalculator.screenModifier(hasScreenAgainst(1 - side, move), isCrit));
+            int rolledDamage = DamageCalculator.applyRoll(damage, rng.nextInt(RngStream.DAMAGE_ROLL, DamageCalculator.ROLL_COUNT), modifier);
+            int substituteHP = substituteHPs[1 - side];
+            emit(BattleEventType.MOVE_USED, side, index, 0);
+            int actualDamage;
+            if(substituteHP > 0) { // The substitute takes the hit instead
+                actualDamage = Math.min(rolledDamage, substituteHP);
+                writeSubstituteHP(1 - side, substituteHP - actualDamage);
+                emit(BattleEventType.SUBSTITUTE_DAMAGE, 1 - side, actualDamage, 0);
+                if(actualDamage == substituteHP)
+                    emit(BattleEventType.SUBSTITUTE_BROKE, 1 - side, 0, 0);
+            }
+            else {
+                int initHP = moveTarget.getInitStats()[0];
+                actualDamage = Math.min(rolledDamage, initHP);
+                writeStat(moveTarget, 0, initHP - actualDamage); //Reduce HP
+                emit(BattleEventType.DAMAGE, 1 - side, actualDamage, 0);
+            }
+
+            resolveAdditionalEffects(move, moveUser, moveTarget, actualDamage, substituteHP > 0); //stat changes, status changes, other
+            if(index == STRUGGLE) {
+                int initHP = moveUser.getInitStats()[0];
+                int recoil = Math.min(Math.max(moveUser.getMaxHP() / 4, 1), initHP); // A quarter of the max HP
+                emit(BattleEventType.RECOIL, side, recoil, 0);
+                writeStat(moveUser, 0, initHP - recoil);
+            }
+        }
+        else {
+            emit(BattleEventType.MISS, side, 0, 0); // Handle the attacking moves that can fail rather than miss, such as Sucker Punch //TODO
+        }
+    }
+
+    /**
+     * Resolves a status move used by the moveUser on the moveTarget by running the move's program. Each
+     * instruction acts on the user or the target, and the first instruction that fails ends the move. Moves
+     * that never miss do not draw an accuracy check. A protected target blocks the whole move if it acts on the
+     * target at all, and a substitute makes every instruction that acts on the target fail.
+     * @param move The status move to be used.
+     * @param index The index of the move in the user's move slots.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param side The side of the moveUser.
+     * @param userMovesFirst True if the moveUser moved first this round, and false otherwise,
+     *                       which is important for calculating BP and certain effects in some cases.
+     */
+    private void resolveMove(StatusMove move, int index, Pokemon moveUser, Pokemon moveTarget, int side, boolean userMovesFirst) {
+        if(move.affectsTarget() && isProtected(1 - side)) {
+            emit(BattleEventType.MOVE_USED, side, index, 0);
+            emit(BattleEventType.PROTECTED, 1 - side, 0, 0);
+            return;
+        }
+        if(move.getAccuracy() != 1000
+                && !rng.nextChance(RngStream.ACCURACY, DamageCalculator.countHits(move, moveUser, moveTarget, weather), 100)) {
+            emit(BattleEventType.MISS, side, 0, 0);
+            return;
+        }
+        emit(BattleEventType.MOVE_USED, side, index, 0);
+        int[] program = move.getProgram();
+        for(int pc = 0; pc < program.length; pc++) {
+            int instruction = program[pc];
+            boolean targetsFoe = StatusMove.targetsFoe(instruction);
+            Pokemon receiver = targetsFoe ? moveTarget : moveUser;
+            int receiverSide = targetsFoe ? 1 - side : side;
+            int operand = StatusMove.getOperand(instruction);
+            // A fainted receiver or one behind a substitute makes the instruction fail without running it
+            boolean succeeded = receiver.getInitStats()[0] > 0 && (!targetsFoe || substituteHPs[receiverSide] == 0);
+            switch(succeeded ? StatusMove.getOpcode(instruction) : StatusMove.OP_UNSUPPORTED) {
+                case StatusMove.OP_TYPE_IMMUNITY:
+                    succeeded = TypeChart.getEffectiveness(move.getPokemonType(), receiver.getTypeProfile()) != 0;
+                    break;
+                case StatusMove.OP_HEAL:
+                    succeeded = heal(receiver, receiverSide, receiver.getMaxHP() * operand / 100);
+                    break;
+                case StatusMove.OP_WEATHER_HEAL:
+                    int maxHP = receiver.getMaxHP();
+                    if(weather == 2 || weather == 6)
+                        succeeded = heal(receiver, receiverSide, maxHP * 2 / 3);
+                    else if(weather >= 1 && weather <= 5)
+                        succeeded = heal(receiver, receiverSide, maxHP / 4);
+                    else
+                        succeeded = heal(receiver, receiverSide, maxHP * operand / 100);
+                    break;
+                case StatusMove.OP_STAT_STAGE:
+                    resolveStatChange(StatusMove.getIndex(instruction), operand, receiver); // A capped stat reports itself
+                    break;
+                case StatusMove.OP_NON_VOL_STATUS:
+                    NonVolatileStatus status = NonVolatileStatus.fromOrdinal(operand);
+                    succeeded = !move.avoidsNonVolStatus(status, receiver, moveUser);
+                    if(succeeded) {
+                        writeNonVolStatus(receiver, status);
+                        emit(BattleEventType.STATUS_APPLIED, receiverSide, operand, 0);
+                    }
+                    break;
+                case StatusMove.OP_VOL_STATUS:
+                    VolatileStatus volStatus = VolatileStatus.fromOrdinal(operand);
+                    succeeded = !move.avoidsVolStatus(volStatus, receiver, moveUser) && addVolStatus(receiver, volStatus);
+                    if(succeeded)
+                        emit(BattleEventType.STATUS_APPLIED, receiverSide, operand, 1);
+                    break;
+                case StatusMove.OP_REST:
+                    NonVolatileStatus current = receiver.getNonVolStatus();
+                    // Rest replaces any other status, so only sleep and the abilities that prevent sleep stop it
+                    succeeded = receiver.getInitStats()[0] < receiver.getMaxHP() && current != NonVolatileStatus.SLEEPING
+                            && current != NonVolatileStatus.RESTING && (current != NonVolatileStatus.NONE
+                            || !move.avoidsNonVolStatus(NonVolatileStatus.RESTING, receiver, moveUser));
+                    if(succeeded) {
+                        writeNonVolStatus(receiver, NonVolatileStatus.RESTING);
+                        emit(BattleEventType.STATUS_APPLIED, receiverSide, NonVolatileStatus.RESTING.ordinal(), 0);
+                        heal(receiver, receiverSide, receiver.getMaxHP());
+                    }
+                    break;
+                case StatusMove.OP_WEATHER:
+                    succeeded = weather != operand;
+                    if(succeeded) {
+                        setWeather(operand, WEATHER_MOVE_TURNS);
+                        emit(BattleEventType.WEATHER, side, operand, 0);
+                    }
+                    break;
+                case StatusMove.OP_SCREEN:
+                    succeeded = getScreenTurns(receiverSide, operand) == 0;
+                    if(succeeded) {
+                        writeScreenTurns(receiverSide, operand, SCREEN_TURNS);
+                        emit(BattleEventType.SCREEN, receiverSide, operand, 0);
+                    }
+                    break;
+                case StatusMove.OP_PROTECT:
+                    succeeded = protect(receiverSide, userMovesFirst);
+                    break;
+                case StatusMove.OP_FORCE_SWITCH:
+                    succeeded = forceSwitch(receiverSide);
+                    break;
+                case StatusMove.OP_SUBSTITUTE:
+                    int cost = receiver.getMaxHP() * operand / 100;
+                    int initHP = receiver.getInitStats()[0];
+                    succeeded = substituteHPs[receiverSide] == 0 && initHP > cost;
+                    if(succeeded) {
+                        writeStat(receiver, 0, initHP - cost);
+                        writeSubstituteHP(receiverSide, cost);
+                        emit(BattleEventType.SUBSTITUTE, receiverSide, cost, 0);
+                    }
+                    break;
+                case StatusMove.OP_UNSUPPORTED:
+                    succeeded = false;
+                    break;
+                default:
+                    throw new IllegalStateException("The opcode " + StatusMove.getOpcode(instruction) + " of "
+                            + move.getName() + " is not valid!");
+            }
+            if(!succeeded) {
+                emit(BattleEventType.FAIL, side, 0, 0);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Protects a side for the rest of the turn. Protection fails if the side moves last, and every turn in a row
+     * that the side has already protected itself makes it three times less likely to work.
+     * @param side The side to be protected.
+     * @param userMovesFirst True if the side moved first this turn.
+     * @return True if the side is now protected, false if the protection failed.
+     */
+    private boolean protect(int side, boolean userMovesFirst) {
+        int streak = protectStreaks[side];
+        int outOf = 1;
+        for(int i = 0; i < streak; i++)
+            outOf *= 3;
+        if(!userMovesFirst || (outOf > 1 && !rng.nextChance(RngStream.PROTECTION, 1, outOf))) {
+            writeProtectStreak(side, 0);
+            return false;
+        }
+        writeProtectedSides(protectedSides | 1 << side);
+        writeProtectStreak(side, Math.min(streak + 1, MAX_PROTECT_STREAK));
+        emit(BattleEventType.PROTECT, side, 0, 0);
+        return true;
+    }
+
+    /**
+     * Drags a side's lead out and sends out a random healthy teammate in its place. The lead loses its stat
+     * stages, volatile statuses, substitute, and any move that it was charging on the way out.
+     * @param side The side whose lead is dragged out.
+     * @return True if the lead was replaced, false if it had no healthy teammates.
+     */
+    private boolean forceSwitch(int side) {
+        ArrayList<Pokemon> team = trainers[side].getTeam();
+        int candidates = 0;
+        for(int i = 0; i < team.size(); i++)
+            if(i != leadIndexes[side] && team.get(i).getInitStats()[0] > 0)
+                candidates++;
+        if(candidates == 0)
+            return false;
+        int choice = rng.nextInt(RngStream.FORCED_SWITCH, candidates);
+        int next = -1;
+        for(int i = 0; choice >= 0; i++)
+            if(i != leadIndexes[side] && team.get(i).getInitStats()[0] > 0) {
+                next = i;
+                choice--;
+            }
+
+        Pokemon lead = getLead(side);
+        emit(BattleEventType.DRAGGED_OUT, side, 0, 0);
+        for(int i = 1; i < lead.getStatStages().length; i++)
+            if(lead.getStatStages()[i] != 6)
+                writeStatStage(lead, i, 6);
+        for(int i = 0; i < VolatileStatus.COUNT; i++)
+            if(lead.hasVolStatus(VolatileStatus.fromOrdinal(i)))
+                removeVolStatus(lead, VolatileStatus.fromOrdinal(i));
+        int lockedMove = lockedMoves[side];
+        if(lockedMove >= 0) {
+            writeCharging(lead, lockedMove, false);
+            writeLockedMove(side, -1);
+        }
+        writeInvulnCode(lead, 0);
+        writeSubstituteHP(side, 0);
+        writeLeadIndex(side, next);
+        emit(BattleEventType.SEND_OUT, side, 0, 0);
+        return true;
+    }
+
+    /**
+     * Restores a Pokémon's HP, without going over its max HP, and records how much was restored.
+     * @param p The Pokémon to be healed.
+     * @param side The side of the Pokémon.
+     * @param amount The HP to be restored, which is at least 1.
+     * @return True if any HP was restored, false if the Pokémon was already at full health.
+     */
+    private boolean heal(Pokemon p, int side, int amount) {
+        int initHP = p.getInitStats()[0];
+        int actualGain = Math.min(Math.max(1, amount), p.getMaxHP() - initHP);
+        if(actualGain == 0)
+            return false;
+        writeStat(p, 0, initHP + actualGain);
+        emit(BattleEventType.HEAL, side, actualGain, 0);
+        return true;
+    }
+
+    /**
+     * Determines if the moveUser critically hits against the moveTarget with the given move. This
+     * contains the logic for dealing with increased critical chances.
+     * @param move The move to be used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move (relevant for abilities)
+     * @return True if a critical hit occurs, false otherwise.
+     */
+    private boolean isCriticalHit(AttackingMove move, Pokemon moveUser, Pokemon moveTarget) {
+        int critDenominator = DamageCalculator.getCritDenominator(move, moveUser);
+        return critDenominator == 1 || rng.nextChance(RngStream.CRITICAL, 1, critDenominator);
+    }
+
+    /**
+     * Checks if this move takes two turns. If it does not take two turns, it returns false, but if it does,
+     * it performs the necessary actions to start the two-turn move, locking the user into the move and setting up
+     * the correct semi-invulnerability states. It detects if it is in a two-turn move and undoes its actions in the
+     * previous turn, if this is the case. It detects if SolarBeam should take two turns.
+     * @param move The move to be checked.
+     * @param slot The user's slot for the move, which keeps track of whether it is charging.
+     * @param index The index of the move in the user's move slots.
+     * @param side The side of the moveUser.
+     * @return True if this move will be taking a charging turn, false otherwise.
+     */
+    private boolean takesTwoTurns(AttackingMove move, MoveSlot slot, int index, int side) {
+        Pokemon moveUser = getLead(side);
+        int ttCode = move.getTwoTurnCode();
+        if(!slot.isCharging()) {
+            if(ttCode == 0 || (ttCode == 2 && (weather == 2 || weather == 6)))
+                return false; //check this //TODO
+            writeLockedMove(side, index); // Lock the user into this move
+            writeCharging(moveUser, index, true);
+            if(ttCode > 2)
+                writeInvulnCode(moveUser, ttCode);
+            return true;
+        }
+        else { //deal with yawn and interruptions //TODO
+            writeCharging(moveUser, index, false); //release the move and reset invulnerability
+            writeInvulnCode(moveUser, 0);
+            writeLockedMove(side, -1);
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the BP of the move given the circumstances. This encapsulates calculations relating to
+     * changing BP (like for Eruption, Payback, and other moves). This does not include STAB or other modifiers;
+     * those are calculated later.
+     * @param move The move for which BP is to be calculated.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param userMovesFirst True if the moveUser moved first this round, and false otherwise,
+     *                       Which is important for calculating BP and certain effects in some cases.
+     * @return The rounded down value of the new BP (by truncating it back to int).
+     */
+    public int calculateBP(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, boolean userMovesFirst) {
+        return DamageCalculator.calculateBP(move, moveUser, moveTarget, userMovesFirst, weather);
+    }
+
+    /**
+     * Modifies the specified damage based on the strengths and weaknesses of the move against the target's types.
+     * This also adds in a STAB modifier if applicable.
+     * @param moveTarget The target of the move.
+     * @param move The move used.
+     * @param damage The starting damage.
+     * @param moveUser The Pokémon using the move.
+     * @return A modified damage based on type effectiveness and STAB.
+     */
+    public static double checkTypeMatchups(Pokemon moveTarget, Move move, double damage, Pokemon moveUser) {
+        PokemonType mType = move.getPokemonType();
+        damage *= TypeChart.getEffectiveness(mType, moveTarget.getTypeProfile());
+        if (moveUser.hasType(mType)) //STAB bonus
+            damage *= 1.5;
+        return damage;
+    }
+
+    /**
+     * Resolves the additional effect of the move, which include stat changes and both types of status changes.
+     * This contains the logic for the probability of these effects occurring as well. A substitute that took the
+     * hit keeps every effect off the target, but the effects on the user still happen.
+     * @param move The move used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param moveDamage The damage inflicted by the move, which is relevant at this stage for HP-draining and recoil-inducing moves.
+     * @param hitSubstitute True if the target's substitute took the hit.
+     */
+    private void resolveAdditionalEffects(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, int moveDamage,
+                                          boolean hitSubstitute) {
+        if(rng.nextChance(RngStream.SECONDARY_EFFECT, move.getAddEffectChance(), 100)) {
+            if(!hitSubstitute || move.changesUserStats())
+                changeStats(move, moveUser, moveTarget, moveDamage);
+            if(!hitSubstitute || move.statusesUser()) {
+                changeNonVolStatus(move, moveUser, moveTarget);
+                changeVolStatus(move, moveUser, moveTarget);
+            }
+        }
+    }
+
+    /**
+     * Determines the necessary stat changes for the used move on the moveUser or the moveTarget. This deals with HP changes
+     * as well.
+     * @param move The used move.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param moveDamage The damage inflicted by the move, which is relevant at this stage for HP-draining and recoil-inducing moves.
+     */
+    private void changeStats(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, int moveDamage) {
+        Pokemon statChanger = move.changesUserStats() ? moveUser : moveTarget;
+        // Treat HP as a special case since it does not follow a -6 to 6 scale that maps to a percentage of the original value;
+        // Instead, the most standard case is based on a percentage from recoil or HP-draining moves, and
+        // Treat the other ways of changing HP directly as special cases
+        if(move.hasEffect(AttackingMove.EFFECT_DRAIN)) {
+            int initHP = statChanger.getInitStats()[0];
+            int calculatedChange = (int) (move.getDrainPercent() / 100.0 * moveDamage);
+            int actualChange = Math.min(calculatedChange, statChanger.getMaxHP() - initHP);
+            int userSide = sideOf(moveUser);
+            emit(BattleEventType.DRAIN, userSide, actualChange, leadIndexes[1 - userSide]);
+            writeStat(statChanger, 0, initHP + actualChange);
+        }
+        else if(move.hasEffect(AttackingMove.EFFECT_RECOIL)) {
+            int initHP = statChanger.getInitStats()[0];
+            int calculatedChange = (int) (-move.getRecoilPercent() / 100.0 * moveDamage);
+            int actualChange = Math.max(calculatedChange, initHP * -1); // Choose the less negative option (the lesser of two negative numbers)
+            emit(BattleEventType.RECOIL, sideOf(moveUser), Math.abs(actualChange), 0);
+            writeStat(statChanger, 0, initHP + actualChange);
+        }
+        // Deal with other cases like Sonic Boom or Nature's Madness later //TODO
+        if(move.hasEffect(AttackingMove.EFFECT_STAT_STAGES)) {
+            int[] statChanges = move.getStatChanges();
+            for(int i = 1; i < 6; i++) {
+                if(statChanges[i] != 0)
+                    resolveStatChange(i, statChanges[i], statChanger);
+            }
+        }
+    }
+
+    /**
+     * Resolves a stat change other than HP, and it also catches stat changes beyond +/- 6.
+     * @param statIndex The index of the stat to be changed.
+     * @param numStages The number of stages to increase or decrease the stat.
+     * @param statChanger The Pokémon whose stats are to be increased.
+     */
+    private void resolveStatChange(int statIndex, int numStages, Pokemon statChanger) {
+        if(statChanger.getInitStats()[0] == 0) {
+            return; // Skip the stat change if the Pokémon has fainted
+        }
+        if(statIndex < 1 || statIndex >= STAT_NAMES.length)
+            throw new IllegalArgumentException(statIndex + " is not a possible index in this scenario!");
+
+        int actualChange;
+        int initStats = statChanger.getStatStages()[statIndex];
+        if (numStages > 0) {
+            actualChange = Math.min(numStages, 12 - initStats);
+        }
+        else {
+            actualChange = Math.max(numStages, -1 * initStats); // Choose the less negative option (the lesser of two negative numbers)
+        }
+        writeStatStage(statChanger, statIndex, initStats + actualChange); // Change the stat stage
+        emit(BattleEventType.STAT_CHANGE, sideOf(statChanger), statIndex, (initStats + actualChange) << 8 | (actualChange & 0xFF));
+    }
+
+    /**
+     * Changes the non-volatile status of the Pokémon done by the move, if necessary and applicable. It uses other methods
+     * to decide if the status change is valid.
+     * @param move The move used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     */
+    private void changeNonVolStatus(AttackingMove move, Pokemon moveUser, Pokemon moveTarget) {
+        NonVolatileStatus moveStatus = move.getNonVolChanges();
+        if(moveStatus == NonVolatileStatus.NONE || moveTarget.getInitStats()[0] == 0)  {
+            return; // Skip this if it causes no non-volatile changes or if the target has fainted
+        }
+        Pokemon statusReceiver = move.statusesUser() ? moveUser : moveTarget;
+        if(!move.avoidsNonVolStatus(moveStatus, statusReceiver, moveUser)) {
+            writeNonVolStatus(statusReceiver, moveStatus);
+            emit(BattleEventType.STATUS_APPLIED, sideOf(statusReceiver), moveStatus.ordinal(), 0);
+        }
+    }
+
+    /**
+     * Changes the volatile status of the Pokémon done by the move, if necessary and applicable. It uses other methods
+     * to decide if the status change is valid.
+     * @param move The move used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     */
+    private void changeVolStatus(AttackingMove move, Pokemon moveUser, Pokemon moveTarget) {
+        int moveStatuses = move.getVolChanges();
+        if(moveStatuses == 0  || moveTarget.getInitStats()[0] == 0)  {
+            return; // Skip this if it causes no volatile changes or if the target has fainted
+        }
+        Pokemon statusReceiver = move.statusesUser() ? moveUser : moveTarget;
+        for(int i = 0; i < VolatileStatus.COUNT; i++) {
+            VolatileStatus moveStatus = VolatileStatus.fromOrdinal(i);
+            if((moveStatuses & moveStatus.mask()) != 0 && !move.avoidsVolStatus(moveStatus, statusReceiver, moveUser)
+                    && addVolStatus(statusReceiver, moveStatus)) {
+                emit(BattleEventType.STATUS_APPLIED, sideOf(statusReceiver), moveStatus.ordinal(), 1);
+            }
+        }
+    }
+
+    /**
+     * Resolves the end-of-turn effects of both sides in one pass. Weather from a move counts down first and
+     * clears up before it can hurt anyone on its last turn. The other effects resolve in the order of
+     * ResidualEffect, and each effect hits the faster lead first, where a speed tie goes to the side that moved
+     * first this turn. A lead that faints partway through takes no further effects, but its side's screens
+     * still count down.
+     * @param firstSide The side that moved first this turn.
+     */
+    private void resolveResiduals(int firstSide) {
+        if(weatherTurns > 0) {
+            if(weatherTurns == 1) {
+                emit(BattleEventType.WEATHER_ENDED, firstSide, weather, 0);
+                setWeather(0);
+            }
+            else
+                writeWeatherTurns(weatherTurns - 1);
+        }
+        residuals[PLAYER] = collectResiduals(PLAYER);
+        residuals[ENEMY] = collectResiduals(ENEMY);
+        int pending = residuals[PLAYER] | residuals[ENEMY];
+        if(pending == 0)
+            return;
+        int playerSpeed = getEffectiveSpeed(PLAYER);
+        int enemySpeed = getEffectiveSpeed(ENEMY);
+        int faster = playerSpeed > enemySpeed ? PLAYER : playerSpeed < enemySpeed ? ENEMY : firstSide;
+        while(pending != 0) {
+            int bit = Integer.lowestOneBit(pending);
+            pending ^= bit;
+            ResidualEffect effect = ResidualEffect.fromOrdinal(Integer.numberOfTrailingZeros(bit));
+            if((residuals[faster] & bit) != 0 && (effect.isSideWide() || getLead(faster).getInitStats()[0] > 0))
+                resolveResidual(effect, faster);
+            if((residuals[1 - faster] & bit) != 0 && (effect.isSideWide() || getLead(1 - faster).getInitStats()[0] > 0))
+                resolveResidual(effect, 1 - faster);
+        }
+    }
+
+    /**
+     * Returns the residual effects that apply to a side and its lead this turn.
+     * @param side The side in question.
+     * @return The mask of the side's residual effects, which only has the side's screens if the lead has fainted.
+     */
+    private int collectResiduals(int side) {
+        int mask = 0;
+        if(getScreenTurns(side, StatusMove.SCREEN_REFLECT) > 0)
+            mask |= ResidualEffect.REFLECT.mask();
+        if(getScreenTurns(side, StatusMove.SCREEN_LIGHT_SCREEN) > 0)
+            mask |= ResidualEffect.LIGHT_SCREEN.mask();
+        Pokemon lead = getLead(side);
+        if(lead.getInitStats()[0] == 0)
+            return mask;
+        if(weather == 3 && !lead.hasType(PokemonType.ROCK) && !lead.hasType(PokemonType.GROUND)
+                && !lead.hasType(PokemonType.STEEL))
+            mask |= ResidualEffect.SANDSTORM.mask();
+        else if(weather == 4 && !lead.hasType(PokemonType.ICE))
+            mask |= ResidualEffect.HAIL.mask();
+        if(lead.hasVolStatus(VolatileStatus.SEEDED))
+            mask |= ResidualEffect.LEECH_SEED.mask();
+        NonVolatileStatus status = lead.getNonVolStatus();
+        if(status == NonVolatileStatus.POISONED || status == NonVolatileStatus.BADLY_POISONED)
+            mask |= ResidualEffect.POISON.mask();
+        else if(status == NonVolatileStatus.BURNED)
+            mask |= ResidualEffect.BURN.mask();
+        if(lead.hasVolStatus(VolatileStatus.YAWNING))
+            mask |= ResidualEffect.YAWN.mask();
+        return mask;
+    }
+
+    /**
+     * Resolves one end-of-turn effect on a side's lead. Sandstorm, hail, and burns take 1/16 of the lead's max HP,
+     * and poison takes 1/8. A bad poisoning takes 1/16 more every turn, up to 15/16. Leech Seed takes 1/8 and gives
+     * it to the opposing lead, and Yawn puts the lead to sleep at the end of the turn after it was used. The
+     * screens count down and wear off after their last turn.
+     * @param effect The effect to be resolved.
+     * @param side The side of the lead.
+     */
+    private void resolveResidual(ResidualEffect effect, int side) {
+        Pokemon lead = getLead(side);
+        int maxHP = lead.getMaxHP();
+        switch(effect) {
+            case SANDSTORM:
+            case HAIL:
+            case BURN:
+                loseResidualHP(lead, side, effect, ResidualEffect.fractionOf(maxHP, 1, 16));
+                break;
+            case LEECH_SEED:
+                int drained = loseResidualHP(lead, side, effect, ResidualEffect.fractionOf(maxHP, 1, 8));
+                Pokemon seeder = getLead(1 - side);
+                int seederHP = seeder.getInitStats()[0];
+                if(seederHP > 0) {
+                    int healed = Math.min(drained, seeder.getMaxHP() - seederHP);
+                    writeStat(seeder, 0, seederHP + healed);
+                    emit(BattleEventType.DRAIN, 1 - side, healed, leadIndexes[side]);
+                }
+                break;
+            case POISON:
+                if(lead.getNonVolStatus() == NonVolatileStatus.BADLY_POISONED) {
+                    int turns = Math.min(lead.getNonVolStatusTurns() + 1, 15);
+                    writeNonVolStatusTurns(lead, turns);
+                    loseResidualHP(lead, side, effect, ResidualEffect.fractionOf(maxHP, turns, 16));
+                }
+                else
+                    loseResidualHP(lead, side, effect, ResidualEffect.fractionOf(maxHP, 1, 8));
+                break;
+            case YAWN:
+                if(lead.getVolStatusTurns(VolatileStatus.YAWNING) == 0) {
+                    writeVolStatusTurns(lead, VolatileStatus.YAWNING, 1); // Drowsy until the end of the next turn
+                    break;
+                }
+                removeVolStatus(lead, VolatileStatus.YAWNING);
+                if(lead.getNonVolStatus() == NonVolatileStatus.NONE) {
+                    writeNonVolStatus(lead, NonVolatileStatus.SLEEPING);
+                    emit(BattleEventType.STATUS_APPLIED, side, NonVolatileStatus.SLEEPING.ordinal(), 0);
+                }
+                break;
+            case REFLECT:
+            case LIGHT_SCREEN:
+                int screen = effect == ResidualEffect.REFLECT ? StatusMove.SCREEN_REFLECT : StatusMove.SCREEN_LIGHT_SCREEN;
+                int turns = getScreenTurns(side, screen) - 1;
+                writeScreenTurns(side, screen, turns);
+                if(turns == 0)
+                    emit(BattleEventType.RESIDUAL_ENDED, side, effect.ordinal(), 0);
+                break;
+        }
+    }
+
+    /**
+     * Takes HP from a lead because of an end-of-turn effect, without going below 0.
+     * @param lead The lead that loses HP.
+     * @param side The side of the lead.
+     * @param effect The effect that takes the HP.
+     * @param amount The HP to be taken.
+     * @return The HP that was actually taken.
+     */
+    private int loseResidualHP(Pokemon lead, int side, ResidualEffect effect, int amount) {
+        int initHP = lead.getInitStats()[0];
+        int actualLoss = Math.min(amount, initHP);
+        writeStat(lead, 0, initHP - actualLoss);
+        emit(BattleEventType.RESIDUAL, side, actualLoss, effect.ordinal());
+        return actualLoss;
+    }
+
+    /**
+     * Sends out the next healthy Pokémon for each side whose lead has fainted, in team order.
+     */
+    private void replaceFaintedLeads() {
+        for(int side = PLAYER; side <= ENEMY; side++) {
+            Pokemon lead = getLead(side);
+            if(lead.getInitStats()[0] > 0)
+                continue;
+            emit(BattleEventType.FAINT, side, 0, 0);
+            writeLockedMove(side, -1);
+            writeInvulnCode(lead, 0);
+            if(substituteHPs[side] > 0)
+                writeSubstituteHP(side, 0);
+            int next = findHealthyPokemon(side);
+            if(next >= 0) {
+                writeLeadIndex(side, next);
+                emit(BattleEventType.SEND_OUT, side, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Records an event whose subject is the given side's current lead.
+     * @param type The type of the event.
+     * @param side The side of the subject.
+     * @param arg The first argument.
+     * @param arg2 The second argument.
+     */
+    private void emit(BattleEventType type, int side, int arg, int arg2) {
+        events.add(type, side, leadIndexes[side], arg, arg2);
+    }
+
+    /**
+     * Returns the side of one of the current leads.
+     * @param lead One of the current leads.
+     * @return The side of that lead.
+     */
+    private int sideOf(Pokemon lead) {
+        return lead == getLead(PLAYER) ? PLAYER : ENEMY;
+    }
+
+    /**
+     * Sets one of a Pokémon's stats (including its HP at index 0), recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param statIndex The index of the stat.
+     * @param value The new value of the stat.
+     */
+    private void writeStat(Pokemon p, int statIndex, int value) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.STAT, p, statIndex, p.getInitStats()[statIndex]);
+        p.setStat(value, statIndex);
+    }
+
+    /**
+     * Sets one of a Pokémon's stat stages, recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param statIndex The index of the stat.
+     * @param stage The new stat stage.
+     */
+    private void writeStatStage(Pokemon p, int statIndex, int stage) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.STAT_STAGE, p, statIndex, p.getStatStages()[statIndex]);
+        p.setStatStage(statIndex, stage);
+    }
+
+    /**
+     * Sets a Pokémon's non-volatile status, recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param status The new non-volatile status.
+     */
+    private void writeNonVolStatus(Pokemon p, NonVolatileStatus status) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.NON_VOL_STATUS, p, 0, p.getNonVolStatus().ordinal());
+        p.setNonVolStatus(status);
+        writeNonVolStatusTurns(p, 0);
+    }
+
+    /**
+     * Sets the number of turns that a Pokémon's non-volatile status has lasted, recording the old value if there
+     * is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param turns The new number of turns.
+     */
+    private void writeNonVolStatusTurns(Pokemon p, int turns) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.NON_VOL_STATUS_TURNS, p, 0, p.getNonVolStatusTurns());
+        p.setNonVolStatusTurns(turns);
+    }
+
+    /**
+     * Gives a Pokémon a volatile status, recording its old statuses and turn count if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param status The volatile status to be added.
+     * @return True if the status was added, false if the Pokémon already had it.
+     */
+    private boolean addVolStatus(Pokemon p, VolatileStatus status) {
+        if(p.hasVolStatus(status))
+            return false;
+        if(undoLog != null) {
+            undoLog.record(UndoLog.VOL_STATUSES, p, 0, p.getVolStatuses());
+            undoLog.record(UndoLog.VOL_STATUS_TURNS, p, status.ordinal(), p.getVolStatusTurns(status));
+        }
+        return p.addVolStatus(status);
+    }
+
+    /**
+     * Removes a volatile status from a Pokémon, recording its old statuses if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param status The volatile status to be removed.
+     */
+    private void removeVolStatus(Pokemon p, VolatileStatus status) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.VOL_STATUSES, p, 0, p.getVolStatuses());
+        p.removeVolStatus(status);
+    }
+
+    /**
+     * Sets the number of turns that a Pokémon's volatile status has lasted, recording the old value if there is
+     * an undo log.
+     * @param p The Pokémon to be changed.
+     * @param status The volatile status in question.
+     * @param turns The new number of turns.
+     */
+    private void writeVolStatusTurns(Pokemon p, VolatileStatus status, int turns) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.VOL_STATUS_TURNS, p, status.ordinal(), p.getVolStatusTurns(status));
+        p.setVolStatusTurns(status, turns);
+    }
+
+    /**
+     * Sets a Pokémon's invulnerability code, recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param code The new invulnerability code.
+     */
+    private void writeInvulnCode(Pokemon p, int code) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.INVULN_CODE, p, 0, p.getInvulnCode());
+        p.setInvulnCode(code);
+    }
+
+    /**
+     * Sets whether one of a Pokémon's moves is charging, recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param moveIndex The index of the move.
+     * @param charging True if the move is starting to charge, false once it has been released.
+     */
+    private void writeCharging(Pokemon p, int moveIndex, boolean charging) {
+        MoveSlot slot = p.getMoveSlot(moveIndex);
+        if(undoLog != null)
+            undoLog.record(UndoLog.CHARGING, p, moveIndex, slot.isCharging() ? 1 : 0);
+        slot.setCharging(charging);
+    }
+
+    /**
+     * Sets the remaining PP of one of a Pokémon's moves, recording the old value if there is an undo log.
+     * @param p The Pokémon to be changed.
+     * @param moveIndex The index of the move.
+     * @param pp The new remaining PP.
+     */
+    private void writePP(Pokemon p, int moveIndex, int pp) {
+        MoveSlot slot = p.getMoveSlot(moveIndex);
+        if(undoLog != null)
+            undoLog.record(UndoLog.PP, p, moveIndex, slot.getPP());
+        slot.changePP(pp - slot.getPP());
+    }
+
+    /**
+     * Sets the number of turns left before the weather clears up, recording the old value if there is an undo log.
+     * @param turns The new number of turns, or 0 if the weather lasts until it is replaced.
+     */
+    private void writeWeatherTurns(int turns) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.WEATHER_TURNS, null, 0, weatherTurns);
+        weatherTurns = turns;
+    }
+
+    /**
+     * Sets the number of turns left of one of a side's screens, recording the old value if there is an undo log.
+     * @param side The side in question.
+     * @param screenCode The code of the screen.
+     * @param turns The new number of turns, or 0 to take the screen down.
+     */
+    private void writeScreenTurns(int side, int screenCode, int turns) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.SCREEN_TURNS, null, screenCode << 1 | side, screenTurns[side][screenCode - 1]);
+        screenTurns[side][screenCode - 1] = turns;
+    }
+
+    /**
+     * Sets the number of turns in a row that a side has protected itself, recording the old value if there is
+     * an undo log.
+     * @param side The side in question.
+     * @param streak The new number of turns in a row.
+     */
+    private void writeProtectStreak(int side, int streak) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.PROTECT_STREAK, null, side, protectStreaks[side]);
+        protectStreaks[side] = streak;
+    }
+
+    /**
+     * Sets the sides that are protected for the rest of the turn, recording the old value if there is an undo log.
+     * @param mask The new mask of protected sides.
+     */
+    private void writeProtectedSides(int mask) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.PROTECTED_SIDES, null, 0, protectedSides);
+        protectedSides = mask;
+    }
+
+    /**
+     * Sets the HP of a side's substitute, recording the old value if there is an undo log.
+     * @param side The side in question.
+     * @param hp The new HP of the substitute, or 0 to remove it.
+     */
+    private void writeSubstituteHP(int side, int hp) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.SUBSTITUTE_HP, null, side, substituteHPs[side]);
+        substituteHPs[side] = hp;
+    }
+
+    /**
+     * Sets the move that a side is locked into, recording the old value if there is an undo log.
+     * @param side The side in question.
+     * @param index The index of the move being charged, or -1 if the side can choose freely.
+     */
+    private void writeLockedMove(int side, int index) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.LOCKED_MOVE, null, side, lockedMoves[side]);
+        lockedMoves[side] = index;
+    }
+
+    /**
+     * Sets the team index of a side's lead, recording the old value if there is an undo log.
+     * @param side The side in question.
+     * @param index The team index of that side's new lead.
+     */
+    private void writeLeadIndex(int side, int index) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.LEAD_INDEX, null, side, leadIndexes[side]);
+        leadIndexes[side] = index;
+    }
+
+    /**
+     * Finds the first Pokémon on the side's team that can still battle.
+     * @param side The side to search.
+     * @return The team index of the first healthy Pokémon, or -1 if there are none.
+     */
+    private int findHealthyPokemon(int side) {
+        ArrayList<Pokemon> team = trainers[side].getTeam();
+        for(int i = 0; i < team.size(); i++)
+            if(team.get(i).getInitStats()[0] > 0)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns the speed of the side's lead Pokémon after stat stages are applied.
+     * @param side The side in question.
+     * @return The effective speed of that side's lead Pokémon.
+     */
+    public int getEffectiveSpeed(int side) {
+        return getLead(side).getEffectiveStat(5);
+    }
+
+    /**
+     * Returns the multiplier of the given stat at the given stage, which depends on whether the stat
+     * is a normal stat or accuracy/evasion.
+     * @param statIndex The index of the stat (1-7).
+     * @param stage The stat stage (0-12).
+     * @return The multiplier for that stat stage.
+     */
+    public static double getStageModifier(int statIndex, int stage) {
+        if(statIndex >= 6)
+            return (double) Pokemon.ACCURACY_STAGE_NUMERATORS[stage] / Pokemon.ACCURACY_STAGE_DENOMINATORS[stage];
+        return (double) Pokemon.NORMAL_STAGE_NUMERATORS[stage] / Pokemon.NORMAL_STAGE_DENOMINATORS[stage];
+    }
+
+    /**
+     * Determines if the battle is over, which happens once either side has no Pokémon left that can battle.
+     * @return True if the battle is over, false otherwise.
+     */
+    public boolean isOver() {
+        return findHealthyPokemon(PLAYER) < 0 || findHealthyPokemon(ENEMY) < 0;
+    }
+
+    /**
+     * Returns the side that won the battle.
+     * @return The winning side, or NO_WINNER if the battle is still going or if both sides are out of Pokémon.
+     */
+    public int getWinner() {
+        boolean playerLeft = findHealthyPokemon(PLAYER) >= 0;
+        boolean enemyLeft = findHealthyPokemon(ENEMY) >= 0;
+        if(playerLeft == enemyLeft)
+            return NO_WINNER;
+        return playerLeft ? PLAYER : ENEMY;
+    }
+
+    /**
+     * Returns the current Pokémon of the given side.
+     * @param side The side in question.
+     * @return The current Pokémon of that side.
+     */
+    public Pokemon getLead(int side) {
+        return trainers[side].getTeam().get(leadIndexes[side]);
+    }
+
+    /**
+     * Returns the team index of the current Pokémon of the given side.
+     * @param side The side in question.
+     * @return The team index of that side's current Pokémon.
+     */
+    public int getLeadIndex(int side) {
+        return leadIndexes[side];
+    }
+
+    /**
+     * Sets the team index of the current Pokémon of the given side, which is used to restore a saved state.
+     * @param side The side in question.
+     * @param index The team index of that side's new current Pokémon.
+     */
+    void setLeadIndex(int side, int index) {
+        leadIndexes[side] = index;
+    }
+
+    /**
+     * Returns the trainer of the given side.
+     * @param side The side in question.
+     * @return The trainer of that side.
+     */
+    public Trainer getTrainer(int side) {
+        return trainers[side];
+    }
+
+    /**
+     * Returns the index of the two-turn move that the given side is charging.
+     * @param side The side in question.
+     * @return The index of the move being charged, or -1 if the side can choose freely.
+     */
+    public int getLockedMove(int side) {
+        return lockedMoves[side];
+    }
+
+    /**
+     * Returns the moves of the given side's lead that still have PP left.
+     * @param side The side in question.
+     * @return A mask where bit i is set if move i has PP left.
+     */
+    public int getUsableMoves(int side) {
+        Pokemon lead = getLead(side);
+        int usable = 0;
+        for(int i = 0; i < lead.getMoveCount(); i++)
+            if(lead.getMoveSlot(i).getPP() > 0)
+                usable |= 1 << i;
+        return usable;
+    }
+
+    /**
+     * Determines if the given side has to struggle this turn, which is when its lead has moves but no PP left
+     * in any of them and is not charging a two-turn move.
+     * @param side The side in question.
+     * @return True if the side's only choice is STRUGGLE, false otherwise.
+     */
+    public boolean mustStruggle(int side) {
+        return lockedMoves[side] < 0 && getLead(side).getMoveCount() > 0 && getUsableMoves(side) == 0;
+    }
+
+    /**
+     * Sets the index of the two-turn move that the given side is charging, which is used to restore a saved state.
+     * @param side The side in question.
+     * @param index The index of the move being charged, or -1 if the side can choose freely.
+     */
+    void setLockedMove(int side, int index) {
+        lockedMoves[side] = index;
+    }
+
+    /**
+     * Returns the current weather code.
+     * @return The current weather code.
+     */
+    public int getWeather() {
+        return weather;
+    }
+
+    /**
+     * Sets the weather to the specified code until it is replaced.
+     * @param wCode The new weather code.
+     */
+    public void setWeather(int wCode) {
+        setWeather(wCode, 0);
+    }
+
+    /**
+     * Sets the weather to the specified code for the given number of turns.
+     * @param wCode The new weather code.
+     * @param turns The number of turns left before the weather clears up, or 0 if it lasts until it is replaced.
+     */
+    public void setWeather(int wCode, int turns) {
+        if(undoLog != null)
+            undoLog.record(UndoLog.WEATHER, null, 0, weather);
+        weather = wCode;
+        writeWeatherTurns(turns);
+    }
+
+    /**
+     * Returns the number of turns left before the weather clears up.
+     * @return The number of turns left, or 0 if the weather lasts until it is replaced.
+     */
+    public int getWeatherTurns() {
+        return weatherTurns;
+    }
+
+    /**
+     * Returns the number of turns left of one of a side's screens.
+     * @param side The side in question.
+     * @param screenCode The code of the screen, such as StatusMove.SCREEN_REFLECT.
+     * @return The number of turns left, or 0 if the screen is down.
+     */
+    public int getScreenTurns(int side, int screenCode) {
+        return screenTurns[side][screenCode - 1];
+    }
+
+    /**
+     * Determines if a side has the screen up that guards against the category of the given move, which is
+     * Reflect for physical moves and Light Screen for special moves.
+     * @param side The side that would be hit by the move.
+     * @param move The move in question.
+     * @return True if the screen is up, false otherwise.
+     */
+    public boolean hasScreenAgainst(int side, AttackingMove move) {
+        return getScreenTurns(side, move.isPhysical() ? StatusMove.SCREEN_REFLECT : StatusMove.SCREEN_LIGHT_SCREEN) > 0;
+    }
+
+    /**
+     * Sets the number of turns left of one of a side's screens, which is used to restore a saved state.
+     * @param side The side in question.
+     * @param screenCode The code of the screen.
+     * @param turns The number of turns left, or 0 if the screen is down.
+     */
+    void setScreenTurns(int side, int screenCode, int turns) {
+        screenTurns[side][screenCode - 1] = turns;
+    }
+
+    /**
+     * Determines if a side is protected for the rest of the current turn.
+     * @param side The side in question.
+     * @return True if the side is protected, false otherwise.
+     */
+    public boolean isProtected(int side) {
+        return (protectedSides & 1 << side) != 0;
+    }
+
+    /**
+     * Returns the number of turns in a row that a side has protected itself.
+     * @param side The side in question.
+     * @return The number of turns in a row, up to MAX_PROTECT_STREAK.
+     */
+    public int getProtectStreak(int side) {
+        return protectStreaks[side];
+    }
+
+    /**
+     * Sets the number of turns in a row that a side has protected itself, which is used to restore a saved state.
+     * @param side The side in question.
+     * @param streak The number of turns in a row.
+     */
+    void setProtectStreak(int side, int streak) {
+        protectStreaks[side] = streak;
+    }
+
+    /**
+     * Returns the HP of a side's substitute.
+     * @param side The side in question.
+     * @return The substitute's HP, or 0 if that side's lead has no substitute.
+     */
+    public int getSubstituteHP(int side) {
+        return substituteHPs[side];
+    }
+
+    /**
+     * Sets the HP of a side's substitute, which is used to restore a saved state.
+     * @param side The side in question.
+     * @param hp The substitute's HP, or 0 if that side's lead has no substitute.
+     */
+    void setSubstituteHP(int side, int hp) {
+        substituteHPs[side] = hp;
+    }
+
+    /**
+     * Returns the number of turns that have been played.
+     * @return The number of turns that have been played.
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Sets the number of turns that have been played, which is used to restore a saved state.
+     * @param turns The number of turns that have been played.
+     */
+    void setTurnCount(int turns) {
+        turnCount = turns;
+    }
+
+    /**
+     * Returns the events of the turn that was played last, which are kept until the next turn starts.
+     * @return The events of the last turn.
+     */
+    public BattleEventBuffer getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the generator that drives this battle. Policies should only draw from its AI stream.
+     * @return The generator for this battle.
+     */
+    public BattleRng getRng() {
+        return rng;
+    }
+}
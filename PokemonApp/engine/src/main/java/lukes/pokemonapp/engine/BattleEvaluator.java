@@ -0,0 +1,65 @@
+package lukes.pokemonapp.engine;
+
+import lukes.pokemonapp.Pokemon;
+
+/**
+ * The evaluation of a battle from one side's point of view, which is shared by the search-based AIs.
+ * Finished battles are worth a win, a loss, or zero for a draw, and unfinished battles are judged by the
+ * difference in the fraction of each team's HP that is left.
+ * @author Luke Schoeberle
+ */
+final class BattleEvaluator {
+
+    /**
+     * The value of a won battle. Every other value is at most this.
+     */
+    static final double WIN = 1;
+
+    /**
+     * The value of a lost battle. Every other value is at least this.
+     */
+    static final double LOSS = -1;
+
+    /**
+     * The weight of the HP difference in the evaluation of unfinished battles, which keeps them strictly
+     * between a loss and a win.
+     */
+    private static final double HP_WEIGHT = 0.5;
+
+    /**
+     * The evaluator only has static methods, so it should never be constructed.
+     */
+    private BattleEvaluator() {
+    }
+
+    /**
+     * Evaluates the battle from the given side's point of view.
+     * @param engine The battle to be evaluated.
+     * @param side The side whose point of view is used.
+     * @return The value of the battle, from LOSS to WIN.
+     */
+    static double evaluate(BattleEngine engine, int side) {
+        if(engine.isOver()) {
+            int winner = engine.getWinner();
+            if(winner == BattleEngine.NO_WINNER)
+                return 0;
+            return winner == side ? WIN : LOSS;
+        }
+        return HP_WEIGHT * (getHPFraction(engine, side) - getHPFraction(engine, 1 - side));
+    }
+
+    /**
+     * Returns the fraction of the side's total HP that its team has left.
+     * @param engine The battle in question.
+     * @param side The side in question.
+     * @return The remaining HP fraction, from 0 to 1.
+     */
+    private static double getHPFraction(BattleEngine engine, int side) {
+        int hp = 0, maxHP = 0;
+        for(Pokemon p : engine.getTrainer(side).getTeam()) {
+            hp += p.getInitStats()[0];
+            maxHP += p.getMaxHP();
+        }
+        return hp / (double) maxHP;
+    }
+}
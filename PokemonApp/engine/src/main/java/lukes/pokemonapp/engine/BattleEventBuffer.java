@@ -0,0 +1,128 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Arrays;
+
+/**
+ * The events of one turn, stored as ints so that recording them allocates nothing once the buffer is large
+ * enough. Each event takes four ints: its type's ordinal, its subject's side and team index, and its two
+ * arguments. The engine clears the buffer at the start of every turn, so text only needs to be rendered
+ * (with BattleCommentary) when someone actually wants to read it.
+ * @author Luke Schoeberle
+ */
+public final class BattleEventBuffer {
+
+    /**
+     * The number of ints of each event.
+     */
+    private static final int STRIDE = 4;
+
+    /**
+     * The events, STRIDE ints each.
+     */
+    private int[] data;
+
+    /**
+     * The number of events in the buffer.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty buffer with room for a typical turn.
+     */
+    public BattleEventBuffer() {
+        data = new int[16 * STRIDE];
+    }
+
+    /**
+     * Removes every event.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Records an event at the end of the buffer.
+     * @param type The type of the event.
+     * @param side The side of the subject.
+     * @param teamIndex The team index of the subject.
+     * @param arg The first argument.
+     * @param arg2 The second argument.
+     */
+    void add(BattleEventType type, int side, int teamIndex, int arg, int arg2) {
+        int i = size * STRIDE;
+        if(i == data.length)
+            data = Arrays.copyOf(data, 2 * data.length);
+        data[i] = type.ordinal();
+        data[i + 1] = side << 8 | teamIndex;
+        data[i + 2] = arg;
+        data[i + 3] = arg2;
+        size++;
+    }
+
+    /**
+     * Returns the number of events in the buffer.
+     * @return The number of events.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of an event.
+     * @param index The index of the event.
+     * @return The type of the event.
+     */
+    public BattleEventType getType(int index) {
+        return BattleEventType.fromOrdinal(data[index * STRIDE]);
+    }
+
+    /**
+     * Returns the side of an event's subject.
+     * @param index The index of the event.
+     * @return The side of the subject.
+     */
+    public int getSide(int index) {
+        return data[index * STRIDE + 1] >>> 8;
+    }
+
+    /**
+     * Returns the team index of an event's subject.
+     * @param index The index of the event.
+     * @return The team index of the subject.
+     */
+    public int getTeamIndex(int index) {
+        return data[index * STRIDE + 1] & 0xFF;
+    }
+
+    /**
+     * Returns the first argument of an event.
+     * @param index The index of the event.
+     * @return The first argument.
+     */
+    public int getArg(int index) {
+        return data[index * STRIDE + 2];
+    }
+
+    /**
+     * Returns the second argument of an event.
+     * @param index The index of the event.
+     * @return The second argument.
+     */
+    public int getArg2(int index) {
+        return data[index * STRIDE + 3];
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BattleEventBuffer[");
+        for(int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(getType(i)).append('(').append(getSide(i)).append(':')
+              .append(getTeamIndex(i)).append(", ").append(getArg(i)).append(", ").append(getArg2(i)).append(')');
+        }
+        return sb.append(']').toString();
+    }
+}
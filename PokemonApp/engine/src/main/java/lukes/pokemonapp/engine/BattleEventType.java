@@ -0,0 +1,175 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * The kinds of events that the BattleEngine records while it plays a turn. Every event has a subject,
+ * which is a Pokémon given by its side and team index, and up to two arguments whose meaning depends on
+ * the kind of event.
+ * @author Luke Schoeberle
+ */
+public enum BattleEventType {
+    /**
+     * The subject starts its action. The first argument is 0 if it moves first and 1 if it moves second.
+     */
+    ACTION,
+
+    /**
+     * The subject does nothing this turn.
+     */
+    NOTHING,
+
+    /**
+     * The subject is asleep from Rest, so it cannot act.
+     */
+    ASLEEP,
+
+    /**
+     * The subject wakes up from Rest and acts this turn.
+     */
+    WOKE_UP,
+
+    /**
+     * The subject tries to use a move that has no PP left, so it cannot act. The first argument is the index
+     * of the move.
+     */
+    NO_PP,
+
+    /**
+     * The subject begins charging a two-turn move. The first argument is the index of the move.
+     */
+    CHARGING,
+
+    /**
+     * The subject uses a move. The first argument is the index of the move, or BattleEngine.STRUGGLE.
+     */
+    MOVE_USED,
+
+    /**
+     * The subject takes damage from a move. The first argument is the damage.
+     */
+    DAMAGE,
+
+    /**
+     * The subject's attack misses.
+     */
+    MISS,
+
+    /**
+     * The subject protects itself for the rest of the turn.
+     */
+    PROTECT,
+
+    /**
+     * The subject's protection blocks the move used against it.
+     */
+    PROTECTED,
+
+    /**
+     * The subject makes a substitute. The first argument is the HP that it spent on the substitute.
+     */
+    SUBSTITUTE,
+
+    /**
+     * The subject's substitute takes the damage of a move instead. The first argument is the damage.
+     */
+    SUBSTITUTE_DAMAGE,
+
+    /**
+     * The subject's substitute breaks.
+     */
+    SUBSTITUTE_BROKE,
+
+    /**
+     * The subject's move fails.
+     */
+    FAIL,
+
+    /**
+     * The subject drains HP from its target. The first argument is the HP drained, and the second argument
+     * is the team index of the target on the other side.
+     */
+    DRAIN,
+
+    /**
+     * The subject takes recoil damage. The first argument is the damage.
+     */
+    RECOIL,
+
+    /**
+     * The subject restores HP with a move. The first argument is the HP restored.
+     */
+    HEAL,
+
+    /**
+     * One of the subject's stat stages changes, or fails to change. The first argument is the index of the
+     * stat, and the second argument is the change in the low 8 bits (signed) and the new stage above that.
+     */
+    STAT_CHANGE,
+
+    /**
+     * The subject receives a status. The first argument is the ordinal of the status, and the second
+     * argument is 0 for a NonVolatileStatus and 1 for a VolatileStatus.
+     */
+    STATUS_APPLIED,
+
+    /**
+     * The subject changes the weather. The first argument is the new weather code.
+     */
+    WEATHER,
+
+    /**
+     * The weather clears up because its turns ran out. The first argument is the code of the weather that
+     * ended, and the subject is only the side that moved first.
+     */
+    WEATHER_ENDED,
+
+    /**
+     * The subject sets up a screen on its side. The first argument is the screen's code.
+     */
+    SCREEN,
+
+    /**
+     * The subject loses HP at the end of the turn. The first argument is the HP lost, and the second argument
+     * is the ordinal of the ResidualEffect that took it.
+     */
+    RESIDUAL,
+
+    /**
+     * An end-of-turn effect on the subject's side wears off. The first argument is the ordinal of the
+     * ResidualEffect.
+     */
+    RESIDUAL_ENDED,
+
+    /**
+     * The subject faints.
+     */
+    FAINT,
+
+    /**
+     * The subject is dragged out by a move like Roar, and the next SEND_OUT event is its replacement.
+     */
+    DRAGGED_OUT,
+
+    /**
+     * The subject is sent out to replace a fainted or dragged out Pokémon.
+     */
+    SEND_OUT,
+
+    /**
+     * The subject's trainer wins the battle.
+     */
+    WIN;
+
+    /**
+     * Every event type, indexed by ordinal, which avoids copying values() for every event.
+     */
+    private static final BattleEventType[] VALUES = values();
+
+    /**
+     * Returns the event type with the given ordinal.
+     * @param ordinal The ordinal of the event type.
+     * @return The event type.
+     */
+    public static BattleEventType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,18 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * A strategy that picks the move for one side of a battle at the start of each turn. The battle
+ * screen uses one of these for the enemy trainer, and headless simulations can use one for each side.
+ * @author Luke Schoeberle
+ */
+public interface BattlePolicy {
+
+    /**
+     * Chooses the move that the given side's lead Pokémon will use this turn.
+     * @param engine The battle in its current state, which should not be changed by the policy.
+     * @param side The side that is choosing (BattleEngine.PLAYER or BattleEngine.ENEMY).
+     * @return The index of the chosen move, BattleEngine.STRUGGLE if the lead has no PP left in any of its moves,
+     *         or a negative number if the side does nothing this turn.
+     */
+    int chooseMove(BattleEngine engine, int side);
+}
@@ -0,0 +1,44 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * The source of every random event in a battle. Each draw names the RngStream that it comes from, and
+ * implementations keep the streams independent of each other. A BattleRng belongs to a single battle
+ * and is not thread-safe, so parallel simulations give each battle its own instance instead of sharing one.
+ * @author Luke Schoeberle
+ */
+public interface BattleRng {
+
+    /**
+     * Returns a uniformly distributed number from 0 (inclusive) to the bound (exclusive) from the given stream.
+     * @param stream The stream to draw from.
+     * @param bound The upper bound, which must be positive.
+     * @return The random number.
+     */
+    int nextInt(RngStream stream, int bound);
+
+    /**
+     * Returns true with a chance of successes out of outOf, which is used for every random event that either
+     * happens or does not (like accuracy checks and critical hits). By default, this draws one number from
+     * the stream and compares it to successes, so a draw of 0 always succeeds when successes is positive.
+     * @param stream The stream to draw from.
+     * @param successes The number of successful outcomes, which may be anywhere from 0 to outOf.
+     * @param outOf The total number of outcomes, which must be positive.
+     * @return True if the event happens, false otherwise.
+     */
+    default boolean nextChance(RngStream stream, int successes, int outOf) {
+        return nextInt(stream, outOf) < successes;
+    }
+
+    /**
+     * Returns the seed that this generator was created from, which is enough to replay the battle.
+     * @return The seed of this generator.
+     */
+    long getSeed();
+
+    /**
+     * Creates an independent generator whose streams do not overlap with this one's. This is used to
+     * give lookahead searches and rollouts their own randomness without disturbing the battle's streams.
+     * @return A new, independent generator.
+     */
+    BattleRng split();
+}
@@ -0,0 +1,514 @@
+package lukes.pokemonapp.engine;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import lukes.pokemonapp.MoveSlot;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.VolatileStatus;
+
+/**
+ * The state of a battle packed into a few longs, so that searches and caches can compare and hash states
+ * cheaply. The first word holds the field (the leads, the locked moves, the weather, the screens,
+ * protection, and substitutes), and every Pokémon owns the next two words, with the player's team before
+ * the enemy's team. Only the parts of the battle that change during a battle are packed, since the species,
+ * moves, and stats are the same for every state of the same battle. The turn count is also left out, so the
+ * same position reached on different turns is the same state. The hash is the XOR of every word after it is
+ * mixed with its index, and it is updated along with each word, so updating one Pokémon costs the same no
+ * matter how large the teams are.
+ * @author Luke Schoeberle
+ */
+public final class BattleState {
+
+    /*
+     * The field word:
+     *      bits 0-2: the player's lead, 3-5: the enemy's lead, 6-8: the player's locked move + 1,
+     *      9-11: the enemy's locked move + 1, 12-14: the weather code, 15-17: the weather's turns left,
+     *      18-29: the turns left of each screen (3 bits each, the player's Reflect and Light Screen first),
+     *      30-31: the player's protection streak, 32-33: the enemy's protection streak,
+     *      34-45: the HP of the player's substitute, 46-57: the HP of the enemy's substitute.
+     *      Protection itself only lasts until the end of the turn, so it is never packed.
+     * The first word of each Pokémon:
+     *      bits 0-11: HP, 12-43: the eight stat stages (4 bits each), 44-46: the non-volatile status,
+     *      47-48: the critical state (capped at 3), 49-52: the invulnerability code,
+     *      53-55: the volatile status mask, 56-59: which move slots are charging.
+     * The second word of each Pokémon:
+     *      bits 0-27: the PP of each move (7 bits each), 28-51: the turns of each volatile status (8 bits each),
+     *      52-59: the turns of the non-volatile status.
+     */
+
+    /**
+     * The most Pokémon on a team and the most moves of a Pokémon that can be packed.
+     */
+    public static final int MAX_TEAM_SIZE = 7, MAX_MOVES = 4;
+
+    private static final int INDEX_BITS = 3, WEATHER_BITS = 3, TIMER_BITS = 3, SCREEN_COUNT = 2;
+    private static final int WEATHER_SHIFT = 4 * INDEX_BITS;
+    private static final int WEATHER_TURN_SHIFT = WEATHER_SHIFT + WEATHER_BITS;
+    private static final int SCREEN_SHIFT = WEATHER_TURN_SHIFT + TIMER_BITS;
+    private static final int STREAK_BITS = 2;
+    private static final int STREAK_SHIFT = SCREEN_SHIFT + 2 * SCREEN_COUNT * TIMER_BITS;
+    private static final int HP_BITS = 12, STAGE_BITS = 4, NON_VOL_BITS = 3, CRIT_BITS = 2, INVULN_BITS = 4;
+    private static final int STAGE_SHIFT = HP_BITS;
+    private static final int NON_VOL_SHIFT = STAGE_SHIFT + 8 * STAGE_BITS;
+    private static final int CRIT_SHIFT = NON_VOL_SHIFT + NON_VOL_BITS;
+    private static final int INVULN_SHIFT = CRIT_SHIFT + CRIT_BITS;
+    private static final int VOL_SHIFT = INVULN_SHIFT + INVULN_BITS;
+    private static final int CHARGING_SHIFT = VOL_SHIFT + VolatileStatus.COUNT;
+    private static final int PP_BITS = 7, TURN_BITS = 8;
+    private static final int TURN_SHIFT = MAX_MOVES * PP_BITS;
+    private static final int NON_VOL_TURN_SHIFT = TURN_SHIFT + VolatileStatus.COUNT * TURN_BITS;
+    private static final int SUBSTITUTE_SHIFT = STREAK_SHIFT + 2 * STREAK_BITS;
+
+    /**
+     * The number of words before the first Pokémon.
+     */
+    private static final int FIELD_WORDS = 1;
+
+    /**
+     * The number of words of each Pokémon.
+     */
+    private static final int POKEMON_WORDS = 2;
+
+    /**
+     * The non-volatile and volatile statuses by ordinal, kept so that restoring a state does not copy them.
+     */
+    private static final NonVolatileStatus[] NON_VOL_STATUSES = NonVolatileStatus.values();
+    private static final VolatileStatus[] VOL_STATUSES = VolatileStatus.values();
+
+    /**
+     * The packed words.
+     */
+    private final long[] words;
+
+    /**
+     * The number of Pokémon on the player's team, which is where the enemy's words start.
+     */
+    private final int playerTeamSize;
+
+    /**
+     * The XOR of every word mixed with its position, which is kept up to date by every change to a word.
+     */
+    private long hash;
+
+    /**
+     * Packs the current state of the battle.
+     * @param engine The battle to be packed.
+     * @throws IllegalArgumentException When a team, a move list, or a value is too large to be packed.
+     */
+    public BattleState(BattleEngine engine) {
+        int playerSize = engine.getTrainer(BattleEngine.PLAYER).getTeam().size();
+        int enemySize = engine.getTrainer(BattleEngine.ENEMY).getTeam().size();
+        if(playerSize > MAX_TEAM_SIZE || enemySize > MAX_TEAM_SIZE)
+            throw new IllegalArgumentException("Teams of more than " + MAX_TEAM_SIZE + " Pokémon cannot be packed!");
+        playerTeamSize = playerSize;
+        words = new long[FIELD_WORDS + POKEMON_WORDS * (playerSize + enemySize)];
+        for(int i = 0; i < words.length; i++)
+            hash ^= mixWord(i, 0);
+        update(engine);
+    }
+
+    /**
+     * Constructs a state from words that were packed earlier, such as a state read from a replay.
+     * @param packed The packed words, which are copied.
+     * @param playerSize The number of Pokémon on the player's team.
+     * @throws IllegalArgumentException When the number of words does not fit the player's team.
+     */
+    BattleState(long[] packed, int playerSize) {
+        if(packed.length < FIELD_WORDS + POKEMON_WORDS * playerSize || (packed.length - FIELD_WORDS) % POKEMON_WORDS != 0)
+            throw new IllegalArgumentException(packed.length + " words cannot be a packed battle state!");
+        words = packed.clone();
+        playerTeamSize = playerSize;
+        for(int i = 0; i < words.length; i++)
+            hash ^= mixWord(i, words[i]);
+    }
+
+    /**
+     * Constructs a copy of the packed state.
+     * @param other The state to be copied.
+     */
+    public BattleState(BattleState other) {
+        words = other.words.clone();
+        playerTeamSize = other.playerTeamSize;
+        hash = other.hash;
+    }
+
+    /**
+     * Packs the whole battle again, overwriting this state. The battle must have the same trainers as the
+     * battle that this state was made from.
+     * @param engine The battle to be packed.
+     */
+    public void update(BattleEngine engine) {
+        updateField(engine);
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++) {
+            int size = engine.getTrainer(side).getTeam().size();
+            for(int i = 0; i < size; i++)
+                updatePokemon(engine, side, i);
+        }
+    }
+
+    /**
+     * Packs the field of the battle again, leaving the Pokémon as they are.
+     * @param engine The battle to be packed.
+     */
+    public void updateField(BattleEngine engine) {
+        long field = engine.getLeadIndex(BattleEngine.PLAYER)
+                | (long) engine.getLeadIndex(BattleEngine.ENEMY) << INDEX_BITS
+                | (long) (engine.getLockedMove(BattleEngine.PLAYER) + 1) << 2 * INDEX_BITS
+                | (long) (engine.getLockedMove(BattleEngine.ENEMY) + 1) << 3 * INDEX_BITS
+                | (long) checkFits(engine.getWeather(), WEATHER_BITS, "weather code") << WEATHER_SHIFT
+                | (long) checkFits(engine.getWeatherTurns(), TIMER_BITS, "weather turn count") << WEATHER_TURN_SHIFT;
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++)
+            for(int screen = 1; screen <= SCREEN_COUNT; screen++)
+                field |= (long) checkFits(engine.getScreenTurns(side, screen), TIMER_BITS, "screen turn count")
+                        << getScreenShift(side, screen);
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++) {
+            field |= (long) checkFits(engine.getProtectStreak(side), STREAK_BITS, "protection streak")
+                    << (STREAK_SHIFT + side * STREAK_BITS);
+            field |= (long) checkFits(engine.getSubstituteHP(side), HP_BITS, "substitute HP")
+                    << (SUBSTITUTE_SHIFT + side * HP_BITS);
+        }
+        setWord(0, field);
+    }
+
+    /**
+     * Packs one Pokémon of the battle again, which is all that needs to be done after a change to that
+     * Pokémon alone.
+     * @param engine The battle to be packed.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @throws IllegalArgumentException When one of the Pokémon's values is too large to be packed.
+     */
+    public void updatePokemon(BattleEngine engine, int side, int teamIndex) {
+        Pokemon p = engine.getTrainer(side).getTeam().get(teamIndex);
+        int moveCount = p.getMoveCount();
+        if(moveCount > MAX_MOVES)
+            throw new IllegalArgumentException(p.getName() + " has too many moves to be packed!");
+
+        long first = checkFits(p.getInitStats()[0], HP_BITS, "HP");
+        byte[] stages = p.getStatStages();
+        for(int i = 0; i < stages.length; i++)
+            first |= (long) checkFits(stages[i], STAGE_BITS, "stat stage") << (STAGE_SHIFT + i * STAGE_BITS);
+        first |= (long) p.getNonVolStatus().ordinal() << NON_VOL_SHIFT;
+        first |= (long) Math.min(p.getCritState(), 3) << CRIT_SHIFT; // Every state from 3 up always crits
+        first |= (long) checkFits(p.getInvulnCode(), INVULN_BITS, "invulnerability code") << INVULN_SHIFT;
+        first |= (long) p.getVolStatuses() << VOL_SHIFT;
+
+        long second = 0;
+        for(int i = 0; i < moveCount; i++) {
+            MoveSlot slot = p.getMoveSlot(i);
+            if(slot.isCharging())
+                first |= 1L << (CHARGING_SHIFT + i);
+            second |= (long) checkFits(slot.getPP(), PP_BITS, "PP") << (i * PP_BITS);
+        }
+        for(VolatileStatus s : VOL_STATUSES)
+            second |= (long) checkFits(p.getVolStatusTurns(s), TURN_BITS, "status turn count") << (TURN_SHIFT + s.ordinal() * TURN_BITS);
+        second |= (long) checkFits(p.getNonVolStatusTurns(), TURN_BITS, "status turn count") << NON_VOL_TURN_SHIFT;
+
+        int index = getWordIndex(side, teamIndex);
+        setWord(index, first);
+        setWord(index + 1, second);
+    }
+
+    /**
+     * Overwrites every word with the words written after it in a replay, which are a word count followed by
+     * each word as a varint. Nothing is allocated, so a replay can seek without creating garbage.
+     * @param in The buffer to read from, whose position is moved past the words.
+     * @throws IllegalArgumentException When the number of words does not match this state.
+     */
+    void read(ByteBuffer in) {
+        long count = Varints.read(in);
+        if(count != words.length)
+            throw new IllegalArgumentException(count + " words cannot be read into a state of " + words.length + " words!");
+        for(int i = 0; i < words.length; i++)
+            setWord(i, Varints.read(in));
+    }
+
+    /**
+     * Unpacks this state into the battle, overwriting its field and every Pokémon's battle state. The battle
+     * must have the same trainers as the battle that this state was made from. The turn count is not changed.
+     * @param engine The battle to be overwritten.
+     */
+    public void restore(BattleEngine engine) {
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++) {
+            engine.setLeadIndex(side, getLeadIndex(side));
+            engine.setLockedMove(side, getLockedMove(side));
+            for(int screen = 1; screen <= SCREEN_COUNT; screen++)
+                engine.setScreenTurns(side, screen, getScreenTurns(side, screen));
+            engine.setProtectStreak(side, getProtectStreak(side));
+            engine.setSubstituteHP(side, getSubstituteHP(side));
+            ArrayList<Pokemon> team = engine.getTrainer(side).getTeam();
+            for(int i = 0; i < team.size(); i++)
+                restorePokemon(team.get(i), getWordIndex(side, i));
+        }
+        engine.setWeather(getWeather(), getWeatherTurns());
+    }
+
+    /**
+     * Unpacks the words of one Pokémon into it.
+     * @param p The Pokémon to be overwritten.
+     * @param index The index of the Pokémon's first word.
+     */
+    private void restorePokemon(Pokemon p, int index) {
+        long first = words[index];
+        long second = words[index + 1];
+        p.setStat((int) extract(first, 0, HP_BITS), 0);
+        for(int i = 0; i < p.getStatStages().length; i++)
+            p.setStatStage(i, (int) extract(first, STAGE_SHIFT + i * STAGE_BITS, STAGE_BITS));
+        p.setNonVolStatus(NON_VOL_STATUSES[(int) extract(first, NON_VOL_SHIFT, NON_VOL_BITS)]);
+        p.setCritState((int) extract(first, CRIT_SHIFT, CRIT_BITS));
+        p.setInvulnCode((int) extract(first, INVULN_SHIFT, INVULN_BITS));
+        p.setVolStatuses((int) extract(first, VOL_SHIFT, VolatileStatus.COUNT));
+        for(int i = 0; i < p.getMoveCount(); i++) {
+            MoveSlot slot = p.getMoveSlot(i);
+            slot.setCharging(extract(first, CHARGING_SHIFT + i, 1) != 0);
+            slot.changePP((int) extract(second, i * PP_BITS, PP_BITS) - slot.getPP());
+        }
+        for(VolatileStatus s : VOL_STATUSES)
+            p.setVolStatusTurns(s, (int) extract(second, TURN_SHIFT + s.ordinal() * TURN_BITS, TURN_BITS));
+        p.setNonVolStatusTurns((int) extract(second, NON_VOL_TURN_SHIFT, TURN_BITS));
+    }
+
+    /**
+     * Returns the team index of the current Pokémon of the given side.
+     * @param side The side in question.
+     * @return The team index of that side's current Pokémon.
+     */
+    public int getLeadIndex(int side) {
+        return (int) extract(words[0], side * INDEX_BITS, INDEX_BITS);
+    }
+
+    /**
+     * Returns the index of the two-turn move that the given side is charging.
+     * @param side The side in question.
+     * @return The index of the move being charged, or -1 if the side can choose freely.
+     */
+    public int getLockedMove(int side) {
+        return (int) extract(words[0], (2 + side) * INDEX_BITS, INDEX_BITS) - 1;
+    }
+
+    /**
+     * Returns the weather code.
+     * @return The weather code.
+     */
+    public int getWeather() {
+        return (int) extract(words[0], WEATHER_SHIFT, WEATHER_BITS);
+    }
+
+    /**
+     * Returns the number of turns left before the weather clears up.
+     * @return The number of turns left, or 0 if the weather lasts until it is replaced.
+     */
+    public int getWeatherTurns() {
+        return (int) extract(words[0], WEATHER_TURN_SHIFT, TIMER_BITS);
+    }
+
+    /**
+     * Returns the number of turns left of one of a side's screens.
+     * @param side The side in question.
+     * @param screenCode The code of the screen, such as StatusMove.SCREEN_REFLECT.
+     * @return The number of turns left, or 0 if the screen is down.
+     */
+    public int getScreenTurns(int side, int screenCode) {
+        return (int) extract(words[0], getScreenShift(side, screenCode), TIMER_BITS);
+    }
+
+    /**
+     * Returns the number of turns in a row that a side has protected itself.
+     * @param side The side in question.
+     * @return The number of turns in a row.
+     */
+    public int getProtectStreak(int side) {
+        return (int) extract(words[0], STREAK_SHIFT + side * STREAK_BITS, STREAK_BITS);
+    }
+
+    /**
+     * Returns the HP of a side's substitute.
+     * @param side The side in question.
+     * @return The substitute's HP, or 0 if that side's lead has no substitute.
+     */
+    public int getSubstituteHP(int side) {
+        return (int) extract(words[0], SUBSTITUTE_SHIFT + side * HP_BITS, HP_BITS);
+    }
+
+    /**
+     * Returns the HP of a Pokémon.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @return The Pokémon's HP.
+     */
+    public int getHP(int side, int teamIndex) {
+        return (int) extract(words[getWordIndex(side, teamIndex)], 0, HP_BITS);
+    }
+
+    /**
+     * Returns one stat stage of a Pokémon.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @param statIndex The index of the stat.
+     * @return The stat stage, from 0 to 12.
+     */
+    public int getStatStage(int side, int teamIndex, int statIndex) {
+        return (int) extract(words[getWordIndex(side, teamIndex)], STAGE_SHIFT + statIndex * STAGE_BITS, STAGE_BITS);
+    }
+
+    /**
+     * Returns the non-volatile status of a Pokémon.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @return The Pokémon's non-volatile status.
+     */
+    public NonVolatileStatus getNonVolStatus(int side, int teamIndex) {
+        return NON_VOL_STATUSES[(int) extract(words[getWordIndex(side, teamIndex)], NON_VOL_SHIFT, NON_VOL_BITS)];
+    }
+
+    /**
+     * Returns the volatile status mask of a Pokémon.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @return The Pokémon's volatile status mask.
+     */
+    public int getVolStatuses(int side, int teamIndex) {
+        return (int) extract(words[getWordIndex(side, teamIndex)], VOL_SHIFT, VolatileStatus.COUNT);
+    }
+
+    /**
+     * Returns the remaining PP of one of a Pokémon's moves.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @param moveIndex The index of the move.
+     * @return The remaining PP.
+     */
+    public int getPP(int side, int teamIndex, int moveIndex) {
+        return (int) extract(words[getWordIndex(side, teamIndex) + 1], moveIndex * PP_BITS, PP_BITS);
+    }
+
+    /**
+     * Returns the number of packed words.
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns one packed word, where word 0 is the field and each Pokémon owns the two words after it.
+     * @param index The index of the word.
+     * @return The packed word.
+     */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of this state, which is less likely to collide than hashCode().
+     * @return The 64-bit hash.
+     */
+    public long longHash() {
+        return hash;
+    }
+
+    /**
+     * Determines if the other object is a state with exactly the same words.
+     * @param o The object to be compared.
+     * @return True if both states are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(this == o)
+            return true;
+        if(!(o instanceof BattleState))
+            return false;
+        BattleState other = (BattleState) o;
+        return hash == other.hash && playerTeamSize == other.playerTeamSize && Arrays.equals(words, other.words);
+    }
+
+    /**
+     * Returns the hash code, which is kept up to date as the state changes instead of being computed here.
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BattleState[");
+        for(int i = 0; i < words.length; i++)
+            sb.append(i == 0 ? "" : " ").append(Long.toHexString(words[i]));
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns the index of the first word of a Pokémon.
+     * @param side The side of the Pokémon.
+     * @param teamIndex The team index of the Pokémon.
+     * @return The index of its first word.
+     */
+    private int getWordIndex(int side, int teamIndex) {
+        return FIELD_WORDS + POKEMON_WORDS * (side == BattleEngine.PLAYER ? teamIndex : playerTeamSize + teamIndex);
+    }
+
+    /**
+     * Returns the lowest bit of a screen's turns in the field word.
+     * @param side The side of the screen.
+     * @param screenCode The code of the screen.
+     * @return The shift of the screen's turns.
+     */
+    private static int getScreenShift(int side, int screenCode) {
+        return SCREEN_SHIFT + (side * SCREEN_COUNT + screenCode - 1) * TIMER_BITS;
+    }
+
+    /**
+     * Overwrites a word and swaps its old contribution to the hash for its new one.
+     * @param index The index of the word.
+     * @param value The new value of the word.
+     */
+    private void setWord(int index, long value) {
+        hash ^= mixWord(index, words[index]) ^ mixWord(index, value);
+        words[index] = value;
+    }
+
+    /**
+     * Returns the contribution of a word to the hash, which depends on its position so that swapping two
+     * Pokémon changes the hash.
+     * @param index The index of the word.
+     * @param value The value of the word.
+     * @return The word's contribution to the hash.
+     */
+    private static long mixWord(int index, long value) {
+        return SplittableBattleRng.mix(value + (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Reads a field of a word.
+     * @param word The word to read from.
+     * @param shift The lowest bit of the field.
+     * @param bits The width of the field.
+     * @return The value of the field.
+     */
+    private static long extract(long word, int shift, int bits) {
+        return (word >>> shift) & ((1L << bits) - 1);
+    }
+
+    /**
+     * Checks that a value fits in a field.
+     * @param value The value to be packed.
+     * @param bits The width of the field.
+     * @param what The name of the value, for the error message.
+     * @return The value.
+     * @throws IllegalArgumentException When the value is negative or too large for the field.
+     */
+    private static int checkFits(int value, int bits, String what) {
+        if(value < 0 || value >= 1 << bits)
+            throw new IllegalArgumentException("The " + what + " " + value + " cannot be packed!");
+        return value;
+    }
+}
@@ -0,0 +1,357 @@
+package lukes.pokemonapp.engine;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Move;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.PokemonType;
+
+/**
+ * The damage formula, which is shared by the BattleEngine when it samples a single attack and by
+ * distribution() when the AI wants every possible outcome of an attack without drawing any random numbers.
+ * Every random part of an attack (the accuracy check, the critical hit, and the damage roll) is isolated
+ * here, and both paths apply the defender's screen the same way, so they always agree on the damage. The formula only uses integers: stat stages are exact
+ * fractions, and the other multipliers are fixed-point modifiers out of 4096 that are chained together and
+ * rounded at fixed points, so the damage is the same on every JVM no matter how the arithmetic is ordered.
+ * @author Luke Schoeberle
+ */
+public final class DamageCalculator {
+
+    /**
+     * The number of possible damage rolls, which range from 85% to 100% of the damage.
+     */
+    public static final int ROLL_COUNT = 16;
+
+    /**
+     * The fixed-point modifier that multiplies by 1, so that a modifier of 6144 multiplies by 1.5.
+     */
+    public static final int MODIFIER_SCALE = 4096;
+
+    /**
+     * The modifiers that multiply by 1.5 and by 0.5.
+     */
+    private static final int BOOST = 6144, HALF = 2048;
+
+    /**
+     * The number of bits of the fraction of a modifier.
+     */
+    private static final int MODIFIER_BITS = 12;
+
+    /**
+     * The calculator only has static methods, so it should never be constructed.
+     */
+    private DamageCalculator() {
+    }
+
+    /**
+     * Finds the exact distribution of the damage that the attacker deals to the defender with the move.
+     * This enumerates every accuracy check, critical hit, and damage roll instead of sampling them, and
+     * the damage before the roll is only calculated once for a critical hit and once for a normal hit.
+     * Charging turns of two-turn moves are not considered, so this describes the turn that deals damage.
+     * @param attacker The user of the move.
+     * @param defender The target of the move.
+     * @param move The attacking move to be used.
+     * @param weather The current weather code.
+     * @param screenUp True if the defender's side has the screen that guards against the move's category, which
+     *                 halves the damage of every hit except critical hits.
+     * @param attackerMovesFirst True if the attacker moves first this round, which matters for moves like Payback.
+     * @return The probability of each amount of damage, along with the hit, critical hit, and KO chances.
+     */
+    public static DamageDistribution distribution(Pokemon attacker, Pokemon defender, AttackingMove move,
+                                                  int weather, boolean screenUp, boolean attackerMovesFirst) {
+        int targetHP = defender.getInitStats()[0];
+        int[] weights = new int[targetHP + 1];
+        int hitCount = countHits(move, attacker, defender, weather);
+        int critDenominator = getCritDenominator(move, attacker);
+        int critWeight = DamageDistribution.CRIT_SCALE / critDenominator;
+
+        // Each accuracy draw out of 100 is worth CRIT_SCALE * ROLL_COUNT, so every outcome has an integer weight
+        weights[0] += (100 - hitCount) * DamageDistribution.CRIT_SCALE * ROLL_COUNT;
+        if(hitCount > 0) {
+            int modifier = afterRollModifier(move, attacker, defender);
+            addRolls(weights, damageBeforeRoll(move, attacker, defender, weather, attackerMovesFirst, true),
+                     chainModifiers(modifier, screenModifier(screenUp, true)), hitCount * critWeight);
+            if(critWeight < DamageDistribution.CRIT_SCALE)
+                addRolls(weights, damageBeforeRoll(move, attacker, defender, weather, attackerMovesFirst, false),
+                         chainModifiers(modifier, screenModifier(screenUp, false)),
+                         hitCount * (DamageDistribution.CRIT_SCALE - critWeight));
+        }
+        return new DamageDistribution(weights, hitCount, critWeight);
+    }
+
+    /**
+     * Adds the weight of every damage roll for one hit to the weights, capping the damage at the target's HP.
+     * @param weights The weight of each amount of damage so far.
+     * @param damage The damage before the roll.
+     * @param modifier The modifier after the roll, from afterRollModifier() chained with screenModifier().
+     * @param weight The weight of each roll.
+     */
+    private static void addRolls(int[] weights, int damage, int modifier, int weight) {
+        int maxDamage = weights.length - 1;
+        for(int i = 0; i < ROLL_COUNT; i++)
+            weights[Math.min(applyRoll(damage, i, modifier), maxDamage)] += weight;
+    }
+
+    /**
+     * Applies one damage roll to the damage, rounding it down, and then applies the modifier after the roll.
+     * @param damage The damage before the roll, from damageBeforeRoll().
+     * @param rollIndex The index of the roll (0-15), where 0 is 85% and 15 is 100%.
+     * @param modifier The modifier after the roll, from afterRollModifier().
+     * @return The final damage.
+     */
+    public static int applyRoll(int damage, int rollIndex, int modifier) {
+        return applyModifier(damage * (85 + rollIndex) / 100, modifier);
+    }
+
+    /**
+     * Multiplies a value by a fixed-point modifier, rounding to the nearest integer with halves rounded down.
+     * @param value The value to be modified.
+     * @param modifier The modifier, where MODIFIER_SCALE is 1.
+     * @return The modified value.
+     */
+    public static int applyModifier(int value, int modifier) {
+        return (int) (((long) value * modifier + (MODIFIER_SCALE / 2 - 1)) >> MODIFIER_BITS);
+    }
+
+    /**
+     * Chains two fixed-point modifiers into one, rounding to the nearest modifier with halves rounded up.
+     * @param first The first modifier.
+     * @param second The second modifier.
+     * @return The modifier that applies both.
+     */
+    public static int chainModifiers(int first, int second) {
+        return (int) (((long) first * second + MODIFIER_SCALE / 2) >> MODIFIER_BITS);
+    }
+
+    /**
+     * Counts how many of the 100 possible accuracy draws let the move hit the target.
+     * @param move The move to be used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param weather The current weather code.
+     * @return The number of accuracy draws (0-100) that hit.
+     */
+    public static int countHits(Move move, Pokemon moveUser, Pokemon moveTarget, int weather) {
+        if(move.getAccuracy() == 1000)
+            return 100;
+        if(isInvulnerable(moveTarget, move))
+            return 0;
+        // Hits when the draw + 1 is at most the accuracy times the user's accuracy fraction divided by the
+        // target's evasion fraction, so cross-multiply
+        int accuracyStage = moveUser.getStatStages()[6];
+        int evasionStage = moveTarget.getStatStages()[7];
+        long threshold = (long) move.getAccuracy() * moveUser.getInitStats()[6]
+                * Pokemon.ACCURACY_STAGE_NUMERATORS[accuracyStage] * Pokemon.ACCURACY_STAGE_DENOMINATORS[evasionStage];
+        long scale = (long) moveTarget.getInitStats()[7]
+                * Pokemon.ACCURACY_STAGE_DENOMINATORS[accuracyStage] * Pokemon.ACCURACY_STAGE_NUMERATORS[evasionStage];
+        int hits = 0;
+        for(int acc = 0; acc < 100; acc++)
+            if((adjustAccuracyRoll(move, acc, weather) + 1) * scale <= threshold)
+                hits++;
+        return hits;
+    }
+
+    /**
+     * Adjusts an accuracy draw for moves whose accuracy depends on the weather.
+     * @param move The move to be used.
+     * @param acc The accuracy draw.
+     * @param weather The current weather code.
+     * @return The adjusted accuracy draw.
+     */
+    private static int adjustAccuracyRoll(Move move, int acc, int weather) {
+        switch(move.getAccuracyCode()) {
+            case 1:
+                if(weather == 1 || weather == 5)
+                    return -1; // Ensure that it hits in rain
+                break;
+            case 2:
+                if(weather == 4)
+                    return acc - 30; // Increase accuracy in hail
+                break;
+            default:
+                break;
+        }
+        return acc;
+    }
+
+    /**
+     * Checks to see if this move can hit through the target Pokémon's semi-invulnerable state, if applicable.
+     * @param moveTarget The Pokémon that will take the next attack.
+     * @param move The chosen move.
+     * @return True if the target Pokémon is invulnerable to the chosen move, false otherwise
+     */
+    private static boolean isInvulnerable(Pokemon moveTarget, Move move) {
+        int invulnCode = moveTarget.getInvulnCode();
+        return invulnCode != 0 && !move.breaksInvulnerability(invulnCode);
+    }
+
+    /**
+     * Returns the denominator of the move's critical hit chance, which depends on the user's critical hit
+     * state and on whether the move has a high critical hit ratio.
+     * @param move The move to be used.
+     * @param moveUser The user of the move.
+     * @return 16, 8, or 2 for a 1/16, 1/8, or 1/2 chance, or 1 if the move always critically hits.
+     */
+    public static int getCritDenominator(AttackingMove move, Pokemon moveUser) {
+        int critState = moveUser.getCritState();
+        if(move.hasEffect(AttackingMove.EFFECT_HIGH_CRIT))
+            critState++;
+        int critChance = 16; // Default critical chance is 1/16
+        if(critState == 1)
+            critChance /= 2;
+        else if(critState == 2)
+            critChance /= 8;
+        else if(critState != 0)
+            return 1;
+        return critChance;
+    } // Consider abilities //TODO
+
+    /**
+     * Calculates the damage of the move before the damage roll, which includes BP, stats, critical hits, and
+     * weather. The base damage is rounded down once, and then the critical hit and weather modifiers are
+     * chained and applied together.
+     * @param move The move to be used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param weather The current weather code.
+     * @param userMovesFirst True if the moveUser moved first this round, and false otherwise.
+     * @param isCrit True if the move is a critical hit.
+     * @return The damage before the roll.
+     */
+    public static int damageBeforeRoll(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, int weather,
+                                       boolean userMovesFirst, boolean isCrit) {
+        //first part of formula, which compares attacking to defensive values
+        long attack = getAttackingStat(move, moveUser, moveTarget, isCrit);
+        long defense = getDefendingStat(move, moveTarget, isCrit, weather);
+        int damage = (int) ((2L * moveUser.getLevel() + 10) * calculateBP(move, moveUser, moveTarget, userMovesFirst, weather)
+                * attack / (250 * defense)) + 2;
+
+        int modifier = getWeatherModifier(move, weather);
+        if(isCrit)
+            modifier = chainModifiers(modifier, BOOST);
+        return applyModifier(damage, modifier);
+    }
+
+    /**
+     * Returns the modifiers that are applied after the damage roll chained together: STAB, type matchups,
+     * and burns.
+     * @param move The move to be used.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @return The modifier after the roll, where MODIFIER_SCALE is 1.
+     */
+    public static int afterRollModifier(AttackingMove move, Pokemon moveUser, Pokemon moveTarget) {
+        PokemonType mType = move.getPokemonType();
+        int modifier = MODIFIER_SCALE;
+        if(moveUser.hasType(mType)) //STAB bonus
+            modifier = BOOST;
+        // The effectiveness is a power of two from 0 to 4, so this is exact
+        modifier = (int) (modifier * TypeChart.getEffectiveness(mType, moveTarget.getTypeProfile()));
+        if(move.isPhysical() && moveUser.getNonVolStatus() == NonVolatileStatus.BURNED)
+            modifier = chainModifiers(modifier, HALF); //consider more factors like abilities and items later //TODO
+        return modifier;
+    }
+
+    /**
+     * Returns the modifier of a screen on the target's side of the field, which halves the damage of the moves
+     * it guards against unless they are critical hits.
+     * @param screenUp True if the target's side has the screen that guards against the move's category.
+     * @param isCrit True if the move is a critical hit.
+     * @return The screen's modifier, where MODIFIER_SCALE is 1.
+     */
+    public static int screenModifier(boolean screenUp, boolean isCrit) {
+        return screenUp && !isCrit ? HALF : MODIFIER_SCALE;
+    }
+
+    /**
+     * Calculates the BP of the move given the circumstances. This encapsulates calculations relating to
+     * changing BP (like for Eruption, Payback, and other moves). This does not include STAB or other modifiers;
+     * those are calculated later.
+     * @param move The move for which BP is to be calculated.
+     * @param moveUser The user of the move.
+     * @param moveTarget The target of the move.
+     * @param userMovesFirst True if the moveUser moved first this round, and false otherwise,
+     *                       Which is important for calculating BP and certain effects in some cases.
+     * @param weather The current weather code.
+     * @return The rounded down value of the new BP (by truncating it back to int).
+     */
+    public static int calculateBP(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, boolean userMovesFirst, int weather) {
+        if(move.hasBPCode(1))
+            return move.getBP() * moveUser.getInitStats()[0] / moveUser.getMaxHP(); //eruption/water spout
+        if(move.hasBPCode(2) && moveTarget.getInvulnCode() == 6)
+            return move.getBP() * 2 ; //earthquake with dig
+        if(move.hasBPCode(3) && !userMovesFirst)
+            return move.getBP() * 2; //payback
+        if(move.hasBPCode(4) && (weather != 2 && weather != 0 && weather != 6 && weather != 7))
+            return move.getBP() / 2; //solar beam in non-sun, non-air current, or no weather
+        //add more codes later with more moves //TODO
+        return move.getBP();
+    }
+
+    /**
+     * Returns the attacking stat of the move after stat stages, which is usually the user's Attack or Sp. Att.
+     * depending on the move's category, but the target's Attack for Foul Play. A critical hit ignores
+     * unfavorable stat stages, which are the ones below the neutral stage of 6.
+     * @param move The move that is being used.
+     * @param moveUser The attacking Pokémon.
+     * @param moveTarget The defending Pokémon.
+     * @param isCrit True if the move is a critical hit.
+     * @return The attacking stat.
+     */
+    private static int getAttackingStat(AttackingMove move, Pokemon moveUser, Pokemon moveTarget, boolean isCrit) {
+        Pokemon attacker = move.usesTargetAttack() ? moveTarget : moveUser; //Foul Play uses the target's attack
+        int index = move.isPhysical() ? 1 : 3;
+        int stage = attacker.getStatStages()[index];
+        if(isCrit && stage < 6)
+            return attacker.getInitStats()[index]; //choose greater attack on crit (between neutral and -something)
+        return attacker.getEffectiveStat(index);
+    }
+
+    /**
+     * Returns the defending stat of the target after stat stages, which is usually the Defense or Sp. Def.
+     * depending on the move's category, but Defense for Foul Play and for special moves like Psyshock, Psystrike,
+     * and Secret Sword. A critical hit ignores favorable stat stages, which are the ones above the neutral stage
+     * of 6, and Rock types have more Sp. Def. in a Sandstorm.
+     * @param move The move that is being used.
+     * @param moveTarget The defending Pokémon.
+     * @param isCrit True if the move is a critical hit.
+     * @param weather The current weather code.
+     * @return The defending stat.
+     */
+    private static int getDefendingStat(AttackingMove move, Pokemon moveTarget, boolean isCrit, int weather) {
+        boolean physicalDefense = move.hitsDefense();
+        int index = physicalDefense ? 2 : 4;
+        int stage = moveTarget.getStatStages()[index];
+        int defense = isCrit && stage > 6 ? moveTarget.getInitStats()[index] //choose lower defense on crit (between neutral and +something)
+                : moveTarget.getEffectiveStat(index);
+        if(!physicalDefense && moveTarget.hasType(PokemonType.ROCK) && weather == 3)
+            defense = defense * 3 / 2; //sandstorm Sp.Def. modifier
+        return defense;
+    }
+
+    /**
+     * Returns the modifier of any weather effects, like rain's boosts or sun's boosts. Eventually, this will also
+     * deal with abilities and items as well.
+     * @param move The move used.
+     * @param weather The current weather code.
+     * @return The weather modifier, where MODIFIER_SCALE is 1.
+     */
+    private static int getWeatherModifier(AttackingMove move, int weather) {
+        switch(weather) {
+            case 1:
+                if(move.getPokemonType() == PokemonType.WATER)
+                    return BOOST;
+                else if(move.getPokemonType() == PokemonType.FIRE)
+                    return HALF;
+                break;
+            case 2:
+                if(move.getPokemonType() == PokemonType.FIRE)
+                    return BOOST;
+                else if(move.getPokemonType() == PokemonType.WATER)
+                    return HALF;
+                break;
+        }
+        //add in other effects later, such as abilities //TODO
+        return MODIFIER_SCALE;
+    }
+}
@@ -0,0 +1,121 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Locale;
+
+/**
+ * The exact probability mass function of the damage that one attack deals, which is built by the
+ * DamageCalculator. Every outcome of an attack has an integer weight out of DENOMINATOR (100 accuracy
+ * draws times 16 critical hit slots times 16 damage rolls), so the probabilities are exact rather than
+ * sampled. Damage is capped at the target's current HP, so the last entry is the chance of a KO.
+ * @author Luke Schoeberle
+ */
+public final class DamageDistribution {
+
+    /**
+     * The number of critical hit slots, which is the largest critical hit denominator.
+     */
+    static final int CRIT_SCALE = 16;
+
+    /**
+     * The total weight of every outcome of an attack.
+     */
+    public static final int DENOMINATOR = 100 * CRIT_SCALE * DamageCalculator.ROLL_COUNT;
+
+    /**
+     * The weight of each amount of damage, indexed by the damage dealt.
+     */
+    private final int[] weights;
+
+    /**
+     * The number of accuracy draws out of 100 that hit.
+     */
+    private final int hitCount;
+
+    /**
+     * The number of critical hit slots out of CRIT_SCALE that are critical hits.
+     */
+    private final int critWeight;
+
+    /**
+     * Constructs a distribution from its weights. This is only created by the DamageCalculator.
+     * @param dWeights The weight of each amount of damage, which should add up to DENOMINATOR.
+     * @param hits The number of accuracy draws out of 100 that hit.
+     * @param crits The number of critical hit slots out of CRIT_SCALE that are critical hits.
+     */
+    DamageDistribution(int[] dWeights, int hits, int crits) {
+        weights = dWeights;
+        hitCount = hits;
+        critWeight = crits;
+    }
+
+    /**
+     * Returns the most damage that the attack can deal, which is the target's current HP.
+     * @return The largest index of the distribution.
+     */
+    public int getMaxDamage() {
+        return weights.length - 1;
+    }
+
+    /**
+     * Returns the exact weight of the given amount of damage out of DENOMINATOR.
+     * @param damage The amount of damage in question.
+     * @return The weight of that damage, or zero if it is out of range.
+     */
+    public int getWeight(int damage) {
+        return damage < 0 || damage >= weights.length ? 0 : weights[damage];
+    }
+
+    /**
+     * Returns the probability of the given amount of damage.
+     * @param damage The amount of damage in question.
+     * @return The probability of dealing exactly that much damage.
+     */
+    public double getProbability(int damage) {
+        return getWeight(damage) / (double) DENOMINATOR;
+    }
+
+    /**
+     * Returns the probability that the attack knocks out the target.
+     * @return The KO chance, which is zero if the target has already fainted.
+     */
+    public double getKOChance() {
+        return weights.length == 1 ? 0 : getProbability(getMaxDamage());
+    }
+
+    /**
+     * Returns the expected damage of the attack, including misses.
+     * @return The expected damage.
+     */
+    public double getExpectedDamage() {
+        long total = 0;
+        for(int i = 1; i < weights.length; i++)
+            total += (long) i * weights[i];
+        return total / (double) DENOMINATOR;
+    }
+
+    /**
+     * Returns the probability that the attack hits.
+     * @return The hit chance.
+     */
+    public double getHitChance() {
+        return hitCount / 100.0;
+    }
+
+    /**
+     * Returns the probability that the attack is a critical hit, given that it hits.
+     * @return The critical hit chance.
+     */
+    public double getCritChance() {
+        return critWeight / (double) CRIT_SCALE;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "hit %.2f, crit %.4f, expected %.2f, KO %.4f",
+                             getHitChance(), getCritChance(), getExpectedDamage(), getKOChance());
+    }
+}
@@ -0,0 +1,487 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * An AI that looks ahead instead of only comparing the moves that it can use right now. Each turn of the
+ * search is a max node for the searching side, a min node for the opponent's reply, and a chance node over
+ * speed ties, accuracy checks, critical hits, damage rolls, and additional effects. The max and min nodes use
+ * alpha-beta pruning, and the chance nodes use Star1 pruning since every value lies between a loss and a win.
+ * The search deepens one turn at a time until its time budget runs out, so the AI makes better decisions on
+ * faster devices. The search plays every turn on a single copy of the battle and rolls it back with an undo
+ * log afterwards, so it never copies the Pokémon at each node. Positions that are reached again through a
+ * different order of outcomes are looked up in a transposition table instead of being searched again, and the
+ * table also remembers the best move of each position so that the next iteration tries it first. It is not
+ * thread-safe, so each battle should have its own policy.
+ * @author Luke Schoeberle
+ */
+public class ExpectiminimaxPolicy implements BattlePolicy {
+
+    /**
+     * The value of a won battle, which bounds every value from above.
+     */
+    private static final double WIN = BattleEvaluator.WIN;
+
+    /**
+     * The value of a lost battle, which bounds every value from below.
+     */
+    private static final double LOSS = BattleEvaluator.LOSS;
+
+    /**
+     * The default deepest search in turns.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 6;
+
+    /**
+     * The default number of buckets that the damage roll is split into at each chance node.
+     */
+    public static final int DEFAULT_ROLL_BUCKETS = 4;
+
+    /**
+     * The default memory budget of the transposition table in bytes.
+     */
+    public static final long DEFAULT_TABLE_BYTES = 2 << 20;
+
+    /**
+     * The keys that are mixed into a position's hash for the searching side, since the same position has
+     * a different value for each side.
+     */
+    private static final long[] SIDE_KEYS = new long[] {0, 0x5BD1E9955BD1E995L};
+
+    /**
+     * The exception that unwinds the search once the time budget runs out. It is shared and has no stack
+     * trace since it is thrown often and always caught by chooseMove().
+     */
+    private static final OutOfTimeException OUT_OF_TIME = new OutOfTimeException();
+
+    /**
+     * The time budget of each decision in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * The deepest search in turns.
+     */
+    private final int maxDepth;
+
+    /**
+     * The outcome enumerator for the chance nodes at each remaining depth, indexed by depth - 1.
+     */
+    private final OutcomeEnumerator[] enumerators;
+
+    /**
+     * The table of searched positions, or null to search every position that comes up.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The log that the search's copy of the battle records its changes into, so that each turn can be undone.
+     */
+    private final UndoLog undoLog;
+
+    /**
+     * The generator of the search's copy of the battle, which draws from the enumerator of the current depth.
+     */
+    private final EnumeratorRouter router;
+
+    /**
+     * The packed state of the current node, which is reused for every transposition table key.
+     */
+    private BattleState nodeState;
+
+    /**
+     * The time at which the current search has to stop, in System.nanoTime() units.
+     */
+    private long deadline;
+
+    /**
+     * The number of turns that the last completed iteration of the last search looked ahead.
+     */
+    private int completedDepth;
+
+    /**
+     * The number of turns that were played during the last search.
+     */
+    private long turnsPlayed;
+
+    /**
+     * The best move of the last call to searchMoves(), which is stored in the transposition table.
+     */
+    private int lastBestMove;
+
+    /**
+     * The best root move of the current iteration among the moves that it has finished searching, which is
+     * used when the first iteration runs out of time.
+     */
+    private int rootBestMove;
+
+    /**
+     * Constructs an AI with the given time budget and the default depth and damage roll buckets.
+     * @param budgetMillis The time budget of each decision in milliseconds.
+     */
+    public ExpectiminimaxPolicy(long budgetMillis) {
+        this(budgetMillis, DEFAULT_MAX_DEPTH, DEFAULT_ROLL_BUCKETS);
+    }
+
+    /**
+     * Constructs an AI with the given time budget, deepest search, and damage roll buckets, and its own
+     * transposition table of the default size.
+     * @param budgetMillis The time budget of each decision in milliseconds.
+     * @param depth The deepest search in turns, which must be positive.
+     * @param rollBuckets The number of buckets that the damage roll is split into, from 1 to 16.
+     * @throws IllegalArgumentException When the depth or the number of buckets is out of range.
+     */
+    public ExpectiminimaxPolicy(long budgetMillis, int depth, int rollBuckets) {
+        this(budgetMillis, depth, rollBuckets, new TranspositionTable(DEFAULT_TABLE_BYTES));
+    }
+
+    /**
+     * Constructs an AI with the given time budget, deepest search, damage roll buckets, and transposition table.
+     * @param budgetMillis The time budget of each decision in milliseconds.
+     * @param depth The deepest search in turns, which must be positive.
+     * @param rollBuckets The number of buckets that the damage roll is split into, from 1 to 16.
+     * @param positions The table of searched positions, which must only be used for this battle, or null for none.
+     * @throws IllegalArgumentException When the depth or the number of buckets is out of range.
+     */
+    public ExpectiminimaxPolicy(long budgetMillis, int depth, int rollBuckets, TranspositionTable positions) {
+        if(depth < 1)
+            throw new IllegalArgumentException(depth + " is not a valid search depth!");
+        if(rollBuckets < 1 || rollBuckets > DamageCalculator.ROLL_COUNT)
+            throw new IllegalArgumentException(rollBuckets + " is not a valid number of damage roll buckets!");
+        budgetNanos = budgetMillis * 1_000_000L;
+        maxDepth = depth;
+        enumerators = new OutcomeEnumerator[depth];
+        for(int i = 0; i < depth; i++)
+            enumerators[i] = new OutcomeEnumerator(rollBuckets);
+        table = positions;
+        undoLog = new UndoLog();
+        router = new EnumeratorRouter();
+    }
+
+    /**
+     * Chooses the move with the best expected outcome, searching one more turn ahead each time until the
+     * time budget runs out or the deepest search is reached. The budget covers every iteration, so when even
+     * the first iteration runs out of time, the best of the moves that it finished searching is chosen.
+     * @param engine The battle in its current state, which is never changed since the search plays on a copy.
+     * @param side The side that is choosing.
+     * @return The index of the chosen move, or -1 if the lead has no moves.
+     */
+    @Override
+    public int chooseMove(BattleEngine engine, int side) {
+        int[] moves = getChoices(engine, side);
+        completedDepth = 0;
+        turnsPlayed = 0;
+        if(moves.length == 1)
+            return moves[0];
+        deadline = System.nanoTime() + budgetNanos;
+        if(table != null)
+            table.newSearch();
+        BattleEngine search = new BattleEngine(engine, router);
+        undoLog.clear();
+        search.setUndoLog(undoLog);
+        nodeState = new BattleState(search);
+        int bestMove = moves[0];
+        for(int depth = 1; depth <= maxDepth; depth++) {
+            try {
+                bestMove = searchRoot(search, side, moves, bestMove, depth);
+                completedDepth = depth;
+            }
+            catch(OutOfTimeException e) {
+                if(depth == 1)
+                    bestMove = rootBestMove; // Otherwise keep the move from the last completed iteration
+                break;
+            }
+            if(System.nanoTime() > deadline)
+                break;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Returns the number of turns that the last completed iteration of the last search looked ahead.
+     * @return The completed depth, which is zero if there was only one choice.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Returns the number of turns that were played during the last search.
+     * @return The number of turns played.
+     */
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * Returns the transposition table of this AI.
+     * @return The transposition table, or null if there is none.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Searches every move at the root, trying the best move of the previous iteration first so that
+     * alpha-beta pruning cuts off more of the others.
+     * @param engine The battle at the root.
+     * @param side The searching side.
+     * @param moves The searching side's choices.
+     * @param previousBest The best move of the previous iteration.
+     * @param depth The number of turns to look ahead.
+     * @return The best move.
+     */
+    private int searchRoot(BattleEngine engine, int side, int[] moves, int previousBest, int depth) {
+        rootBestMove = previousBest;
+        double alpha = minNode(engine, side, previousBest, depth, LOSS, WIN);
+        for(int move : moves) {
+            if(move == previousBest)
+                continue;
+            double value = minNode(engine, side, move, depth, alpha, WIN);
+            if(value > alpha) {
+                alpha = value;
+                rootBestMove = move;
+            }
+        }
+        return rootBestMove;
+    }
+
+    /**
+     * Finds the value of the searching side's best move, or looks it up if this position has already been
+     * searched at least as deeply.
+     * @param engine The battle at this node.
+     * @param side The searching side.
+     * @param depth The number of turns left to look ahead.
+     * @param alpha The value that the searching side can already guarantee.
+     * @param beta The value that the opponent can already guarantee.
+     * @return The value of the best move, clamped to the window.
+     */
+    private double maxNode(BattleEngine engine, int side, int depth, double alpha, double beta) {
+        int[] moves = getChoices(engine, side);
+        if(table == null)
+            return searchMoves(engine, side, moves, depth, alpha, beta);
+
+        nodeState.update(engine);
+        long key = nodeState.longHash() ^ SIDE_KEYS[side];
+        long entry = table.probe(key);
+        if(entry != TranspositionTable.MISS) {
+            if(TranspositionTable.getDepth(entry) >= depth) {
+                double value = TranspositionTable.getValue(entry);
+                int bound = TranspositionTable.getBound(entry);
+                if(bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && value <= alpha))
+                    return Math.max(alpha, Math.min(beta, value));
+            }
+            moveToFront(moves, TranspositionTable.getBestMove(entry));
+        }
+        double value = searchMoves(engine, side, moves, depth, alpha, beta);
+        int bound = value <= alpha ? TranspositionTable.UPPER_BOUND
+                  : value >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, depth, bound, lastBestMove, value);
+        return value;
+    }
+
+    /**
+     * Finds the value of the best of the given moves in order, and remembers the best one in lastBestMove.
+     * @param engine The battle at this node.
+     * @param side The searching side.
+     * @param moves The searching side's choices, in the order to try them.
+     * @param depth The number of turns left to look ahead.
+     * @param alpha The value that the searching side can already guarantee.
+     * @param beta The value that the opponent can already guarantee.
+     * @return The value of the best move, clamped to the window.
+     */
+    private double searchMoves(BattleEngine engine, int side, int[] moves, int depth, double alpha, double beta) {
+        int best = moves[0];
+        for(int move : moves) {
+            double value = minNode(engine, side, move, depth, alpha, beta);
+            if(value > alpha) {
+                alpha = value;
+                best = move;
+            }
+            if(alpha >= beta)
+                break;
+        }
+        lastBestMove = best;
+        return alpha;
+    }
+
+    /**
+     * Finds the value of the opponent's best reply to the searching side's move. The opponent is assumed
+     * to know the searching side's move, which makes the search slightly pessimistic.
+     * @param engine The battle at this node.
+     * @param side The searching side.
+     * @param move The searching side's move.
+     * @param depth The number of turns left to look ahead.
+     * @param alpha The value that the searching side can already guarantee.
+     * @param beta The value that the opponent can already guarantee.
+     * @return The value of the opponent's best reply, clamped to the window.
+     */
+    private double minNode(BattleEngine engine, int side, int move, int depth, double alpha, double beta) {
+        for(int reply : getChoices(engine, 1 - side)) {
+            beta = Math.min(beta, chanceNode(engine, side, move, reply, depth, alpha, beta));
+            if(alpha >= beta)
+                break;
+        }
+        return beta;
+    }
+
+    /**
+     * Finds the expected value of the turn with both moves by playing every path of outcomes and weighing
+     * each one by its probability. This stops early once the expected value can no longer end up inside
+     * the window (Star1 pruning).
+     * @param engine The battle at this node.
+     * @param side The searching side.
+     * @param move The searching side's move.
+     * @param reply The opponent's move.
+     * @param depth The number of turns left to look ahead, including this one.
+     * @param alpha The value that the searching side can already guarantee.
+     * @param beta The value that the opponent can already guarantee.
+     * @return The expected value of the turn, or a bound outside of the window if it was cut off.
+     */
+    private double chanceNode(BattleEngine engine, int side, int move, int reply, int depth, double alpha, double beta) {
+        OutcomeEnumerator outcomes = enumerators[depth - 1];
+        outcomes.reset();
+        int mark = undoLog.mark();
+        double expected = 0;
+        double remaining = 1;
+        do {
+            if(System.nanoTime() > deadline)
+                throw OUT_OF_TIME;
+            router.current = outcomes;
+            if(side == BattleEngine.PLAYER)
+                engine.simulateTurn(move, reply);
+            else
+                engine.simulateTurn(reply, move);
+            turnsPlayed++;
+            double probability = outcomes.getProbability();
+            remaining -= probability;
+            double value;
+            if(depth == 1 || engine.isOver())
+                value = BattleEvaluator.evaluate(engine, side);
+            else {
+                // The window that this path's value has to fall in for the whole node to fall in the window
+                double childAlpha = (alpha - expected - remaining * WIN) / probability;
+                double childBeta = (beta - expected - remaining * LOSS) / probability;
+                value = maxNode(engine, side, depth - 1, Math.max(LOSS, childAlpha), Math.min(WIN, childBeta));
+            }
+            engine.undo(mark);
+            expected += probability * value;
+            if(expected + remaining * WIN <= alpha)
+                return expected + remaining * WIN;
+            if(expected + remaining * LOSS >= beta)
+                return expected + remaining * LOSS;
+        } while(outcomes.nextPath());
+        return expected;
+    }
+
+    /**
+     * Moves the given move to the front of the choices, keeping the order of the others.
+     * @param moves The choices.
+     * @param move The move to be tried first, which does nothing if it is not one of the choices.
+     */
+    private static void moveToFront(int[] moves, int move) {
+        for(int i = 1; i < moves.length; i++) {
+            if(moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the moves that the side can choose this turn. A side that is charging a two-turn move has
+     * no choice, a lead without moves can only do nothing, and a lead without PP left in any of its moves
+     * can only struggle. Moves without PP left are not choices.
+     * @param engine The battle in question.
+     * @param side The side in question.
+     * @return The indexes of the side's choices.
+     */
+    private static int[] getChoices(BattleEngine engine, int side) {
+        int locked = engine.getLockedMove(side);
+        if(locked >= 0)
+            return new int[] {locked};
+        if(engine.getLead(side).getMoveCount() == 0)
+            return new int[] {-1};
+        int usable = engine.getUsableMoves(side);
+        if(usable == 0)
+            return new int[] {BattleEngine.STRUGGLE};
+        int[] choices = new int[Integer.bitCount(usable)];
+        for(int i = 0; i < choices.length; i++) {
+            choices[i] = Integer.numberOfTrailingZeros(usable);
+            usable &= usable - 1;
+        }
+        return choices;
+    }
+
+    /**
+     * The generator of the search's copy of the battle. Each chance node points it at its own enumerator
+     * before playing a turn, since deeper nodes point it elsewhere while the turn is being searched.
+     */
+    private static final class EnumeratorRouter implements BattleRng {
+
+        /**
+         * The enumerator that every draw currently comes from.
+         */
+        private OutcomeEnumerator current;
+
+        /**
+         * Draws from the current enumerator.
+         * @param stream The stream to draw from.
+         * @param bound The upper bound, which must be positive.
+         * @return The current enumerator's value.
+         */
+        @Override
+        public int nextInt(RngStream stream, int bound) {
+            return current.nextInt(stream, bound);
+        }
+
+        /**
+         * Draws from the current enumerator.
+         * @param stream The stream to draw from.
+         * @param successes The number of successful outcomes.
+         * @param outOf The total number of outcomes.
+         * @return The current enumerator's outcome.
+         */
+        @Override
+        public boolean nextChance(RngStream stream, int successes, int outOf) {
+            return current.nextChance(stream, successes, outOf);
+        }
+
+        /**
+         * The search has no seed, since it does not draw random numbers.
+         * @return Zero.
+         */
+        @Override
+        public long getSeed() {
+            return 0;
+        }
+
+        /**
+         * Splits a generator off the current enumerator's path.
+         * @return A new generator that is derived from the current path.
+         */
+        @Override
+        public BattleRng split() {
+            return current.split();
+        }
+    }
+
+    /**
+     * Thrown when the search runs out of time in the middle of an iteration.
+     */
+    private static final class OutOfTimeException extends RuntimeException {
+
+        /**
+         * The version of this exception, which is never serialized since it never leaves the search.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs the shared exception without a stack trace.
+         */
+        private OutOfTimeException() {
+            super("The search ran out of time.", null, false, false);
+        }
+    }
+}
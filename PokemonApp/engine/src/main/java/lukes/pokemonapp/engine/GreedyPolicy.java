@@ -0,0 +1,106 @@
+package lukes.pokemonapp.engine;
+
+import java.util.ArrayList;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Move;
+import lukes.pokemonapp.Pokemon;
+
+/**
+ * The original rule-based AI for choosing moves. Essentially, it picks the neutral damage or better moves,
+ * and it picks the highest BP and effectiveness out of those. If there are no neutral or better moves,
+ * it picks a status move at random. If there is no status move either, it falls back on resisted attacks,
+ * and if there are none of those, it does nothing (switching out will be implemented later). Moves without
+ * PP left are never picked, and a lead without PP left in any of its moves struggles.
+ * @author Luke Schoeberle
+ */
+public class GreedyPolicy implements BattlePolicy {
+
+    /**
+     * Chooses a move for the side's lead Pokémon based on the type matchups against the opposing lead.
+     * @param engine The battle in its current state.
+     * @param side The side that is choosing.
+     * @return The index of the chosen move, BattleEngine.STRUGGLE, or -1 if no move is worth using.
+     */
+    @Override
+    public int chooseMove(BattleEngine engine, int side) {
+        if(engine.mustStruggle(side))
+            return BattleEngine.STRUGGLE;
+        Pokemon user = engine.getLead(side);
+        Pokemon target = engine.getLead(1 - side);
+        int usable = engine.getUsableMoves(side);
+        ArrayList<Integer> firstMoveChoices = new ArrayList<>();
+        for (int i = 0; i < user.getMoveCount(); i++)  // Check for neutral/super-effective hits
+            if ((usable & 1 << i) != 0 && user.getMove(i).isAttackingMove() && getEffectiveness(user, target, user.getMove(i)) >= 1)
+                firstMoveChoices.add(i);
+
+        if (firstMoveChoices.isEmpty()) { // Use status moves if no moves hit for neutral or better
+            for (int i = 0; i < user.getMoveCount(); i++)
+                if ((usable & 1 << i) != 0 && !user.getMove(i).isAttackingMove()) // Likely add other arguments later //TODO
+                    firstMoveChoices.add(i);
+            if(firstMoveChoices.isEmpty()) {
+                for (int i = 0; i < user.getMoveCount(); i++)  // Check for stab and avoid 4x resists as a last case
+                    if((usable & 1 << i) != 0 && user.getMove(i).isAttackingMove() && getEffectiveness(user, target, user.getMove(i)) >= 0.5)
+                        firstMoveChoices.add(i);
+
+                if(firstMoveChoices.isEmpty())
+                    return -1; // Switch out, which will be implemented later once 1v1 fights work properly //TODO
+                return compareBP(engine, side, firstMoveChoices);
+            }
+            // Choose randomly from the status moves until status moves are implemented, at least for now //TODO
+            return firstMoveChoices.get(engine.getRng().nextInt(RngStream.AI, firstMoveChoices.size()));
+        }
+        // Handle the more complex case with more than one neutral or better attack
+        ArrayList<Integer> secondMoveChoices = new ArrayList<>();
+        for(int i : firstMoveChoices)
+            if (getEffectiveness(user, target, user.getMove(i)) >= 1.5)
+                secondMoveChoices.add(i);
+
+        if(secondMoveChoices.isEmpty())
+            return compareBP(engine, side, firstMoveChoices);
+        return compareBP(engine, side, secondMoveChoices);
+    }
+
+    /**
+     * Selects the highest BP move among the AI's choices in the provided list. If there are multiple choices,
+     * it picks randomly between them.
+     * @param engine The battle in its current state.
+     * @param side The side that is choosing.
+     * @param moveChoices The indexes of the possible attacking moves.
+     * @return The index of the chosen move.
+     */
+    private int compareBP(BattleEngine engine, int side, ArrayList<Integer> moveChoices) {
+        if(moveChoices.size() == 1)
+            return moveChoices.get(0);
+        Pokemon user = engine.getLead(side);
+        Pokemon target = engine.getLead(1 - side);
+        boolean userMovesFirst = engine.getEffectiveSpeed(side) > engine.getEffectiveSpeed(1 - side);
+        ArrayList<Integer> equalBPMoves = new ArrayList<>();
+        double maxBP = -1;
+        for(int i : moveChoices) { //compare each move
+            AttackingMove move = (AttackingMove) user.getMove(i);
+            double newBP = engine.calculateBP(move, user, target, userMovesFirst) * getEffectiveness(user, target, move);
+            if((int) newBP > (int) maxBP) {
+                maxBP = newBP; //reset the maxBP and the list of equal BPs
+                equalBPMoves.clear();
+                equalBPMoves.add(i);
+            }
+            else if(newBP == maxBP)
+                equalBPMoves.add(i); //add the duplicate BP to the list
+        }
+        if(equalBPMoves.size() == 1)
+            return equalBPMoves.get(0);
+        return equalBPMoves.get(engine.getRng().nextInt(RngStream.AI, equalBPMoves.size())); //choose randomly from the equal BP moves
+    }
+
+    /**
+     * Returns the type effectiveness multiplier (including STAB) of the user's move against the target.
+     * @param user The Pokémon using the move.
+     * @param target The Pokémon being targeted.
+     * @param move The move in question.
+     * @return The combined type effectiveness and STAB multiplier.
+     */
+    private double getEffectiveness(Pokemon user, Pokemon target, Move move) {
+        return BattleEngine.checkTypeMatchups(target, move, 1, user);
+    }
+}
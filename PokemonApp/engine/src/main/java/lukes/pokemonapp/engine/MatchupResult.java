@@ -0,0 +1,186 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Locale;
+
+/**
+ * The summary of many simulated battles between the same two rosters. This keeps the raw tallies and
+ * derives win rates, the average battle length, and 95% confidence intervals from them.
+ * @author Luke Schoeberle
+ */
+public class MatchupResult {
+
+    /**
+     * The z-score for a 95% confidence interval.
+     */
+    private static final double Z_95 = 1.959964;
+
+    /**
+     * The number of battles won by the player, won by the enemy, and drawn (including battles
+     * that reached the turn limit).
+     */
+    private final long playerWins, enemyWins, draws;
+
+    /**
+     * The sum of the turn counts and of the squared turn counts over every battle, which are enough to
+     * find the mean and variance of the battle length.
+     */
+    private final long totalTurns, totalTurnsSquared;
+
+    /**
+     * The wall-clock time that the simulation took in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a result from the raw tallies. This is only created by the MatchupSimulator.
+     * @param pWins The number of battles won by the player.
+     * @param eWins The number of battles won by the enemy.
+     * @param numDraws The number of battles without a winner.
+     * @param turns The total number of turns played.
+     * @param turnsSquared The sum of the squared turn counts of each battle.
+     * @param nanos The wall-clock time of the simulation in nanoseconds.
+     */
+    public MatchupResult(long pWins, long eWins, long numDraws, long turns, long turnsSquared, long nanos) {
+        playerWins = pWins;
+        enemyWins = eWins;
+        draws = numDraws;
+        totalTurns = turns;
+        totalTurnsSquared = turnsSquared;
+        elapsedNanos = nanos;
+    }
+
+    /**
+     * Returns the number of battles that were simulated.
+     * @return The number of battles that were simulated.
+     */
+    public long getBattles() {
+        return playerWins + enemyWins + draws;
+    }
+
+    /**
+     * Returns the number of battles won by the player.
+     * @return The number of battles won by the player.
+     */
+    public long getPlayerWins() {
+        return playerWins;
+    }
+
+    /**
+     * Returns the number of battles won by the enemy.
+     * @return The number of battles won by the enemy.
+     */
+    public long getEnemyWins() {
+        return enemyWins;
+    }
+
+    /**
+     * Returns the number of battles without a winner.
+     * @return The number of battles without a winner.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the fraction of battles won by the player.
+     * @return The player's win rate between 0 and 1.
+     */
+    public double getPlayerWinRate() {
+        return getBattles() == 0 ? 0 : (double) playerWins / getBattles();
+    }
+
+    /**
+     * Returns the fraction of battles won by the enemy.
+     * @return The enemy's win rate between 0 and 1.
+     */
+    public double getEnemyWinRate() {
+        return getBattles() == 0 ? 0 : (double) enemyWins / getBattles();
+    }
+
+    /**
+     * Returns the 95% Wilson score interval of the player's win rate. The Wilson interval behaves well
+     * even when the win rate is close to 0 or 1, which is common for lopsided matchups.
+     * @return The lower and upper bounds of the interval, in that order.
+     */
+    public double[] getPlayerWinRateInterval() {
+        return wilsonInterval(playerWins, getBattles());
+    }
+
+    /**
+     * Returns the 95% Wilson score interval of the enemy's win rate.
+     * @return The lower and upper bounds of the interval, in that order.
+     */
+    public double[] getEnemyWinRateInterval() {
+        return wilsonInterval(enemyWins, getBattles());
+    }
+
+    /**
+     * Returns the average number of turns per battle.
+     * @return The average number of turns per battle.
+     */
+    public double getAverageTurns() {
+        return getBattles() == 0 ? 0 : (double) totalTurns / getBattles();
+    }
+
+    /**
+     * Returns the 95% confidence interval of the average number of turns per battle, using the normal
+     * approximation of the sample mean.
+     * @return The lower and upper bounds of the interval, in that order.
+     */
+    public double[] getAverageTurnsInterval() {
+        long n = getBattles();
+        double mean = getAverageTurns();
+        if(n < 2)
+            return new double[] {mean, mean};
+        double variance = Math.max(0, ((double) totalTurnsSquared - n * mean * mean) / (n - 1));
+        double margin = Z_95 * Math.sqrt(variance / n);
+        return new double[] {mean - margin, mean + margin};
+    }
+
+    /**
+     * Returns the wall-clock time that the simulation took.
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of battles simulated per second of wall-clock time.
+     * @return The simulation throughput.
+     */
+    public double getBattlesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getBattles() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Calculates the 95% Wilson score interval for a binomial proportion.
+     * @param successes The number of successes.
+     * @param trials The number of trials.
+     * @return The lower and upper bounds of the interval, in that order.
+     */
+    private static double[] wilsonInterval(long successes, long trials) {
+        if(trials == 0)
+            return new double[] {0, 1};
+        double p = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] {Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        double[] winInterval = getPlayerWinRateInterval();
+        double[] turnInterval = getAverageTurnsInterval();
+        return String.format(Locale.US, "%d battles: player %.2f%% [%.2f%%, %.2f%%], enemy %.2f%%, draws %d, " +
+                             "%.2f turns [%.2f, %.2f], %.0f battles/s", getBattles(), getPlayerWinRate() * 100,
+                             winInterval[0] * 100, winInterval[1] * 100, getEnemyWinRate() * 100, draws,
+                             getAverageTurns(), turnInterval[0], turnInterval[1], getBattlesPerSecond());
+    }
+}
@@ -0,0 +1,214 @@
+package lukes.pokemonapp.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import lukes.pokemonapp.Trainer;
+
+/**
+ * Plays many complete AI-vs-AI battles between two rosters and summarizes the outcomes. The battles are
+ * split into ranges on a fork-join pool, and each range keeps its own tallies so that the worker threads
+ * never share mutable state until the results are merged. Every battle is seeded from the simulation seed
+ * and its own index, so a simulation gives the same tallies no matter how the work is split.
+ * @author Luke Schoeberle
+ */
+public class MatchupSimulator {
+
+    /**
+     * The number of battles that a single fork-join task plays without splitting any further.
+     */
+    private static final int BATTLES_PER_TASK = 256;
+
+    /**
+     * The default number of turns after which a battle counts as a draw.
+     */
+    public static final int DEFAULT_MAX_TURNS = 500;
+
+    /**
+     * Creates a fresh copy of each roster for every battle, since battles change the Pokémon's HP and stats.
+     */
+    private final Supplier<? extends Trainer> playerTeam, enemyTeam;
+
+    /**
+     * The policy that chooses moves for each side. These are shared by every battle, so they must be
+     * safe to use from several threads at once (GreedyPolicy keeps no state of its own, for example).
+     */
+    private final BattlePolicy playerPolicy, enemyPolicy;
+
+    /**
+     * The number of turns after which a battle counts as a draw.
+     */
+    private final int maxTurns;
+
+    /**
+     * Constructs a simulator for the two rosters with the default turn limit.
+     * @param pTeam Creates a fresh copy of the player's roster.
+     * @param eTeam Creates a fresh copy of the enemy's roster.
+     * @param pPolicy The policy for the player's side.
+     * @param ePolicy The policy for the enemy's side.
+     */
+    public MatchupSimulator(Supplier<? extends Trainer> pTeam, Supplier<? extends Trainer> eTeam,
+                            BattlePolicy pPolicy, BattlePolicy ePolicy) {
+        this(pTeam, eTeam, pPolicy, ePolicy, DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Constructs a simulator for the two rosters.
+     * @param pTeam Creates a fresh copy of the player's roster.
+     * @param eTeam Creates a fresh copy of the enemy's roster.
+     * @param pPolicy The policy for the player's side.
+     * @param ePolicy The policy for the enemy's side.
+     * @param turnLimit The number of turns after which a battle counts as a draw.
+     */
+    public MatchupSimulator(Supplier<? extends Trainer> pTeam, Supplier<? extends Trainer> eTeam,
+                            BattlePolicy pPolicy, BattlePolicy ePolicy, int turnLimit) {
+        if(turnLimit < 1)
+            throw new IllegalArgumentException("The turn limit must be positive!");
+        playerTeam = pTeam;
+        enemyTeam = eTeam;
+        playerPolicy = pPolicy;
+        enemyPolicy = ePolicy;
+        maxTurns = turnLimit;
+    }
+
+    /**
+     * Simulates the given number of battles on the common fork-join pool.
+     * @param numBattles The number of battles to play.
+     * @param seed The seed that every battle's random events are derived from.
+     * @return The summary of the battles.
+     */
+    public MatchupResult simulate(long numBattles, long seed) {
+        return simulate(numBattles, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates the given number of battles on the given fork-join pool, which uses one worker per
+     * core by default.
+     * @param numBattles The number of battles to play.
+     * @param seed The seed that every battle's random events are derived from.
+     * @param pool The pool that plays the battles.
+     * @return The summary of the battles.
+     */
+    public MatchupResult simulate(long numBattles, long seed, ForkJoinPool pool) {
+        return simulate(numBattles, seed, pool, null);
+    }
+
+    /**
+     * Simulates the given number of battles on the given fork-join pool and archives a replay of each one,
+     * so that any surprising battle can be played again exactly. The replays are in no particular order.
+     * @param numBattles The number of battles to play.
+     * @param seed The seed that every battle's random events are derived from.
+     * @param pool The pool that plays the battles.
+     * @param archive The archive that every battle's replay is written to, or null to keep no replays.
+     * @return The summary of the battles.
+     * @throws UncheckedIOException When a replay cannot be written to the archive.
+     */
+    public MatchupResult simulate(long numBattles, long seed, ForkJoinPool pool, ReplayWriter archive) {
+        if(numBattles < 0)
+            throw new IllegalArgumentException("The number of battles cannot be negative!");
+        long start = System.nanoTime();
+        long[] tallies = pool.invoke(new BattleRange(0, numBattles, seed, archive));
+        return new MatchupResult(tallies[0], tallies[1], tallies[2], tallies[3], tallies[4], System.nanoTime() - start);
+    }
+
+    /**
+     * Plays a single complete battle and adds its outcome to the tallies.
+     * @param battleIndex The index of the battle within the simulation.
+     * @param seed The simulation seed.
+     * @param tallies The running tallies, in the order player wins, enemy wins, draws, turns, and squared turns.
+     * @param archive The archive for the battle's replay, or null to keep no replay.
+     */
+    private void playBattle(long battleIndex, long seed, long[] tallies, ReplayWriter archive) {
+        BattleEngine engine = new BattleEngine(playerTeam.get(), enemyTeam.get(),
+                                              SplittableBattleRng.deriveSeed(seed, battleIndex));
+        ReplayRecorder recorder = archive == null ? null : new ReplayRecorder(engine);
+        while(!engine.isOver() && engine.getTurnCount() < maxTurns) {
+            int playerMove = playerPolicy.chooseMove(engine, BattleEngine.PLAYER);
+            int enemyMove = enemyPolicy.chooseMove(engine, BattleEngine.ENEMY);
+            engine.simulateTurn(playerMove, enemyMove);
+        }
+        if(recorder != null) {
+            try {
+                archive.write(recorder.finish());
+            }
+            catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int winner = engine.getWinner();
+        if(winner == BattleEngine.PLAYER)
+            tallies[0]++;
+        else if(winner == BattleEngine.ENEMY)
+            tallies[1]++;
+        else
+            tallies[2]++;
+        long turns = engine.getTurnCount();
+        tallies[3] += turns;
+        tallies[4] += turns * turns;
+    }
+
+    /**
+     * A range of battles that splits itself in half until it is small enough to play directly.
+     */
+    private class BattleRange extends RecursiveTask<long[]> {
+
+        /**
+         * The version of this task, which is never serialized since it only runs inside a simulation.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first battle index in this range (inclusive) and the last one (exclusive).
+         */
+        private final long from, to;
+
+        /**
+         * The simulation seed.
+         */
+        private final long seed;
+
+        /**
+         * The archive for every battle's replay, or null to keep no replays.
+         */
+        private final ReplayWriter archive;
+
+        /**
+         * Constructs a range of battles.
+         * @param rFrom The first battle index (inclusive).
+         * @param rTo The last battle index (exclusive).
+         * @param rSeed The simulation seed.
+         * @param rArchive The archive for every battle's replay, or null to keep no replays.
+         */
+        private BattleRange(long rFrom, long rTo, long rSeed, ReplayWriter rArchive) {
+            from = rFrom;
+            to = rTo;
+            seed = rSeed;
+            archive = rArchive;
+        }
+
+        /**
+         * Plays the battles in this range, splitting it first if it is too large.
+         * @return The tallies for this range.
+         */
+        @Override
+        protected long[] compute() {
+            if(to - from <= BATTLES_PER_TASK) {
+                long[] tallies = new long[5];
+                for(long i = from; i < to; i++)
+                    playBattle(i, seed, tallies, archive);
+                return tallies;
+            }
+            long middle = (from + to) >>> 1;
+            BattleRange left = new BattleRange(from, middle, seed, archive);
+            left.fork();
+            long[] tallies = new BattleRange(middle, to, seed, archive).compute();
+            long[] leftTallies = left.join();
+            for(int i = 0; i < tallies.length; i++)
+                tallies[i] += leftTallies[i];
+            return tallies;
+        }
+    }
+}
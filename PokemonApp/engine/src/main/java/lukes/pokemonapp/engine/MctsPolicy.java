@@ -0,0 +1,543 @@
+package lukes.pokemonapp.engine;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An AI that chooses moves with Monte Carlo Tree Search. Both sides choose their moves at the same time,
+ * so each node keeps separate statistics for each side's moves and picks them independently with UCB1
+ * (decoupled UCT). The tree is open-loop: nodes are reached by the moves that lead to them rather than by
+ * the exact state, so the randomness of each turn is sampled again on every playout. Every available core
+ * plays out battles on its own copy of the battle and shares the tree, and virtual losses keep the threads
+ * from all following the same path. The search stops at a wall-clock deadline. A side that is charging a
+ * two-turn move has only that move at a node, so the tree does not branch on choices that it cannot make.
+ * The worker threads are kept between decisions, so the policy should be closed once the battle is over.
+ * @author Luke Schoeberle
+ */
+public class MctsPolicy implements BattlePolicy, AutoCloseable {
+
+    /**
+     * The default exploration constant of UCB1.
+     */
+    public static final double DEFAULT_EXPLORATION = 1.0;
+
+    /**
+     * The most turns that a rollout plays before the battle is evaluated as it stands.
+     */
+    public static final int ROLLOUT_TURNS = 50;
+
+    /**
+     * The deepest that the tree can grow in turns.
+     */
+    private static final int MAX_TREE_DEPTH = 64;
+
+    /**
+     * The time budget of each decision in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * The number of threads that search at once.
+     */
+    private final int threadCount;
+
+    /**
+     * The policy that plays out the rest of the battle from a new node, or null for uniformly random moves.
+     * It is shared by every thread, so it must not keep any state.
+     */
+    private final BattlePolicy rolloutPolicy;
+
+    /**
+     * The exploration constant of UCB1.
+     */
+    private final double exploration;
+
+    /**
+     * The threads that run the playouts, which are created on the first decision that needs them.
+     */
+    private ExecutorService workers;
+
+    /**
+     * Determines if the policy has been closed, after which it cannot choose any more moves.
+     */
+    private boolean closed;
+
+    /**
+     * The number of playouts in the last search.
+     */
+    private long lastPlayouts;
+
+    /**
+     * The wall-clock time of the last search in nanoseconds.
+     */
+    private long lastElapsedNanos;
+
+    /**
+     * Constructs an AI that searches on every available core with random rollouts.
+     * @param budgetMillis The time budget of each decision in milliseconds.
+     */
+    public MctsPolicy(long budgetMillis) {
+        this(budgetMillis, Runtime.getRuntime().availableProcessors(), null, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Constructs an AI with the given number of threads, rollout policy, and exploration constant.
+     * @param budgetMillis The time budget of each decision in milliseconds.
+     * @param threads The number of threads that search at once, which must be positive.
+     * @param rollouts The stateless policy that plays out the battle from a new node, or null for random moves.
+     * @param c The exploration constant of UCB1.
+     * @throws IllegalArgumentException When the number of threads is not positive.
+     */
+    public MctsPolicy(long budgetMillis, int threads, BattlePolicy rollouts, double c) {
+        if(threads < 1)
+            throw new IllegalArgumentException(threads + " is not a valid number of threads!");
+        budgetNanos = budgetMillis * 1_000_000L;
+        threadCount = threads;
+        rolloutPolicy = rollouts;
+        exploration = c;
+    }
+
+    /**
+     * Chooses the move that was played out the most from the current state within the time budget.
+     * @param engine The battle in its current state, which is only changed by splitting its generator.
+     * @param side The side that is choosing.
+     * @return The index of the chosen move, BattleEngine.STRUGGLE, or -1 if the lead has no moves.
+     * @throws IllegalStateException When the policy has been closed.
+     */
+    @Override
+    public int chooseMove(BattleEngine engine, int side) {
+        if(closed)
+            throw new IllegalStateException("This policy has been closed!");
+        lastPlayouts = 0;
+        lastElapsedNanos = 0;
+        if(engine.getLockedMove(side) >= 0)
+            return engine.getLockedMove(side);
+        int forced = Node.getForcedMove(engine, side);
+        if(forced != Node.FREE)
+            return forced;
+        int usable = engine.getUsableMoves(side);
+        if(Integer.bitCount(usable) == 1)
+            return Integer.numberOfTrailingZeros(usable);
+
+        long start = System.nanoTime();
+        Node root = new Node(engine);
+        ArrayList<Playouts> tasks = new ArrayList<>(threadCount);
+        for(int i = 0; i < threadCount; i++)
+            tasks.add(new Playouts(engine, root, engine.getRng().split(), start + budgetNanos));
+        if(threadCount == 1)
+            lastPlayouts = tasks.get(0).call();
+        else
+            lastPlayouts = runInParallel(tasks);
+        lastElapsedNanos = System.nanoTime() - start;
+        return root.toMove(side, root.getMostPlayed(side));
+    }
+
+    /**
+     * Shuts down the worker threads. A search that is still running is allowed to finish, since it stops at
+     * its deadline anyway.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if(workers != null)
+            workers.shutdown();
+    }
+
+    /**
+     * Returns the number of playouts in the last search.
+     * @return The number of playouts.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Returns the number of playouts per second in the last search, which is what the decision quality
+     * of this AI depends on.
+     * @return The playouts per second, or zero if there was no search.
+     */
+    public double getLastPlayoutsPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastPlayouts * 1e9 / lastElapsedNanos;
+    }
+
+    /**
+     * Runs the playouts on the worker threads and waits for all of them to finish.
+     * @param tasks The playouts for each thread.
+     * @return The total number of playouts.
+     */
+    private long runInParallel(ArrayList<Playouts> tasks) {
+        if(workers == null) {
+            workers = Executors.newFixedThreadPool(threadCount, r -> {
+                Thread t = new Thread(r, "mcts-worker");
+                t.setDaemon(true); // Never keep the app alive just for the AI
+                return t;
+            });
+        }
+        long total = 0;
+        try {
+            for(Future<Long> f : workers.invokeAll(tasks))
+                total += f.get();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch(ExecutionException e) {
+            throw new IllegalStateException("A playout failed!", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * The playouts of one thread. Each one has its own copy of the battle, which is reset from the root
+     * before every playout instead of being copied again, and its own generator.
+     */
+    private final class Playouts implements Callable<Long> {
+
+        /**
+         * The battle at the root, which is only read.
+         */
+        private final BattleEngine root;
+
+        /**
+         * The thread's copy of the battle, which every playout is played on.
+         */
+        private final BattleEngine game;
+
+        /**
+         * The root of the shared tree.
+         */
+        private final Node rootNode;
+
+        /**
+         * The time at which the playouts have to stop, in System.nanoTime() units.
+         */
+        private final long deadline;
+
+        /**
+         * The nodes and joint actions on the path of the current playout.
+         */
+        private final Node[] path = new Node[MAX_TREE_DEPTH];
+        private final int[] jointActions = new int[MAX_TREE_DEPTH];
+
+        /**
+         * Constructs the playouts of one thread.
+         * @param rootEngine The battle at the root.
+         * @param node The root of the shared tree.
+         * @param rng The thread's own generator.
+         * @param end The deadline in System.nanoTime() units.
+         */
+        private Playouts(BattleEngine rootEngine, Node node, BattleRng rng, long end) {
+            root = rootEngine;
+            game = new BattleEngine(rootEngine, rng);
+            rootNode = node;
+            deadline = end;
+        }
+
+        /**
+         * Plays out battles until the deadline, always playing at least one.
+         * @return The number of playouts.
+         */
+        @Override
+        public Long call() {
+            long playouts = 0;
+            do {
+                playOut();
+                playouts++;
+            } while(System.nanoTime() < deadline);
+            return playouts;
+        }
+
+        /**
+         * Plays one battle out from the root: down the tree by UCB1, then to the end (or the turn limit)
+         * with the rollout policy, and then backs the result up along the path.
+         */
+        private void playOut() {
+            game.copyStateFrom(root);
+            Node node = rootNode;
+            int depth = 0;
+            while(true) {
+                int joint = node.select(exploration);
+                path[depth] = node;
+                jointActions[depth] = joint;
+                depth++;
+                game.simulateTurn(node.toMove(BattleEngine.PLAYER, node.getPlayerAction(joint)),
+                                  node.toMove(BattleEngine.ENEMY, node.getEnemyAction(joint)));
+                if(game.isOver() || depth == MAX_TREE_DEPTH)
+                    break;
+                node = node.getChild(joint, game);
+                if(node.isNew())
+                    break; // Expand only one node per playout
+            }
+            for(int turns = 0; !game.isOver() && turns < ROLLOUT_TURNS; turns++)
+                game.simulateTurn(chooseRolloutMove(BattleEngine.PLAYER), chooseRolloutMove(BattleEngine.ENEMY));
+
+            double value = BattleEvaluator.evaluate(game, BattleEngine.PLAYER);
+            for(int i = 0; i < depth; i++)
+                path[i].update(jointActions[i], value);
+        }
+
+        /**
+         * Chooses a move for the rollout, which is uniformly random unless there is a rollout policy. A side
+         * that is charging a two-turn move always finishes it.
+         * @param side The side that is choosing.
+         * @return The index of the chosen move.
+         */
+        private int chooseRolloutMove(int side) {
+            int locked = game.getLockedMove(side);
+            if(locked >= 0)
+                return locked;
+            if(rolloutPolicy != null)
+                return rolloutPolicy.chooseMove(game, side);
+            int forced = Node.getForcedMove(game, side);
+            if(forced != Node.FREE)
+                return forced;
+            int usable = game.getUsableMoves(side);
+            return Node.nthMove(usable, game.getRng().nextInt(RngStream.AI, Integer.bitCount(usable)));
+        }
+    }
+
+    /**
+     * A node of the shared tree, which keeps the visits and total value of each side's actions separately.
+     * Every method that touches the statistics is synchronized, since several threads share each node.
+     */
+    private static final class Node {
+
+        /**
+         * The team indexes of the leads at this node. A node's children are also told apart by their leads,
+         * since a fainted lead changes the moves that a side can choose.
+         */
+        private final int playerLead, enemyLead;
+
+        /**
+         * The forced move of a side that can choose any of its moves.
+         */
+        private static final int FREE = -2;
+
+        /**
+         * The move that each side is forced to use at this node, which is the two-turn move that it is charging,
+         * -1 (doing nothing) for a lead without moves, STRUGGLE for a lead without PP left, or FREE if that side
+         * can choose. Children are also told
+         * apart by these, since a two-turn move that misses does not start charging.
+         */
+        private final int playerForced, enemyForced;
+
+        /**
+         * The moves that each side can choose at this node, where bit i is set if move i has PP left, or 0 for
+         * a forced side. Children are also told apart by these, since a move that runs out of PP is no longer
+         * an action.
+         */
+        private final int playerUsable, enemyUsable;
+
+        /**
+         * The number of actions of each side, which is 1 for a side that is forced to use a move.
+         */
+        private final int playerCount, enemyCount;
+
+        /**
+         * The number of visits of each side's actions, including virtual losses that are still pending.
+         */
+        private final int[] playerVisits, enemyVisits;
+
+        /**
+         * The total value of each side's actions from that side's point of view.
+         */
+        private final double[] playerTotals, enemyTotals;
+
+        /**
+         * The number of visits of this node.
+         */
+        private int visits;
+
+        /**
+         * The children of each joint action, where each child links to the next child of the same joint
+         * action with different leads.
+         */
+        private final Node[] children;
+
+        /**
+         * The next child of the same parent and joint action, but with different leads.
+         */
+        private Node sibling;
+
+        /**
+         * Constructs a node for the state of the given battle.
+         * @param game The battle that has just reached this node.
+         */
+        private Node(BattleEngine game) {
+            playerLead = game.getLeadIndex(BattleEngine.PLAYER);
+            enemyLead = game.getLeadIndex(BattleEngine.ENEMY);
+            playerForced = getForcedMove(game, BattleEngine.PLAYER);
+            enemyForced = getForcedMove(game, BattleEngine.ENEMY);
+            playerUsable = playerForced == FREE ? game.getUsableMoves(BattleEngine.PLAYER) : 0;
+            enemyUsable = enemyForced == FREE ? game.getUsableMoves(BattleEngine.ENEMY) : 0;
+            playerCount = playerForced == FREE ? Integer.bitCount(playerUsable) : 1;
+            enemyCount = enemyForced == FREE ? Integer.bitCount(enemyUsable) : 1;
+            playerVisits = new int[playerCount];
+            enemyVisits = new int[enemyCount];
+            playerTotals = new double[playerCount];
+            enemyTotals = new double[enemyCount];
+            children = new Node[playerCount * enemyCount];
+        }
+
+        /**
+         * Chooses each side's action with UCB1 and adds a virtual loss to both, so that other threads
+         * are steered elsewhere until this playout is backed up.
+         * @param c The exploration constant.
+         * @return The joint action.
+         */
+        private synchronized int select(double c) {
+            double logVisits = Math.log(visits + 1);
+            int playerAction = selectAction(playerVisits, playerTotals, logVisits, c);
+            int enemyAction = selectAction(enemyVisits, enemyTotals, logVisits, c);
+            visits++;
+            playerVisits[playerAction]++;
+            playerTotals[playerAction] += BattleEvaluator.LOSS;
+            enemyVisits[enemyAction]++;
+            enemyTotals[enemyAction] += BattleEvaluator.LOSS;
+            return playerAction * enemyCount + enemyAction;
+        }
+
+        /**
+         * Chooses the action with the best upper confidence bound, trying every action once first.
+         * @param actionVisits The visits of each action.
+         * @param totals The total value of each action.
+         * @param logVisits The natural log of the node's visits.
+         * @param c The exploration constant.
+         * @return The index of the chosen action.
+         */
+        private static int selectAction(int[] actionVisits, double[] totals, double logVisits, double c) {
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for(int i = 0; i < actionVisits.length; i++) {
+                if(actionVisits[i] == 0)
+                    return i;
+                double score = totals[i] / actionVisits[i] + c * Math.sqrt(logVisits / actionVisits[i]);
+                if(score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Replaces the virtual losses of the joint action with the value of the playout.
+         * @param joint The joint action.
+         * @param value The value of the playout from the player's point of view.
+         */
+        private synchronized void update(int joint, double value) {
+            playerTotals[getPlayerAction(joint)] += value - BattleEvaluator.LOSS;
+            enemyTotals[getEnemyAction(joint)] += -value - BattleEvaluator.LOSS;
+        }
+
+        /**
+         * Returns the child for the joint action that matches the leads of the battle, creating it if needed.
+         * @param joint The joint action.
+         * @param game The battle after the joint action was played.
+         * @return The child node.
+         */
+        private synchronized Node getChild(int joint, BattleEngine game) {
+            int pLead = game.getLeadIndex(BattleEngine.PLAYER);
+            int eLead = game.getLeadIndex(BattleEngine.ENEMY);
+            int pForced = getForcedMove(game, BattleEngine.PLAYER);
+            int eForced = getForcedMove(game, BattleEngine.ENEMY);
+            int pUsable = pForced == FREE ? game.getUsableMoves(BattleEngine.PLAYER) : 0;
+            int eUsable = eForced == FREE ? game.getUsableMoves(BattleEngine.ENEMY) : 0;
+            Node child = children[joint];
+            while(child != null && (child.playerLead != pLead || child.enemyLead != eLead
+                    || child.playerForced != pForced || child.enemyForced != eForced
+                    || child.playerUsable != pUsable || child.enemyUsable != eUsable))
+                child = child.sibling;
+            if(child == null) {
+                child = new Node(game);
+                child.sibling = children[joint];
+                children[joint] = child;
+            }
+            return child;
+        }
+
+        /**
+         * Determines if this node has not been visited yet.
+         * @return True if no playout has selected an action here, false otherwise.
+         */
+        private synchronized boolean isNew() {
+            return visits == 0;
+        }
+
+        /**
+         * Returns the move that one of a side's actions at this node stands for. A forced side always uses its
+         * forced move, and otherwise the actions are the moves with PP left, in order.
+         * @param side The side in question.
+         * @param action The index of the action.
+         * @return The index of the move, STRUGGLE, or -1 to do nothing.
+         */
+        private int toMove(int side, int action) {
+            int forced = side == BattleEngine.PLAYER ? playerForced : enemyForced;
+            return forced == FREE ? nthMove(side == BattleEngine.PLAYER ? playerUsable : enemyUsable, action) : forced;
+        }
+
+        /**
+         * Returns the index of the nth move in a mask of usable moves.
+         * @param usable The mask of usable moves.
+         * @param n The number of usable moves before the one in question.
+         * @return The index of the move.
+         */
+        private static int nthMove(int usable, int n) {
+            for(int i = 0; i < n; i++)
+                usable &= usable - 1; // Clear the lowest move
+            return Integer.numberOfTrailingZeros(usable);
+        }
+
+        /**
+         * Returns the move that a side is forced to use in the given battle.
+         * @param game The battle in question.
+         * @param side The side in question.
+         * @return The two-turn move that the side is charging, -1 if its lead has no moves, STRUGGLE if its lead
+         *         has no PP left, or FREE otherwise.
+         */
+        private static int getForcedMove(BattleEngine game, int side) {
+            int locked = game.getLockedMove(side);
+            if(locked >= 0)
+                return locked;
+            if(game.getLead(side).getMoveCount() == 0)
+                return -1;
+            return game.getUsableMoves(side) == 0 ? BattleEngine.STRUGGLE : FREE;
+        }
+
+        /**
+         * Returns the player's action of the joint action.
+         * @param joint The joint action.
+         * @return The player's action.
+         */
+        private int getPlayerAction(int joint) {
+            return joint / enemyCount;
+        }
+
+        /**
+         * Returns the enemy's action of the joint action.
+         * @param joint The joint action.
+         * @return The enemy's action.
+         */
+        private int getEnemyAction(int joint) {
+            return joint % enemyCount;
+        }
+
+        /**
+         * Returns the side's action with the most visits, which is the most robust choice.
+         * @param side The side in question.
+         * @return The side's most visited action.
+         */
+        private synchronized int getMostPlayed(int side) {
+            int[] actionVisits = side == BattleEngine.PLAYER ? playerVisits : enemyVisits;
+            int best = 0;
+            for(int i = 1; i < actionVisits.length; i++)
+                if(actionVisits[i] > actionVisits[best])
+                    best = i;
+            return best;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * A BattleRng that walks through the possible outcomes of a turn instead of sampling one. Each call to
+ * playTurn() on an engine that draws from this generator follows one path of outcomes, and nextPath()
+ * moves on to the next path like an odometer, so a search can visit every path and weigh each one by its
+ * probability. Events that either happen or not split into exactly two branches, while wider draws like
+ * damage rolls are grouped into a few equally sized buckets that are each represented by their middle value.
+ * @author Luke Schoeberle
+ */
+final class OutcomeEnumerator implements BattleRng {
+
+    /**
+     * The most draws that a single turn can make.
+     */
+    private static final int MAX_DRAWS = 64;
+
+    /**
+     * The most branches that a wide draw (like a damage roll) is split into.
+     */
+    private final int rollBuckets;
+
+    /**
+     * The branch taken by each draw on the current path.
+     */
+    private final int[] choices;
+
+    /**
+     * The number of branches of each draw on the current path.
+     */
+    private final int[] branchCounts;
+
+    /**
+     * The number of draws whose branches are already decided for the current path.
+     */
+    private int length;
+
+    /**
+     * The index of the next draw on the current path.
+     */
+    private int position;
+
+    /**
+     * The probability of the current path so far.
+     */
+    private double probability;
+
+    /**
+     * The number of generators that have been split off at the current position of the current path.
+     */
+    private int splits;
+
+    /**
+     * Constructs an enumerator that splits wide draws into at most the given number of buckets.
+     * @param buckets The most branches for a wide draw, which must be positive.
+     */
+    OutcomeEnumerator(int buckets) {
+        if(buckets < 1)
+            throw new IllegalArgumentException(buckets + " is not a valid number of buckets!");
+        rollBuckets = buckets;
+        choices = new int[MAX_DRAWS];
+        branchCounts = new int[MAX_DRAWS];
+    }
+
+    /**
+     * Starts a new enumeration, so the next path is the first path.
+     */
+    void reset() {
+        length = 0;
+        beginPath();
+    }
+
+    /**
+     * Moves on to the next path after the current path has been played. This must be called before the
+     * next turn is played from the same state.
+     * @return True if there is another path, false if every path has been visited.
+     */
+    boolean nextPath() {
+        for(int i = position - 1; i >= 0; i--) {
+            if(choices[i] + 1 < branchCounts[i]) {
+                choices[i]++;
+                length = i + 1;
+                beginPath();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the probability of the path that was just played.
+     * @return The probability of the current path.
+     */
+    double getProbability() {
+        return probability;
+    }
+
+    /**
+     * Rewinds to the start of the current path.
+     */
+    private void beginPath() {
+        position = 0;
+        probability = 1;
+        splits = 0;
+    }
+
+    /**
+     * Returns the branch of the next draw, which is the first branch if this path has not decided it yet.
+     * @param branches The number of branches of the draw.
+     * @return The chosen branch.
+     */
+    private int choose(int branches) {
+        if(position == MAX_DRAWS)
+            throw new IllegalStateException("A turn cannot make more than " + MAX_DRAWS + " random draws!");
+        if(position >= length) {
+            choices[position] = 0;
+            branchCounts[position] = branches;
+            length = position + 1;
+        }
+        return choices[position++];
+    }
+
+    /**
+     * Returns the middle value of the chosen bucket of the draw.
+     * @param stream The stream to draw from, which does not matter here.
+     * @param bound The upper bound, which must be positive.
+     * @return The middle value of the chosen bucket.
+     */
+    @Override
+    public int nextInt(RngStream stream, int bound) {
+        if(bound == 1)
+            return 0;
+        int buckets = Math.min(bound, rollBuckets);
+        int bucket = choose(buckets);
+        int low = bucket * bound / buckets;
+        int high = (bucket + 1) * bound / buckets;
+        probability *= (high - low) / (double) bound;
+        return (low + high - 1) / 2;
+    }
+
+    /**
+     * Returns whether the event happens on the chosen branch, which is exact rather than bucketed.
+     * @param stream The stream to draw from, which does not matter here.
+     * @param successes The number of successful outcomes.
+     * @param outOf The total number of outcomes.
+     * @return True on the first branch and false on the second, unless the event is certain either way.
+     */
+    @Override
+    public boolean nextChance(RngStream stream, int successes, int outOf) {
+        if(successes <= 0)
+            return false;
+        if(successes >= outOf)
+            return true;
+        if(choose(2) == 0) {
+            probability *= successes / (double) outOf;
+            return true;
+        }
+        probability *= (outOf - successes) / (double) outOf;
+        return false;
+    }
+
+    /**
+     * An enumerator has no seed, since it does not draw random numbers.
+     * @return Zero.
+     */
+    @Override
+    public long getSeed() {
+        return 0;
+    }
+
+    /**
+     * Creates a generator for randomness that the enumeration does not cover, such as a rollout that is
+     * played from the current path. It is seeded from the branches taken so far on the current path, so the
+     * same path always splits off the same generators, and it never changes the enumeration itself.
+     * @return A new generator that is derived from the current path.
+     */
+    @Override
+    public BattleRng split() {
+        long pathSeed = position;
+        for(int i = 0; i < position; i++)
+            pathSeed = SplittableBattleRng.mix(pathSeed * branchCounts[i] + choices[i]);
+        return new SplittableBattleRng(SplittableBattleRng.deriveSeed(pathSeed, splits++));
+    }
+}
@@ -0,0 +1,111 @@
+package lukes.pokemonapp.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens the replays of an archive written by a ReplayWriter in any order. The file is memory-mapped rather
+ * than read, so opening a replay only touches the pages it is on, and the index at the end of the archive
+ * finds it without reading the replays before it. Together with Replayer.seek(), this lets a viewer or an
+ * analysis job jump to any turn of any battle in a large archive. The mapped file is only read, so one
+ * archive can be shared by many threads.
+ * @author Luke Schoeberle
+ */
+public final class ReplayArchive {
+
+    /**
+     * The mapped file.
+     */
+    private final MappedByteBuffer map;
+
+    /**
+     * The position of the index, which is the position of each replay as 8 bytes.
+     */
+    private final int indexStart;
+
+    /**
+     * The number of replays in the archive.
+     */
+    private final int replayCount;
+
+    /**
+     * Maps an archive file and checks its header and index.
+     * @param file The file to be mapped, which stays mapped after it is closed.
+     * @throws IOException When the file cannot be mapped, is larger than 2 GB, or is not a closed replay archive.
+     */
+    private ReplayArchive(FileChannel file) throws IOException {
+        long size = file.size();
+        if(size > Integer.MAX_VALUE)
+            throw new IOException("An archive larger than 2 GB cannot be mapped!");
+        if(size < 5 + ReplayWriter.TRAILER_BYTES)
+            throw new IOException("The archive is too short to have an index!");
+        map = file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if(map.getInt(0) != ReplayWriter.MAGIC)
+            throw new IOException("This is not a replay archive!");
+        ByteBuffer header = map.duplicate();
+        header.position(4);
+        long version = Varints.read(header);
+        if(version != ReplayWriter.VERSION)
+            throw new IOException("Replay format version " + version + " is not supported!");
+        int trailer = (int) size - ReplayWriter.TRAILER_BYTES;
+        if(map.getInt(trailer + 16) != ReplayWriter.MAGIC)
+            throw new IOException("The archive has no index, so its writer was probably never closed!");
+        long start = map.getLong(trailer);
+        long count = map.getLong(trailer + 8);
+        if(count < 0 || start < 0 || start + 8 * count != trailer)
+            throw new IOException("The index of the archive is malformed!");
+        indexStart = (int) start;
+        replayCount = (int) count;
+    }
+
+    /**
+     * Opens an archive file.
+     * @param path The path of the file.
+     * @return The archive.
+     * @throws IOException When the file cannot be mapped, is larger than 2 GB, or is not a closed replay archive.
+     */
+    public static ReplayArchive open(Path path) throws IOException {
+        try(FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ReplayArchive(file);
+        }
+    }
+
+    /**
+     * Returns the number of replays in the archive.
+     * @return The number of replays.
+     */
+    public int size() {
+        return replayCount;
+    }
+
+    /**
+     * Returns one replay, which can be passed to a Replayer.
+     * @param index The index of the replay, in the order they were written.
+     * @return A view of the replay in the mapped file.
+     * @throws IndexOutOfBoundsException When there is no replay with that index.
+     */
+    public ByteBuffer get(int index) {
+        if(index < 0 || index >= replayCount)
+            throw new IndexOutOfBoundsException("Replay " + index + " is not in an archive of " + replayCount + "!");
+        ByteBuffer replay = map.duplicate();
+        replay.position((int) map.getLong(indexStart + 8 * index));
+        int length = (int) Varints.read(replay);
+        replay.limit(replay.position() + length);
+        return replay.slice();
+    }
+
+    /**
+     * Starts replaying one replay.
+     * @param index The index of the replay, in the order they were written.
+     * @return A replayer at the start of the battle.
+     * @throws IndexOutOfBoundsException When there is no replay with that index.
+     * @throws IllegalArgumentException When the replay is malformed.
+     */
+    public Replayer replay(int index) {
+        return new Replayer(get(index));
+    }
+}
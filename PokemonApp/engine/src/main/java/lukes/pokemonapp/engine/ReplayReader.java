@@ -0,0 +1,129 @@
+package lukes.pokemonapp.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the replays of an archive written by a ReplayWriter, one after another. The channel is read in large
+ * blocks, and each replay is returned as a view of the read buffer rather than a copy. The index at the end of
+ * the archive is not read, so this also reads archives whose writer was never closed. Use a ReplayArchive
+ * to open replays out of order.
+ * @author Luke Schoeberle
+ */
+public final class ReplayReader implements Closeable {
+
+    /**
+     * The initial size of the read buffer in bytes, which grows for replays that do not fit.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * The channel that the replays are read from.
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * The bytes that have been read from the channel but not returned yet, between position and limit.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Determines if the channel has no more bytes.
+     */
+    private boolean endOfChannel;
+
+    /**
+     * Determines if the end of the replays has been read.
+     */
+    private boolean endOfReplays;
+
+    /**
+     * Starts reading an archive from the given channel by checking its header.
+     * @param in The channel to read from, which is closed along with this reader.
+     * @throws IOException When the header cannot be read or is not the header of a replay archive.
+     */
+    public ReplayReader(ReadableByteChannel in) throws IOException {
+        channel = in;
+        buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        buffer.flip();
+        if(!fill(4 + Varints.MAX_BYTES) && buffer.remaining() < 5)
+            throw new IOException("The archive is too short to have a header!");
+        if(buffer.getInt() != ReplayWriter.MAGIC)
+            throw new IOException("This is not a replay archive!");
+        long version = Varints.read(buffer);
+        if(version != ReplayWriter.VERSION)
+            throw new IOException("Replay format version " + version + " is not supported!");
+    }
+
+    /**
+     * Opens an archive file.
+     * @param path The path of the file.
+     * @return A reader for the file.
+     * @throws IOException When the file cannot be opened or is not a replay archive.
+     */
+    public static ReplayReader open(Path path) throws IOException {
+        return new ReplayReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Returns the next replay, which can be passed to a Replayer.
+     * @return A view of the next replay that is only valid until the next call, or null at the end of the archive.
+     * @throws IOException When the archive cannot be read or ends in the middle of a replay.
+     */
+    public ByteBuffer next() throws IOException {
+        if(endOfReplays)
+            return null;
+        fill(Varints.MAX_BYTES);
+        if(!buffer.hasRemaining())
+            return null;
+        int length = (int) Varints.read(buffer);
+        if(length == 0) { // The index follows
+            endOfReplays = true;
+            return null;
+        }
+        if(!fill(length) && buffer.remaining() < length)
+            throw new IOException("The archive ends in the middle of a replay!");
+        ByteBuffer replay = buffer.slice();
+        replay.limit(length);
+        buffer.position(buffer.position() + length);
+        return replay;
+    }
+
+    /**
+     * Closes the channel.
+     * @throws IOException When the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least the given number of bytes, growing it if needed.
+     * @param needed The number of bytes needed.
+     * @return True if the buffer holds enough bytes, false if the channel ended first.
+     * @throws IOException When the channel cannot be read.
+     */
+    private boolean fill(int needed) throws IOException {
+        if(buffer.remaining() >= needed)
+            return true;
+        if(needed > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(needed, 2 * buffer.capacity()));
+            larger.put(buffer);
+            buffer = larger;
+        }
+        else
+            buffer.compact();
+        while(!endOfChannel && buffer.position() < needed) {
+            if(channel.read(buffer) < 0)
+                endOfChannel = true;
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+}
@@ -0,0 +1,277 @@
+package lukes.pokemonapp.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import lukes.pokemonapp.EnemyTrainer;
+import lukes.pokemonapp.FriendlyTrainer;
+import lukes.pokemonapp.Player;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.Trainer;
+
+/**
+ * Records a battle as a compact replay while it is played. A replay holds the battle seed, both rosters by
+ * species and move id, the packed starting state, one byte per turn for the two choices, and the outcome.
+ * Since every random event comes from the seed, this is enough for a Replayer to play the battle again
+ * exactly. Most battles take a few hundred bytes or less. Long battles also get a keyframe every few turns,
+ * which holds the packed state and the generator's streams at that turn, so that a Replayer can seek to any
+ * turn by restoring the keyframe before it and playing only the turns in between.
+ * @author Luke Schoeberle
+ */
+public final class ReplayRecorder {
+
+    /*
+     * The layout of a replay, where every number is a varint unless it says otherwise:
+     *      the seed (8 bytes, big-endian),
+     *      for each side: the trainer kind, the trainer name, the team size, and for each Pokémon:
+     *          the species id, the level, the name, the move count, and each move id,
+     *      the number of packed state words and each word,
+     *      the keyframe interval (0 if there are no keyframes),
+     *      one byte per turn (see encodeTurn()), then END_OF_TURNS,
+     *      the winner (zigzag),
+     *      the offset of each keyframe from the start of the replay (4 bytes each, big-endian),
+     *      the number of turns (4 bytes, big-endian), and the number of keyframes (4 bytes, big-endian).
+     * Before the first turn after every keyframe interval turns, there is a keyframe:
+     *      KEYFRAME, the number of bytes after this number,
+     *      the state of each stream of the generator (8 bytes each, big-endian),
+     *      and the number of packed state words and each word.
+     * Names are a byte length followed by UTF-8 bytes. The end of a replay has a fixed size, so that the
+     * keyframes can be found from the end without reading the turns.
+     */
+
+    /**
+     * The byte that marks the end of the turns.
+     */
+    static final int END_OF_TURNS = 0x7F;
+
+    /**
+     * The byte that marks the start of a keyframe, which is never a valid turn either.
+     */
+    static final int KEYFRAME = 0x7E;
+
+    /**
+     * The number of turns between keyframes used by default, which adds about one keyframe to the longest
+     * battles and none to the rest.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+
+    /**
+     * The kinds of trainers, which decide which class a Replayer creates.
+     */
+    static final int PLAYER_KIND = 0, ENEMY_KIND = 1, FRIENDLY_KIND = 2;
+
+    /**
+     * The battle being recorded.
+     */
+    private final BattleEngine engine;
+
+    /**
+     * The number of turns between keyframes, or 0 if there are no keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * The packed state of the battle, which is updated for each keyframe.
+     */
+    private final BattleState state;
+
+    /**
+     * The offset of each keyframe so far.
+     */
+    private int[] keyframeOffsets;
+
+    /**
+     * The number of keyframes so far.
+     */
+    private int keyframeCount;
+
+    /**
+     * The replay so far.
+     */
+    private byte[] bytes;
+
+    /**
+     * The number of bytes of the replay so far.
+     */
+    private int size;
+
+    /**
+     * Starts recording a battle that has not played a turn yet with the default keyframe interval, and
+     * attaches this recorder to it so that every turn it plays from now on is recorded.
+     * @param battle The battle to be recorded.
+     * @throws IllegalStateException When the battle has already played a turn.
+     * @throws IllegalArgumentException When a trainer is of an unknown kind, the battle cannot be packed, or
+     *      the battle's generator is not a SplittableBattleRng.
+     */
+    public ReplayRecorder(BattleEngine battle) {
+        this(battle, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Starts recording a battle that has not played a turn yet, and attaches this recorder to it so that
+     * every turn it plays from now on is recorded.
+     * @param battle The battle to be recorded.
+     * @param interval The number of turns between keyframes, or 0 for no keyframes.
+     * @throws IllegalStateException When the battle has already played a turn.
+     * @throws IllegalArgumentException When a trainer is of an unknown kind, the battle cannot be packed, the
+     *      interval is negative, or there are keyframes and the battle's generator is not a SplittableBattleRng.
+     */
+    public ReplayRecorder(BattleEngine battle, int interval) {
+        if(battle.getTurnCount() != 0)
+            throw new IllegalStateException("A replay has to be recorded from the first turn!");
+        if(interval < 0)
+            throw new IllegalArgumentException("The keyframe interval cannot be negative!");
+        if(interval > 0 && !(battle.getRng() instanceof SplittableBattleRng))
+            throw new IllegalArgumentException("Keyframes can only save the streams of a SplittableBattleRng!");
+        engine = battle;
+        keyframeInterval = interval;
+        keyframeOffsets = new int[4];
+        bytes = new byte[256];
+        long seed = battle.getRng().getSeed();
+        for(int shift = 56; shift >= 0; shift -= 8)
+            bytes[size++] = (byte) (seed >>> shift);
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++)
+            writeTrainer(battle.getTrainer(side));
+        state = new BattleState(battle);
+        writeWords();
+        writeVarint(interval);
+        battle.setRecorder(this);
+    }
+
+    /**
+     * Records the choices of one turn, which the battle calls before it resolves the turn.
+     * @param playerMoveIndex The index of the player's chosen move.
+     * @param enemyMoveIndex The index of the enemy's chosen move.
+     */
+    void recordTurn(int playerMoveIndex, int enemyMoveIndex) {
+        int turn = engine.getTurnCount();
+        if(keyframeInterval > 0 && turn > 0 && turn % keyframeInterval == 0)
+            writeKeyframe();
+        ensureCapacity(1);
+        bytes[size++] = (byte) encodeTurn(playerMoveIndex, enemyMoveIndex);
+    }
+
+    /**
+     * Stops recording and returns the replay, which ends with the battle's outcome so far.
+     * @return The bytes of the replay.
+     */
+    public byte[] finish() {
+        engine.setRecorder(null);
+        writeVarint(END_OF_TURNS);
+        writeVarint(Varints.zigZag(engine.getWinner()));
+        for(int i = 0; i < keyframeCount; i++)
+            writeInt(keyframeOffsets[i]);
+        writeInt(engine.getTurnCount());
+        writeInt(keyframeCount);
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Packs the choices of one turn into one byte, where each choice is its move index + 1 (so 0 means doing
+     * nothing) and the enemy's choice is in the upper bits.
+     * @param playerMoveIndex The index of the player's chosen move, or a negative number to do nothing.
+     * @param enemyMoveIndex The index of the enemy's chosen move, or a negative number to do nothing.
+     * @return The packed choices.
+     */
+    static int encodeTurn(int playerMoveIndex, int enemyMoveIndex) {
+        return (Math.max(playerMoveIndex, -1) + 1) | (Math.max(enemyMoveIndex, -1) + 1) << 3;
+    }
+
+    /**
+     * Writes a keyframe of the battle as it is now, before the turn that is about to be played.
+     */
+    private void writeKeyframe() {
+        if(keyframeCount == keyframeOffsets.length)
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, 2 * keyframeCount);
+        keyframeOffsets[keyframeCount++] = size;
+        state.update(engine);
+        int length = 8 * SplittableBattleRng.getStreamCount() + Varints.size(state.getWordCount());
+        for(int i = 0; i < state.getWordCount(); i++)
+            length += Varints.size(state.getWord(i));
+        writeVarint(KEYFRAME);
+        writeVarint(length);
+        SplittableBattleRng rng = (SplittableBattleRng) engine.getRng();
+        for(int i = 0; i < SplittableBattleRng.getStreamCount(); i++) {
+            writeInt((int) (rng.getStreamState(i) >>> 32));
+            writeInt((int) rng.getStreamState(i));
+        }
+        writeWords();
+    }
+
+    /**
+     * Writes the packed state as its number of words followed by each word.
+     */
+    private void writeWords() {
+        writeVarint(state.getWordCount());
+        for(int i = 0; i < state.getWordCount(); i++)
+            writeVarint(state.getWord(i));
+    }
+
+    /**
+     * Writes a trainer and its roster.
+     * @param trainer The trainer to be written.
+     * @throws IllegalArgumentException When the trainer is of an unknown kind.
+     */
+    private void writeTrainer(Trainer trainer) {
+        if(trainer instanceof Player)
+            writeVarint(PLAYER_KIND);
+        else if(trainer instanceof EnemyTrainer)
+            writeVarint(ENEMY_KIND);
+        else if(trainer instanceof FriendlyTrainer)
+            writeVarint(FRIENDLY_KIND);
+        else
+            throw new IllegalArgumentException(trainer.getClass().getSimpleName() + " cannot be recorded!");
+        writeString(trainer.getName());
+        ArrayList<Pokemon> team = trainer.getTeam();
+        writeVarint(team.size());
+        for(Pokemon p : team) {
+            writeVarint(p.getSpecies().getId());
+            writeVarint(p.getLevel());
+            writeString(p.getName());
+            writeVarint(p.getMoveCount());
+            for(int i = 0; i < p.getMoveCount(); i++)
+                writeVarint(p.getMove(i).getId());
+        }
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes.
+     * @param s The string to be written.
+     */
+    private void writeString(String s) {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(utf8.length);
+        ensureCapacity(utf8.length);
+        System.arraycopy(utf8, 0, bytes, size, utf8.length);
+        size += utf8.length;
+    }
+
+    /**
+     * Writes an unsigned varint.
+     * @param value The value to be written.
+     */
+    private void writeVarint(long value) {
+        ensureCapacity(Varints.MAX_BYTES);
+        size = Varints.write(bytes, size, value);
+    }
+
+    /**
+     * Writes a 4-byte big-endian int.
+     * @param value The value to be written.
+     */
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        for(int shift = 24; shift >= 0; shift -= 8)
+            bytes[size++] = (byte) (value >>> shift);
+    }
+
+    /**
+     * Grows the replay so that the given number of bytes fit after its end.
+     * @param extra The number of bytes to be written.
+     */
+    private void ensureCapacity(int extra) {
+        if(size + extra > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, size + extra));
+    }
+}
@@ -0,0 +1,171 @@
+package lukes.pokemonapp.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes replays one after another to a channel, such as a file of every battle in a large simulation. Each
+ * replay is written as its length followed by its bytes, after a short header for the whole archive. Closing
+ * the writer ends the replays with a length of 0 and adds an index of where each replay starts, which lets a
+ * ReplayArchive open any replay without reading the ones before it. Writes are collected in a direct buffer
+ * and reach the channel in large blocks, and every method is synchronized so that many simulation threads
+ * can share one archive.
+ * @author Luke Schoeberle
+ */
+public final class ReplayWriter implements Closeable {
+
+    /**
+     * The bytes that every replay archive starts with, which spell "PKRP".
+     */
+    static final int MAGIC = 0x504B5250;
+
+    /**
+     * The version of the replay format.
+     */
+    static final int VERSION = 4;
+
+    /**
+     * The size of the end of an archive in bytes: the position of the index (8 bytes), the number of replays
+     * (8 bytes), and MAGIC again (4 bytes), all big-endian. The index before it is the position of each replay
+     * (8 bytes each).
+     */
+    static final int TRAILER_BYTES = 20;
+
+    /**
+     * The size of the write buffer in bytes.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * The channel that the replays are written to.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The bytes that have not been written to the channel yet.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The position of each replay so far, which is where its length starts.
+     */
+    private long[] offsets;
+
+    /**
+     * The number of replays written so far.
+     */
+    private int replayCount;
+
+    /**
+     * The number of bytes that have reached the channel.
+     */
+    private long written;
+
+    /**
+     * Starts an archive on the given channel by writing its header.
+     * @param out The channel to write to, which is closed along with this writer.
+     * @throws IOException When the header cannot be written.
+     */
+    public ReplayWriter(WritableByteChannel out) throws IOException {
+        channel = out;
+        buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        offsets = new long[1024];
+        buffer.putInt(MAGIC);
+        Varints.write(buffer, VERSION);
+    }
+
+    /**
+     * Creates (or replaces) an archive file.
+     * @param path The path of the file.
+     * @return A writer for the file.
+     * @throws IOException When the file cannot be opened.
+     */
+    public static ReplayWriter open(Path path) throws IOException {
+        return new ReplayWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                 StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Adds a replay to the archive.
+     * @param replay The bytes of the replay, as returned by ReplayRecorder.finish().
+     * @throws IOException When the archive cannot be written.
+     */
+    public synchronized void write(byte[] replay) throws IOException {
+        if(buffer.remaining() < Varints.MAX_BYTES + replay.length)
+            flushBuffer();
+        if(replayCount == offsets.length)
+            offsets = Arrays.copyOf(offsets, 2 * replayCount);
+        offsets[replayCount] = written + buffer.position();
+        Varints.write(buffer, replay.length);
+        if(buffer.remaining() >= replay.length)
+            buffer.put(replay);
+        else { // Too large for the buffer, so write it directly
+            flushBuffer();
+            ByteBuffer large = ByteBuffer.wrap(replay);
+            while(large.hasRemaining())
+                written += channel.write(large);
+        }
+        replayCount++;
+    }
+
+    /**
+     * Writes every buffered replay to the channel.
+     * @throws IOException When the archive cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Returns the number of replays written so far.
+     * @return The number of replays.
+     */
+    public synchronized long getReplayCount() {
+        return replayCount;
+    }
+
+    /**
+     * Writes every buffered replay and the index, and closes the channel.
+     * @throws IOException When the archive cannot be written or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if(buffer.remaining() < 1)
+                flushBuffer();
+            Varints.write(buffer, 0); // The end of the replays
+            long indexStart = written + buffer.position();
+            for(int i = 0; i < replayCount; i++) {
+                if(buffer.remaining() < 8)
+                    flushBuffer();
+                buffer.putLong(offsets[i]);
+            }
+            if(buffer.remaining() < TRAILER_BYTES)
+                flushBuffer();
+            buffer.putLong(indexStart);
+            buffer.putLong(replayCount);
+            buffer.putInt(MAGIC);
+            flushBuffer();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the buffer to the channel and empties it.
+     * @throws IOException When the archive cannot be written.
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            written += channel.write(buffer);
+        buffer.clear();
+    }
+}
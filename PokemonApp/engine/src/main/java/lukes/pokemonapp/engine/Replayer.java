@@ -0,0 +1,282 @@
+package lukes.pokemonapp.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import lukes.pokemonapp.EnemyTrainer;
+import lukes.pokemonapp.FriendlyTrainer;
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.MoveSlot;
+import lukes.pokemonapp.Player;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.SpeciesRegistry;
+import lukes.pokemonapp.Trainer;
+
+/**
+ * Plays a battle again from a replay made by a ReplayRecorder. The rosters and the starting state are
+ * rebuilt from the replay, and each recorded turn is played through a new BattleEngine with the recorded
+ * seed, so the battle unfolds exactly as it did the first time. Turns can be played with commentary for
+ * watching or skipped for analysis, and reaching the end checks that the outcome matches the recording.
+ * A replayer can also seek to any turn, forward or back, by restoring the nearest keyframe before it and
+ * playing the turns in between, and seeking allocates nothing beyond what playing those turns does.
+ * @author Luke Schoeberle
+ */
+public final class Replayer {
+
+    /**
+     * The replay, whose position is at the next turn.
+     */
+    private final ByteBuffer replay;
+
+    /**
+     * The battle being replayed.
+     */
+    private final BattleEngine engine;
+
+    /**
+     * The packed state at the start of the battle, and the packed state that keyframes are read into.
+     */
+    private final BattleState start, keyframe;
+
+    /**
+     * The state of each stream of the generator at the start of the battle.
+     */
+    private final long[] startStreams;
+
+    /**
+     * The number of turns between keyframes, or 0 if there are no keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * The position of the first turn, and the position of the offsets of the keyframes.
+     */
+    private final int turnsStart, keyframeTable;
+
+    /**
+     * The number of recorded turns and the number of keyframes.
+     */
+    private final int recordedTurns, keyframeCount;
+
+    /**
+     * Determines if every recorded turn has been played.
+     */
+    private boolean finished;
+
+    /**
+     * Rebuilds the battle at the start of a replay.
+     * @param record The replay, from its position to its limit, which is read but never changed.
+     * @throws IllegalArgumentException When the replay is malformed.
+     */
+    public Replayer(ByteBuffer record) {
+        replay = record.slice();
+        try {
+            long seed = replay.getLong();
+            Trainer player = readTrainer();
+            Trainer enemy = readTrainer();
+            engine = new BattleEngine(player, enemy, seed);
+            long[] words = new long[(int) Varints.read(replay)];
+            for(int i = 0; i < words.length; i++)
+                words[i] = Varints.read(replay);
+            start = new BattleState(words, player.getTeam().size());
+            start.restore(engine);
+            keyframe = new BattleState(start);
+            SplittableBattleRng rng = (SplittableBattleRng) engine.getRng();
+            startStreams = new long[SplittableBattleRng.getStreamCount()];
+            for(int i = 0; i < startStreams.length; i++)
+                startStreams[i] = rng.getStreamState(i);
+            keyframeInterval = (int) Varints.read(replay);
+            turnsStart = replay.position();
+            keyframeCount = replay.getInt(replay.limit() - 4);
+            recordedTurns = replay.getInt(replay.limit() - 8);
+            keyframeTable = replay.limit() - 8 - 4 * keyframeCount;
+            if(keyframeCount < 0 || recordedTurns < 0 || keyframeTable < turnsStart)
+                throw new IllegalArgumentException("The replay has a malformed end!");
+        }
+        catch(RuntimeException e) {
+            throw new IllegalArgumentException("The replay is malformed!", e);
+        }
+    }
+
+    /**
+     * Rebuilds the battle at the start of a replay.
+     * @param record The bytes of the replay.
+     * @throws IllegalArgumentException When the replay is malformed.
+     */
+    public Replayer(byte[] record) {
+        this(ByteBuffer.wrap(record));
+    }
+
+    /**
+     * Determines if there is another recorded turn.
+     * @return True if there is another turn, false otherwise.
+     */
+    public boolean hasNextTurn() {
+        if(finished)
+            return false;
+        if((replay.get(replay.position()) & 0xFF) == ReplayRecorder.KEYFRAME) { // Already in the state, so skip it
+            replay.get();
+            int length = (int) Varints.read(replay);
+            replay.position(replay.position() + length);
+        }
+        return (replay.get(replay.position()) & 0xFF) != ReplayRecorder.END_OF_TURNS;
+    }
+
+    /**
+     * Plays the next recorded turn with its commentary.
+     * @return The result of the turn.
+     * @throws IllegalStateException When there are no more turns.
+     */
+    public TurnResult playTurn() {
+        int choices = nextTurn();
+        return engine.playTurn(decodeChoice(choices), decodeChoice(choices >>> 3));
+    }
+
+    /**
+     * Plays the next recorded turn without rendering its commentary.
+     * @throws IllegalStateException When there are no more turns.
+     */
+    public void skipTurn() {
+        int choices = nextTurn();
+        engine.simulateTurn(decodeChoice(choices), decodeChoice(choices >>> 3));
+    }
+
+    /**
+     * Plays every remaining turn without commentary and checks that the battle ended the way it was recorded.
+     * @return The battle after the last recorded turn.
+     * @throws IllegalStateException When the outcome does not match the recording.
+     */
+    public BattleEngine playToEnd() {
+        while(hasNextTurn())
+            skipTurn();
+        if(!finished) {
+            finished = true;
+            replay.get(); // Skip the end of the turns
+            int winner = (int) Varints.unZigZag(Varints.read(replay));
+            if(winner != engine.getWinner() || recordedTurns != engine.getTurnCount())
+                throw new IllegalStateException("The replay diverged: it recorded winner " + winner + " after " + recordedTurns
+                        + " turns, but the battle has winner " + engine.getWinner() + " after " + engine.getTurnCount() + " turns!");
+        }
+        return engine;
+    }
+
+    /**
+     * Moves the battle to the start of the given turn, which is the state after that many turns. The battle
+     * jumps to the nearest keyframe at or before the turn, unless the turn is a short way ahead, and then
+     * plays the turns in between without commentary.
+     * @param turn The number of turns that should have been played, from 0 to the number of recorded turns.
+     * @throws IllegalArgumentException When the turn was not recorded.
+     */
+    public void seek(int turn) {
+        if(turn < 0 || turn > recordedTurns)
+            throw new IllegalArgumentException("Turn " + turn + " is not between 0 and " + recordedTurns + "!");
+        int nearest = keyframeInterval == 0 ? 0 : Math.min(turn / keyframeInterval, keyframeCount);
+        int current = engine.getTurnCount();
+        if(turn < current || nearest * keyframeInterval > current)
+            restoreKeyframe(nearest);
+        while(engine.getTurnCount() < turn)
+            skipTurn();
+    }
+
+    /**
+     * Returns the number of turns in the replay.
+     * @return The number of recorded turns.
+     */
+    public int getRecordedTurnCount() {
+        return recordedTurns;
+    }
+
+    /**
+     * Returns the battle being replayed.
+     * @return The battle.
+     */
+    public BattleEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Overwrites the battle with a keyframe, and moves to the first turn after it.
+     * @param index The index of the keyframe, where 0 is the start of the battle and each keyframe after it
+     *      is keyframe interval turns later.
+     */
+    private void restoreKeyframe(int index) {
+        SplittableBattleRng rng = (SplittableBattleRng) engine.getRng();
+        if(index == 0) {
+            start.restore(engine);
+            for(int i = 0; i < startStreams.length; i++)
+                rng.setStreamState(i, startStreams[i]);
+            replay.position(turnsStart);
+        }
+        else {
+            replay.position(replay.getInt(keyframeTable + 4 * (index - 1)));
+            replay.get(); // Skip the KEYFRAME byte
+            Varints.read(replay); // and the length
+            for(int i = 0; i < startStreams.length; i++)
+                rng.setStreamState(i, replay.getLong());
+            keyframe.read(replay);
+            keyframe.restore(engine);
+        }
+        engine.setTurnCount(index * keyframeInterval);
+        finished = false;
+    }
+
+    /**
+     * Reads the choices of the next turn.
+     * @return The packed choices.
+     * @throws IllegalStateException When there are no more turns.
+     */
+    private int nextTurn() {
+        if(!hasNextTurn())
+            throw new IllegalStateException("The replay has no more turns!");
+        return replay.get() & 0xFF;
+    }
+
+    /**
+     * Unpacks one side's choice from the packed choices of a turn.
+     * @param bits The packed choices, shifted so that the side's choice is in the lowest 3 bits.
+     * @return The index of the chosen move, or -1 to do nothing.
+     */
+    private static int decodeChoice(int bits) {
+        return (bits & 7) - 1;
+    }
+
+    /**
+     * Reads a trainer and rebuilds its roster.
+     * @return The trainer.
+     */
+    private Trainer readTrainer() {
+        int kind = (int) Varints.read(replay);
+        String name = readString();
+        Trainer trainer;
+        if(kind == ReplayRecorder.PLAYER_KIND)
+            trainer = new Player(name);
+        else if(kind == ReplayRecorder.ENEMY_KIND)
+            trainer = new EnemyTrainer(name);
+        else if(kind == ReplayRecorder.FRIENDLY_KIND)
+            trainer = new FriendlyTrainer(name);
+        else
+            throw new IllegalArgumentException(kind + " is not a valid trainer kind!");
+        int teamSize = (int) Varints.read(replay);
+        for(int i = 0; i < teamSize; i++) {
+            Pokemon p = new Pokemon(SpeciesRegistry.get((int) Varints.read(replay)));
+            p.setLevel((int) Varints.read(replay));
+            p.setName(readString());
+            MoveSlot[] slots = new MoveSlot[(int) Varints.read(replay)];
+            for(int j = 0; j < slots.length; j++)
+                slots[j] = new MoveSlot(MoveRegistry.get((int) Varints.read(replay)));
+            p.setMoveSlots(slots);
+            trainer.addPokemon(p);
+        }
+        return trainer;
+    }
+
+    /**
+     * Reads a string written as its length in bytes followed by its UTF-8 bytes.
+     * @return The string.
+     */
+    private String readString() {
+        byte[] utf8 = new byte[(int) Varints.read(replay)];
+        replay.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * The effects that are resolved at the end of every turn, declared in the order that they resolve. Each side's
+ * active effects are kept as a mask where each effect owns the bit given by mask(), so the end of the turn
+ * resolves them by walking the bits from lowest to highest. Most effects belong to a side's lead, but the
+ * screens belong to the side itself and keep counting down after its lead faints. The causes are only used by
+ * the commentary.
+ * @author Luke Schoeberle
+ */
+public enum ResidualEffect {
+    SANDSTORM("the sandstorm", false),
+    HAIL("the hail", false),
+    LEECH_SEED("Leech Seed", false),
+    POISON("poison", false),
+    BURN("its burn", false),
+    YAWN("drowsiness", false),
+    REFLECT("Reflect", true),
+    LIGHT_SCREEN("Light Screen", true);
+
+    /**
+     * Every effect indexed by its ordinal, for iterating without copying values().
+     */
+    private static final ResidualEffect[] EFFECTS = values();
+
+    /**
+     * The cause of the effect as it is displayed in the commentary.
+     */
+    private final String cause;
+
+    /**
+     * Determines if the effect belongs to a side rather than to its lead.
+     */
+    private final boolean sideWide;
+
+    /**
+     * Constructs an effect with its cause.
+     * @param effectCause The cause of the effect as it is displayed.
+     * @param isSideWide True if the effect belongs to a side rather than to its lead.
+     */
+    ResidualEffect(String effectCause, boolean isSideWide) {
+        cause = effectCause;
+        sideWide = isSideWide;
+    }
+
+    /**
+     * Returns the cause of the effect as it is displayed in the commentary, such as "the sandstorm".
+     * @return The effect's cause.
+     */
+    public String getCause() {
+        return cause;
+    }
+
+    /**
+     * Determines if the effect belongs to a side rather than to its lead, so it still resolves after the lead
+     * has fainted.
+     * @return True if the effect belongs to a side, false if it belongs to the lead.
+     */
+    public boolean isSideWide() {
+        return sideWide;
+    }
+
+    /**
+     * Returns the bit that this effect owns in a mask of residual effects.
+     * @return The effect's bit.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the effect with the given ordinal.
+     * @param ordinal The effect's ordinal.
+     * @return The matching effect.
+     */
+    public static ResidualEffect fromOrdinal(int ordinal) {
+        return EFFECTS[ordinal];
+    }
+
+    /**
+     * Returns the HP that a residual effect takes or restores, which is a fraction of the maximum HP rounded down
+     * but never less than 1.
+     * @param maxHP The maximum HP of the Pokémon.
+     * @param numerator The numerator of the fraction.
+     * @param denominator The denominator of the fraction.
+     * @return The amount of HP.
+     */
+    public static int fractionOf(int maxHP, int numerator, int denominator) {
+        return Math.max(1, maxHP * numerator / denominator);
+    }
+}
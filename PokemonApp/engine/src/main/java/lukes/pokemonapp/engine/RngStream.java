@@ -0,0 +1,49 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * The labeled streams of random numbers used in a battle. Each sub-system draws only from its own stream,
+ * so a change to how often one sub-system rolls (such as a new secondary effect) does not shift the rolls
+ * of any other sub-system.
+ * @author Luke Schoeberle
+ */
+public enum RngStream {
+    /**
+     * Accuracy checks for moves.
+     */
+    ACCURACY,
+
+    /**
+     * Critical hit checks.
+     */
+    CRITICAL,
+
+    /**
+     * The 85-100% damage roll.
+     */
+    DAMAGE_ROLL,
+
+    /**
+     * Breaking speed ties.
+     */
+    SPEED_TIE,
+
+    /**
+     * Tie-breaks and random choices made by AI policies.
+     */
+    AI,
+
+    /**
+     * Additional effect chances, like burns and stat drops.
+     */
+    SECONDARY_EFFECT,
+
+    /**
+     * Whether protection works when it is used on consecutive turns.
+     */
+    PROTECTION,
+
+    /**
+     * The Pokémon that a move like Roar drags out.
+     */
+    FORCED_SWITCH
+}
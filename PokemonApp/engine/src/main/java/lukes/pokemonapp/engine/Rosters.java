@@ -0,0 +1,102 @@
+package lukes.pokemonapp.engine;
+
+import lukes.pokemonapp.EnemyTrainer;
+import lukes.pokemonapp.Player;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.Trainer;
+
+/**
+ * The preset teams used by the battle simulator. The player's team is determined by the Pokémon chosen
+ * on the team selection screen, and the enemy is always Angel for now.
+ * @author Luke Schoeberle
+ */
+public final class Rosters {
+
+    /**
+     * The names of the Pokémon that can lead the player's team on the team selection screen.
+     */
+    public static final String[] STARTER_LEADS = new String[] {"Bulbasaur", "Charmander", "Squirtle", "Chikorita",
+                                                               "Cyndaquil", "Totodile", "Treecko", "Torchic", "Mudkip"};
+
+    /**
+     * This class only contains static factories, so it should never be constructed.
+     */
+    private Rosters() {
+    }
+
+    /**
+     * Creates the player's team with the given lead Pokémon. The rest of the team is determined by the
+     * lead's name, and a lead that cannot be picked on the team selection screen battles alone.
+     * @param playerName The player's name.
+     * @param lead The player's first Pokémon.
+     * @return The player with a full team.
+     */
+    public static Player starterTeam(String playerName, Pokemon lead) {
+        Player player = new Player(playerName);
+        player.addPokemon(lead);
+        switch(lead.getName()) { // Determines the rest of the team based on the first Pokémon's name
+            case "Bulbasaur":
+                player.addPokemon("Charmander");
+                player.addPokemon("Squirtle");
+                break;
+            case "Charmander":
+                player.addPokemon("Bulbasaur");
+                player.addPokemon("Squirtle");
+                break;
+            case "Squirtle":
+                player.addPokemon("Bulbasaur");
+                player.addPokemon("Charmander");
+                break;
+            case "Chikorita":
+                player.addPokemon("Cyndaquil");
+                player.addPokemon("Totodile");
+                break;
+            case "Cyndaquil":
+                player.addPokemon("Chikorita");
+                player.addPokemon("Totodile");
+                break;
+            case "Totodile":
+                player.addPokemon("Chikorita");
+                player.addPokemon("Cyndaquil");
+                break;
+            case "Treecko":
+                player.addPokemon("Torchic");
+                player.addPokemon("Mudkip");
+                break;
+            case "Torchic":
+                player.addPokemon("Treecko");
+                player.addPokemon("Totodile");
+                break;
+            case "Mudkip":
+                player.addPokemon("Treecko");
+                player.addPokemon("Torchic");
+                break;
+            default:
+                break; // Other Pokémon cannot yet be the first Pokémon in normal cases
+        }
+        return player;
+    }
+
+    /**
+     * Creates the player's team with a freshly created lead Pokémon of the given name.
+     * @param playerName The player's name.
+     * @param leadName The name of the player's first Pokémon.
+     * @return The player with a full team.
+     */
+    public static Player starterTeam(String playerName, String leadName) {
+        return starterTeam(playerName, new Pokemon(leadName));
+    }
+
+    /**
+     * Creates the enemy trainer Angel with the usual enemy team.
+     * @return A new copy of the enemy trainer.
+     */
+    public static Trainer angel() {
+        EnemyTrainer enemy = new EnemyTrainer("Angel");
+        enemy.addPokemon("Voltorb");
+        enemy.addPokemon("Wooper");
+        enemy.addPokemon("Snubbull");
+        // Add more enemy pokemon later //TODO
+        return enemy;
+    }
+}
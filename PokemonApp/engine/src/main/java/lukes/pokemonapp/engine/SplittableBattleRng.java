@@ -0,0 +1,161 @@
+package lukes.pokemonapp.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * The default BattleRng, which keeps one generator per RngStream. Each stream is seeded from the battle seed
+ * and the stream's label, so a battle is reproducible bit for bit from its seed alone, and no stream ever
+ * needs synchronization. The streams use the same algorithm as SplittableRandom and draw the same numbers,
+ * but each one is a single long, so the whole generator can be saved and restored, such as in the keyframes
+ * of a replay.
+ * @author Luke Schoeberle
+ */
+public class SplittableBattleRng implements BattleRng {
+
+    /**
+     * The golden-ratio increment used by SplittableRandom, which spreads consecutive values apart.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The seed that this generator was created from.
+     */
+    private final long seed;
+
+    /**
+     * The state of each stream, indexed by the stream's ordinal, which advances by GOLDEN_GAMMA per draw.
+     */
+    private final long[] streams;
+
+    /**
+     * Constructs a generator from a seed.
+     * @param rSeed The battle seed.
+     */
+    public SplittableBattleRng(long rSeed) {
+        seed = rSeed;
+        RngStream[] labels = RngStream.values();
+        streams = new long[labels.length];
+        for(RngStream label : labels)
+            streams[label.ordinal()] = mix(rSeed + (label.ordinal() + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Constructs a generator with an arbitrary seed, which is used for battles that do not need to be replayed.
+     */
+    public SplittableBattleRng() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Returns a uniformly distributed number from 0 (inclusive) to the bound (exclusive) from the given stream.
+     * @param stream The stream to draw from.
+     * @param bound The upper bound, which must be positive.
+     * @return The random number.
+     */
+    @Override
+    public int nextInt(RngStream stream, int bound) {
+        if(bound <= 0)
+            throw new IllegalArgumentException("The bound must be positive!");
+        int i = stream.ordinal();
+        int r = mix32(streams[i] += GOLDEN_GAMMA);
+        int m = bound - 1;
+        if((bound & m) == 0) // A power of two
+            return r & m;
+        for(int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(streams[i] += GOLDEN_GAMMA) >>> 1)
+            ; // Reject the values that would make the lowest numbers more likely
+        return r;
+    }
+
+    /**
+     * Returns the seed that this generator was created from.
+     * @return The seed of this generator.
+     */
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Creates an independent generator by splitting the AI stream, which is the only stream that lookahead
+     * is allowed to disturb.
+     * @return A new, independent generator.
+     */
+    @Override
+    public BattleRng split() {
+        int ai = RngStream.AI.ordinal();
+        long childSeed = mix(streams[ai] += GOLDEN_GAMMA);
+        long childGamma = mixGamma(streams[ai] += GOLDEN_GAMMA);
+        return new SplittableBattleRng(mix(childSeed + childGamma)); // The first long of SplittableRandom.split()
+    }
+
+    /**
+     * Returns the state of one stream.
+     * @param stream The ordinal of the stream.
+     * @return The state of the stream.
+     */
+    long getStreamState(int stream) {
+        return streams[stream];
+    }
+
+    /**
+     * Overwrites the state of one stream, so that it continues from where it was when the state was saved.
+     * @param stream The ordinal of the stream.
+     * @param state The state of the stream, as returned by getStreamState().
+     */
+    void setStreamState(int stream, long state) {
+        streams[stream] = state;
+    }
+
+    /**
+     * Returns the number of streams.
+     * @return The number of streams.
+     */
+    static int getStreamCount() {
+        return RngStream.values().length;
+    }
+
+    /**
+     * Derives the seed of one battle in a batch from the batch seed and the battle's index, so that
+     * neighboring battles get unrelated seeds.
+     * @param batchSeed The seed of the whole batch.
+     * @param index The index of the battle within the batch.
+     * @return The seed for that battle.
+     */
+    public static long deriveSeed(long batchSeed, long index) {
+        return mix(batchSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * The 64-bit mixing function from SplittableRandom, which turns nearby inputs into unrelated outputs.
+     * @param z The value to be mixed.
+     * @return The mixed value.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The 32-bit mixing function from SplittableRandom, which turns a stream state into an int.
+     * @param z The value to be mixed.
+     * @return The mixed value.
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    /**
+     * The function that SplittableRandom uses to pick the increment of a split generator, which has to be odd
+     * and have enough bit transitions.
+     * @param z The value to be mixed.
+     * @return The increment.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
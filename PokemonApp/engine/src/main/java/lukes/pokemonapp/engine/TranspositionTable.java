@@ -0,0 +1,260 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of searched positions, so that a search does not search the same position twice when
+ * different move orders lead to it. Positions are keyed by the 64-bit hash of their BattleState, which XORs
+ * together each packed word after mixing it with its position. That is not a Zobrist hash, since there are no
+ * random keys for each feature, but it is updated one word at a time in the same way. Each entry is packed
+ * into a single long. The table is open-addressed with small buckets and is never locked: each slot stores its
+ * entry and the XOR of its key with the entry, so an entry that was torn by two threads writing at once no
+ * longer matches its key and simply reads as a miss. When a bucket is full, entries from older searches and
+ * then the shallowest entries are replaced first. A table should only be shared by searches of the same
+ * battle, since the packed state leaves out the parts of a battle that never change.
+ * @author Luke Schoeberle
+ */
+public final class TranspositionTable {
+
+    /**
+     * The number of bytes of each slot.
+     */
+    public static final int SLOT_BYTES = 16;
+
+    /**
+     * The bound types of an entry: the exact value, a value that the real value is at least, or a value
+     * that the real value is at most.
+     */
+    public static final int EXACT = 1, LOWER_BOUND = 2, UPPER_BOUND = 3;
+
+    /**
+     * The entry that probe() returns when the position is not in the table.
+     */
+    public static final long MISS = 0;
+
+    /**
+     * The number of neighboring slots that a position can be stored in.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    private static final int DEPTH_SHIFT = 32, BOUND_SHIFT = 40, MOVE_SHIFT = 42, GENERATION_SHIFT = 45;
+
+    /**
+     * The slots, where slot i is made of its checked key (the key XOR the entry) at 2i and its entry at 2i + 1.
+     */
+    private final long[] slots;
+
+    /**
+     * The mask that turns a key into a slot index.
+     */
+    private final int indexMask;
+
+    /**
+     * The generation of the current search, which ages out entries from earlier searches.
+     */
+    private volatile int generation;
+
+    /**
+     * The number of probes, the number of probes that found their position, and the number of stores that
+     * evicted a different position from the current search.
+     */
+    private final LongAdder probes = new LongAdder(), hits = new LongAdder(), collisions = new LongAdder();
+
+    /**
+     * Constructs an empty table that uses at most the given number of bytes.
+     * @param maxBytes The most memory that the table can use, which must fit at least one bucket.
+     * @throws IllegalArgumentException When the budget cannot fit a single bucket.
+     */
+    public TranspositionTable(long maxBytes) {
+        long maxSlots = Math.min(maxBytes / SLOT_BYTES, 1 << 29);
+        if(maxSlots < BUCKET_SIZE)
+            throw new IllegalArgumentException(maxBytes + " bytes cannot fit a transposition table!");
+        int capacity = Integer.highestOneBit((int) maxSlots);
+        slots = new long[2 * capacity];
+        indexMask = capacity - 1;
+    }
+
+    /**
+     * Starts a new search, which makes the entries of earlier searches the first to be replaced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table and resets its statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        probes.reset();
+        hits.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Looks up a position.
+     * @param key The position's hash.
+     * @return The position's packed entry, or MISS if it is not in the table.
+     */
+    public long probe(long key) {
+        probes.increment();
+        int first = (int) key & indexMask & -BUCKET_SIZE;
+        for(int i = first; i < first + BUCKET_SIZE; i++) {
+            long entry = slots[2 * i + 1];
+            if(entry != MISS && (slots[2 * i] ^ entry) == key) {
+                hits.increment();
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of searching a position. A deeper entry of the same position is only replaced by an
+     * exact value, and when the bucket is full, the oldest and then the shallowest entry is replaced.
+     * @param key The position's hash.
+     * @param depth The number of turns that the position was searched, from 0 to 255.
+     * @param bound The bound type of the value.
+     * @param bestMove The index of the best move, or -1 if there is none.
+     * @param value The searched value.
+     */
+    public void store(long key, int depth, int bound, int bestMove, double value) {
+        int gen = generation;
+        long entry = (Float.floatToIntBits((float) value) & 0xFFFFFFFFL) | (long) Math.min(depth, 255) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT | (long) (bestMove + 1) << MOVE_SHIFT | (long) gen << GENERATION_SHIFT;
+        int first = (int) key & indexMask & -BUCKET_SIZE;
+        int victim = first;
+        int victimScore = Integer.MAX_VALUE;
+        for(int i = first; i < first + BUCKET_SIZE; i++) {
+            long old = slots[2 * i + 1];
+            if(old == MISS) {
+                victim = i;
+                victimScore = -1;
+                break;
+            }
+            if((slots[2 * i] ^ old) == key) {
+                if(bound != EXACT && getDepth(old) > depth && getGeneration(old) == gen)
+                    return; // Keep the deeper result
+                write(i, key, entry);
+                return;
+            }
+            int score = (getGeneration(old) == gen ? 256 : 0) + getDepth(old);
+            if(score < victimScore) {
+                victim = i;
+                victimScore = score;
+            }
+        }
+        if(victimScore >= 256)
+            collisions.increment();
+        write(victim, key, entry);
+    }
+
+    /**
+     * Writes an entry into a slot, which needs no lock since a torn slot fails its check.
+     * @param index The index of the slot.
+     * @param key The position's hash.
+     * @param entry The packed entry.
+     */
+    private void write(int index, long key, long entry) {
+        slots[2 * index] = key ^ entry;
+        slots[2 * index + 1] = entry;
+    }
+
+    /**
+     * Returns the number of slots, which is a power of two.
+     * @return The number of slots.
+     */
+    public int getCapacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * Returns the number of probes since the table was made or cleared.
+     * @return The number of probes.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Returns the number of probes that found their position.
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the fraction of probes that found their position.
+     * @return The hit rate, or zero if there were no probes.
+     */
+    public double getHitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0 : hits.sum() / (double) p;
+    }
+
+    /**
+     * Returns the number of stores that had to evict a different position from the current search because
+     * its bucket was full, which grows once the table is too small for the search.
+     * @return The number of collisions.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Returns the searched value of an entry.
+     * @param entry The packed entry.
+     * @return The value.
+     */
+    public static double getValue(long entry) {
+        return Float.intBitsToFloat((int) entry);
+    }
+
+    /**
+     * Returns the number of turns that the position of an entry was searched.
+     * @param entry The packed entry.
+     * @return The depth.
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the bound type of an entry.
+     * @param entry The packed entry.
+     * @return EXACT, LOWER_BOUND, or UPPER_BOUND.
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Returns the best move of an entry.
+     * @param entry The packed entry.
+     * @return The index of the best move, or -1 if there is none.
+     */
+    public static int getBestMove(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & 7) - 1;
+    }
+
+    /**
+     * Returns the generation of the search that stored an entry.
+     * @param entry The packed entry.
+     * @return The generation.
+     */
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        return "TranspositionTable[capacity=" + getCapacity() + ", probes=" + getProbes() + ", hitRate="
+                + getHitRate() + ", collisions=" + getCollisions() + "]";
+    }
+}
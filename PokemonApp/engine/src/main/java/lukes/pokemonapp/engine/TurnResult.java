@@ -0,0 +1,86 @@
+package lukes.pokemonapp.engine;
+
+/**
+ * The outcome of a single turn played by the BattleEngine. This holds the commentary for the turn and
+ * enough information for a screen or a simulation to react to it, while the Pokémon themselves hold
+ * the new HP, stat stages, and statuses.
+ * @author Luke Schoeberle
+ */
+public class TurnResult {
+
+    /**
+     * The commentary describing what happened during the turn, in the order that it happened.
+     */
+    private final String commentary;
+
+    /**
+     * The side that moved first this turn (BattleEngine.PLAYER or BattleEngine.ENEMY).
+     */
+    private final int firstSide;
+
+    /**
+     * The side that won the battle during this turn, or BattleEngine.NO_WINNER if the battle continues
+     * (or if both sides ran out of Pokémon at once).
+     */
+    private final int winner;
+
+    /**
+     * Determines if the battle ended during this turn.
+     */
+    private final boolean battleOver;
+
+    /**
+     * Constructs a finished turn result. This is only created by the BattleEngine.
+     * @param tCommentary The commentary for the turn.
+     * @param fSide The side that moved first.
+     * @param tWinner The winning side, if any.
+     * @param over True if the battle ended during this turn, false otherwise.
+     */
+    public TurnResult(String tCommentary, int fSide, int tWinner, boolean over) {
+        commentary = tCommentary;
+        firstSide = fSide;
+        winner = tWinner;
+        battleOver = over;
+    }
+
+    /**
+     * Returns the commentary for this turn.
+     * @return The commentary for this turn.
+     */
+    public String getCommentary() {
+        return commentary;
+    }
+
+    /**
+     * Returns the side that moved first this turn.
+     * @return The side that moved first this turn.
+     */
+    public int getFirstSide() {
+        return firstSide;
+    }
+
+    /**
+     * Returns the side that won the battle, or BattleEngine.NO_WINNER if there is no winner yet.
+     * @return The side that won the battle.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Determines if the battle ended during this turn.
+     * @return True if the battle is over, false otherwise.
+     */
+    public boolean isBattleOver() {
+        return battleOver;
+    }
+
+    /**
+     * Used for debugging purposes.
+     * @return A String representation of this object.
+     */
+    @Override
+    public String toString() {
+        return commentary;
+    }
+}
@@ -0,0 +1,157 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Arrays;
+
+/**
+ * The queue of the actions that are taken in one turn, which decides the order that the battlers act in.
+ * Each action is ordered by its bracket first (switches before items before moves), then by its priority
+ * (higher first), then by the effective speed of its battler (faster first), and any actions that are still
+ * tied are ordered randomly when they are taken out of the queue. The actions are kept in parallel primitive
+ * arrays that are reused every turn, so scheduling a turn does not allocate anything once the queue is big
+ * enough for every battler.
+ * @author Luke Schoeberle
+ */
+public final class TurnScheduler {
+
+    /**
+     * The brackets of the actions, where lower brackets are taken first regardless of priority or speed.
+     */
+    public static final int BRACKET_SWITCH = 0, BRACKET_ITEM = 1, BRACKET_MOVE = 2;
+
+    /**
+     * The lowest and highest priorities that an action can have.
+     */
+    public static final int MIN_PRIORITY = -7, MAX_PRIORITY = 7;
+
+    /**
+     * The bits of each part of an ordering key. A key is compared as an unsigned number, so the bracket is at
+     * the top, and the priority and speed are stored inverted so that a smaller key is taken first.
+     */
+    private static final int BRACKET_SHIFT = 40, PRIORITY_SHIFT = 32;
+
+    /**
+     * The ordering keys, battlers, and actions in the queue, where the entries from head to size are still
+     * waiting and are sorted by key.
+     */
+    private long[] keys;
+    private int[] battlers;
+    private int[] actions;
+
+    /**
+     * The number of entries in the arrays and the index of the next entry to take.
+     */
+    private int size, head;
+
+    /**
+     * The action of the battler that was taken most recently.
+     */
+    private int lastAction;
+
+    /**
+     * Creates an empty queue with room for one action per battler.
+     * @param capacity The number of actions that fit before the queue grows, usually the number of battlers.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    public TurnScheduler(int capacity) {
+        if(capacity <= 0)
+            throw new IllegalArgumentException("A turn scheduler needs room for at least one action!");
+        keys = new long[capacity];
+        battlers = new int[capacity];
+        actions = new int[capacity];
+    }
+
+    /**
+     * Removes every action, which starts a new turn.
+     */
+    public void clear() {
+        size = 0;
+        head = 0;
+    }
+
+    /**
+     * Adds a battler's action to the queue in order. An action that ties with actions already in the queue is
+     * placed after them, and the tie is broken randomly when it is taken.
+     * @param bracket The bracket of the action, such as BRACKET_MOVE.
+     * @param priority The priority of the action (MIN_PRIORITY to MAX_PRIORITY), which is 0 for most moves.
+     * @param speed The effective speed of the battler, which must not be negative.
+     * @param battler The battler that takes the action, such as a side.
+     * @param action The action itself, such as a move index.
+     * @throws IllegalArgumentException When the bracket, priority, or speed is out of range.
+     */
+    public void add(int bracket, int priority, int speed, int battler, int action) {
+        if(bracket < BRACKET_SWITCH || bracket > BRACKET_MOVE)
+            throw new IllegalArgumentException("Invalid bracket: " + bracket);
+        if(priority < MIN_PRIORITY || priority > MAX_PRIORITY)
+            throw new IllegalArgumentException("Invalid priority: " + priority);
+        if(speed < 0)
+            throw new IllegalArgumentException("Invalid speed: " + speed);
+        if(size == keys.length)
+            grow();
+        long key = (long) bracket << BRACKET_SHIFT | (long) (MAX_PRIORITY - priority) << PRIORITY_SHIFT
+                | (0xFFFFFFFFL - speed);
+        int i = size++;
+        for(; i > head && keys[i - 1] > key; i--) { // Insertion sort, since there are only a few battlers
+            keys[i] = keys[i - 1];
+            battlers[i] = battlers[i - 1];
+            actions[i] = actions[i - 1];
+        }
+        keys[i] = key;
+        battlers[i] = battler;
+        actions[i] = action;
+    }
+
+    /**
+     * Returns true if every action has been taken.
+     * @return True if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return head == size;
+    }
+
+    /**
+     * Takes the next action out of the queue. When several actions are tied, each of the m remaining ones is
+     * picked with a 1 in m chance from the speed tie stream, which draws nothing when there is no tie and is
+     * the usual coin flip when two battlers tie.
+     * @param rng The random generator of the battle.
+     * @return The battler that acts next, whose action is then returned by getAction().
+     * @throws IllegalStateException When the queue is empty.
+     */
+    public int next(BattleRng rng) {
+        if(isEmpty())
+            throw new IllegalStateException("There are no actions left this turn!");
+        int tied = 1;
+        while(head + tied < size && keys[head + tied] == keys[head])
+            tied++;
+        int chosen = head;
+        for(int remaining = tied; remaining > 1; remaining--, chosen++) {
+            if(rng.nextChance(RngStream.SPEED_TIE, 1, remaining))
+                break;
+        }
+        int battler = battlers[chosen];
+        lastAction = actions[chosen];
+        for(int i = chosen; i > head; i--) { // Keep the other tied actions in their order
+            battlers[i] = battlers[i - 1];
+            actions[i] = actions[i - 1];
+        }
+        head++;
+        return battler;
+    }
+
+    /**
+     * Returns the action of the battler that was returned by next() most recently.
+     * @return The action that is being taken.
+     */
+    public int getAction() {
+        return lastAction;
+    }
+
+    /**
+     * Doubles the room in the queue, which only happens when there are more actions than expected.
+     */
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        battlers = Arrays.copyOf(battlers, capacity);
+        actions = Arrays.copyOf(actions, capacity);
+    }
+}
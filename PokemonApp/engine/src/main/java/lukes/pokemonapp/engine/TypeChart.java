@@ -0,0 +1,125 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Arrays;
+
+import lukes.pokemonapp.PokemonType;
+
+/**
+ * The type chart, precomputed into one flat table of multipliers indexed by the attacking type and the
+ * defender's profile (see PokemonType.profileOf()). Dual types are already multiplied together in the
+ * table, so finding the effectiveness of a move is a single array lookup instead of a series of String scans.
+ * @author Luke Schoeberle
+ */
+public final class TypeChart {
+
+    /**
+     * The multipliers for every attacking type against every defensive profile, stored row by row.
+     * Every multiplier (0, 1/4, 1/2, 1, 2, or 4) is exact as a float.
+     */
+    private static final float[] PROFILE_MULTIPLIERS = new float[PokemonType.COUNT * PokemonType.PROFILE_COUNT];
+
+    /**
+     * The multipliers for every attacking type against every single defending type, before they are combined.
+     */
+    private static final float[][] SINGLE_MULTIPLIERS = new float[PokemonType.COUNT][PokemonType.COUNT];
+
+    static {
+        for(float[] row : SINGLE_MULTIPLIERS)
+            Arrays.fill(row, 1);
+        // These rows match the original String-based matchups exactly
+        set(PokemonType.DARK, 2, PokemonType.GHOST, PokemonType.PSYCHIC);
+        set(PokemonType.DARK, .5f, PokemonType.DARK, PokemonType.FIGHTING, PokemonType.FAIRY);
+        set(PokemonType.DRAGON, 2, PokemonType.DRAGON);
+        set(PokemonType.DRAGON, .5f, PokemonType.STEEL);
+        set(PokemonType.DRAGON, 0, PokemonType.FAIRY);
+        set(PokemonType.ELECTRIC, 2, PokemonType.WATER, PokemonType.FLYING);
+        set(PokemonType.ELECTRIC, .5f, PokemonType.ELECTRIC, PokemonType.DRAGON, PokemonType.GRASS);
+        set(PokemonType.ELECTRIC, 0, PokemonType.GROUND);
+        set(PokemonType.FAIRY, 2, PokemonType.DARK, PokemonType.DRAGON, PokemonType.FIGHTING);
+        set(PokemonType.FAIRY, .5f, PokemonType.STEEL, PokemonType.FIRE, PokemonType.POISON);
+        set(PokemonType.FIRE, 2, PokemonType.GRASS, PokemonType.STEEL, PokemonType.ICE, PokemonType.BUG);
+        set(PokemonType.FIRE, .5f, PokemonType.ROCK, PokemonType.WATER, PokemonType.DRAGON, PokemonType.FIRE);
+        set(PokemonType.FIGHTING, 2, PokemonType.ROCK, PokemonType.STEEL, PokemonType.ICE, PokemonType.NORMAL,
+            PokemonType.DARK);
+        set(PokemonType.FIGHTING, .5f, PokemonType.FAIRY, PokemonType.FLYING, PokemonType.POISON);
+        set(PokemonType.FIGHTING, 0, PokemonType.GHOST);
+        set(PokemonType.GRASS, 2, PokemonType.ROCK, PokemonType.GROUND, PokemonType.WATER);
+        set(PokemonType.GRASS, .5f, PokemonType.GRASS, PokemonType.FIRE, PokemonType.DRAGON, PokemonType.FLYING,
+            PokemonType.POISON, PokemonType.BUG, PokemonType.STEEL);
+        set(PokemonType.GROUND, 2, PokemonType.ROCK, PokemonType.STEEL, PokemonType.ELECTRIC, PokemonType.POISON,
+            PokemonType.FIRE);
+        set(PokemonType.GROUND, .5f, PokemonType.GRASS, PokemonType.BUG);
+        set(PokemonType.GROUND, 0, PokemonType.FLYING);
+        set(PokemonType.ICE, 2, PokemonType.GROUND, PokemonType.DRAGON, PokemonType.GRASS, PokemonType.FLYING);
+        set(PokemonType.ICE, .5f, PokemonType.FIRE, PokemonType.ICE, PokemonType.STEEL, PokemonType.WATER);
+        set(PokemonType.POISON, 2, PokemonType.GRASS, PokemonType.FAIRY);
+        set(PokemonType.POISON, .5f, PokemonType.GROUND, PokemonType.GHOST, PokemonType.POISON, PokemonType.ROCK);
+        set(PokemonType.POISON, 0, PokemonType.STEEL);
+        set(PokemonType.WATER, 2, PokemonType.ROCK, PokemonType.FIRE, PokemonType.GROUND);
+        set(PokemonType.WATER, .5f, PokemonType.WATER, PokemonType.GRASS, PokemonType.DRAGON);
+        set(PokemonType.FLYING, 2, PokemonType.BUG, PokemonType.FIGHTING, PokemonType.GRASS);
+        set(PokemonType.FLYING, .5f, PokemonType.ELECTRIC, PokemonType.ROCK, PokemonType.STEEL);
+        set(PokemonType.ROCK, 2, PokemonType.BUG, PokemonType.FIRE, PokemonType.FLYING);
+        set(PokemonType.ROCK, .5f, PokemonType.ICE, PokemonType.FIGHTING, PokemonType.GROUND, PokemonType.STEEL);
+        // These offensive types used to be rejected, so they follow the standard chart
+        set(PokemonType.NORMAL, .5f, PokemonType.ROCK, PokemonType.STEEL);
+        set(PokemonType.NORMAL, 0, PokemonType.GHOST);
+        set(PokemonType.PSYCHIC, 2, PokemonType.FIGHTING, PokemonType.POISON);
+        set(PokemonType.PSYCHIC, .5f, PokemonType.PSYCHIC, PokemonType.STEEL);
+        set(PokemonType.PSYCHIC, 0, PokemonType.DARK);
+        set(PokemonType.BUG, 2, PokemonType.GRASS, PokemonType.PSYCHIC, PokemonType.DARK);
+        set(PokemonType.BUG, .5f, PokemonType.FIRE, PokemonType.FIGHTING, PokemonType.POISON, PokemonType.FLYING,
+            PokemonType.GHOST, PokemonType.STEEL, PokemonType.FAIRY);
+        set(PokemonType.GHOST, 2, PokemonType.PSYCHIC, PokemonType.GHOST);
+        set(PokemonType.GHOST, .5f, PokemonType.DARK);
+        set(PokemonType.GHOST, 0, PokemonType.NORMAL);
+        set(PokemonType.STEEL, 2, PokemonType.ICE, PokemonType.ROCK, PokemonType.FAIRY);
+        set(PokemonType.STEEL, .5f, PokemonType.FIRE, PokemonType.WATER, PokemonType.ELECTRIC, PokemonType.STEEL);
+
+        for(int attack = 0; attack < PokemonType.COUNT; attack++)
+            for(int profile = 0; profile < PokemonType.PROFILE_COUNT; profile++) {
+                float multiplier = SINGLE_MULTIPLIERS[attack][PokemonType.firstOf(profile).ordinal()];
+                PokemonType second = PokemonType.secondOf(profile);
+                if(second != null)
+                    multiplier *= SINGLE_MULTIPLIERS[attack][second.ordinal()];
+                PROFILE_MULTIPLIERS[attack * PokemonType.PROFILE_COUNT + profile] = multiplier;
+            }
+    }
+
+    /**
+     * The type chart only has static methods, so it should never be constructed.
+     */
+    private TypeChart() {
+    }
+
+    /**
+     * Sets the multiplier of the attacking type against each of the defending types.
+     * @param attack The attacking type.
+     * @param multiplier The multiplier.
+     * @param defenders The defending types.
+     */
+    private static void set(PokemonType attack, float multiplier, PokemonType... defenders) {
+        for(PokemonType defender : defenders)
+            SINGLE_MULTIPLIERS[attack.ordinal()][defender.ordinal()] = multiplier;
+    }
+
+    /**
+     * Returns the effectiveness of the attacking type against the defensive profile.
+     * @param attack The attacking type.
+     * @param defenderProfile The defender's profile from PokemonType.profileOf().
+     * @return The effectiveness multiplier, from 0 to 4.
+     */
+    public static float getEffectiveness(PokemonType attack, int defenderProfile) {
+        return PROFILE_MULTIPLIERS[attack.ordinal() * PokemonType.PROFILE_COUNT + defenderProfile];
+    }
+
+    /**
+     * Returns the effectiveness of the attacking type against a single defending type.
+     * @param attack The attacking type.
+     * @param defender The defending type.
+     * @return The effectiveness multiplier, from 0 to 2.
+     */
+    public static float getEffectiveness(PokemonType attack, PokemonType defender) {
+        return SINGLE_MULTIPLIERS[attack.ordinal()][defender.ordinal()];
+    }
+}
@@ -0,0 +1,151 @@
+package lukes.pokemonapp.engine;
+
+import java.util.Arrays;
+
+import lukes.pokemonapp.Pokemon;
+
+/**
+ * A log of the old values of everything that a battle changes while it plays turns, so that a search can
+ * play a turn, look further ahead, and then roll the battle back instead of copying it for every node.
+ * Each change is stored as its kind, the Pokémon that it changed (or null for the field), an index, and
+ * the old value, all in parallel arrays that only grow when the log is deeper than it has ever been.
+ * Rolling back costs one step per change since the mark.
+ * @author Luke Schoeberle
+ */
+public final class UndoLog {
+
+    /*
+     * The kinds of changes, along with what their index means:
+     *      STAT: the stat index, STAT_STAGE: the stat index, NON_VOL_STATUS: unused (the old ordinal is stored),
+     *      VOL_STATUSES: unused, VOL_STATUS_TURNS: the status' ordinal, INVULN_CODE: unused,
+     *      CHARGING: the move index, LOCKED_MOVE: the side, LEAD_INDEX: the side, WEATHER: unused,
+     *      TURN_COUNT: unused, NON_VOL_STATUS_TURNS: unused, PP: the move index, WEATHER_TURNS: unused,
+     *      SCREEN_TURNS: the screen code times 2 plus the side, PROTECT_STREAK: the side,
+     *      PROTECTED_SIDES: unused, SUBSTITUTE_HP: the side.
+     */
+    static final int STAT = 0, STAT_STAGE = 1, NON_VOL_STATUS = 2, VOL_STATUSES = 3, VOL_STATUS_TURNS = 4,
+                     INVULN_CODE = 5, CHARGING = 6, LOCKED_MOVE = 7, LEAD_INDEX = 8, WEATHER = 9, TURN_COUNT = 10,
+                     NON_VOL_STATUS_TURNS = 11, PP = 12, WEATHER_TURNS = 13, SCREEN_TURNS = 14, PROTECT_STREAK = 15,
+                     PROTECTED_SIDES = 16, SUBSTITUTE_HP = 17;
+
+    /**
+     * The kind of each change in the low byte and its index above that.
+     */
+    private int[] kinds;
+
+    /**
+     * The Pokémon that each change was made to, or null for changes to the field.
+     */
+    private Pokemon[] targets;
+
+    /**
+     * The value before each change.
+     */
+    private int[] oldValues;
+
+    /**
+     * The number of changes in the log.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty log with room for a few turns of changes.
+     */
+    public UndoLog() {
+        this(64);
+    }
+
+    /**
+     * Constructs an empty log with room for the given number of changes before it has to grow.
+     * @param capacity The initial number of changes that fit, which must be positive.
+     */
+    public UndoLog(int capacity) {
+        if(capacity < 1)
+            throw new IllegalArgumentException(capacity + " is not a valid capacity!");
+        kinds = new int[capacity];
+        targets = new Pokemon[capacity];
+        oldValues = new int[capacity];
+    }
+
+    /**
+     * Returns a mark for the current end of the log, which BattleEngine.undo() can roll back to.
+     * @return The mark.
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Returns the number of changes in the log.
+     * @return The number of changes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forgets every change without rolling any of them back.
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Records the old value of a change that is about to be made.
+     * @param kind The kind of change.
+     * @param target The Pokémon being changed, or null for the field.
+     * @param index The index of the change, whose meaning depends on its kind.
+     * @param oldValue The value before the change.
+     */
+    void record(int kind, Pokemon target, int index, int oldValue) {
+        if(size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, 2 * size);
+            targets = Arrays.copyOf(targets, 2 * size);
+            oldValues = Arrays.copyOf(oldValues, 2 * size);
+        }
+        kinds[size] = kind | index << 8;
+        targets[size] = target;
+        oldValues[size] = oldValue;
+        size++;
+    }
+
+    /**
+     * Removes the last change from the log.
+     */
+    void pop() {
+        targets[--size] = null;
+    }
+
+    /**
+     * Returns the kind of the last change.
+     * @return The kind of change.
+     */
+    int lastKind() {
+        return kinds[size - 1] & 0xFF;
+    }
+
+    /**
+     * Returns the index of the last change.
+     * @return The index of the change.
+     */
+    int lastIndex() {
+        return kinds[size - 1] >>> 8;
+    }
+
+    /**
+     * Returns the Pokémon of the last change.
+     * @return The Pokémon that was changed, or null for the field.
+     */
+    Pokemon lastTarget() {
+        return targets[size - 1];
+    }
+
+    /**
+     * Returns the old value of the last change.
+     * @return The value before the change.
+     */
+    int lastOldValue() {
+        return oldValues[size - 1];
+    }
+}
@@ -0,0 +1,100 @@
+package lukes.pokemonapp.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes variable-length integers, which store 7 bits per byte with the high bit marking that more
+ * bytes follow. Small numbers like species ids and move choices take a single byte.
+ * @author Luke Schoeberle
+ */
+final class Varints {
+
+    /**
+     * The most bytes that a varint of a long can take.
+     */
+    static final int MAX_BYTES = 10;
+
+    /**
+     * This class only has static methods, so it should never be constructed.
+     */
+    private Varints() {
+    }
+
+    /**
+     * Writes an unsigned varint into the array, which must have at least MAX_BYTES bytes of room.
+     * @param dest The array to write into.
+     * @param pos The index of the first byte to write.
+     * @param value The value, which is treated as unsigned.
+     * @return The index after the last byte written.
+     */
+    static int write(byte[] dest, int pos, long value) {
+        while((value & ~0x7FL) != 0) {
+            dest[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dest[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * Writes an unsigned varint into the buffer.
+     * @param dest The buffer to write into, which must have enough room.
+     * @param value The value, which is treated as unsigned.
+     */
+    static void write(ByteBuffer dest, long value) {
+        while((value & ~0x7FL) != 0) {
+            dest.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dest.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned varint from the buffer's position.
+     * @param src The buffer to read from.
+     * @return The value.
+     * @throws IllegalStateException When the varint is longer than MAX_BYTES.
+     */
+    static long read(ByteBuffer src) {
+        long value = 0;
+        for(int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            byte b = src.get();
+            value |= (long) (b & 0x7F) << shift;
+            if(b >= 0)
+                return value;
+        }
+        throw new IllegalStateException("A varint is longer than " + MAX_BYTES + " bytes!");
+    }
+
+    /**
+     * Returns the number of bytes that the varint of a value takes.
+     * @param value The value, which is treated as unsigned.
+     * @return The number of bytes.
+     */
+    static int size(long value) {
+        int bytes = 1;
+        while((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so that small negative numbers also take few bytes.
+     * @param value The signed value.
+     * @return The zigzag-encoded value.
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Undoes zigZag().
+     * @param value The zigzag-encoded value.
+     * @return The signed value.
+     */
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,357 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.MoveSlot;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.StatusMove;
+import lukes.pokemonapp.Trainer;
+import lukes.pokemonapp.VolatileStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Headless tests for the battle engine, which run on a plain JVM without an emulator.
+ */
+public class BattleEngineTest {
+
+    @Test
+    public void greedyBattle_finishesWithAWinner() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Treecko"), Rosters.angel(), 7);
+        ArrayList<TurnResult> results = engine.playBattle(new GreedyPolicy(), new GreedyPolicy(), 500);
+
+        assertTrue(engine.isOver());
+        assertEquals(results.size(), engine.getTurnCount());
+        TurnResult last = results.get(results.size() - 1);
+        assertTrue(last.isBattleOver());
+        assertEquals(engine.getWinner(), last.getWinner());
+        for(int side = BattleEngine.PLAYER; side <= BattleEngine.ENEMY; side++)
+            for(Pokemon p : engine.getTrainer(side).getTeam())
+                assertTrue(p.getInitStats()[0] >= 0 && p.getInitStats()[0] <= p.getMaxHP());
+    }
+
+    @Test
+    public void sameSeed_playsTheSameBattle() {
+        assertEquals(playCommentary(42), playCommentary(42));
+    }
+
+    @Test
+    public void attackingMove_damagesTheTarget() {
+        Trainer player = Rosters.starterTeam("Luke", "Totodile");
+        Trainer enemy = Rosters.angel();
+        BattleEngine engine = new BattleEngine(player, enemy, 1);
+        Pokemon voltorb = engine.getLead(BattleEngine.ENEMY);
+        engine.playTurn(1, -1); // Superpower never misses
+
+        assertTrue(voltorb.getInitStats()[0] < voltorb.getMaxHP());
+    }
+
+    @Test
+    public void usingAMove_spendsItsPPUntilItRunsOut() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 1);
+        MoveSlot superpower = engine.getLead(BattleEngine.PLAYER).getMoveSlot(1);
+        int pp = superpower.getPP();
+        engine.playTurn(1, -1);
+        assertEquals(pp - 1, superpower.getPP());
+
+        superpower.changePP(-superpower.getPP());
+        Pokemon target = engine.getLead(BattleEngine.ENEMY);
+        int targetHP = target.getInitStats()[0];
+        TurnResult result = engine.playTurn(1, -1);
+        assertEquals(targetHP, target.getInitStats()[0]);
+        assertEquals(0, superpower.getPP());
+        assertTrue(result.getCommentary().contains("has no PP left for Superpower!"));
+    }
+
+    @Test
+    public void policies_skipMovesWithoutPPAndStruggleWhenNoneAreLeft() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 1);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        totodile.getMoveSlot(1).changePP(-totodile.getMoveSlot(1).getPP());
+        totodile.getMoveSlot(3).changePP(-totodile.getMoveSlot(3).getPP());
+        assertEquals(0b101, engine.getUsableMoves(BattleEngine.PLAYER));
+        ArrayList<BattlePolicy> policies = new ArrayList<>();
+        policies.add(new GreedyPolicy());
+        policies.add(new ExpectiminimaxPolicy(1000, 1, ExpectiminimaxPolicy.DEFAULT_ROLL_BUCKETS));
+        try(MctsPolicy mcts = new MctsPolicy(20, 1, null, MctsPolicy.DEFAULT_EXPLORATION)) {
+            policies.add(mcts);
+            for(BattlePolicy policy : policies) {
+                int choice = policy.chooseMove(engine, BattleEngine.PLAYER);
+                assertTrue(policy + " chose " + choice, choice == 0 || choice == 2);
+            }
+
+            totodile.getMoveSlot(0).changePP(-totodile.getMoveSlot(0).getPP());
+            totodile.getMoveSlot(2).changePP(-totodile.getMoveSlot(2).getPP());
+            assertTrue(engine.mustStruggle(BattleEngine.PLAYER));
+            for(BattlePolicy policy : policies)
+                assertEquals(BattleEngine.STRUGGLE, policy.chooseMove(engine, BattleEngine.PLAYER));
+        }
+
+        Pokemon target = engine.getLead(BattleEngine.ENEMY);
+        int targetHP = target.getInitStats()[0];
+        int userHP = totodile.getInitStats()[0];
+        TurnResult result = engine.playTurn(BattleEngine.STRUGGLE, -1);
+        assertTrue(result.getCommentary().contains("used Struggle"));
+        assertTrue(target.getInitStats()[0] < targetHP);
+        assertEquals(userHP - totodile.getMaxHP() / 4, totodile.getInitStats()[0]);
+    }
+
+    @Test
+    public void turnEvents_renderAsTheTurnsCommentary() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 1);
+        TurnResult result = engine.playTurn(1, -1);
+        BattleEventBuffer events = engine.getEvents();
+
+        assertEquals(result.getCommentary(), BattleCommentary.render(events, engine));
+        boolean superpowerHit = false;
+        for(int i = 0; i + 1 < events.size(); i++) {
+            if(events.getType(i) == BattleEventType.MOVE_USED && events.getSide(i) == BattleEngine.PLAYER)
+                superpowerHit = events.getType(i + 1) == BattleEventType.DAMAGE && events.getArg(i + 1) > 0;
+        }
+        assertTrue(superpowerHit);
+        assertTrue(result.getCommentary().contains("did nothing."));
+
+        engine.simulateTurn(1, -1);
+        assertTrue(engine.getEvents().size() > 0); // Headless turns still record events, but render nothing
+    }
+
+    @Test
+    public void volatileStatuses_stackWithTheirOwnCounters() {
+        Pokemon wooper = new Pokemon("Wooper");
+        assertEquals(NonVolatileStatus.NONE, wooper.getNonVolStatus());
+        assertEquals("None", VolatileStatus.describe(wooper.getVolStatuses(), "/"));
+
+        assertTrue(wooper.addVolStatus(VolatileStatus.SEEDED));
+        wooper.setVolStatusTurns(VolatileStatus.SEEDED, 2);
+        assertTrue(wooper.addVolStatus(VolatileStatus.CONFUSED));
+        assertFalse(wooper.addVolStatus(VolatileStatus.SEEDED));
+        assertEquals(2, wooper.getVolStatusTurns(VolatileStatus.SEEDED));
+        assertEquals("Confused/Seeded", VolatileStatus.describe(wooper.getVolStatuses(), "/"));
+
+        wooper.removeVolStatus(VolatileStatus.CONFUSED);
+        assertFalse(wooper.hasVolStatus(VolatileStatus.CONFUSED));
+        assertTrue(wooper.hasVolStatus(VolatileStatus.SEEDED));
+    }
+
+    @Test
+    public void residuals_resolveInOrderAtTheEndOfTheTurn() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        Pokemon voltorb = engine.getLead(BattleEngine.ENEMY);
+        totodile.setNonVolStatus(NonVolatileStatus.BURNED);
+        totodile.addVolStatus(VolatileStatus.SEEDED);
+        voltorb.setNonVolStatus(NonVolatileStatus.BADLY_POISONED);
+        engine.setWeather(4); // Hail hits both leads
+
+        int hail = voltorb.getMaxHP() / 16;
+        int seed = totodile.getMaxHP() / 8;
+        engine.simulateTurn(-1, -1);
+        assertEquals(totodile.getMaxHP() - totodile.getMaxHP() / 16 - seed - totodile.getMaxHP() / 16, totodile.getInitStats()[0]);
+        assertEquals(voltorb.getMaxHP() - hail + Math.min(seed, hail) - voltorb.getMaxHP() / 16, voltorb.getInitStats()[0]);
+        assertEquals(1, voltorb.getNonVolStatusTurns());
+
+        int before = voltorb.getInitStats()[0];
+        engine.setWeather(0);
+        engine.simulateTurn(-1, -1);
+        assertEquals(before + Math.min(seed, voltorb.getMaxHP() - before) - voltorb.getMaxHP() * 2 / 16, voltorb.getInitStats()[0]); // The poison gets worse
+        assertEquals(2, voltorb.getNonVolStatusTurns());
+    }
+
+    @Test
+    public void yawn_putsTheTargetToSleepAfterTheNextTurn() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon voltorb = engine.getLead(BattleEngine.ENEMY);
+        voltorb.addVolStatus(VolatileStatus.YAWNING);
+
+        engine.simulateTurn(-1, -1);
+        assertEquals(NonVolatileStatus.NONE, voltorb.getNonVolStatus());
+        assertTrue(voltorb.hasVolStatus(VolatileStatus.YAWNING));
+        engine.simulateTurn(-1, -1);
+        assertEquals(NonVolatileStatus.SLEEPING, voltorb.getNonVolStatus());
+        assertFalse(voltorb.hasVolStatus(VolatileStatus.YAWNING));
+        assertEquals(0, voltorb.getMaxHP() - voltorb.getInitStats()[0]); // Yawn does no damage
+    }
+
+    @Test
+    public void statusMoves_runTheirPrograms() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        Pokemon voltorb = engine.getLead(BattleEngine.ENEMY);
+        totodile.setMoveSlots(new MoveSlot[] {new MoveSlot(MoveRegistry.get("Swords Dance")),
+                new MoveSlot(MoveRegistry.get("Rain Dance")), new MoveSlot(MoveRegistry.get("Yawn")),
+                new MoveSlot(MoveRegistry.get("Rest"))});
+
+        engine.simulateTurn(0, -1);
+        assertEquals(8, totodile.getStatStages()[1]);
+        engine.simulateTurn(1, -1);
+        assertEquals(1, engine.getWeather());
+        engine.simulateTurn(1, -1);
+        assertTrue(hasEvent(engine, BattleEventType.FAIL)); // It is already raining
+        engine.simulateTurn(2, -1);
+        assertTrue(voltorb.hasVolStatus(VolatileStatus.YAWNING));
+
+        totodile.setNonVolStatus(NonVolatileStatus.BURNED);
+        totodile.setStat(1, 0);
+        engine.simulateTurn(3, -1);
+        assertEquals(NonVolatileStatus.RESTING, totodile.getNonVolStatus());
+        assertEquals(totodile.getMaxHP(), totodile.getInitStats()[0]);
+    }
+
+    /**
+     * Determines if the last turn of a battle recorded an event of the given type.
+     * @param engine The battle in question.
+     * @param type The type of event.
+     * @return True if the last turn had such an event, false otherwise.
+     */
+    private static boolean hasEvent(BattleEngine engine, BattleEventType type) {
+        for(int i = 0; i < engine.getEvents().size(); i++)
+            if(engine.getEvents().getType(i) == type)
+                return true;
+        return false;
+    }
+
+    @Test
+    public void screensAndWeather_wearOffAfterFiveTurns() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        totodile.setMoveSlots(new MoveSlot[] {new MoveSlot(MoveRegistry.get("Reflect")),
+                new MoveSlot(MoveRegistry.get("Rain Dance"))});
+
+        engine.simulateTurn(0, -1);
+        assertEquals(BattleEngine.SCREEN_TURNS - 1, engine.getScreenTurns(BattleEngine.PLAYER, StatusMove.SCREEN_REFLECT));
+        assertEquals(0, engine.getScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_REFLECT));
+        engine.simulateTurn(0, -1);
+        assertTrue(hasEvent(engine, BattleEventType.FAIL)); // Reflect is already up
+        engine.simulateTurn(1, -1);
+        engine.simulateTurn(-1, -1);
+        assertFalse(hasEvent(engine, BattleEventType.RESIDUAL_ENDED));
+        engine.simulateTurn(-1, -1);
+        assertTrue(hasEvent(engine, BattleEventType.RESIDUAL_ENDED));
+        assertEquals(0, engine.getScreenTurns(BattleEngine.PLAYER, StatusMove.SCREEN_REFLECT));
+
+        assertEquals(1, engine.getWeather());
+        engine.simulateTurn(-1, -1);
+        engine.simulateTurn(-1, -1);
+        assertTrue(hasEvent(engine, BattleEventType.WEATHER_ENDED));
+        assertEquals(0, engine.getWeather());
+        assertEquals(0, engine.getWeatherTurns());
+
+        assertEquals(DamageCalculator.MODIFIER_SCALE / 2, DamageCalculator.screenModifier(true, false));
+        assertEquals(DamageCalculator.MODIFIER_SCALE, DamageCalculator.screenModifier(true, true)); // Critical hits ignore screens
+    }
+
+    @Test
+    public void rest_sleepsForTwoTurnsAndThenWakesUp() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        totodile.setMoveSlots(new MoveSlot[] {new MoveSlot(MoveRegistry.get("Rest")),
+                new MoveSlot(MoveRegistry.get("Swords Dance"))});
+        totodile.setStat(1, 0);
+
+        engine.simulateTurn(0, -1);
+        assertEquals(NonVolatileStatus.RESTING, totodile.getNonVolStatus());
+        int pp = totodile.getMoveSlot(1).getPP();
+        for(int i = 0; i < BattleEngine.REST_TURNS; i++) {
+            engine.simulateTurn(1, -1);
+            assertTrue(hasEvent(engine, BattleEventType.ASLEEP));
+            assertEquals(6, totodile.getStatStages()[1]);
+        }
+        assertEquals(pp, totodile.getMoveSlot(1).getPP()); // Sleeping costs no PP
+        engine.simulateTurn(1, -1);
+        assertTrue(hasEvent(engine, BattleEventType.WOKE_UP));
+        assertEquals(NonVolatileStatus.NONE, totodile.getNonVolStatus());
+        assertEquals(8, totodile.getStatStages()[1]);
+    }
+
+    @Test
+    public void protectionSubstitutesAndRoar_changeTheField() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 5);
+        Pokemon totodile = engine.getLead(BattleEngine.PLAYER);
+        totodile.setMoveSlots(new MoveSlot[] {new MoveSlot(MoveRegistry.get("Protect")),
+                new MoveSlot(MoveRegistry.get("Substitute")), new MoveSlot(MoveRegistry.get("Roar")),
+                new MoveSlot(MoveRegistry.get("Magic Coat"))});
+
+        engine.simulateTurn(0, 0); // Voltorb's Discharge runs into Protect
+        assertTrue(hasEvent(engine, BattleEventType.PROTECTED));
+        assertEquals(totodile.getMaxHP(), totodile.getInitStats()[0]);
+        assertEquals(1, engine.getProtectStreak(BattleEngine.PLAYER));
+        assertFalse(engine.isProtected(BattleEngine.PLAYER));
+
+        engine.simulateTurn(1, -1);
+        int cost = totodile.getMaxHP() / 4;
+        assertEquals(0, engine.getProtectStreak(BattleEngine.PLAYER));
+        assertEquals(totodile.getMaxHP() - cost, totodile.getInitStats()[0]);
+        assertEquals(cost, engine.getSubstituteHP(BattleEngine.PLAYER));
+        engine.simulateTurn(1, 3); // Only one substitute at a time, and it blocks Thunder Wave
+        assertTrue(hasEvent(engine, BattleEventType.FAIL));
+        assertEquals(NonVolatileStatus.NONE, totodile.getNonVolStatus());
+        assertEquals(totodile.getMaxHP() - cost, totodile.getInitStats()[0]);
+
+        engine.simulateTurn(3, -1); // Magic Coat is not supported yet, so it always fails
+        assertTrue(hasEvent(engine, BattleEventType.FAIL));
+
+        engine.simulateTurn(2, -1);
+        assertTrue(hasEvent(engine, BattleEventType.DRAGGED_OUT));
+        assertTrue(engine.getLeadIndex(BattleEngine.ENEMY) != 0);
+    }
+
+    @Test
+    public void statReadsAndWrites_doNotAllocate() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Totodile"), Rosters.angel(), 3);
+        long threadId = Thread.currentThread().getId();
+
+        exerciseStats(engine, 20000); // Warm up so that only the steady state is measured
+        long start = allocations.getThreadAllocatedBytes(threadId);
+        long overhead = allocations.getThreadAllocatedBytes(threadId) - start;
+        start = allocations.getThreadAllocatedBytes(threadId);
+        long result = exerciseStats(engine, 20000);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - start - overhead;
+
+        assertTrue(result != 0);
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Reads and writes the leads' stats and stat stages the same way that a turn does.
+     * @param engine The battle to use.
+     * @param iterations The number of times to repeat the reads and writes.
+     * @return A value derived from the reads, so that they cannot be optimized away.
+     */
+    private static long exerciseStats(BattleEngine engine, int iterations) {
+        Pokemon user = engine.getLead(BattleEngine.PLAYER);
+        Pokemon target = engine.getLead(BattleEngine.ENEMY);
+        AttackingMove move = (AttackingMove) user.getMove(0);
+        long sum = 0;
+        for(int i = 0; i < iterations; i++) {
+            int hp = target.getInitStats()[0];
+            target.getInitStats()[0] = hp + 1000; // Well outside the small Integer cache
+            target.getInitStats()[0] = hp;
+            user.setStatStage(1, user.getStatStages()[1] + 1);
+            sum += engine.getEffectiveSpeed(BattleEngine.PLAYER) + engine.getEffectiveSpeed(BattleEngine.ENEMY);
+            sum += (long) BattleEngine.checkTypeMatchups(target, move, engine.calculateBP(move, user, target, true), user);
+            user.setStatStage(1, user.getStatStages()[1] - 1);
+        }
+        return sum;
+    }
+
+    private static String playCommentary(long seed) {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Bulbasaur"), Rosters.angel(), seed);
+        StringBuilder all = new StringBuilder();
+        for(TurnResult result : engine.playBattle(new GreedyPolicy(), new GreedyPolicy(), 500))
+            all.append(result.getCommentary()).append('\n');
+        return all.toString();
+    }
+}
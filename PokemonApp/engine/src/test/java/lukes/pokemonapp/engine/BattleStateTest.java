@@ -0,0 +1,58 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.StatusMove;
+import lukes.pokemonapp.VolatileStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests that packed battle states round-trip and hash consistently.
+ */
+public class BattleStateTest {
+
+    @Test
+    public void restore_undoesPlayedTurns() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 3);
+        engine.getLead(BattleEngine.ENEMY).addVolStatus(VolatileStatus.SEEDED);
+        engine.getLead(BattleEngine.ENEMY).setVolStatusTurns(VolatileStatus.SEEDED, 2);
+        engine.getLead(BattleEngine.PLAYER).setNonVolStatus(NonVolatileStatus.BURNED);
+        engine.setWeather(2, 4);
+        engine.setScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_REFLECT, 3);
+        String before = engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY);
+        BattleState saved = new BattleState(engine);
+
+        for(int i = 0; i < 3 && !engine.isOver(); i++)
+            engine.playTurn(1, 0);
+        engine.setWeather(0);
+        assertNotEquals(saved, new BattleState(engine));
+
+        saved.restore(engine);
+        assertEquals(before, engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY));
+        assertEquals(saved, new BattleState(engine));
+        assertEquals(2, engine.getWeather());
+        assertEquals(4, engine.getWeatherTurns());
+        assertEquals(3, engine.getScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_REFLECT));
+    }
+
+    @Test
+    public void incrementalUpdate_matchesAFreshEncoding() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 3);
+        BattleState state = new BattleState(engine);
+        Pokemon enemyLead = engine.getLead(BattleEngine.ENEMY);
+        enemyLead.setStat(enemyLead.getInitStats()[0] / 2, 0);
+        enemyLead.setStatStage(1, 8);
+        state.updatePokemon(engine, BattleEngine.ENEMY, engine.getLeadIndex(BattleEngine.ENEMY));
+
+        BattleState fresh = new BattleState(engine);
+        assertEquals(fresh, state);
+        assertEquals(fresh.hashCode(), state.hashCode());
+        assertEquals(fresh.longHash(), state.longHash());
+        assertEquals(8, state.getStatStage(BattleEngine.ENEMY, 0, 1));
+        assertEquals(enemyLead.getInitStats()[0], state.getHP(BattleEngine.ENEMY, 0));
+    }
+}
@@ -0,0 +1,160 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.StatusMove;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the exact damage distribution agrees with the damage that the engine actually samples, and that
+ * the fixed-point formula reproduces its recorded corpus exactly while staying close on average to the
+ * floating-point formula it replaced.
+ */
+public class DamageCalculatorTest {
+
+    @Test
+    public void distribution_accountsForEveryOutcome() {
+        Pokemon totodile = new Pokemon("Totodile");
+        Pokemon voltorb = new Pokemon("Voltorb");
+        DamageDistribution aquaTail = DamageCalculator.distribution(totodile, voltorb,
+                (AttackingMove) totodile.getMove(0), 0, false, true);
+
+        int total = 0;
+        for(int damage = 0; damage <= aquaTail.getMaxDamage(); damage++)
+            total += aquaTail.getWeight(damage);
+        assertEquals(DamageDistribution.DENOMINATOR, total);
+        assertEquals(0.9, aquaTail.getHitChance(), 1e-12);
+        assertEquals(1 / 16.0, aquaTail.getCritChance(), 1e-12);
+        assertEquals(0.1, aquaTail.getProbability(0), 1e-12);
+    }
+
+    @Test
+    public void sampledDamage_matchesTheDistribution() {
+        assertSampledDamageMatches(false);
+    }
+
+    @Test
+    public void sampledDamage_matchesTheDistributionBehindAScreen() {
+        assertSampledDamageMatches(true);
+    }
+
+    /**
+     * Plays Aqua Tail against the enemy's lead with many seeds and checks that every sampled amount of damage is
+     * possible in the exact distribution and that the sampled mean and miss rate are close to it.
+     * @param reflectUp True if the enemy's side has Reflect up.
+     */
+    private static void assertSampledDamageMatches(boolean reflectUp) {
+        int trials = 4000;
+        Pokemon voltorb = new Pokemon("Voltorb");
+        int[] counts = new int[voltorb.getMaxHP() + 1];
+        DamageDistribution expected = null;
+        for(int seed = 0; seed < trials; seed++) {
+            BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), seed);
+            Pokemon target = engine.getLead(BattleEngine.ENEMY);
+            AttackingMove aquaTail = (AttackingMove) engine.getLead(BattleEngine.PLAYER).getMove(0);
+            if(reflectUp)
+                engine.setScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_REFLECT, BattleEngine.SCREEN_TURNS);
+            if(expected == null)
+                expected = DamageCalculator.distribution(engine.getLead(BattleEngine.PLAYER), target, aquaTail,
+                        engine.getWeather(), engine.hasScreenAgainst(BattleEngine.ENEMY, aquaTail), true);
+            engine.playTurn(0, -1); // Aqua Tail has no additional effects
+            int damage = target.getMaxHP() - target.getInitStats()[0];
+            assertTrue(damage + " damage should be possible", expected.getWeight(damage) > 0);
+            counts[damage]++;
+        }
+        double expectedMean = expected.getExpectedDamage();
+        double sampledMean = 0;
+        for(int damage = 0; damage < counts.length; damage++)
+            sampledMean += damage * (double) counts[damage] / trials;
+        assertEquals(expectedMean, sampledMean, expectedMean * 0.05);
+        assertEquals(expected.getProbability(0), counts[0] / (double) trials, 0.03);
+    }
+
+    @Test
+    public void modifiers_roundAtDefinedPoints() {
+        assertEquals(1, DamageCalculator.applyModifier(3, 2048)); // 1.5 rounds down
+        assertEquals(2, DamageCalculator.applyModifier(3, 2049));
+        assertEquals(7, DamageCalculator.applyModifier(5, 6144)); // 7.5 rounds down
+        assertEquals(9216, DamageCalculator.chainModifiers(6144, 6144));
+        assertEquals(28, Pokemon.applyStage(100, 1)); // Exactly 2/7
+        assertEquals(66, Pokemon.applyStage(100, 5)); // Exactly 2/3
+    }
+
+    @Test
+    public void criticalHits_ignoreOnlyTheStagesThatHelpTheDefender() {
+        Pokemon totodile = new Pokemon("Totodile");
+        Pokemon voltorb = new Pokemon("Voltorb");
+        AttackingMove aquaTail = (AttackingMove) totodile.getMove(0);
+        int neutral = DamageCalculator.damageBeforeRoll(aquaTail, totodile, voltorb, 0, true, true);
+        voltorb.setStatStage(2, 8); // +2 Defense is ignored
+        assertEquals(neutral, DamageCalculator.damageBeforeRoll(aquaTail, totodile, voltorb, 0, true, true));
+        voltorb.setStatStage(2, 4); // -2 Defense still counts
+        assertTrue(DamageCalculator.damageBeforeRoll(aquaTail, totodile, voltorb, 0, true, true) > neutral);
+        voltorb.setStatStage(2, 6);
+        totodile.setStatStage(1, 4); // -2 Attack is ignored
+        assertEquals(neutral, DamageCalculator.damageBeforeRoll(aquaTail, totodile, voltorb, 0, true, true));
+        totodile.setStatStage(1, 8); // +2 Attack still counts
+        assertTrue(DamageCalculator.damageBeforeRoll(aquaTail, totodile, voltorb, 0, true, true) > neutral);
+    }
+
+    @Test
+    public void fixedPointDamage_matchesTheCorpus() throws Exception {
+        int attacks = 0, normalHits = 0;
+        long totalDrift = 0, totalDifference = 0;
+        try(BufferedReader corpus = new BufferedReader(new InputStreamReader(
+                getClass().getResourceAsStream("damage-corpus.csv"), StandardCharsets.UTF_8))) {
+            for(String line = corpus.readLine(); line != null; line = corpus.readLine()) {
+                if(line.startsWith("#"))
+                    continue;
+                String[] f = line.split(",");
+                Pokemon attacker = new Pokemon(f[0]);
+                Pokemon defender = new Pokemon(f[1]);
+                AttackingMove move = (AttackingMove) MoveRegistry.get(f[2]);
+                attacker.setStatStage(1, Integer.parseInt(f[3]));
+                attacker.setStatStage(3, Integer.parseInt(f[3]));
+                attacker.setStatStage(6, Integer.parseInt(f[5]));
+                defender.setStatStage(2, Integer.parseInt(f[4]));
+                defender.setStatStage(4, Integer.parseInt(f[4]));
+                defender.setStatStage(7, Integer.parseInt(f[6]));
+                if(f[9].equals("1"))
+                    attacker.setNonVolStatus(NonVolatileStatus.BURNED);
+                int weather = Integer.parseInt(f[10]);
+                attacker.setStat(Integer.parseInt(f[11]), 0);
+                defender.setInvulnCode(Integer.parseInt(f[12]));
+
+                int damage = DamageCalculator.damageBeforeRoll(move, attacker, defender, weather, f[8].equals("1"), f[7].equals("1"));
+                int modifier = DamageCalculator.afterRollModifier(move, attacker, defender);
+                int[] rolls = {0, DamageCalculator.ROLL_COUNT - 1};
+                for(int i = 0; i < rolls.length; i++) {
+                    int actual = DamageCalculator.applyRoll(damage, rolls[i], modifier);
+                    assertEquals(line, Integer.parseInt(f[15 + i]), actual);
+                    if(f[7].equals("0")) {
+                        int drift = actual - Integer.parseInt(f[13 + i]);
+                        totalDrift += drift;
+                        totalDifference += Math.abs(drift);
+                    }
+                }
+                if(f[7].equals("0"))
+                    normalHits++;
+                assertEquals(line, Integer.parseInt(f[17]), DamageCalculator.countHits(move, attacker, defender, weather));
+                attacks++;
+            }
+        }
+        assertEquals(3000, attacks);
+        // Flooring stats and the base damage before the multipliers moves single rolls by a few points, but on
+        // average the fixed-point formula should neither drift away from the floating-point one nor lean one way.
+        // The floating-point formula ignored the wrong stat stages on critical hits, so only normal hits are compared
+        assertTrue(totalDifference / (2.0 * normalHits) < 1.5);
+        assertTrue(Math.abs(totalDrift / (2.0 * normalHits)) < 0.5);
+    }
+}
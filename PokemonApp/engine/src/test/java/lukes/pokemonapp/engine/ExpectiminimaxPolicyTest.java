@@ -0,0 +1,67 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.Pokemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the expectiminimax AI searches copies of the battle and prefers sure outcomes.
+ */
+public class ExpectiminimaxPolicyTest {
+
+    @Test
+    public void search_doesNotChangeTheBattle() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        engine.playTurn(0, 0);
+        String before = engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY);
+        int turnCount = engine.getTurnCount();
+
+        ExpectiminimaxPolicy policy = new ExpectiminimaxPolicy(1000, 2, 2);
+        policy.chooseMove(engine, BattleEngine.ENEMY);
+        assertTrue(policy.getCompletedDepth() >= 1);
+        assertEquals(before, engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY));
+        assertEquals(turnCount, engine.getTurnCount());
+    }
+
+    @Test
+    public void lowHPTarget_isFinishedWithAMoveThatCannotMiss() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        engine.getLead(BattleEngine.ENEMY).setStat(1, 0);
+        int choice = new ExpectiminimaxPolicy(1000, 1, ExpectiminimaxPolicy.DEFAULT_ROLL_BUCKETS).chooseMove(engine, BattleEngine.PLAYER);
+
+        assertNotEquals(0, choice); // Aqua Tail can miss
+        assertTrue(engine.getLead(BattleEngine.PLAYER).getMove(choice).isAttackingMove());
+    }
+
+    @Test
+    public void exhaustedBudget_stopsTheFirstIterationWithALegalMove() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        ExpectiminimaxPolicy policy = new ExpectiminimaxPolicy(0);
+        int choice = policy.chooseMove(engine, BattleEngine.ENEMY);
+
+        assertEquals(0, policy.getCompletedDepth());
+        assertTrue(choice >= 0 && choice < engine.getLead(BattleEngine.ENEMY).getMoveCount());
+    }
+
+    @Test
+    public void outcomeEnumerator_splitsGeneratorsFromItsCurrentPath() {
+        OutcomeEnumerator outcomes = new OutcomeEnumerator(2);
+        outcomes.reset();
+        outcomes.nextChance(RngStream.ACCURACY, 1, 2);
+        long first = outcomes.split().nextInt(RngStream.AI, Integer.MAX_VALUE);
+        long second = outcomes.split().nextInt(RngStream.AI, Integer.MAX_VALUE);
+        assertNotEquals(first, second);
+
+        outcomes.nextPath();
+        outcomes.nextChance(RngStream.ACCURACY, 1, 2);
+        assertNotEquals(first, outcomes.split().nextInt(RngStream.AI, Integer.MAX_VALUE));
+
+        outcomes.reset();
+        outcomes.nextChance(RngStream.ACCURACY, 1, 2);
+        assertEquals(first, outcomes.split().nextInt(RngStream.AI, Integer.MAX_VALUE));
+    }
+}
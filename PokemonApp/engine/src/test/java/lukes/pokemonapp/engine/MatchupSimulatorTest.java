@@ -0,0 +1,45 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the Monte Carlo matchup simulator.
+ */
+public class MatchupSimulatorTest {
+
+    private static MatchupSimulator treeckoVsAngel() {
+        return new MatchupSimulator(() -> Rosters.starterTeam("Luke", "Treecko"), Rosters::angel,
+                                    new GreedyPolicy(), new GreedyPolicy());
+    }
+
+    @Test
+    public void tallies_doNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        MatchupResult one = treeckoVsAngel().simulate(2000, 99, single);
+        MatchupResult four = treeckoVsAngel().simulate(2000, 99, several);
+        single.shutdown();
+        several.shutdown();
+
+        assertEquals(2000, one.getBattles());
+        assertEquals(one.getPlayerWins(), four.getPlayerWins());
+        assertEquals(one.getEnemyWins(), four.getEnemyWins());
+        assertEquals(one.getAverageTurns(), four.getAverageTurns(), 0);
+    }
+
+    @Test
+    public void intervals_containTheEstimates() {
+        MatchupResult result = treeckoVsAngel().simulate(1000, 5);
+        double[] win = result.getPlayerWinRateInterval();
+        double[] turns = result.getAverageTurnsInterval();
+
+        assertTrue(win[0] <= result.getPlayerWinRate() && result.getPlayerWinRate() <= win[1]);
+        assertTrue(turns[0] <= result.getAverageTurns() && result.getAverageTurns() <= turns[1]);
+        assertEquals(1.0, result.getPlayerWinRate() + result.getEnemyWinRate() + (double) result.getDraws() / 1000, 1e-9);
+    }
+}
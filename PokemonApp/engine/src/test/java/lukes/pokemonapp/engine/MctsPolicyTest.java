@@ -0,0 +1,61 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.Pokemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the Monte Carlo AI plays out copies of the battle on several threads.
+ */
+public class MctsPolicyTest {
+
+    @Test
+    public void search_doesNotChangeTheBattle() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        engine.playTurn(0, 0);
+        String before = engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY);
+        int turnCount = engine.getTurnCount();
+
+        try(MctsPolicy policy = new MctsPolicy(50, 2, null, MctsPolicy.DEFAULT_EXPLORATION)) {
+            int choice = policy.chooseMove(engine, BattleEngine.ENEMY);
+            assertTrue(choice >= 0 && choice < engine.getLead(BattleEngine.ENEMY).getMoveCount());
+            assertTrue(policy.getLastPlayouts() >= 2);
+        }
+        assertEquals(before, engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY));
+        assertEquals(turnCount, engine.getTurnCount());
+    }
+
+    @Test
+    public void lockedOpponent_isSearchedWithOnlyItsForcedMove() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        engine.setLockedMove(BattleEngine.ENEMY, 0);
+        MctsPolicy policy = new MctsPolicy(20, 2, null, MctsPolicy.DEFAULT_EXPLORATION);
+
+        int choice = policy.chooseMove(engine, BattleEngine.PLAYER);
+        assertTrue(choice >= 0 && choice < engine.getLead(BattleEngine.PLAYER).getMoveCount());
+        assertEquals(0, policy.chooseMove(engine, BattleEngine.ENEMY));
+        policy.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedPolicy_cannotChooseAgain() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        MctsPolicy policy = new MctsPolicy(0, 2, null, MctsPolicy.DEFAULT_EXPLORATION);
+        policy.chooseMove(engine, BattleEngine.PLAYER);
+        policy.close();
+        policy.chooseMove(engine, BattleEngine.PLAYER);
+    }
+
+    @Test
+    public void heuristicRollouts_playWholeBattles() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 5);
+        MctsPolicy policy = new MctsPolicy(0, 1, new GreedyPolicy(), MctsPolicy.DEFAULT_EXPLORATION);
+
+        int choice = policy.chooseMove(engine, BattleEngine.PLAYER);
+        assertTrue(choice >= 0 && choice < engine.getLead(BattleEngine.PLAYER).getMoveCount());
+        assertEquals(1, policy.getLastPlayouts());
+    }
+}
@@ -0,0 +1,164 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.AttackingMove;
+import lukes.pokemonapp.Move;
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.StatusMove;
+import lukes.pokemonapp.VolatileStatus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that each move's additional effects are compiled into the right flags or program once it is built.
+ */
+public class MoveEffectsTest {
+
+    @Test
+    public void effects_areCompiledFromThePresetState() {
+        AttackingMove flareBlitz = (AttackingMove) MoveRegistry.get("Flare Blitz");
+        assertTrue(flareBlitz.hasEffect(AttackingMove.EFFECT_RECOIL));
+        assertEquals(30, flareBlitz.getRecoilPercent());
+        assertFalse(flareBlitz.hasEffect(AttackingMove.EFFECT_DRAIN | AttackingMove.EFFECT_STAT_STAGES));
+
+        AttackingMove gigaDrain = (AttackingMove) MoveRegistry.get("Giga Drain");
+        assertEquals(AttackingMove.EFFECT_DRAIN, gigaDrain.getEffectFlags());
+        assertEquals(50, gigaDrain.getDrainPercent());
+
+        AttackingMove discharge = (AttackingMove) MoveRegistry.get("Discharge");
+        assertEquals(AttackingMove.EFFECT_NON_VOL_STATUS, discharge.getEffectFlags());
+
+        AttackingMove rockSlide = (AttackingMove) MoveRegistry.get("Rock Slide");
+        assertTrue(rockSlide.hasEffect(AttackingMove.EFFECT_FLINCH | AttackingMove.EFFECT_STAT_STAGES));
+        assertEquals(30, rockSlide.getFlinchChance());
+
+        assertEquals(0, ((AttackingMove) MoveRegistry.get("Aqua Tail")).getEffectFlags());
+    }
+
+    @Test
+    public void statusMoves_areCompiledIntoPrograms() {
+        int[] swordsDance = ((StatusMove) MoveRegistry.get("Swords Dance")).getProgram();
+        assertEquals(1, swordsDance.length);
+        assertEquals(StatusMove.OP_STAT_STAGE, StatusMove.getOpcode(swordsDance[0]));
+        assertFalse(StatusMove.targetsFoe(swordsDance[0]));
+        assertEquals(1, StatusMove.getIndex(swordsDance[0]));
+        assertEquals(2, StatusMove.getOperand(swordsDance[0]));
+
+        int screech = ((StatusMove) MoveRegistry.get("Screech")).getProgram()[0];
+        assertTrue(StatusMove.targetsFoe(screech));
+        assertEquals(-2, StatusMove.getOperand(screech));
+
+        int[] thunderWave = ((StatusMove) MoveRegistry.get("Thunder Wave")).getProgram();
+        assertEquals(StatusMove.OP_TYPE_IMMUNITY, StatusMove.getOpcode(thunderWave[0]));
+        assertEquals(StatusMove.OP_NON_VOL_STATUS, StatusMove.getOpcode(thunderWave[1]));
+        assertEquals(NonVolatileStatus.PARALYZED.ordinal(), StatusMove.getOperand(thunderWave[1]));
+
+        assertEquals(StatusMove.OP_REST, StatusMove.getOpcode(((StatusMove) MoveRegistry.get("Rest")).getProgram()[0]));
+        assertEquals(StatusMove.OP_WEATHER_HEAL, StatusMove.getOpcode(((StatusMove) MoveRegistry.get("Synthesis")).getProgram()[0]));
+        assertEquals(StatusMove.OP_PROTECT, StatusMove.getOpcode(((StatusMove) MoveRegistry.get("Protect")).getProgram()[0]));
+        assertEquals(StatusMove.SCREEN_REFLECT, StatusMove.getOperand(((StatusMove) MoveRegistry.get("Reflect")).getProgram()[0]));
+        int roar = ((StatusMove) MoveRegistry.get("Roar")).getProgram()[0];
+        assertEquals(StatusMove.OP_FORCE_SWITCH, StatusMove.getOpcode(roar));
+        assertTrue(StatusMove.targetsFoe(roar));
+        int substitute = ((StatusMove) MoveRegistry.get("Substitute")).getProgram()[0];
+        assertEquals(StatusMove.OP_SUBSTITUTE, StatusMove.getOpcode(substitute));
+        assertEquals(25, StatusMove.getOperand(substitute));
+        assertArrayEquals(new int[] {StatusMove.OP_UNSUPPORTED}, ((StatusMove) MoveRegistry.get("Magic Coat")).getProgram());
+    }
+
+    @Test
+    public void everyStatusMove_compilesToAProgram() {
+        for(int id = 0; id < MoveRegistry.size(); id++)
+            if(!MoveRegistry.get(id).isAttackingMove())
+                assertTrue(MoveRegistry.get(id).getName(), ((StatusMove) MoveRegistry.get(id)).getProgram().length > 0);
+    }
+
+    @Test
+    public void accuracyAndStatChoices_areResolvedWhenMovesAreBuilt() {
+        Move thunder = new FixtureMove("Thunder", false);
+        Move blizzard = new FixtureMove("Blizzard", false);
+        assertEquals(1, thunder.getAccuracyCode());
+        assertEquals(2, blizzard.getAccuracyCode());
+        assertEquals(0, MoveRegistry.get("Ice Beam").getAccuracyCode());
+
+        Pokemon totodile = new Pokemon("Totodile");
+        Pokemon voltorb = new Pokemon("Voltorb");
+        assertEquals(70, DamageCalculator.countHits(thunder, voltorb, totodile, 0));
+        assertEquals(100, DamageCalculator.countHits(thunder, voltorb, totodile, 1));
+        assertEquals(100, DamageCalculator.countHits(blizzard, totodile, voltorb, 4));
+        assertEquals(70, DamageCalculator.countHits(blizzard, totodile, voltorb, 1));
+
+        AttackingMove foulPlay = new FixtureMove("Foul Play", true);
+        assertTrue(foulPlay.usesTargetAttack());
+        assertTrue(foulPlay.hitsDefense());
+        AttackingMove psyshock = new FixtureMove("Psyshock", false);
+        assertTrue(psyshock.hitsDefense());
+        assertFalse(psyshock.usesTargetAttack());
+        assertFalse(((AttackingMove) MoveRegistry.get("Ice Beam")).hitsDefense());
+    }
+
+    @Test
+    public void abilities_areResolvedIntoStatusImmunities() {
+        Pokemon voltorb = new Pokemon("Voltorb");
+        Move thunderWave = MoveRegistry.get("Thunder Wave");
+        Move yawn = MoveRegistry.get("Yawn");
+        Pokemon totodile = new Pokemon("Totodile");
+        assertFalse(thunderWave.avoidsNonVolStatus(NonVolatileStatus.PARALYZED, totodile, voltorb));
+        totodile.setAbility("Limber");
+        assertTrue(thunderWave.avoidsNonVolStatus(NonVolatileStatus.PARALYZED, totodile, voltorb));
+        totodile.setAbility("Comatose");
+        assertTrue(thunderWave.avoidsNonVolStatus(NonVolatileStatus.PARALYZED, totodile, voltorb));
+        assertTrue(yawn.avoidsVolStatus(VolatileStatus.YAWNING, totodile, voltorb));
+        totodile.setAbility("Own Tempo");
+        assertTrue(yawn.avoidsVolStatus(VolatileStatus.CONFUSED, totodile, voltorb));
+        assertFalse(yawn.avoidsVolStatus(VolatileStatus.YAWNING, totodile, voltorb));
+        assertTrue(new Pokemon(totodile).abilityBlocks(VolatileStatus.CONFUSED));
+    }
+
+    /**
+     * An attacking move that is only built by these tests, since no registered move needs the accuracy codes
+     * or stat choices in question yet.
+     */
+    private static final class FixtureMove extends AttackingMove {
+
+        /**
+         * Determines if the move is physical, which is only read after the move is built.
+         */
+        private final boolean physical;
+
+        /**
+         * Builds the fixture with the given name.
+         * @param mName The name of the move, which decides its accuracy code and stat choices.
+         * @param isPhysical True if the move is physical.
+         */
+        private FixtureMove(String mName, boolean isPhysical) {
+            super(mName);
+            physical = isPhysical;
+        }
+
+        @Override
+        protected void setMove(String mName) {
+            setName(mName);
+            setType("Normal");
+            setPP(10);
+            setTwoTurnCode(0);
+            setBP(90);
+            setAccuracy(mName.equals("Thunder") || mName.equals("Blizzard") ? 70 : 100);
+            setBPCode(0);
+            setAccuracyCode(mName.equals("Thunder") ? 1 : mName.equals("Blizzard") ? 2 : 0);
+            setUsesTargetAttack(mName.equals("Foul Play"));
+            setTargetsDefense(mName.equals("Psyshock"));
+        }
+
+        @Override
+        public boolean isPhysical() {
+            return physical;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import lukes.pokemonapp.Pokemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that recorded battles play again exactly, both on their own and from an archive.
+ */
+public class ReplayTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_playsTheSameBattleWithTheSameCommentary() {
+        Pokemon lead = new Pokemon("Totodile");
+        lead.setName("Chomper");
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", lead), Rosters.angel(), 99);
+        engine.getLead(BattleEngine.ENEMY).setStat(20, 0); // A battle that starts mid-fight
+        ReplayRecorder recorder = new ReplayRecorder(engine);
+        ArrayList<TurnResult> original = engine.playBattle(new GreedyPolicy(), new GreedyPolicy(), 500);
+        byte[] replay = recorder.finish();
+        assertTrue(replay.length < 300);
+
+        Replayer replayer = new Replayer(replay);
+        for(TurnResult result : original)
+            assertEquals(result.getCommentary(), replayer.playTurn().getCommentary());
+        BattleEngine replayed = replayer.playToEnd();
+        assertEquals(engine.getWinner(), replayed.getWinner());
+        assertEquals(new BattleState(engine), new BattleState(replayed));
+    }
+
+    @Test
+    public void seek_reachesEveryTurnFromTheNearestKeyframe() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", "Cyndaquil"), Rosters.angel(), 7);
+        ReplayRecorder recorder = new ReplayRecorder(engine, 3);
+        ArrayList<BattleState> states = new ArrayList<>();
+        ArrayList<String> commentary = new ArrayList<>();
+        states.add(new BattleState(engine));
+        GreedyPolicy policy = new GreedyPolicy();
+        while(!engine.isOver()) {
+            commentary.add(engine.playTurn(policy.chooseMove(engine, BattleEngine.PLAYER),
+                                           policy.chooseMove(engine, BattleEngine.ENEMY)).getCommentary());
+            states.add(new BattleState(engine));
+        }
+        assertTrue(states.size() > 7); // At least two keyframes
+
+        Replayer replayer = new Replayer(recorder.finish());
+        assertEquals(engine.getTurnCount(), replayer.getRecordedTurnCount());
+        int turns = engine.getTurnCount();
+        for(int turn : new int[] {turns, 0, 5, 4, turns - 1, 1, 6, 3, 7, 2}) {
+            replayer.seek(turn);
+            assertEquals(turn, replayer.getEngine().getTurnCount());
+            assertEquals(states.get(turn), new BattleState(replayer.getEngine()));
+            if(turn < turns) // The generator has to be where it was, too
+                assertEquals(commentary.get(turn), replayer.playTurn().getCommentary());
+        }
+        replayer.seek(2);
+        assertEquals(engine.getWinner(), replayer.playToEnd().getWinner());
+    }
+
+    @Test
+    public void archive_keepsEverySimulatedBattle() throws Exception {
+        Path file = folder.newFile("battles.pkrp").toPath();
+        MatchupSimulator simulator = new MatchupSimulator(() -> Rosters.starterTeam("Luke", "Chikorita"), Rosters::angel,
+                                                          new GreedyPolicy(), new GreedyPolicy());
+        MatchupResult result;
+        try(ReplayWriter archive = ReplayWriter.open(file)) {
+            result = simulator.simulate(200, 5, ForkJoinPool.commonPool(), archive);
+            assertEquals(200, archive.getReplayCount());
+        }
+
+        long playerWins = 0;
+        try(ReplayReader reader = ReplayReader.open(file)) {
+            for(ByteBuffer replay = reader.next(); replay != null; replay = reader.next()) {
+                if(new Replayer(replay).playToEnd().getWinner() == BattleEngine.PLAYER)
+                    playerWins++;
+            }
+            assertNull(reader.next());
+        }
+        assertEquals(result.getPlayerWins(), playerWins);
+
+        ReplayArchive archive = ReplayArchive.open(file);
+        assertEquals(200, archive.size());
+        long playerWinsOutOfOrder = 0;
+        for(int i = archive.size() - 1; i >= 0; i -= 2) {
+            Replayer replayer = archive.replay(i);
+            replayer.seek(replayer.getRecordedTurnCount());
+            if(replayer.getEngine().getWinner() == BattleEngine.PLAYER)
+                playerWinsOutOfOrder++;
+            if(archive.replay(i - 1).playToEnd().getWinner() == BattleEngine.PLAYER)
+                playerWinsOutOfOrder++;
+        }
+        assertEquals(playerWins, playerWinsOutOfOrder);
+    }
+}
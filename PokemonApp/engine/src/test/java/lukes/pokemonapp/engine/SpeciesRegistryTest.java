@@ -0,0 +1,40 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.Species;
+import lukes.pokemonapp.SpeciesRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests that Pokémon share their species' fixed data but keep their own battle state.
+ */
+public class SpeciesRegistryTest {
+
+    @Test
+    public void ids_areDenseAndMatchNames() {
+        for(int id = 0; id < SpeciesRegistry.size(); id++) {
+            Species s = SpeciesRegistry.get(id);
+            assertEquals(id, s.getId());
+            assertEquals(id, SpeciesRegistry.idOf(s.getName()));
+        }
+    }
+
+    @Test
+    public void sameSpecies_sharesDataButNotState() {
+        Pokemon first = new Pokemon("Totodile");
+        Pokemon second = new Pokemon("Totodile");
+        assertSame(first.getSpecies(), second.getSpecies());
+        assertSame(first.getMove(0), second.getMove(0));
+        assertNotSame(first.getMoveSlot(0), second.getMoveSlot(0));
+
+        first.getInitStats()[0] = 1;
+        first.getMoveSlot(0).changePP(-1);
+        assertEquals(110, second.getInitStats()[0]);
+        assertEquals(first.getMoveSlot(0).getPP() + 1, second.getMoveSlot(0).getPP());
+    }
+}
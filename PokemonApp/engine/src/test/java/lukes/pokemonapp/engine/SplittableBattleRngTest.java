@@ -0,0 +1,23 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the labeled streams of a battle's generator are reproducible and independent of each other.
+ */
+public class SplittableBattleRngTest {
+
+    @Test
+    public void aiDraws_doNotShiftTheOtherStreams() {
+        BattleRng quiet = new SplittableBattleRng(99);
+        BattleRng busy = new SplittableBattleRng(99);
+        for(int i = 0; i < 1000; i++) {
+            for(int j = 0; j < i % 7; j++)
+                busy.nextInt(RngStream.AI, 4); // A lookahead policy might draw any number of times
+            assertEquals(quiet.nextInt(RngStream.DAMAGE_ROLL, 16), busy.nextInt(RngStream.DAMAGE_ROLL, 16));
+            assertEquals(quiet.nextInt(RngStream.ACCURACY, 100), busy.nextInt(RngStream.ACCURACY, 100));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the transposition table keeps deeper results and never returns a torn entry.
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void store_keepsTheDeeperResultOfAPosition() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.store(42, 3, TranspositionTable.LOWER_BOUND, 2, 0.25);
+        table.store(42, 1, TranspositionTable.UPPER_BOUND, 0, -0.5);
+
+        long entry = table.probe(42);
+        assertEquals(3, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+        assertEquals(2, TranspositionTable.getBestMove(entry));
+        assertEquals(0.25, TranspositionTable.getValue(entry), 0);
+        assertEquals(TranspositionTable.MISS, table.probe(43));
+        assertEquals(0.5, table.getHitRate(), 0);
+    }
+
+    @Test
+    public void sharedTable_onlyReturnsEntriesThatMatchTheirKey() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        Thread[] threads = new Thread[4];
+        boolean[] failed = new boolean[threads.length];
+        for(int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for(int i = 0; i < 200_000; i++) {
+                    long key = SplittableBattleRng.mix(i % 1000);
+                    int depth = (int) (key >>> 60);
+                    table.store(key, depth, TranspositionTable.EXACT, -1, depth / 16.0);
+                    long entry = table.probe(SplittableBattleRng.mix((i * 7 + id) % 1000));
+                    if(entry != TranspositionTable.MISS && TranspositionTable.getValue(entry) * 16 != TranspositionTable.getDepth(entry))
+                        failed[id] = true;
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread t : threads)
+            t.join();
+        for(boolean f : failed)
+            assertFalse(f);
+        assertTrue(table.getHits() > 0);
+    }
+}
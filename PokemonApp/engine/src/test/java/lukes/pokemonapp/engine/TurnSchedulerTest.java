@@ -0,0 +1,46 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the turn scheduler orders actions by bracket, priority, and speed, and breaks ties fairly.
+ */
+public class TurnSchedulerTest {
+
+    @Test
+    public void actions_areOrderedByBracketThenPriorityThenSpeed() {
+        TurnScheduler scheduler = new TurnScheduler(1); // Grows to fit every action
+        scheduler.add(TurnScheduler.BRACKET_MOVE, 0, 300, 0, 10);
+        scheduler.add(TurnScheduler.BRACKET_MOVE, 1, 50, 1, 11);
+        scheduler.add(TurnScheduler.BRACKET_SWITCH, 0, 10, 2, 12);
+        scheduler.add(TurnScheduler.BRACKET_MOVE, -6, 999, 3, 13);
+        scheduler.add(TurnScheduler.BRACKET_MOVE, 0, 400, 4, 14);
+        BattleRng rng = new SplittableBattleRng(1);
+        int[] expected = {2, 1, 4, 0, 3};
+        for(int battler : expected) {
+            assertEquals(battler, scheduler.next(rng));
+            assertEquals(10 + battler, scheduler.getAction());
+        }
+        assertTrue(scheduler.isEmpty());
+    }
+
+    @Test
+    public void ties_areBrokenUniformly() {
+        TurnScheduler scheduler = new TurnScheduler(3);
+        BattleRng rng = new SplittableBattleRng(7);
+        int[][] firsts = new int[3][3];
+        for(int i = 0; i < 3000; i++) {
+            scheduler.clear();
+            for(int battler = 0; battler < 3; battler++)
+                scheduler.add(TurnScheduler.BRACKET_MOVE, 0, 100, battler, battler);
+            for(int position = 0; position < 3; position++)
+                firsts[position][scheduler.next(rng)]++;
+        }
+        for(int[] position : firsts)
+            for(int count : position)
+                assertTrue(count > 850 && count < 1150);
+    }
+}
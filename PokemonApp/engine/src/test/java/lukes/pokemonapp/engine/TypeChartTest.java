@@ -0,0 +1,34 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.MoveRegistry;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.PokemonType;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the precomputed type chart against a few well-known matchups.
+ */
+public class TypeChartTest {
+
+    @Test
+    public void dualTypes_multiplyTogether() {
+        int waterGround = PokemonType.profileOf(PokemonType.WATER, PokemonType.GROUND);
+        assertEquals(4, TypeChart.getEffectiveness(PokemonType.GRASS, waterGround), 0);
+        assertEquals(0, TypeChart.getEffectiveness(PokemonType.ELECTRIC, waterGround), 0);
+        assertEquals(1, TypeChart.getEffectiveness(PokemonType.WATER, waterGround), 0);
+        assertEquals(.25, TypeChart.getEffectiveness(PokemonType.GRASS,
+                PokemonType.profileOf(PokemonType.POISON, PokemonType.STEEL)), 0);
+    }
+
+    @Test
+    public void checkTypeMatchups_addsStab() {
+        Pokemon bulbasaur = new Pokemon("Bulbasaur");
+        Pokemon charmander = new Pokemon("Charmander");
+        // Giga Drain is resisted by Fire and gets STAB from Grass
+        assertEquals(.75, BattleEngine.checkTypeMatchups(charmander, MoveRegistry.get("Giga Drain"), 1, bulbasaur), 0);
+        assertEquals(2, BattleEngine.checkTypeMatchups(bulbasaur, MoveRegistry.get("Flamethrower"), 1, bulbasaur), 0);
+    }
+}
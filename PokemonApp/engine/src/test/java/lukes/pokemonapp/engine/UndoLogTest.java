@@ -0,0 +1,76 @@
+package lukes.pokemonapp.engine;
+
+import org.junit.Test;
+
+import lukes.pokemonapp.NonVolatileStatus;
+import lukes.pokemonapp.Pokemon;
+import lukes.pokemonapp.StatusMove;
+import lukes.pokemonapp.VolatileStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a battle rolled back with its undo log is exactly the battle from before.
+ */
+public class UndoLogTest {
+
+    @Test
+    public void undo_rollsAWholeBattleBack() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 11);
+        UndoLog log = new UndoLog(1); // Force the log to grow
+        engine.setUndoLog(log);
+        String before = engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY);
+        BattleState saved = new BattleState(engine);
+        int mark = log.mark();
+
+        engine.setWeather(3);
+        for(int i = 0; !engine.isOver(); i++)
+            engine.simulateTurn(i % 4, i % 3);
+        assertTrue(log.size() > 0);
+
+        engine.undo(mark);
+        assertEquals(mark, log.size());
+        assertEquals(saved, new BattleState(engine));
+        assertEquals(before, engine.getTrainer(BattleEngine.PLAYER) + "" + engine.getTrainer(BattleEngine.ENEMY));
+        assertEquals(0, engine.getTurnCount());
+        assertFalse(engine.isOver());
+    }
+
+    @Test
+    public void undo_rollsBackEndOfTurnEffects() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 11);
+        engine.getLead(BattleEngine.PLAYER).addVolStatus(VolatileStatus.SEEDED);
+        engine.getLead(BattleEngine.PLAYER).setVolStatusTurns(VolatileStatus.SEEDED, 3);
+        engine.getLead(BattleEngine.ENEMY).setNonVolStatus(NonVolatileStatus.BADLY_POISONED);
+        engine.getLead(BattleEngine.ENEMY).addVolStatus(VolatileStatus.YAWNING);
+        engine.setWeather(4, 2);
+        engine.setScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_LIGHT_SCREEN, 2);
+        engine.setUndoLog(new UndoLog());
+        BattleState saved = new BattleState(engine);
+        int mark = engine.getUndoLog().mark();
+
+        for(int i = 0; i < 3 && !engine.isOver(); i++)
+            engine.simulateTurn(-1, -1);
+        engine.undo(mark);
+        assertEquals(saved, new BattleState(engine));
+        assertEquals(3, engine.getLead(BattleEngine.PLAYER).getVolStatusTurns(VolatileStatus.SEEDED));
+        assertEquals(2, engine.getWeatherTurns());
+        assertEquals(2, engine.getScreenTurns(BattleEngine.ENEMY, StatusMove.SCREEN_LIGHT_SCREEN));
+    }
+
+    @Test
+    public void undo_toAMarkKeepsEarlierChanges() {
+        BattleEngine engine = new BattleEngine(Rosters.starterTeam("Luke", new Pokemon("Totodile")), Rosters.angel(), 11);
+        engine.setUndoLog(new UndoLog());
+        engine.simulateTurn(0, 0);
+        BattleState afterFirstTurn = new BattleState(engine);
+        int mark = engine.getUndoLog().mark();
+
+        engine.simulateTurn(1, 1);
+        engine.undo(mark);
+        assertEquals(afterFirstTurn, new BattleState(engine));
+        assertEquals(1, engine.getTurnCount());
+    }
+}